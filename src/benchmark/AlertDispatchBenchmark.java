@@ -0,0 +1,127 @@
+package benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import domain.alerts.AlertDelivery;
+import domain.alerts.AlertDispatcher;
+import domain.alerts.AlertSink;
+import domain.alerts.SinkStats;
+import domain.entities.AutomaticAlert;
+import domain.entities.MonitoredArea;
+import domain.entities.WheatherData;
+import infrastructure.alerts.RollingFileAlertSink;
+import infrastructure.alerts.WebhookAlertSink;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mede o custo de emitir alertas no caminho de quem os gera: escrita síncrona
+ * no console ({@code throwAlert}) contra o enfileiramento no
+ * {@link AlertDispatcher}, com um destino em arquivo e um webhook local lento
+ * (um servidor HTTP de teste que demora a responder).
+ * <p>
+ * Ao final, exibe as estatísticas de entrega de cada destino: alertas
+ * entregues, descartados por fila cheia e latência de entrega.
+ * </p>
+ *
+ * <pre>
+ *     java -cp bin benchmark.AlertDispatchBenchmark 200000 4
+ * </pre>
+ */
+public class AlertDispatchBenchmark {
+  private static final int WEBHOOK_DELAY_MILLIS = 20;
+
+  public static void main(String[] args) throws Exception {
+    int alertCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+    int producers = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+    MonitoredArea area = new MonitoredArea(1, "Parque de Teste", "-23.55, -46.63", "Cerrado");
+    WheatherData data = new WheatherData(1, 38, 10, 15, LocalDate.now());
+    AutomaticAlert[] alerts = new AutomaticAlert[1024];
+    for (int i = 0; i < alerts.length; i++) {
+      alerts[i] = area.generateAlert(80, data);
+    }
+
+    PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+    PrintStream console = System.out;
+    System.setOut(discard);
+    long start = System.nanoTime();
+    for (int i = 0; i < alertCount; i++) {
+      alerts[i & (alerts.length - 1)].throwAlert(area);
+    }
+    long synchronousNanos = System.nanoTime() - start;
+    System.setOut(console);
+
+    AtomicLong webhookBatches = new AtomicLong();
+    HttpServer webhook = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    webhook.createContext("/alertas", exchange -> {
+      exchange.getRequestBody().readAllBytes();
+      webhookBatches.incrementAndGet();
+      try {
+        Thread.sleep(WEBHOOK_DELAY_MILLIS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      exchange.sendResponseHeaders(204, -1);
+      exchange.close();
+    });
+    webhook.start();
+
+    Path directory = Files.createTempDirectory("alertas");
+    URI endpoint = URI.create("http://127.0.0.1:" + webhook.getAddress().getPort() + "/alertas");
+    AlertDispatcher dispatcher = new AlertDispatcher(List.of(
+        new CountingSink(),
+        new RollingFileAlertSink(directory, "alertas", 4 * 1024 * 1024, 3),
+        new WebhookAlertSink(endpoint, Duration.ofSeconds(2))));
+
+    Thread[] threads = new Thread[producers];
+    int perProducer = alertCount / producers;
+    start = System.nanoTime();
+    for (int p = 0; p < producers; p++) {
+      threads[p] = new Thread(() -> {
+        for (int i = 0; i < perProducer; i++) {
+          dispatcher.dispatch(alerts[i & (alerts.length - 1)], area);
+        }
+      });
+      threads[p].start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    long asyncNanos = System.nanoTime() - start;
+    dispatcher.flush(Duration.ofSeconds(30));
+    dispatcher.close();
+    webhook.stop(0);
+
+    System.out.printf("Alertas: %d, produtores: %d, atraso do webhook: %d ms%n", alertCount, producers,
+        WEBHOOK_DELAY_MILLIS);
+    System.out.printf("throwAlert síncrono:   %8.1f ns/alerta%n", (double) synchronousNanos / alertCount);
+    System.out.printf("AlertDispatcher:       %8.1f ns/alerta (tempo dos produtores)%n",
+        (double) asyncNanos / (perProducer * producers));
+    for (SinkStats stats : dispatcher.getStats()) {
+      System.out.println(stats);
+    }
+    System.out.println("Requisições recebidas pelo webhook: " + webhookBatches.get());
+  }
+
+  private static final class CountingSink implements AlertSink {
+    private long received;
+
+    @Override
+    public String getName() {
+      return "memória";
+    }
+
+    @Override
+    public void deliver(List<AlertDelivery> batch) {
+      received += batch.size();
+    }
+  }
+}
@@ -0,0 +1,206 @@
+package benchmark;
+
+import domain.metrics.LatencyHistogram;
+import domain.metrics.MetricRegistry;
+import domain.registry.AreaRegistry;
+import infrastructure.http.ApiServer;
+import infrastructure.http.RequestExecutors;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Teste de carga da API HTTP ({@link ApiServer}): {@code clients} clientes
+ * concorrentes, cada um com uma requisição em andamento por vez, enviam
+ * requisições durante {@code seconds} segundos, depois de {@code warmup}
+ * segundos de aquecimento. Ao final, exibe a vazão e a latência de cada
+ * operação:
+ * <ul>
+ * <li>{@code weather-data}: inserção de uma leitura (50% das
+ * requisições);</li>
+ * <li>{@code weather-data/batch}: inserção de {@value #BATCH_SIZE} leituras em
+ * CSV (5%);</li>
+ * <li>{@code risk}: risco da leitura mais recente (30%);</li>
+ * <li>{@code monitor}: risco com a política de alertas (10%);</li>
+ * <li>{@code alerts}: últimos 10 alertas da área (5%).</li>
+ * </ul>
+ * <p>
+ * Sem {@code url}, abre a API no próprio processo, em uma porta livre, com
+ * {@code threads} threads quando não há threads virtuais; com {@code url}
+ * (como {@code http://127.0.0.1:8080}), usa uma instância já iniciada. Em
+ * ambos os casos, as áreas {@code 1..areas} são cadastradas se ainda não
+ * existirem. Os clientes usam o {@link HttpClient} do JDK de forma
+ * assíncrona, sem uma thread por cliente.
+ * </p>
+ *
+ * <pre>
+ *     java -Xmx2g -cp bin benchmark.ApiLoadTest clients=10000 seconds=30
+ * </pre>
+ */
+public class ApiLoadTest {
+  private static final int BATCH_SIZE = 100;
+  private static final String FORM = "application/x-www-form-urlencoded";
+  private static final String[] OPERATIONS = {"weather-data", "weather-data/batch", "risk", "monitor", "alerts"};
+
+  private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+  private final URI base;
+  private final int areas;
+  private final LatencyHistogram[] latencies = new LatencyHistogram[OPERATIONS.length];
+  private final LongAdder errors = new LongAdder();
+  private final String batchBody;
+  private volatile boolean measuring;
+  private volatile long deadline;
+
+  private ApiLoadTest(URI base, int areas) {
+    this.base = base;
+    this.areas = areas;
+    MetricRegistry registry = new MetricRegistry();
+    for (int i = 0; i < OPERATIONS.length; i++) {
+      latencies[i] = registry.histogram("api_" + OPERATIONS[i].replaceAll("[^a-z]", "_"), OPERATIONS[i]);
+    }
+    StringBuilder batch = new StringBuilder("temperatura,umidade,velocidadeDoVento\n");
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      batch.append(15 + i % 25).append(',').append(10 + i % 80).append(',').append(i % 20).append('\n');
+    }
+    this.batchBody = batch.toString();
+  }
+
+  public static void main(String[] args) throws Exception {
+    BenchmarkOptions options = BenchmarkOptions.parse(args, "url", "areas", "clients", "seconds", "warmup",
+        "threads");
+    String url = options.get("url", null);
+    int areas = options.getInt("areas", 100);
+    int clients = options.getInt("clients", 1000);
+    int seconds = options.getInt("seconds", 20);
+    int warmup = options.getInt("warmup", 5);
+    int threads = options.getInt("threads", 64);
+
+    ApiServer server = null;
+    if (url == null) {
+      server = ApiServer.start(new AreaRegistry(), null, new InetSocketAddress("127.0.0.1", 0), threads);
+      url = "http://127.0.0.1:" + server.getAddress().getPort();
+      System.out.println("API local em " + url + " ("
+          + (RequestExecutors.virtualThreadsAvailable() ? "threads virtuais" : threads + " threads") + ")");
+    }
+    try {
+      ApiLoadTest test = new ApiLoadTest(URI.create(url), areas);
+      test.registerAreas();
+      test.run(clients, warmup, seconds);
+    } finally {
+      if (server != null) {
+        server.close();
+      }
+    }
+  }
+
+  private void registerAreas() throws Exception {
+    for (int id = 1; id <= areas; id++) {
+      HttpResponse<String> response = client.send(post("/areas",
+          "id=" + id + "&name=Area+" + id + "&location=-23.55,+-46.63&vegetationType=Cerrado", FORM),
+          HttpResponse.BodyHandlers.ofString());
+      if (response.statusCode() != 201 && response.statusCode() != 409) {
+        throw new IllegalStateException("Falha ao cadastrar a área " + id + ": " + response.body());
+      }
+      client.send(post("/areas/" + id + "/weather-data", "temperature=30&humidity=20&windSpeed=10", FORM),
+          HttpResponse.BodyHandlers.discarding());
+    }
+  }
+
+  private void run(int clients, int warmupSeconds, int seconds) {
+    long start = System.nanoTime();
+    deadline = start + (warmupSeconds + seconds) * 1_000_000_000L;
+    List<CompletableFuture<Void>> running = new ArrayList<>(clients);
+    for (int i = 0; i < clients; i++) {
+      running.add(next());
+    }
+    long measureStart = start + warmupSeconds * 1_000_000_000L;
+    while (System.nanoTime() < measureStart) {
+      sleep(Math.max(1, (measureStart - System.nanoTime()) / 1_000_000));
+    }
+    measuring = true;
+    long errorsBefore = errors.sum();
+    CompletableFuture.allOf(running.toArray(new CompletableFuture<?>[0])).join();
+    long elapsed = System.nanoTime() - measureStart;
+    measuring = false;
+
+    long total = 0;
+    for (LatencyHistogram histogram : latencies) {
+      total += histogram.getTotalCount();
+    }
+    System.out.printf(Locale.ROOT, "Clientes: %d | requisições: %d em %.1f s | %.0f req/s | erros: %d%n", clients,
+        total, elapsed / 1e9, total / (elapsed / 1e9), errors.sum() - errorsBefore);
+    System.out.printf("%-20s %10s %10s %10s %10s%n", "operação", "req/s", "média ms", "p50 ms", "p99 ms");
+    for (int i = 0; i < OPERATIONS.length; i++) {
+      LatencyHistogram histogram = latencies[i];
+      long count = histogram.getTotalCount();
+      System.out.printf(Locale.ROOT, "%-20s %10.0f %10.2f %10s %10s%n", OPERATIONS[i], count / (elapsed / 1e9),
+          count == 0 ? 0 : histogram.getSumNanos() / 1e6 / count, quantile(histogram, 0.5),
+          quantile(histogram, 0.99));
+    }
+  }
+
+  /** Formata um quantil em milissegundos; acima do último balde limitado, exibe apenas o limite inferior. */
+  private static String quantile(LatencyHistogram histogram, double quantile) {
+    long nanos = histogram.quantileNanos(quantile);
+    if (nanos == Long.MAX_VALUE) {
+      nanos = histogram.getUpperBoundNanos(histogram.getBucketCount() - 2);
+      return String.format(Locale.ROOT, ">%.2f", nanos / 1e6);
+    }
+    return String.format(Locale.ROOT, "%.2f", nanos / 1e6);
+  }
+
+  /** Envia a próxima requisição de um cliente e, ao receber a resposta, a seguinte, até o fim do teste. */
+  private CompletableFuture<Void> next() {
+    if (System.nanoTime() >= deadline) {
+      return CompletableFuture.completedFuture(null);
+    }
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    int area = 1 + random.nextInt(areas);
+    int roll = random.nextInt(100);
+    int operation = roll < 50 ? 0 : roll < 55 ? 1 : roll < 85 ? 2 : roll < 95 ? 3 : 4;
+    HttpRequest request;
+    switch (operation) {
+      case 0 -> request = post("/areas/" + area + "/weather-data", "temperature=" + (15 + random.nextInt(25))
+          + "&humidity=" + (10 + random.nextInt(80)) + "&windSpeed=" + random.nextInt(20), FORM);
+      case 1 -> request = post("/areas/" + area + "/weather-data/batch", batchBody, "text/csv");
+      case 2 -> request = get("/areas/" + area + "/risk");
+      case 3 -> request = post("/areas/" + area + "/monitor", "", FORM);
+      default -> request = get("/areas/" + area + "/alerts?limit=10");
+    }
+    long start = System.nanoTime();
+    return client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).handle((response, failure) -> {
+      if (measuring) {
+        latencies[operation].record(System.nanoTime() - start);
+        if (failure != null || response.statusCode() >= 300) {
+          errors.increment();
+        }
+      }
+      return null;
+    }).thenCompose(ignored -> next());
+  }
+
+  private HttpRequest get(String path) {
+    return HttpRequest.newBuilder(base.resolve(path)).GET().build();
+  }
+
+  private HttpRequest post(String path, String body, String contentType) {
+    return HttpRequest.newBuilder(base.resolve(path)).header("Content-Type", contentType)
+        .POST(HttpRequest.BodyPublishers.ofString(body)).build();
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
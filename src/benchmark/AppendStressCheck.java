@@ -0,0 +1,300 @@
+package benchmark;
+
+import domain.entities.IdRange;
+import domain.entities.MonitoredArea;
+import domain.entities.WheatherData;
+import domain.entities.WildFire;
+import domain.storage.AppendLog;
+import domain.storage.WeatherDataStore;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Verificação de concorrência das inserções sem bloqueio do histórico, em duas
+ * etapas por rodada:
+ * <ul>
+ * <li>estruturas: {@code writers} escritores inserem leituras avulsas
+ * ({@code add}) e em lote ({@code addAll}) em um {@link WeatherDataStore},
+ * registrando cada inserção em um {@link AppendLog}, enquanto
+ * {@code readers} leitores conferem que o tamanho visível nunca diminui e que
+ * toda leitura visível já está gravada (a temperatura é igual ao ID). Depois
+ * que todos os escritores terminam, o tamanho visível deve ser igual ao total
+ * inserido, sem nenhuma inserção posterior: uma confirmação perdida entre dois
+ * escritores simultâneos deixaria o tamanho parado abaixo das posições
+ * confirmadas;</li>
+ * <li>área: os escritores inserem na mesma {@link MonitoredArea}, com IDs
+ * alocados por ela ({@code nextWeatherDataId}, {@code nextWildFireId} e o
+ * intervalo das inserções em lote), leituras avulsas, lotes e incêndios,
+ * enquanto os leitores conferem que as quantidades visíveis nunca diminuem. Ao
+ * final, as quantidades devem ser iguais aos totais inseridos, e os IDs das
+ * leituras e dos incêndios devem ser exatamente {@code 1..total}, sem
+ * repetições.</li>
+ * </ul>
+ * <p>
+ * Repete a verificação {@code rounds} vezes, com estruturas e áreas novas, e
+ * termina com código 1 na primeira falha.
+ * </p>
+ *
+ * <pre>
+ *     java -cp bin benchmark.AppendStressCheck writers=8 readers=2 inserts=200000 rounds=20
+ * </pre>
+ */
+public class AppendStressCheck {
+  private static final int MAX_BATCH = 64;
+
+  public static void main(String[] args) throws InterruptedException {
+    BenchmarkOptions options = BenchmarkOptions.parse(args, "writers", "readers", "inserts", "rounds");
+    int writers = options.getInt("writers", 8);
+    int readers = options.getInt("readers", 2);
+    int inserts = options.getInt("inserts", 200_000);
+    int rounds = options.getInt("rounds", 20);
+
+    for (int round = 1; round <= rounds; round++) {
+      long start = System.nanoTime();
+      String failure = runRound(writers, readers, inserts);
+      if (failure == null) {
+        failure = runAreaRound(writers, readers, inserts);
+      }
+      if (failure != null) {
+        System.out.println("Rodada " + round + ": FALHA - " + failure);
+        System.exit(1);
+      }
+      System.out.printf("Rodada %d: ok (%d escritores, %d leitores, %d leituras por escritor, %.0f ms)%n", round,
+          writers, readers, inserts, (System.nanoTime() - start) / 1e6);
+    }
+  }
+
+  /** Executa uma rodada e retorna a descrição da primeira falha, ou {@code null}. */
+  private static String runRound(int writerCount, int readerCount, int inserts) throws InterruptedException {
+    WeatherDataStore store = new WeatherDataStore();
+    AppendLog<Integer> log = new AppendLog<>();
+    AtomicReference<String> failure = new AtomicReference<>();
+    AtomicBoolean writing = new AtomicBoolean(true);
+    LongAdder operations = new LongAdder();
+
+    List<Thread> writers = new ArrayList<>();
+    for (int w = 0; w < writerCount; w++) {
+      int writer = w;
+      writers.add(new Thread(() -> operations.add(write(store, log, writer, inserts)), "escritor-" + w));
+    }
+    List<Thread> readers = new ArrayList<>();
+    for (int r = 0; r < readerCount; r++) {
+      readers.add(new Thread(() -> read(store, log, writing, failure), "leitor-" + r));
+    }
+    readers.forEach(Thread::start);
+    writers.forEach(Thread::start);
+    for (Thread writer : writers) {
+      writer.join();
+    }
+    writing.set(false);
+    for (Thread reader : readers) {
+      reader.join();
+    }
+
+    long total = (long) writerCount * inserts;
+    if (failure.get() != null) {
+      return failure.get();
+    }
+    if (store.size() != total) {
+      return "histórico com " + store.size() + " leituras visíveis de " + total + " inseridas";
+    }
+    if (log.size() != operations.sum()) {
+      return "lista com " + log.size() + " elementos visíveis de " + operations.sum() + " inseridos";
+    }
+    return null;
+  }
+
+  /** Executa a etapa da área e retorna a descrição da primeira falha, ou {@code null}. */
+  private static String runAreaRound(int writerCount, int readerCount, int inserts) throws InterruptedException {
+    MonitoredArea area = new MonitoredArea(1, "Área de Teste", "-23.55, -46.63", "Cerrado");
+    AtomicReference<String> failure = new AtomicReference<>();
+    AtomicBoolean writing = new AtomicBoolean(true);
+    LongAdder fires = new LongAdder();
+
+    List<Thread> writers = new ArrayList<>();
+    for (int w = 0; w < writerCount; w++) {
+      writers.add(new Thread(() -> fires.add(writeArea(area, inserts)), "escritor-area-" + w));
+    }
+    List<Thread> readers = new ArrayList<>();
+    for (int r = 0; r < readerCount; r++) {
+      readers.add(new Thread(() -> readArea(area, writing, failure), "leitor-area-" + r));
+    }
+    readers.forEach(Thread::start);
+    writers.forEach(Thread::start);
+    for (Thread writer : writers) {
+      writer.join();
+    }
+    writing.set(false);
+    for (Thread reader : readers) {
+      reader.join();
+    }
+
+    if (failure.get() != null) {
+      return failure.get();
+    }
+    int total = writerCount * inserts;
+    WeatherDataStore.View view = area.getWeatherDataView();
+    if (view.size() != total) {
+      return "área com " + view.size() + " leituras visíveis de " + total + " inseridas";
+    }
+    int[] ids = new int[total];
+    view.copyTo(0, total, ids, new double[total], new double[total], new double[total], new int[total], 0);
+    String duplicate = checkIds("leitura", ids, total);
+    if (duplicate != null) {
+      return duplicate;
+    }
+    List<WildFire> wildFires = area.getWildFires();
+    int fireCount = (int) fires.sum();
+    if (wildFires.size() != fireCount) {
+      return "área com " + wildFires.size() + " incêndios visíveis de " + fireCount + " registrados";
+    }
+    int[] fireIds = new int[fireCount];
+    for (int i = 0; i < fireCount; i++) {
+      fireIds[i] = wildFires.get(i).getId();
+    }
+    return checkIds("incêndio", fireIds, fireCount);
+  }
+
+  /** Confere que os IDs são exatamente {@code 1..total}, sem repetições. */
+  private static String checkIds(String kind, int[] ids, int total) {
+    BitSet seen = new BitSet(total + 1);
+    for (int id : ids) {
+      if (id < 1 || id > total) {
+        return "ID de " + kind + " fora de 1.." + total + ": " + id;
+      }
+      if (seen.get(id)) {
+        return "ID de " + kind + " repetido: " + id;
+      }
+      seen.set(id);
+    }
+    return null;
+  }
+
+  /**
+   * Insere {@code inserts} leituras na área, alternando leituras avulsas e lotes com IDs alocados pela área, e
+   * registra um incêndio a cada inserção em lote. Retorna a quantidade de incêndios registrados.
+   */
+  private static int writeArea(MonitoredArea area, int inserts) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    LocalDate today = LocalDate.now();
+    int todayEpochDay = (int) today.toEpochDay();
+    double[] temperatures = new double[MAX_BATCH];
+    double[] humidities = new double[MAX_BATCH];
+    double[] windSpeeds = new double[MAX_BATCH];
+    int[] epochDays = new int[MAX_BATCH];
+    Arrays.fill(epochDays, todayEpochDay);
+    int written = 0;
+    int fires = 0;
+    while (written < inserts) {
+      int count = Math.min(inserts - written, random.nextBoolean() ? 1 : 1 + random.nextInt(MAX_BATCH));
+      if (count == 1) {
+        area.addWeatherData(new WheatherData(area.nextWeatherDataId(), 30, 50, 10, today));
+      } else {
+        for (int i = 0; i < count; i++) {
+          temperatures[i] = 15 + i % 25;
+          humidities[i] = 50;
+          windSpeeds[i] = 10;
+        }
+        IdRange ids = area.addWeatherData(temperatures, humidities, windSpeeds, epochDays, 0, count);
+        if (ids.getCount() != count) {
+          throw new IllegalStateException("Intervalo de IDs com " + ids.getCount() + " IDs para " + count
+              + " leituras.");
+        }
+        area.addWildFire(new WildFire(area.nextWildFireId(), today, 1 + random.nextInt(100)));
+        fires++;
+      }
+      written += count;
+    }
+    return fires;
+  }
+
+  /** Confere continuamente que as quantidades visíveis da área nunca diminuem. */
+  private static void readArea(MonitoredArea area, AtomicBoolean writing, AtomicReference<String> failure) {
+    int lastReadings = 0;
+    int lastFires = 0;
+    while (writing.get() && failure.get() == null) {
+      int readings = area.getWeatherDataCount();
+      int fires = area.getWildFires().size();
+      if (readings < lastReadings || fires < lastFires) {
+        failure.compareAndSet(null, "quantidades visíveis da área diminuíram: " + lastReadings + " -> " + readings
+            + " leituras, " + lastFires + " -> " + fires + " incêndios");
+        return;
+      }
+      lastReadings = readings;
+      lastFires = fires;
+    }
+  }
+
+  /**
+   * Insere {@code inserts} leituras, alternando inserções avulsas e lotes de tamanho aleatório, e retorna a
+   * quantidade de inserções.
+   */
+  private static int write(WeatherDataStore store, AppendLog<Integer> log, int writer, int inserts) {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    double[] temperatures = new double[MAX_BATCH];
+    double[] humidities = new double[MAX_BATCH];
+    double[] windSpeeds = new double[MAX_BATCH];
+    int[] epochDays = new int[MAX_BATCH];
+    int id = writer * inserts + 1;
+    int written = 0;
+    int operations = 0;
+    while (written < inserts) {
+      int count = Math.min(inserts - written, random.nextBoolean() ? 1 : 1 + random.nextInt(MAX_BATCH));
+      if (count == 1) {
+        store.add(id, id, 50, 10, 0);
+      } else {
+        for (int i = 0; i < count; i++) {
+          temperatures[i] = id + i;
+          humidities[i] = 50;
+          windSpeeds[i] = 10;
+        }
+        store.addAll(id, temperatures, humidities, windSpeeds, epochDays, 0, count);
+      }
+      log.add(id);
+      id += count;
+      written += count;
+      operations++;
+    }
+    return operations;
+  }
+
+  /** Confere continuamente o histórico enquanto houver escritores. */
+  private static void read(WeatherDataStore store, AppendLog<Integer> log, AtomicBoolean writing,
+      AtomicReference<String> failure) {
+    int lastSize = 0;
+    int lastLogSize = 0;
+    while (writing.get() && failure.get() == null) {
+      int size = store.size();
+      if (size < lastSize) {
+        failure.compareAndSet(null, "tamanho visível diminuiu de " + lastSize + " para " + size);
+        return;
+      }
+      if (size > 0) {
+        int index = size - 1;
+        int id = store.getId(index);
+        if (id == 0 || store.getTemperature(index) != id) {
+          failure.compareAndSet(null, "leitura " + index + " visível antes de ser gravada");
+          return;
+        }
+      }
+      int logSize = log.size();
+      if (logSize < lastLogSize) {
+        failure.compareAndSet(null, "tamanho da lista diminuiu de " + lastLogSize + " para " + logSize);
+        return;
+      }
+      if (logSize > 0 && log.get(logSize - 1) == null) {
+        failure.compareAndSet(null, "elemento " + (logSize - 1) + " visível antes de ser gravado");
+        return;
+      }
+      lastSize = size;
+      lastLogSize = logSize;
+    }
+  }
+}
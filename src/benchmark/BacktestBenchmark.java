@@ -0,0 +1,102 @@
+package benchmark;
+
+import domain.backtest.BacktestEngine;
+import domain.backtest.BacktestGrid;
+import domain.backtest.BacktestReport;
+import domain.entities.MonitoredArea;
+import domain.entities.WildFire;
+import domain.risk.LinearRiskModel;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Mede o {@link BacktestEngine} em um histórico sintético de vários anos e
+ * milhares de áreas. As leituras seguem as estações do ano, e os incêndios
+ * acontecem com mais frequência alguns dias depois de dias de risco alto pelo
+ * modelo {@code T2,3 V2,3 U1,4}, que o backtest deve reencontrar entre os
+ * coeficientes da grade.
+ * <p>
+ * Os argumentos têm a forma {@code chave=valor}: {@code areas} (quantidade de
+ * áreas), {@code years} (anos de histórico), {@code readings} (leituras por
+ * dia), {@code horizon} (horizonte de previsão em dias) e {@code rounds}
+ * (execuções medidas, depois de uma de aquecimento).
+ * </p>
+ *
+ * <pre>
+ *     java -Xmx3g -cp bin benchmark.BacktestBenchmark areas=10000 years=3 readings=2
+ * </pre>
+ */
+public class BacktestBenchmark {
+  private static final LinearRiskModel HIDDEN = new LinearRiskModel("Oculto", 2.3, 2.3, 1.4);
+
+  public static void main(String[] args) {
+    BenchmarkOptions options = BenchmarkOptions.parse(args, "areas", "years", "readings", "horizon", "rounds");
+    int areaCount = options.getInt("areas", 10_000);
+    int years = options.getInt("years", 3);
+    int readingsPerDay = options.getInt("readings", 2);
+    int horizon = options.getInt("horizon", BacktestGrid.DEFAULT_HORIZON_DAYS);
+    int rounds = options.getInt("rounds", 3);
+
+    long start = System.nanoTime();
+    List<MonitoredArea> areas = createAreas(areaCount, years * 365, readingsPerDay);
+    long fires = areas.stream().mapToLong(area -> area.getWildFires().size()).sum();
+    System.out.printf("Áreas: %d | leituras: %d | incêndios: %d | geração: %.1f s%n", areaCount,
+        (long) areaCount * years * 365 * readingsPerDay, fires, (System.nanoTime() - start) / 1e9);
+
+    double[] weights = {1.8, 2.0, 2.2, 2.4};
+    BacktestGrid grid = new BacktestGrid(BacktestGrid.linearModels(weights, weights, new double[] {1.2, 1.4, 1.6}),
+        BacktestGrid.thresholds(50, 90, 5), horizon);
+    BacktestEngine engine = new BacktestEngine();
+    BacktestReport report = engine.run(areas, grid);
+    System.out.println("Aquecimento: " + report);
+    for (int round = 1; round <= rounds; round++) {
+      report = engine.run(areas, grid);
+      System.out.printf("Execução %d: %.1f s, %.0f áreas/s com %d combinações%n", round,
+          report.getElapsedMillis() / 1000, report.getAreasPerSecond(), grid.getCombinationCount());
+    }
+    System.out.println(report);
+    System.out.println("Melhores combinações:");
+    report.getTopByF1(5).forEach(result -> System.out.println("  " + result));
+  }
+
+  private static List<MonitoredArea> createAreas(int count, int days, int readingsPerDay) {
+    int size = days * readingsPerDay;
+    int[] ids = new int[size];
+    double[] temperatures = new double[size];
+    double[] humidities = new double[size];
+    double[] windSpeeds = new double[size];
+    int[] epochDays = new int[size];
+    int firstDay = (int) LocalDate.now().toEpochDay() - days;
+    Random random = new Random(42);
+    List<MonitoredArea> areas = new ArrayList<>(count);
+    for (int id = 1; id <= count; id++) {
+      MonitoredArea area = new MonitoredArea(id, "Área " + id, "-23.55, -46.63", "Cerrado");
+      int fireId = 0;
+      int pendingFireDay = -1;
+      for (int day = 0; day < days; day++) {
+        double season = Math.sin(2 * Math.PI * (day + id) / 365);
+        double dayMax = 0;
+        for (int reading = 0; reading < readingsPerDay; reading++) {
+          int i = day * readingsPerDay + reading;
+          ids[i] = i + 1;
+          temperatures[i] = Math.max(0, 24 + 9 * season + random.nextGaussian() * 4);
+          humidities[i] = Math.min(100, Math.max(0, 55 - 25 * season + random.nextGaussian() * 12));
+          windSpeeds[i] = random.nextDouble() * 20;
+          epochDays[i] = firstDay + day;
+          dayMax = Math.max(dayMax, HIDDEN.calculate(temperatures[i], humidities[i], windSpeeds[i]));
+        }
+        if (pendingFireDay < day && dayMax > 75 && random.nextInt(20) == 0) {
+          pendingFireDay = day + random.nextInt(6);
+        }
+        if (pendingFireDay == day || random.nextInt(2000) == 0) {
+          area.restoreWildFire(new WildFire(++fireId, LocalDate.ofEpochDay(firstDay + day), random.nextInt(101)));
+        }
+      }
+      area.restoreWeatherData(ids, temperatures, humidities, windSpeeds, epochDays, 0, size);
+      areas.add(area);
+    }
+    return areas;
+  }
+}
@@ -0,0 +1,84 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Argumentos de linha de comando dos benchmarks, na forma {@code chave=valor}.
+ * <p>
+ * Um argumento sem {@code =}, ou com uma chave fora das aceitas pelo
+ * benchmark, interrompe a execução com {@link IllegalArgumentException}, para
+ * que um erro de digitação não rode o benchmark com o valor padrão.
+ * </p>
+ *
+ * <pre>
+ *     BenchmarkOptions options = BenchmarkOptions.parse(args, "rounds", "csv");
+ *     int rounds = options.getInt("rounds", 3);
+ *     String csv = options.get("csv", null);
+ * </pre>
+ */
+public final class BenchmarkOptions {
+  private final Map<String, String> values;
+
+  private BenchmarkOptions(Map<String, String> values) {
+    this.values = values;
+  }
+
+  /**
+   * Lê os argumentos {@code chave=valor}.
+   *
+   * @param args  os argumentos do {@code main}
+   * @param known as chaves aceitas
+   * @return as opções informadas
+   * @throws IllegalArgumentException se um argumento não tiver a forma
+   *                                  {@code chave=valor} ou a chave não for
+   *                                  aceita
+   */
+  public static BenchmarkOptions parse(String[] args, String... known) {
+    List<String> keys = Arrays.asList(known);
+    Map<String, String> values = new HashMap<>();
+    for (String arg : args) {
+      int equals = arg.indexOf('=');
+      if (equals <= 0) {
+        throw new IllegalArgumentException("Argumento inválido: " + arg + " (use chave=valor).");
+      }
+      String key = arg.substring(0, equals);
+      if (!keys.contains(key)) {
+        throw new IllegalArgumentException("Opção desconhecida: " + arg);
+      }
+      values.put(key, arg.substring(equals + 1).trim());
+    }
+    return new BenchmarkOptions(values);
+  }
+
+  public String get(String key, String defaultValue) {
+    return values.getOrDefault(key, defaultValue);
+  }
+
+  public int getInt(String key, int defaultValue) {
+    String value = values.get(key);
+    return value == null ? defaultValue : Integer.parseInt(value);
+  }
+
+  /**
+   * Lê uma lista de inteiros separados por vírgula, sem repetições, na ordem
+   * informada.
+   *
+   * @param key          a chave
+   * @param defaultValue a lista usada se a chave não for informada
+   * @return os inteiros da lista
+   */
+  public int[] getInts(String key, String defaultValue) {
+    Set<Integer> ints = new LinkedHashSet<>();
+    for (String value : values.getOrDefault(key, defaultValue).split(",")) {
+      if (!value.isBlank()) {
+        ints.add(Integer.parseInt(value.trim()));
+      }
+    }
+    return ints.stream().mapToInt(Integer::intValue).toArray();
+  }
+}
@@ -0,0 +1,103 @@
+package benchmark;
+
+import java.util.Locale;
+
+/**
+ * Resultado de um caso medido por {@link MicroBenchmark}: a vazão de cada
+ * iteração de medição, com a média, o desvio padrão e o tempo médio por
+ * operação de cada thread.
+ * <p>
+ * {@link #toCsv()} gera uma linha no formato de {@link #CSV_HEADER}, com ponto
+ * decimal, para comparar execuções antes e depois de uma alteração.
+ * </p>
+ */
+public class BenchmarkResult {
+  /** Cabeçalho das linhas geradas por {@link #toCsv()}. */
+  public static final String CSV_HEADER =
+      "benchmark,size,threads,iterations,ops_per_second,ops_per_second_stddev,ns_per_op";
+
+  private final String name;
+  private final int size;
+  private final int threads;
+  private final double[] opsPerSecond;
+
+  public BenchmarkResult(String name, int size, int threads, double[] opsPerSecond) {
+    this.name = name;
+    this.size = size;
+    this.threads = threads;
+    this.opsPerSecond = opsPerSecond.clone();
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Retorna o tamanho usado no caso: leituras no histórico ou áreas no
+   * registro, conforme o caso.
+   *
+   * @return o tamanho do caso
+   */
+  public int getSize() {
+    return size;
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  public int getIterations() {
+    return opsPerSecond.length;
+  }
+
+  /**
+   * Calcula a vazão média das iterações de medição, somando todas as threads.
+   *
+   * @return as operações por segundo
+   */
+  public double getOpsPerSecond() {
+    double sum = 0;
+    for (double value : opsPerSecond) {
+      sum += value;
+    }
+    return opsPerSecond.length == 0 ? 0 : sum / opsPerSecond.length;
+  }
+
+  /**
+   * Calcula o desvio padrão amostral da vazão entre as iterações.
+   *
+   * @return o desvio padrão, em operações por segundo
+   */
+  public double getOpsPerSecondStdDev() {
+    if (opsPerSecond.length < 2) {
+      return 0;
+    }
+    double mean = getOpsPerSecond();
+    double squares = 0;
+    for (double value : opsPerSecond) {
+      squares += (value - mean) * (value - mean);
+    }
+    return Math.sqrt(squares / (opsPerSecond.length - 1));
+  }
+
+  /**
+   * Calcula o tempo médio de uma operação em cada thread.
+   *
+   * @return os nanossegundos por operação
+   */
+  public double getNanosPerOp() {
+    double mean = getOpsPerSecond();
+    return mean == 0 ? 0 : threads * 1e9 / mean;
+  }
+
+  public String toCsv() {
+    return String.format(Locale.ROOT, "%s,%d,%d,%d,%.1f,%.1f,%.2f", name, size, threads, getIterations(),
+        getOpsPerSecond(), getOpsPerSecondStdDev(), getNanosPerOp());
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%-32s %10d %3d threads %16.0f ± %12.0f ops/s %12.2f ns/op", name, size, threads,
+        getOpsPerSecond(), getOpsPerSecondStdDev(), getNanosPerOp());
+  }
+}
@@ -0,0 +1,78 @@
+package benchmark;
+
+import domain.entities.MonitoredArea;
+import domain.entities.WheatherData;
+import domain.registry.AreaRegistry;
+import infrastructure.io.CsvImportReport;
+import infrastructure.io.CsvImporter;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mede a importação de um CSV de dados climáticos com {@link CsvImporter} e a
+ * compara com a leitura linha a linha por {@link BufferedReader}, com
+ * {@code String.split}, {@code Double.parseDouble} e {@code LocalDate.parse},
+ * criando um {@link WheatherData} por linha. A segunda importação do mesmo
+ * arquivo só encontra IDs duplicados e mede apenas a leitura e a conversão.
+ *
+ * <pre>
+ *     java -Xmx4g -cp bin benchmark.CsvImportBenchmark 10000000 20
+ * </pre>
+ */
+public class CsvImportBenchmark {
+  public static void main(String[] args) throws IOException {
+    int rows = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+    int areaCount = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+    Path file = Files.createTempFile("historico", ".csv");
+    LocalDate firstDay = LocalDate.now().minusDays(rows / 10_000);
+    try (BufferedWriter out = Files.newBufferedWriter(file)) {
+      out.write("areaId,id,data,temperatura,umidade,velocidadeDoVento\n");
+      for (int n = 0; n < rows; n++) {
+        out.write((1 + n % areaCount) + "," + (1 + n / areaCount) + "," + firstDay.plusDays(n / 10_000) + ","
+            + (15 + n % 25 + 0.25) + "," + (20 + n % 70 + 0.5) + "," + (n % 40 + 0.75) + "\n");
+      }
+    }
+    double megabytes = Files.size(file) / (1024.0 * 1024.0);
+    System.out.printf("Linhas: %d | áreas: %d | arquivo: %.1f MB%n", rows, areaCount, megabytes);
+
+    long start = System.nanoTime();
+    int objects = readWithSplit(file);
+    long splitNanos = System.nanoTime() - start;
+    System.out.printf("split + parseDouble + WheatherData: %d linhas, %.0f linhas/s%n", objects,
+        objects / (splitNanos / 1e9));
+
+    AreaRegistry registry = new AreaRegistry();
+    for (int id = 1; id <= areaCount; id++) {
+      registry.register(new MonitoredArea(id, "Área " + id, "-23.55, -46.63", "Cerrado"));
+    }
+    CsvImporter importer = new CsvImporter(registry);
+    CsvImportReport report = importer.importWeatherData(file);
+    System.out.printf("CsvImporter (inserção):  %.0f linhas/s, %.1f MB/s%n", report.getRowsPerSecond(),
+        megabytes / (report.getElapsedNanos() / 1e9));
+    report = importer.importWeatherData(file);
+    System.out.printf("CsvImporter (duplicadas): %.0f linhas/s, %.1f MB/s%n", report.getRowsPerSecond(),
+        megabytes / (report.getElapsedNanos() / 1e9));
+    System.out.println(report);
+    Files.delete(file);
+  }
+
+  /** Leitura linha a linha, como seria feita sem o importador. */
+  private static int readWithSplit(Path file) throws IOException {
+    List<WheatherData> loaded = new ArrayList<>();
+    try (BufferedReader in = Files.newBufferedReader(file)) {
+      in.readLine();
+      for (String line = in.readLine(); line != null; line = in.readLine()) {
+        String[] fields = line.split(",");
+        loaded.add(new WheatherData(Integer.parseInt(fields[1]), Double.parseDouble(fields[3]),
+            Double.parseDouble(fields[4]), Double.parseDouble(fields[5]), LocalDate.parse(fields[2])));
+      }
+    }
+    return loaded.size();
+  }
+}
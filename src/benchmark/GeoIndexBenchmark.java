@@ -0,0 +1,145 @@
+package benchmark;
+
+import domain.entities.GeoPoint;
+import domain.entities.MonitoredArea;
+import domain.registry.AreaRegistry;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * Compara as consultas espaciais do {@link AreaRegistry} com uma busca linear
+ * sobre todas as áreas.
+ * <p>
+ * Cadastra {@code N} áreas com coordenadas aleatórias no território brasileiro
+ * e mede o tempo médio das consultas por raio, por retângulo e dos vizinhos
+ * mais próximos, conferindo se os resultados coincidem com a busca linear.
+ * </p>
+ *
+ * <pre>
+ *     java -cp bin benchmark.GeoIndexBenchmark 100000
+ * </pre>
+ */
+public class GeoIndexBenchmark {
+  private static final int QUERIES = 200;
+  private static final double RADIUS_KM = 20;
+  private static final int K = 10;
+
+  public static void main(String[] args) {
+    int areaCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+    SplittableRandom random = new SplittableRandom(42);
+    AreaRegistry registry = new AreaRegistry();
+    List<MonitoredArea> areas = new ArrayList<>();
+    for (int i = 1; i <= areaCount; i++) {
+      String location = random.nextDouble(-33, 5) + ", " + random.nextDouble(-73, -35);
+      MonitoredArea area = new MonitoredArea(i, "Área " + i, location, "Cerrado");
+      registry.register(area);
+      areas.add(area);
+    }
+    double[][] points = new double[QUERIES][];
+    for (int i = 0; i < QUERIES; i++) {
+      points[i] = new double[] { random.nextDouble(-33, 5), random.nextDouble(-73, -35) };
+    }
+
+    System.out.println("Áreas: " + areaCount + ", consultas: " + QUERIES);
+    int mismatches = 0;
+
+    long indexed = 0;
+    long linear = 0;
+    for (double[] p : points) {
+      long start = System.nanoTime();
+      List<MonitoredArea> fromIndex = registry.findWithinRadius(p[0], p[1], RADIUS_KM);
+      indexed += System.nanoTime() - start;
+      start = System.nanoTime();
+      List<MonitoredArea> fromScan = radiusScan(areas, p[0], p[1], RADIUS_KM);
+      linear += System.nanoTime() - start;
+      mismatches += fromIndex.equals(fromScan) ? 0 : 1;
+    }
+    report("Raio " + RADIUS_KM + " km", indexed, linear);
+
+    indexed = 0;
+    linear = 0;
+    for (double[] p : points) {
+      long start = System.nanoTime();
+      List<MonitoredArea> fromIndex = registry.findWithinBoundingBox(p[0] - 0.5, p[1] - 0.5, p[0] + 0.5, p[1] + 0.5);
+      indexed += System.nanoTime() - start;
+      start = System.nanoTime();
+      List<MonitoredArea> fromScan = boxScan(areas, p[0] - 0.5, p[1] - 0.5, p[0] + 0.5, p[1] + 0.5);
+      linear += System.nanoTime() - start;
+      mismatches += fromIndex.size() == fromScan.size() && fromScan.containsAll(fromIndex) ? 0 : 1;
+    }
+    report("Retângulo 1°x1°", indexed, linear);
+
+    indexed = 0;
+    linear = 0;
+    for (double[] p : points) {
+      long start = System.nanoTime();
+      List<MonitoredArea> fromIndex = registry.findNearest(p[0], p[1], K);
+      indexed += System.nanoTime() - start;
+      start = System.nanoTime();
+      List<MonitoredArea> fromScan = nearestScan(areas, p[0], p[1], K);
+      linear += System.nanoTime() - start;
+      mismatches += fromIndex.equals(fromScan) ? 0 : 1;
+    }
+    report(K + " mais próximas", indexed, linear);
+
+    System.out.println("Divergências em relação à busca linear: " + mismatches);
+  }
+
+  private static void report(String query, long indexedNanos, long linearNanos) {
+    System.out.printf("%-18s índice: %8.1f µs/consulta | linear: %8.1f µs/consulta%n", query,
+        indexedNanos / 1000.0 / QUERIES, linearNanos / 1000.0 / QUERIES);
+  }
+
+  private static double distance(MonitoredArea area, double lat, double lon) {
+    GeoPoint point = area.getCoordinates();
+    return GeoPoint.distanceKm(lat, lon, point.getLatitude(), point.getLongitude());
+  }
+
+  private static List<MonitoredArea> radiusScan(List<MonitoredArea> areas, double lat, double lon, double radiusKm) {
+    List<MonitoredArea> result = new ArrayList<>();
+    for (MonitoredArea area : areas) {
+      if (distance(area, lat, lon) <= radiusKm) {
+        result.add(area);
+      }
+    }
+    result.sort(Comparator.comparingDouble(a -> distance(a, lat, lon)));
+    return result;
+  }
+
+  private static List<MonitoredArea> boxScan(List<MonitoredArea> areas, double minLat, double minLon, double maxLat,
+      double maxLon) {
+    List<MonitoredArea> result = new ArrayList<>();
+    for (MonitoredArea area : areas) {
+      GeoPoint point = area.getCoordinates();
+      if (point.getLatitude() >= minLat && point.getLatitude() <= maxLat && point.getLongitude() >= minLon
+          && point.getLongitude() <= maxLon) {
+        result.add(area);
+      }
+    }
+    return result;
+  }
+
+  private static List<MonitoredArea> nearestScan(List<MonitoredArea> areas, double lat, double lon, int k) {
+    double[] distances = new double[areas.size()];
+    PriorityQueue<Integer> closest = new PriorityQueue<>((a, b) -> Double.compare(distances[b], distances[a]));
+    for (int i = 0; i < distances.length; i++) {
+      distances[i] = distance(areas.get(i), lat, lon);
+      if (closest.size() < k) {
+        closest.add(i);
+      } else if (distances[i] < distances[closest.peek()]) {
+        closest.poll();
+        closest.add(i);
+      }
+    }
+    List<MonitoredArea> result = new ArrayList<>();
+    while (!closest.isEmpty()) {
+      result.add(areas.get(closest.poll()));
+    }
+    Collections.reverse(result);
+    return result;
+  }
+}
@@ -0,0 +1,336 @@
+package benchmark;
+
+import domain.entities.MonitoredArea;
+import domain.entities.Sensor;
+import domain.entities.WheatherData;
+import domain.entities.WildFire;
+import domain.registry.AreaRegistry;
+import domain.stats.FireActivity;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mede os caminhos mais usados do domínio com {@link MicroBenchmark}, variando
+ * o tamanho do histórico e a quantidade de threads, e grava os resultados em
+ * CSV para comparar execuções antes e depois de uma alteração:
+ * <ul>
+ * <li>{@code calculateRiskLevel.latest}, {@code .data} e {@code .values}: as
+ * três formas de {@link MonitoredArea#calculateRiskLevel()};</li>
+ * <li>{@code getLatestWeatherData}: leitura mais recente do histórico;</li>
+ * <li>{@code useSensor} e {@code Sensor.collectData}: coleta do sensor, com e
+ * sem inserção no histórico;</li>
+ * <li>{@code addWeatherData.contended}: inserções concorrentes na mesma
+ * área;</li>
+ * <li>{@code AreaRegistry.find}: busca de área por ID, com o tamanho sendo a
+ * quantidade de áreas cadastradas;</li>
+ * <li>{@code evaluateAlert} e {@code generateAlert}: alerta automático com e
+ * sem a política de supressão;</li>
+ * <li>{@code getFireActivity}, {@code getWildFiresInLastDays.scan} e
+ * {@code calculateRiskLevel.fires}: incêndios dos últimos 30 dias pelo índice
+ * e percorrendo a lista, e o risco com o componente de incêndios, com o
+ * tamanho sendo a quantidade de incêndios da área.</li>
+ * </ul>
+ * <p>
+ * Os argumentos têm a forma {@code chave=valor}: {@code sizes} (tamanhos do
+ * histórico), {@code areas} (tamanhos do registro), {@code fires}
+ * (quantidades de incêndios), {@code threads},
+ * {@code warmup} e {@code iterations} (iterações de aquecimento e de medição),
+ * {@code ms} (duração de cada iteração), {@code filter} (parte do nome dos
+ * casos a executar) e {@code csv} (arquivo de resultados).
+ * </p>
+ *
+ * <pre>
+ *     java -Xmx2g -cp bin benchmark.HotPathBenchmark sizes=1000,1000000 threads=1,4 csv=resultados.csv
+ * </pre>
+ */
+public class HotPathBenchmark {
+  private static final int SAMPLES = 1024;
+
+  private final BenchmarkOptions options;
+  private final MicroBenchmark runner;
+  private final List<BenchmarkResult> results = new ArrayList<>();
+  private final String filter;
+  private History history;
+
+  private HotPathBenchmark(BenchmarkOptions options) {
+    this.options = options;
+    this.runner = new MicroBenchmark(options.getInt("warmup", 3), options.getInt("iterations", 5),
+        options.getInt("ms", 500));
+    this.filter = options.get("filter", "");
+  }
+
+  public static void main(String[] args) throws IOException {
+    BenchmarkOptions options = BenchmarkOptions.parse(args, "sizes", "areas", "fires", "threads", "warmup",
+        "iterations", "ms", "filter", "csv");
+    HotPathBenchmark benchmark = new HotPathBenchmark(options);
+    benchmark.runAll();
+    String csv = options.get("csv", null);
+    if (csv != null) {
+      benchmark.writeCsv(Path.of(csv));
+      System.out.println("Resultados gravados em " + csv);
+    }
+  }
+
+  private void runAll() {
+    int[] sizes = options.getInts("sizes", "1000,100000,1000000");
+    int[] areaCounts = options.getInts("areas", "1000,100000");
+    int[] fireCounts = options.getInts("fires", "1000,100000");
+    int[] threadCounts = options.getInts("threads", "1,2,4");
+    int maxSize = 0;
+    for (int size : sizes) {
+      if (size <= 0) {
+        throw new IllegalArgumentException("Os tamanhos do histórico devem ser positivos.");
+      }
+      maxSize = Math.max(maxSize, size);
+    }
+    history = new History(maxSize);
+    WheatherData[] samples = sampleReadings();
+
+    for (int threads : threadCounts) {
+      for (int size : sizes) {
+        MonitoredArea area = history.newArea(size);
+        measure("calculateRiskLevel.latest", size, threads, (thread, operations) -> {
+          long sum = 0;
+          for (int i = 0; i < operations; i++) {
+            sum += (long) area.calculateRiskLevel();
+          }
+          return sum;
+        });
+        measure("calculateRiskLevel.data", size, threads, (thread, operations) -> {
+          long sum = 0;
+          for (int i = 0; i < operations; i++) {
+            sum += (long) area.calculateRiskLevel(samples[i & (SAMPLES - 1)]);
+          }
+          return sum;
+        });
+        measure("calculateRiskLevel.values", size, threads, (thread, operations) -> {
+          long sum = 0;
+          for (int i = 0; i < operations; i++) {
+            WheatherData data = samples[i & (SAMPLES - 1)];
+            sum += (long) area.calculateRiskLevel(data.getTemperature(), data.getHumidity(), data.getWindSpeed());
+          }
+          return sum;
+        });
+        measure("getLatestWeatherData", size, threads, (thread, operations) -> {
+          long sum = 0;
+          for (int i = 0; i < operations; i++) {
+            sum += area.getLatestWeatherData().getId();
+          }
+          return sum;
+        });
+        measure("useSensor", size, threads, new HistoryFixture(size) {
+          @Override
+          public long run(int thread, int operations) {
+            long sum = 0;
+            for (int i = 0; i < operations; i++) {
+              sum += area().useSensor(1).size();
+            }
+            return sum;
+          }
+        });
+        measure("addWeatherData.contended", size, threads, new HistoryFixture(size) {
+          @Override
+          public long run(int thread, int operations) {
+            MonitoredArea target = area();
+            for (int i = 0; i < operations; i++) {
+              WheatherData data = samples[i & (SAMPLES - 1)];
+              target.addWeatherData(new WheatherData(target.nextWeatherDataId(), data.getTemperature(),
+                  data.getHumidity(), data.getWindSpeed(), data.getDate()));
+            }
+            return operations;
+          }
+        });
+      }
+      Sensor sensor = new Sensor(1, "Sensor de teste", 42L);
+      measure("Sensor.collectData", 0, threads, (thread, operations) -> {
+        long sum = 0;
+        for (int i = 0; i < operations; i++) {
+          sum += (long) sensor.collectData(i).getTemperature();
+        }
+        return sum;
+      });
+      for (int areaCount : areaCounts) {
+        AreaRegistry registry = new AreaRegistry();
+        for (int id = 1; id <= areaCount; id++) {
+          registry.register(new MonitoredArea(id, "Área " + id, "-23.55, -46.63", "Cerrado"));
+        }
+        measure("AreaRegistry.find", areaCount, threads, (thread, operations) -> {
+          long sum = 0;
+          int id = thread * 7919;
+          for (int i = 0; i < operations; i++) {
+            id = (id + 104_729) % areaCount;
+            sum += registry.find(id + 1).getId();
+          }
+          return sum;
+        });
+      }
+      for (int fireCount : fireCounts) {
+        MonitoredArea area = newAreaWithFires(fireCount);
+        measure("getFireActivity", fireCount, threads, (thread, operations) -> {
+          long sum = 0;
+          for (int i = 0; i < operations; i++) {
+            FireActivity activity = area.getFireActivity(30);
+            sum += activity.getCount() + activity.getMaxSeverity();
+          }
+          return sum;
+        });
+        measure("getWildFiresInLastDays.scan", fireCount, threads, (thread, operations) -> {
+          long sum = 0;
+          for (int i = 0; i < operations; i++) {
+            int maxSeverity = 0;
+            List<WildFire> fires = area.getWildFiresInLastDays(30);
+            for (WildFire fire : fires) {
+              maxSeverity = Math.max(maxSeverity, fire.getSeverity());
+            }
+            sum += fires.size() + maxSeverity;
+          }
+          return sum;
+        });
+        measure("calculateRiskLevel.fires", fireCount, threads, (thread, operations) -> {
+          long sum = 0;
+          for (int i = 0; i < operations; i++) {
+            sum += (long) area.calculateRiskLevel(samples[i & (SAMPLES - 1)]);
+          }
+          return sum;
+        });
+      }
+      measure("evaluateAlert", 0, threads, new AlertFixture() {
+        @Override
+        public long run(int thread, int operations) {
+          long sum = 0;
+          for (int i = 0; i < operations; i++) {
+            sum += area().evaluateAlert(80, samples[i & (SAMPLES - 1)]).getDecision().ordinal();
+          }
+          return sum;
+        }
+      });
+      measure("generateAlert", 0, threads, new AlertFixture() {
+        @Override
+        public long run(int thread, int operations) {
+          long sum = 0;
+          for (int i = 0; i < operations; i++) {
+            sum += area().generateAlert(80, samples[i & (SAMPLES - 1)]).getId();
+          }
+          return sum;
+        }
+      });
+    }
+  }
+
+  private void measure(String name, int size, int threads, MicroBenchmark.Operation operation) {
+    if (name.contains(filter)) {
+      report(runner.run(name, size, threads, operation));
+    }
+  }
+
+  private void measure(String name, int size, int threads, MicroBenchmark.Fixture fixture) {
+    if (name.contains(filter)) {
+      report(runner.run(name, size, threads, fixture));
+    }
+  }
+
+  private void report(BenchmarkResult result) {
+    results.add(result);
+    System.out.println(result);
+  }
+
+  private void writeCsv(Path file) throws IOException {
+    try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file))) {
+      out.println(BenchmarkResult.CSV_HEADER);
+      for (BenchmarkResult result : results) {
+        out.println(result.toCsv());
+      }
+    }
+  }
+
+  private static WheatherData[] sampleReadings() {
+    WheatherData[] samples = new WheatherData[SAMPLES];
+    LocalDate today = LocalDate.now();
+    for (int i = 0; i < SAMPLES; i++) {
+      samples[i] = new WheatherData(i + 1, 15 + i % 25, 10 + i % 80, i % 20, today);
+    }
+    return samples;
+  }
+
+  /** Área com {@code count} incêndios espalhados pelo último ano, em ordem de data. */
+  private static MonitoredArea newAreaWithFires(int count) {
+    MonitoredArea area = new MonitoredArea(1, "Área de teste", "-23.55, -46.63", "Cerrado");
+    LocalDate firstDay = LocalDate.now().minusDays(365);
+    for (int i = 0; i < count; i++) {
+      area.restoreWildFire(new WildFire(i + 1, firstDay.plusDays(366L * i / count), i % 101));
+    }
+    return area;
+  }
+
+  /** Caso que recomeça cada iteração com uma área nova, com o histórico do tamanho medido. */
+  private abstract class HistoryFixture implements MicroBenchmark.Fixture {
+    private final int size;
+    private volatile MonitoredArea area;
+
+    private HistoryFixture(int size) {
+      this.size = size;
+    }
+
+    @Override
+    public void setUp() {
+      // Libera a área da iteração anterior antes de criar a próxima.
+      area = null;
+      area = history.newArea(size);
+    }
+
+    MonitoredArea area() {
+      return area;
+    }
+  }
+
+  /** Caso que recomeça cada iteração com uma área sem alertas. */
+  private abstract static class AlertFixture implements MicroBenchmark.Fixture {
+    private volatile MonitoredArea area;
+
+    @Override
+    public void setUp() {
+      area = null;
+      area = new MonitoredArea(1, "Área de teste", "-23.55, -46.63", "Cerrado");
+    }
+
+    MonitoredArea area() {
+      return area;
+    }
+  }
+
+  /** Histórico sintético em colunas, usado para criar áreas de qualquer tamanho. */
+  private static final class History {
+    private final int[] ids;
+    private final double[] temperatures;
+    private final double[] humidities;
+    private final double[] windSpeeds;
+    private final int[] epochDays;
+
+    private History(int size) {
+      ids = new int[size];
+      temperatures = new double[size];
+      humidities = new double[size];
+      windSpeeds = new double[size];
+      epochDays = new int[size];
+      int firstDay = (int) LocalDate.now().toEpochDay() - 365;
+      for (int i = 0; i < size; i++) {
+        ids[i] = i + 1;
+        temperatures[i] = 15 + i % 25;
+        humidities[i] = 10 + i % 80;
+        windSpeeds[i] = i % 20;
+        epochDays[i] = firstDay + (int) (366L * i / size);
+      }
+    }
+
+    private MonitoredArea newArea(int size) {
+      MonitoredArea area = new MonitoredArea(1, "Área de teste", "-23.55, -46.63", "Cerrado");
+      area.restoreWeatherData(ids, temperatures, humidities, windSpeeds, epochDays, 0, size);
+      return area;
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package benchmark;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Executor de microbenchmarks para rodar com o {@code javac} do projeto, sem
+ * dependências: cada caso roda em iterações de aquecimento, descartadas, e em
+ * iterações de medição de duração fixa, com uma ou mais threads chamando a
+ * operação ao mesmo tempo.
+ * <p>
+ * As threads de uma iteração começam juntas e chamam a operação em lotes até o
+ * fim do tempo da iteração; a vazão é o total de operações dividido pelo tempo
+ * da thread mais lenta. Os valores devolvidos pela operação são acumulados em
+ * um campo {@code volatile}, para que o compilador JIT não elimine o trabalho
+ * medido.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     MicroBenchmark runner = new MicroBenchmark(3, 5, 500);
+ *     BenchmarkResult result = runner.run("risco", 0, 4, (thread, operations) -&gt; {
+ *       long sum = 0;
+ *       for (int i = 0; i &lt; operations; i++) {
+ *         sum += (long) area.calculateRiskLevel();
+ *       }
+ *       return sum;
+ *     });
+ * </pre>
+ */
+public class MicroBenchmark {
+  private static final int OPERATIONS_PER_BATCH = 64;
+
+  private static volatile long sink;
+
+  private final int warmupIterations;
+  private final int measurementIterations;
+  private final long iterationNanos;
+
+  /**
+   * Operação medida. Deve executar o caminho medido {@code operations} vezes e
+   * devolver um valor que dependa dos resultados.
+   */
+  @FunctionalInterface
+  public interface Operation {
+    long run(int thread, int operations);
+  }
+
+  /**
+   * Caso medido com preparação: {@link #setUp()} é chamado antes de cada
+   * iteração, fora do tempo medido, para casos que acumulam estado (inserções,
+   * alertas) e precisam começar cada iteração do mesmo ponto.
+   */
+  public interface Fixture extends Operation {
+    void setUp();
+  }
+
+  /**
+   * Cria um executor.
+   *
+   * @param warmupIterations      iterações de aquecimento, descartadas
+   * @param measurementIterations iterações medidas
+   * @param iterationMillis       duração de cada iteração, em milissegundos
+   * @throws IllegalArgumentException se algum parâmetro for inválido
+   */
+  public MicroBenchmark(int warmupIterations, int measurementIterations, long iterationMillis) {
+    if (warmupIterations < 0 || measurementIterations <= 0 || iterationMillis <= 0) {
+      throw new IllegalArgumentException("Iterações e duração do benchmark inválidas.");
+    }
+    this.warmupIterations = warmupIterations;
+    this.measurementIterations = measurementIterations;
+    this.iterationNanos = iterationMillis * 1_000_000;
+  }
+
+  /**
+   * Mede uma operação sem preparação entre as iterações.
+   *
+   * @param name      nome do caso
+   * @param size      tamanho do caso, registrado no resultado
+   * @param threads   quantidade de threads que chamam a operação ao mesmo tempo
+   * @param operation a operação medida
+   * @return o resultado das iterações de medição
+   */
+  public BenchmarkResult run(String name, int size, int threads, Operation operation) {
+    return run(name, size, threads, new Fixture() {
+      @Override
+      public void setUp() {
+      }
+
+      @Override
+      public long run(int thread, int operations) {
+        return operation.run(thread, operations);
+      }
+    });
+  }
+
+  /**
+   * Mede um caso, chamando {@link Fixture#setUp()} antes de cada iteração.
+   *
+   * @param name    nome do caso
+   * @param size    tamanho do caso, registrado no resultado
+   * @param threads quantidade de threads que chamam a operação ao mesmo tempo
+   * @param fixture o caso medido
+   * @return o resultado das iterações de medição
+   */
+  public BenchmarkResult run(String name, int size, int threads, Fixture fixture) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("A quantidade de threads deve ser positiva.");
+    }
+    for (int i = 0; i < warmupIterations; i++) {
+      fixture.setUp();
+      iterate(fixture, threads);
+    }
+    double[] opsPerSecond = new double[measurementIterations];
+    for (int i = 0; i < measurementIterations; i++) {
+      fixture.setUp();
+      opsPerSecond[i] = iterate(fixture, threads);
+    }
+    return new BenchmarkResult(name, size, threads, opsPerSecond);
+  }
+
+  /** Executa uma iteração e devolve a vazão, em operações por segundo. */
+  private double iterate(Operation operation, int threads) {
+    CountDownLatch start = new CountDownLatch(1);
+    long[] operations = new long[threads];
+    long[] elapsed = new long[threads];
+    Thread[] workers = new Thread[threads];
+    for (int t = 0; t < threads; t++) {
+      int thread = t;
+      workers[t] = new Thread(() -> {
+        try {
+          start.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+        long begin = System.nanoTime();
+        long deadline = begin + iterationNanos;
+        long done = 0;
+        long result = 0;
+        long now;
+        do {
+          result += operation.run(thread, OPERATIONS_PER_BATCH);
+          done += OPERATIONS_PER_BATCH;
+          now = System.nanoTime();
+        } while (now < deadline);
+        operations[thread] = done;
+        elapsed[thread] = now - begin;
+        sink += result;
+      }, "benchmark-" + t);
+      workers[t].start();
+    }
+    start.countDown();
+    long total = 0;
+    long slowest = 1;
+    for (int t = 0; t < threads; t++) {
+      try {
+        workers[t].join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Benchmark interrompido.", e);
+      }
+      total += operations[t];
+      slowest = Math.max(slowest, elapsed[t]);
+    }
+    return total * 1e9 / slowest;
+  }
+}
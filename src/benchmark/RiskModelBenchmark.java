@@ -0,0 +1,204 @@
+package benchmark;
+
+import domain.risk.LinearRiskModel;
+import domain.risk.QuantizedRiskModel;
+import domain.risk.QuantizedRiskModel.Interpolation;
+import domain.risk.RiskCalculator;
+import domain.risk.RiskModel;
+import domain.risk.VegetationRiskModels;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compara o cálculo de risco por {@link RiskModel} com a fórmula fixa de
+ * {@link RiskCalculator}, que era usada diretamente pelas áreas:
+ * <ul>
+ * <li>{@code RiskCalculator.calculate}: a fórmula estática, por leitura;</li>
+ * <li>{@code RiskModel.calculate}: o mesmo cálculo por
+ * {@link LinearRiskModel#STANDARD}, chamado pela interface;</li>
+ * <li>{@code RiskModel.calculate.vegetations}: os modelos de todas as
+ * vegetações, alternados a cada leitura, como em uma varredura de áreas;</li>
+ * <li>{@code RiskCalculator.calculate[]} e {@code RiskModel.calculate[]}: o
+ * cálculo em lote de {@value #READINGS} leituras, com o tamanho sendo a
+ * quantidade de leituras por operação;</li>
+ * <li>{@code QuantizedRiskModel.nearest} e {@code .trilinear}: a grade
+ * pré-calculada do modelo padrão, por leitura, e
+ * {@code QuantizedRiskModel.trilinear[]}, em lote.</li>
+ * </ul>
+ * <p>
+ * Antes de medir, confere que {@link LinearRiskModel#STANDARD} produz
+ * exatamente os resultados de {@link RiskCalculator}, por leitura e em lote,
+ * e que as grades de todos os modelos de vegetação respeitam o limite de erro
+ * informado em {@value #GRID_SAMPLES} leituras aleatórias dentro das faixas do
+ * sensor, e os valores exatos fora delas.
+ * Os argumentos são os mesmos de {@link HotPathBenchmark}: {@code warmup},
+ * {@code iterations}, {@code ms} e {@code csv}.
+ * </p>
+ *
+ * <pre>
+ *     java -cp bin benchmark.RiskModelBenchmark csv=risco.csv
+ * </pre>
+ */
+public class RiskModelBenchmark {
+  private static final int READINGS = 1024;
+  private static final int GRID_SAMPLES = 1_000_000;
+
+  public static void main(String[] args) throws IOException {
+    BenchmarkOptions options = BenchmarkOptions.parse(args, "warmup", "iterations", "ms", "csv");
+    int warmup = options.getInt("warmup", 3);
+    int iterations = options.getInt("iterations", 5);
+    int millis = options.getInt("ms", 500);
+    String csv = options.get("csv", null);
+
+    double[] temperatures = new double[READINGS];
+    double[] humidities = new double[READINGS];
+    double[] windSpeeds = new double[READINGS];
+    Random random = new Random(42);
+    for (int i = 0; i < READINGS; i++) {
+      // Algumas leituras inválidas, para cobrir também o desvio de validação.
+      temperatures[i] = random.nextInt(64) == 0 ? -1 : 10 + random.nextDouble() * 35;
+      humidities[i] = random.nextDouble() * 100;
+      windSpeeds[i] = random.nextDouble() * 60;
+    }
+    checkEquivalence(temperatures, humidities, windSpeeds);
+    checkGridBounds();
+
+    RiskModel standard = LinearRiskModel.STANDARD;
+    List<RiskModel> models = new ArrayList<>(VegetationRiskModels.all());
+    RiskModel[] vegetations = new RiskModel[8];
+    for (int i = 0; i < vegetations.length; i++) {
+      vegetations[i] = models.get(i % models.size());
+    }
+    double[] out = new double[READINGS];
+    MicroBenchmark runner = new MicroBenchmark(warmup, iterations, millis);
+    List<BenchmarkResult> results = new ArrayList<>();
+
+    results.add(runner.run("RiskCalculator.calculate", 1, 1, (thread, operations) -> {
+      long sum = 0;
+      for (int i = 0; i < operations; i++) {
+        int k = i & (READINGS - 1);
+        sum += (long) RiskCalculator.calculate(temperatures[k], humidities[k], windSpeeds[k]);
+      }
+      return sum;
+    }));
+    results.add(runner.run("RiskModel.calculate", 1, 1, (thread, operations) -> {
+      long sum = 0;
+      for (int i = 0; i < operations; i++) {
+        int k = i & (READINGS - 1);
+        sum += (long) standard.calculate(temperatures[k], humidities[k], windSpeeds[k]);
+      }
+      return sum;
+    }));
+    results.add(runner.run("RiskModel.calculate.vegetations", 1, 1, (thread, operations) -> {
+      long sum = 0;
+      for (int i = 0; i < operations; i++) {
+        int k = i & (READINGS - 1);
+        sum += (long) vegetations[i & 7].calculate(temperatures[k], humidities[k], windSpeeds[k]);
+      }
+      return sum;
+    }));
+    results.add(runner.run("RiskCalculator.calculate[]", READINGS, 1, (thread, operations) -> {
+      long sum = 0;
+      for (int i = 0; i < operations; i++) {
+        RiskCalculator.calculate(temperatures, humidities, windSpeeds, 0, out, 0, READINGS);
+        sum += (long) out[i & (READINGS - 1)];
+      }
+      return sum;
+    }));
+    results.add(runner.run("RiskModel.calculate[]", READINGS, 1, (thread, operations) -> {
+      long sum = 0;
+      for (int i = 0; i < operations; i++) {
+        standard.calculate(temperatures, humidities, windSpeeds, 0, out, 0, READINGS);
+        sum += (long) out[i & (READINGS - 1)];
+      }
+      return sum;
+    }));
+    QuantizedRiskModel nearest = QuantizedRiskModel.forSensorRange(standard, Interpolation.NEAREST);
+    QuantizedRiskModel trilinear = QuantizedRiskModel.forSensorRange(standard, Interpolation.TRILINEAR);
+    results.add(runner.run("QuantizedRiskModel.nearest", 1, 1, (thread, operations) -> {
+      long sum = 0;
+      for (int i = 0; i < operations; i++) {
+        int k = i & (READINGS - 1);
+        sum += (long) nearest.calculate(temperatures[k], humidities[k], windSpeeds[k]);
+      }
+      return sum;
+    }));
+    results.add(runner.run("QuantizedRiskModel.trilinear", 1, 1, (thread, operations) -> {
+      long sum = 0;
+      for (int i = 0; i < operations; i++) {
+        int k = i & (READINGS - 1);
+        sum += (long) trilinear.calculate(temperatures[k], humidities[k], windSpeeds[k]);
+      }
+      return sum;
+    }));
+    results.add(runner.run("QuantizedRiskModel.trilinear[]", READINGS, 1, (thread, operations) -> {
+      long sum = 0;
+      for (int i = 0; i < operations; i++) {
+        trilinear.calculate(temperatures, humidities, windSpeeds, 0, out, 0, READINGS);
+        sum += (long) out[i & (READINGS - 1)];
+      }
+      return sum;
+    }));
+    results.forEach(System.out::println);
+
+    if (csv != null) {
+      try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Path.of(csv)))) {
+        writer.println(BenchmarkResult.CSV_HEADER);
+        for (BenchmarkResult result : results) {
+          writer.println(result.toCsv());
+        }
+      }
+      System.out.println("Resultados gravados em " + csv);
+    }
+  }
+
+  /** Confere, bit a bit, que o modelo padrão reproduz a fórmula fixa. */
+  private static void checkEquivalence(double[] temperatures, double[] humidities, double[] windSpeeds) {
+    double[] expected = new double[READINGS];
+    double[] actual = new double[READINGS];
+    RiskCalculator.calculate(temperatures, humidities, windSpeeds, 0, expected, 0, READINGS);
+    LinearRiskModel.STANDARD.calculate(temperatures, humidities, windSpeeds, 0, actual, 0, READINGS);
+    for (int i = 0; i < READINGS; i++) {
+      double single = LinearRiskModel.STANDARD.calculate(temperatures[i], humidities[i], windSpeeds[i]);
+      if (Double.doubleToLongBits(expected[i]) != Double.doubleToLongBits(actual[i])
+          || Double.doubleToLongBits(expected[i]) != Double.doubleToLongBits(single)) {
+        throw new IllegalStateException("O modelo padrão diverge da fórmula na leitura " + i + ".");
+      }
+    }
+    System.out.println("Modelo padrão idêntico à fórmula em " + READINGS + " leituras.");
+  }
+
+  /** Confere o limite de erro das grades dentro das faixas e o cálculo exato fora delas. */
+  private static void checkGridBounds() {
+    Random random = new Random(7);
+    for (RiskModel model : VegetationRiskModels.all()) {
+      for (Interpolation interpolation : Interpolation.values()) {
+        QuantizedRiskModel grid = QuantizedRiskModel.forSensorRange(model, interpolation);
+        double maxError = 0;
+        for (int i = 0; i < GRID_SAMPLES; i++) {
+          double temperature = random.nextDouble() * 40;
+          double humidity = random.nextDouble() * 100;
+          double windSpeed = random.nextDouble() * 20;
+          maxError = Math.max(maxError,
+              Math.abs(grid.calculate(temperature, humidity, windSpeed) - model.calculate(temperature, humidity, windSpeed)));
+        }
+        if (maxError > grid.getErrorBound()) {
+          throw new IllegalStateException("Erro acima do limite na grade: " + grid + " (" + maxError + ").");
+        }
+        double[][] outside = {{-1, 50, 10}, {45, 50, 10}, {20, 120, 10}, {20, 50, 35}};
+        for (double[] reading : outside) {
+          if (Double.compare(grid.calculate(reading[0], reading[1], reading[2]),
+              model.calculate(reading[0], reading[1], reading[2])) != 0) {
+            throw new IllegalStateException("Leitura fora da grade não calculada pelo modelo: " + grid + ".");
+          }
+        }
+        System.out.printf("%s: erro máximo medido %.3f (limite %.3f)%n", grid, maxError, grid.getErrorBound());
+      }
+    }
+  }
+}
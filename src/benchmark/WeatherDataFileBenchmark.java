@@ -0,0 +1,113 @@
+package benchmark;
+
+import domain.entities.MonitoredArea;
+import domain.entities.WheatherData;
+import infrastructure.io.WeatherDataFile;
+import infrastructure.io.WeatherDataPrecision;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mede a exportação e a importação do histórico climático de uma área com
+ * {@link WeatherDataFile}, nas duas precisões, e compara a leitura em blocos
+ * com a leitura registro a registro por {@link DataInputStream}, criando um
+ * {@link WheatherData} por leitura.
+ *
+ * <pre>
+ *     java -Xmx4g -cp bin benchmark.WeatherDataFileBenchmark 20000000
+ * </pre>
+ */
+public class WeatherDataFileBenchmark {
+  private static final int BATCH = 65_536;
+
+  public static void main(String[] args) throws IOException {
+    int readings = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+    MonitoredArea source = new MonitoredArea(1, "Origem", "-23.55, -46.63", "Cerrado");
+    double[] temperatures = new double[BATCH];
+    double[] humidities = new double[BATCH];
+    double[] windSpeeds = new double[BATCH];
+    int[] epochDays = new int[BATCH];
+    int baseDay = (int) LocalDate.now().toEpochDay();
+    for (int done = 0; done < readings; done += BATCH) {
+      int length = Math.min(BATCH, readings - done);
+      for (int i = 0; i < length; i++) {
+        int n = done + i;
+        temperatures[i] = 15 + n % 25 + 0.25;
+        humidities[i] = 20 + n % 70 + 0.5;
+        windSpeeds[i] = n % 40 + 0.75;
+        epochDays[i] = baseDay - n / 10_000;
+      }
+      source.addWeatherData(temperatures, humidities, windSpeeds, epochDays, 0, length);
+    }
+
+    Path directory = Files.createTempDirectory("historico");
+    System.out.println("Leituras: " + readings);
+    for (WeatherDataPrecision precision : WeatherDataPrecision.values()) {
+      Path file = directory.resolve("historico-" + precision.name().toLowerCase() + ".igwd");
+      long start = System.nanoTime();
+      WeatherDataFile.export(source, file, precision);
+      long exportNanos = System.nanoTime() - start;
+      double megabytes = Files.size(file) / (1024.0 * 1024.0);
+
+      start = System.nanoTime();
+      double[] checksum = new double[1];
+      WeatherDataFile.read(file, (ids, t, h, w, d, length) -> {
+        for (int i = 0; i < length; i++) {
+          checksum[0] += t[i];
+        }
+      });
+      long readNanos = System.nanoTime() - start;
+
+      MonitoredArea target = new MonitoredArea(2, "Destino", "-23.55, -46.63", "Cerrado");
+      start = System.nanoTime();
+      WeatherDataFile.importInto(target, file);
+      long importNanos = System.nanoTime() - start;
+
+      System.out.printf("%-6s %7.1f MB | exportação %7.1f MB/s | leitura %7.1f MB/s | importação %7.1f MB/s%n",
+          precision, megabytes, rate(megabytes, exportNanos), rate(megabytes, readNanos),
+          rate(megabytes, importNanos));
+      if (precision == WeatherDataPrecision.DOUBLE) {
+        start = System.nanoTime();
+        int objects = readPerRecord(file);
+        long perRecordNanos = System.nanoTime() - start;
+        System.out.printf("DataInputStream + WheatherData: %d leituras, %7.1f MB/s%n", objects,
+            rate(megabytes, perRecordNanos));
+      }
+      Files.delete(file);
+    }
+    Files.delete(directory);
+  }
+
+  /** Leitura registro a registro, como seria feita sem o formato em blocos. */
+  private static int readPerRecord(Path file) throws IOException {
+    List<WheatherData> loaded = new ArrayList<>();
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+      in.skipBytes(WeatherDataFile.HEADER_BYTES);
+      while (true) {
+        int id;
+        try {
+          id = Integer.reverseBytes(in.readInt());
+        } catch (EOFException e) {
+          break;
+        }
+        LocalDate date = LocalDate.ofEpochDay(Integer.reverseBytes(in.readInt()));
+        double temperature = Double.longBitsToDouble(Long.reverseBytes(in.readLong()));
+        double humidity = Double.longBitsToDouble(Long.reverseBytes(in.readLong()));
+        double windSpeed = Double.longBitsToDouble(Long.reverseBytes(in.readLong()));
+        loaded.add(new WheatherData(id, temperature, humidity, windSpeed, date));
+      }
+    }
+    return loaded.size();
+  }
+
+  private static double rate(double megabytes, long nanos) {
+    return megabytes / (nanos / 1e9);
+  }
+}
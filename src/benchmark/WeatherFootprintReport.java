@@ -0,0 +1,59 @@
+package benchmark;
+
+import domain.entities.WheatherData;
+import domain.storage.WeatherDataStore;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Relatório de consumo de memória do histórico climático.
+ * <p>
+ * Mede o heap ocupado por {@code N} leituras no modelo antigo
+ * ({@code ArrayList<WheatherData>}, um {@link LocalDate} por leitura) e no
+ * armazenamento colunar ({@link WeatherDataStore}), exibindo os bytes por
+ * leitura de cada um.
+ * </p>
+ *
+ * <pre>
+ *     java -Xmx2g -cp bin benchmark.WeatherFootprintReport 1000000
+ * </pre>
+ */
+public class WeatherFootprintReport {
+
+  public static void main(String[] args) {
+    int readings = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+    long baseDay = LocalDate.now().toEpochDay();
+
+    long before = usedHeap();
+    List<WheatherData> legacy = new ArrayList<>();
+    for (int i = 0; i < readings; i++) {
+      legacy.add(new WheatherData(i + 1, i % 40, i % 100, i % 20, LocalDate.ofEpochDay(baseDay - i)));
+    }
+    long legacyBytes = usedHeap() - before;
+    legacy.size();
+    legacy = null;
+
+    before = usedHeap();
+    WeatherDataStore store = new WeatherDataStore();
+    for (int i = 0; i < readings; i++) {
+      store.add(i + 1, i % 40, i % 100, i % 20, (int) (baseDay - i));
+    }
+    long columnarBytes = usedHeap() - before;
+    store.size();
+
+    System.out.println("Leituras: " + readings);
+    System.out.printf("ArrayList<WheatherData>: %.1f bytes/leitura (estimado: %d)%n",
+        (double) legacyBytes / readings, WeatherDataStore.LEGACY_BYTES_PER_READING);
+    System.out.printf("WeatherDataStore:        %.1f bytes/leitura (estimado: %d)%n",
+        (double) columnarBytes / readings, WeatherDataStore.BYTES_PER_READING);
+  }
+
+  private static long usedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+}
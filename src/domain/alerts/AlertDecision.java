@@ -0,0 +1,17 @@
+package domain.alerts;
+
+/**
+ * Decisão tomada pelo {@link AlertGate} para um nível de risco avaliado.
+ */
+public enum AlertDecision {
+    /** O risco não atingiu o limite de entrada; nenhum alerta foi gerado. */
+    BELOW_THRESHOLD,
+    /** O risco caiu abaixo do limite de saída e a área deixou o estado de alerta. */
+    CLEARED,
+    /** Um novo alerta foi gerado. */
+    RAISED,
+    /** A ocorrência foi agrupada no alerta já emitido, incrementando sua contagem. */
+    COALESCED,
+    /** O limite de taxa impediu a geração do alerta e não havia alerta para agrupar. */
+    RATE_LIMITED
+}
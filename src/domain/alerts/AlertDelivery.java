@@ -0,0 +1,47 @@
+package domain.alerts;
+
+import domain.entities.Alert;
+import domain.entities.MonitoredArea;
+
+/**
+ * Alerta enfileirado no {@link AlertDispatcher} para entrega, com a área a que
+ * pertence e o instante em que foi enfileirado, usado para medir a latência de
+ * entrega.
+ */
+public class AlertDelivery {
+    private final Alert alert;
+    private final MonitoredArea area;
+    private final long enqueuedAtNanos;
+
+    public AlertDelivery(Alert alert, MonitoredArea area, long enqueuedAtNanos) {
+        this.alert = alert;
+        this.area = area;
+        this.enqueuedAtNanos = enqueuedAtNanos;
+    }
+
+    public Alert getAlert() {
+        return alert;
+    }
+
+    public MonitoredArea getArea() {
+        return area;
+    }
+
+    /**
+     * Retorna o instante do enfileiramento, medido por {@link System#nanoTime()}.
+     *
+     * @return o instante do enfileiramento, em nanossegundos
+     */
+    public long getEnqueuedAtNanos() {
+        return enqueuedAtNanos;
+    }
+
+    /**
+     * Monta a mensagem do alerta, como exibida no console.
+     *
+     * @return a mensagem completa do alerta
+     */
+    public String describe() {
+        return alert.describe(area);
+    }
+}
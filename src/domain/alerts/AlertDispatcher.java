@@ -0,0 +1,256 @@
+package domain.alerts;
+
+import domain.entities.Alert;
+import domain.entities.MonitoredArea;
+import domain.metrics.Metrics;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Despacha alertas de forma assíncrona para um ou mais {@link AlertSink}.
+ * <p>
+ * Cada destino possui uma fila limitada e uma thread própria, que retira os
+ * alertas em lotes de até {@code maxBatch} e os entrega de uma só vez. O
+ * enfileiramento nunca bloqueia: se a fila de um destino estiver cheia, o
+ * alerta é descartado para aquele destino e contado em
+ * {@link SinkStats#getDropped()}. Assim, um destino lento (um webhook fora do
+ * ar, por exemplo) não atrasa quem gera os alertas nem os demais destinos.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     AlertDispatcher dispatcher = new AlertDispatcher(List.of(new ConsoleAlertSink(System.out)));
+ *     dispatcher.dispatch(alert, area);
+ *     dispatcher.getStats().forEach(System.out::println);
+ *     dispatcher.close();
+ * </pre>
+ */
+public class AlertDispatcher implements AutoCloseable {
+    /** Capacidade padrão da fila de cada destino. */
+    public static final int DEFAULT_QUEUE_CAPACITY = 4096;
+    /** Quantidade máxima padrão de alertas por lote. */
+    public static final int DEFAULT_MAX_BATCH = 256;
+
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final List<SinkWorker> workers = new ArrayList<>();
+    private final int maxBatch;
+    private volatile boolean closed;
+
+    public AlertDispatcher(List<? extends AlertSink> sinks) {
+        this(sinks, DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_BATCH);
+    }
+
+    /**
+     * Cria o despachante e inicia uma thread de entrega para cada destino.
+     *
+     * @param sinks         os destinos dos alertas
+     * @param queueCapacity capacidade da fila de cada destino
+     * @param maxBatch      quantidade máxima de alertas por entrega
+     * @throws IllegalArgumentException se não houver destinos ou se os limites
+     *                                  não forem positivos
+     */
+    public AlertDispatcher(List<? extends AlertSink> sinks, int queueCapacity, int maxBatch) {
+        if (sinks == null || sinks.isEmpty()) {
+            throw new IllegalArgumentException("Informe ao menos um destino para os alertas.");
+        }
+        if (queueCapacity <= 0 || maxBatch <= 0) {
+            throw new IllegalArgumentException("A capacidade da fila e o tamanho do lote devem ser positivos.");
+        }
+        this.maxBatch = maxBatch;
+        for (AlertSink sink : sinks) {
+            workers.add(new SinkWorker(sink, queueCapacity));
+        }
+        for (SinkWorker worker : workers) {
+            worker.thread.start();
+        }
+    }
+
+    /**
+     * Enfileira um alerta para todos os destinos, sem bloquear.
+     *
+     * @param alert o alerta a ser entregue
+     * @param area  a área do alerta
+     * @return {@code true} se o alerta foi aceito por todos os destinos;
+     *         {@code false} se algum o descartou por estar com a fila cheia ou se
+     *         o despachante já foi encerrado
+     * @throws IllegalArgumentException se o alerta ou a área forem {@code null}
+     */
+    public boolean dispatch(Alert alert, MonitoredArea area) {
+        if (alert == null || area == null) {
+            throw new IllegalArgumentException("O alerta e a área não podem ser nulos.");
+        }
+        AlertDelivery delivery = new AlertDelivery(alert, area, System.nanoTime());
+        boolean acceptedByAll = true;
+        boolean acceptedByAny = false;
+        for (SinkWorker worker : workers) {
+            if (worker.offer(delivery)) {
+                worker.accepted.incrementAndGet();
+                acceptedByAny = true;
+            } else {
+                worker.dropped.increment();
+                acceptedByAll = false;
+            }
+        }
+        if (acceptedByAny) {
+            Metrics.ALERTS_THROWN.increment();
+        }
+        return acceptedByAll;
+    }
+
+    /**
+     * Aguarda a entrega (ou a falha) de todos os alertas aceitos até o momento
+     * da chamada, útil antes de exibir o menu em uma aplicação de console.
+     *
+     * @param timeout o tempo máximo de espera
+     * @return {@code true} se todos os alertas foram processados dentro do prazo
+     */
+    public boolean flush(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (SinkWorker worker : workers) {
+            long target = worker.accepted.get();
+            while (worker.completed.get() < target) {
+                if (System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retorna as estatísticas de entrega de cada destino, na ordem em que foram
+     * informados.
+     *
+     * @return as estatísticas de cada destino
+     */
+    public List<SinkStats> getStats() {
+        List<SinkStats> stats = new ArrayList<>();
+        for (SinkWorker worker : workers) {
+            stats.add(worker.stats());
+        }
+        return stats;
+    }
+
+    /**
+     * Encerra o despachante: novos alertas passam a ser descartados, os alertas
+     * já enfileirados são entregues e os destinos são fechados. Falhas ao fechar
+     * um destino ficam em {@link SinkStats#getLastError()}.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (SinkWorker worker : workers) {
+            try {
+                worker.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private final class SinkWorker implements Runnable {
+        private final AlertSink sink;
+        private final ArrayBlockingQueue<AlertDelivery> queue;
+        private final Thread thread;
+        private final AtomicLong accepted = new AtomicLong();
+        private final AtomicLong completed = new AtomicLong();
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder latencyNanos = new LongAdder();
+        private final AtomicLong maxLatencyNanos = new AtomicLong();
+        private volatile String lastError;
+
+        private SinkWorker(AlertSink sink, int queueCapacity) {
+            this.sink = sink;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.thread = new Thread(this, "alert-dispatch-" + sink.getName());
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * Enfileira o alerta, se o despachante não tiver sido encerrado. Se o
+         * encerramento começou durante a inserção, o alerta é retirado da fila:
+         * a thread de entrega pode já ter esvaziado a fila e terminado. Se ele já
+         * tiver sido retirado por ela, será entregue normalmente.
+         */
+        private boolean offer(AlertDelivery delivery) {
+            if (closed || !queue.offer(delivery)) {
+                return false;
+            }
+            return !closed || !queue.remove(delivery);
+        }
+
+        @Override
+        public void run() {
+            List<AlertDelivery> batch = new ArrayList<>(maxBatch);
+            while (true) {
+                AlertDelivery first;
+                try {
+                    first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    first = queue.poll();
+                }
+                if (first == null) {
+                    // Depois de observar o encerramento, só restam na fila os alertas inseridos antes dele.
+                    if (!closed || (first = queue.poll()) == null) {
+                        if (closed) {
+                            break;
+                        }
+                        continue;
+                    }
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                deliver(batch);
+                batch.clear();
+            }
+            try {
+                sink.close();
+            } catch (IOException | RuntimeException e) {
+                lastError = "falha ao fechar o destino: " + e.getMessage();
+            }
+        }
+
+        private void deliver(List<AlertDelivery> batch) {
+            try {
+                sink.deliver(batch);
+                long now = System.nanoTime();
+                long maxLatency = 0;
+                long totalLatency = 0;
+                for (AlertDelivery delivery : batch) {
+                    long latency = now - delivery.getEnqueuedAtNanos();
+                    totalLatency += latency;
+                    maxLatency = Math.max(maxLatency, latency);
+                }
+                latencyNanos.add(totalLatency);
+                maxLatencyNanos.accumulateAndGet(maxLatency, Math::max);
+                delivered.add(batch.size());
+            } catch (IOException | RuntimeException e) {
+                failed.add(batch.size());
+                lastError = "falha na entrega de " + batch.size() + " alertas: " + e.getMessage();
+            }
+            batches.increment();
+            completed.addAndGet(batch.size());
+        }
+
+        private SinkStats stats() {
+            long deliveredCount = delivered.sum();
+            double meanLatency = deliveredCount == 0 ? 0 : latencyNanos.sum() / 1_000_000.0 / deliveredCount;
+            return new SinkStats(sink.getName(), deliveredCount, dropped.sum(), failed.sum(), batches.sum(),
+                    queue.size(), meanLatency, maxLatencyNanos.get() / 1_000_000.0, lastError);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package domain.alerts;
+
+import domain.entities.Alert;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+
+/**
+ * Etapa de supressão que decide, para cada nível de risco avaliado em uma
+ * área, se um alerta automático deve ser gerado, segundo uma
+ * {@link AlertPolicy}.
+ * <p>
+ * A área entra em alerta quando o risco ultrapassa o limite de entrada e só
+ * sai quando ele cai abaixo do limite de saída, de modo que oscilações perto
+ * do limite não geram alertas repetidos. Enquanto a área estiver em alerta, um
+ * novo alerta só é gerado depois do intervalo mínimo (cooldown) e se houver
+ * ficha no balde do limite de taxa; caso contrário, a ocorrência é agrupada no
+ * último alerta emitido, que passa a contar suas ocorrências. Assim, a
+ * quantidade de alertas guardados por área fica limitada mesmo com avaliações
+ * frequentes.
+ * </p>
+ *
+ * <p>
+ * Cada área possui o seu próprio {@code AlertGate}. As avaliações são
+ * sincronizadas no próprio objeto.
+ * </p>
+ */
+public class AlertGate {
+    private final AlertPolicy policy;
+    private final long cooldownMillis;
+    private final long refillMillis;
+    private boolean active;
+    private Alert lastAlert;
+    private long lastRaisedAt;
+    private double tokens;
+    private long lastRefillAt;
+
+    public AlertGate(AlertPolicy policy) {
+        if (policy == null) {
+            throw new IllegalArgumentException("A política de alertas não pode ser nula.");
+        }
+        this.policy = policy;
+        this.cooldownMillis = policy.getCooldown().toMillis();
+        this.refillMillis = policy.getRefillInterval().toMillis();
+        this.tokens = policy.getBurstCapacity();
+        this.lastRefillAt = policy.getClock().millis();
+    }
+
+    /**
+     * Avalia um nível de risco e, se a política permitir, gera um novo alerta
+     * com {@code factory}.
+     *
+     * @param riskLevel o nível de risco calculado (0 a 100); valores negativos
+     *                  (leituras inválidas) não alteram o estado
+     * @param factory   cria o alerta quando ele deve ser gerado
+     * @param <A>       o tipo de alerta gerado
+     * @return a decisão tomada e o alerta gerado ou agrupado
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <A extends Alert> AlertOutcome<A> evaluate(double riskLevel, Supplier<A> factory) {
+        if (riskLevel < 0) {
+            return new AlertOutcome<>(AlertDecision.BELOW_THRESHOLD, null);
+        }
+        if (!active) {
+            if (riskLevel <= policy.getEnterThreshold()) {
+                return new AlertOutcome<>(AlertDecision.BELOW_THRESHOLD, null);
+            }
+            active = true;
+        } else if (riskLevel < policy.getExitThreshold()) {
+            active = false;
+            return new AlertOutcome<>(AlertDecision.CLEARED, null);
+        }
+
+        long now = policy.getClock().millis();
+        refill(now);
+        boolean coolingDown = lastAlert != null && now - lastRaisedAt < cooldownMillis;
+        if (!coolingDown && tokens >= 1) {
+            A alert = factory.get();
+            if (alert != null) {
+                tokens--;
+                lastAlert = alert;
+                lastRaisedAt = now;
+                return new AlertOutcome<>(AlertDecision.RAISED, alert);
+            }
+        }
+        if (lastAlert != null) {
+            lastAlert.recordOccurrence(riskLevel, LocalDate.now(policy.getClock()));
+            // O último alerta foi criado pela mesma fábrica desta área.
+            return new AlertOutcome<>(AlertDecision.COALESCED, (A) lastAlert);
+        }
+        return new AlertOutcome<>(AlertDecision.RATE_LIMITED, null);
+    }
+
+    /**
+     * Indica se a área está em estado de alerta.
+     *
+     * @return {@code true} se o risco ultrapassou o limite de entrada e ainda
+     *         não caiu abaixo do limite de saída
+     */
+    public synchronized boolean isActive() {
+        return active;
+    }
+
+    public AlertPolicy getPolicy() {
+        return policy;
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefillAt;
+        if (elapsed <= 0) {
+            return;
+        }
+        tokens = Math.min(policy.getBurstCapacity(), tokens + (double) elapsed / refillMillis);
+        lastRefillAt = now;
+    }
+}
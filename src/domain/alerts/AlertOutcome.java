@@ -0,0 +1,42 @@
+package domain.alerts;
+
+import domain.entities.Alert;
+
+/**
+ * Resultado da avaliação de um nível de risco pelo {@link AlertGate}: a decisão
+ * tomada e o alerta envolvido, quando houver.
+ *
+ * @param <A> o tipo de alerta gerado
+ */
+public class AlertOutcome<A extends Alert> {
+    private final AlertDecision decision;
+    private final A alert;
+
+    public AlertOutcome(AlertDecision decision, A alert) {
+        this.decision = decision;
+        this.alert = alert;
+    }
+
+    public AlertDecision getDecision() {
+        return decision;
+    }
+
+    /**
+     * Retorna o alerta gerado ({@link AlertDecision#RAISED}) ou o alerta que
+     * recebeu a ocorrência ({@link AlertDecision#COALESCED}).
+     *
+     * @return o alerta, ou {@code null} nas demais decisões
+     */
+    public A getAlert() {
+        return alert;
+    }
+
+    /**
+     * Indica se um novo alerta foi gerado nesta avaliação.
+     *
+     * @return {@code true} se a decisão for {@link AlertDecision#RAISED}
+     */
+    public boolean isRaised() {
+        return decision == AlertDecision.RAISED;
+    }
+}
@@ -0,0 +1,118 @@
+package domain.alerts;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Configuração da supressão de alertas automáticos de uma área.
+ * <p>
+ * Define os limites de entrada e de saída do estado de alerta (histerese), o
+ * intervalo mínimo entre alertas da mesma área (cooldown) e o balde de fichas
+ * que limita a taxa de geração: cada alerta consome uma ficha, o balde comporta
+ * até {@code burstCapacity} fichas e recebe uma nova a cada
+ * {@code refillInterval}. As instâncias são imutáveis e podem ser
+ * compartilhadas entre áreas.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     AlertPolicy policy = new AlertPolicy(80, 65, Duration.ofMinutes(30), 3, Duration.ofMinutes(10),
+ *             Clock.systemUTC());
+ *     area.setAlertPolicy(policy);
+ * </pre>
+ */
+public class AlertPolicy {
+    /** Limite de entrada padrão (%), igual ao limite usado antes da política. */
+    public static final double DEFAULT_ENTER_THRESHOLD = 70;
+    /** Limite de saída padrão (%). */
+    public static final double DEFAULT_EXIT_THRESHOLD = 60;
+    /** Intervalo mínimo padrão entre alertas da mesma área. */
+    public static final Duration DEFAULT_COOLDOWN = Duration.ofMinutes(15);
+    /** Quantidade padrão de alertas que podem ser gerados em sequência. */
+    public static final int DEFAULT_BURST_CAPACITY = 5;
+    /** Intervalo padrão para a reposição de uma ficha do balde. */
+    public static final Duration DEFAULT_REFILL_INTERVAL = Duration.ofMinutes(5);
+
+    private static final AlertPolicy DEFAULT = new AlertPolicy(DEFAULT_ENTER_THRESHOLD, DEFAULT_EXIT_THRESHOLD,
+            DEFAULT_COOLDOWN, DEFAULT_BURST_CAPACITY, DEFAULT_REFILL_INTERVAL, Clock.systemUTC());
+
+    private final double enterThreshold;
+    private final double exitThreshold;
+    private final Duration cooldown;
+    private final int burstCapacity;
+    private final Duration refillInterval;
+    private final Clock clock;
+
+    /**
+     * Cria uma política de alertas.
+     *
+     * @param enterThreshold risco (%) acima do qual a área entra em alerta
+     * @param exitThreshold  risco (%) abaixo do qual a área deixa o alerta; não
+     *                       pode ser maior que {@code enterThreshold}
+     * @param cooldown       intervalo mínimo entre dois alertas da mesma área
+     * @param burstCapacity  quantidade máxima de fichas do balde
+     * @param refillInterval intervalo para a reposição de uma ficha
+     * @param clock          relógio usado para medir os intervalos
+     * @throws IllegalArgumentException se algum parâmetro for inválido
+     */
+    public AlertPolicy(double enterThreshold, double exitThreshold, Duration cooldown, int burstCapacity,
+            Duration refillInterval, Clock clock) {
+        if (exitThreshold > enterThreshold) {
+            throw new IllegalArgumentException("O limite de saída não pode ser maior que o limite de entrada.");
+        }
+        if (cooldown == null || cooldown.isNegative()) {
+            throw new IllegalArgumentException("O intervalo entre alertas não pode ser negativo.");
+        }
+        if (burstCapacity <= 0) {
+            throw new IllegalArgumentException("A capacidade do balde deve ser positiva.");
+        }
+        if (refillInterval == null || refillInterval.isNegative() || refillInterval.isZero()) {
+            throw new IllegalArgumentException("O intervalo de reposição deve ser positivo.");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("O relógio não pode ser nulo.");
+        }
+        this.enterThreshold = enterThreshold;
+        this.exitThreshold = exitThreshold;
+        this.cooldown = cooldown;
+        this.burstCapacity = burstCapacity;
+        this.refillInterval = refillInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * Retorna a política padrão: entrada acima de 70%, saída abaixo de 60%,
+     * 15 minutos entre alertas e até 5 alertas em sequência, com uma ficha
+     * reposta a cada 5 minutos.
+     *
+     * @return a política padrão compartilhada
+     */
+    public static AlertPolicy defaultPolicy() {
+        return DEFAULT;
+    }
+
+    public double getEnterThreshold() {
+        return enterThreshold;
+    }
+
+    public double getExitThreshold() {
+        return exitThreshold;
+    }
+
+    public Duration getCooldown() {
+        return cooldown;
+    }
+
+    public int getBurstCapacity() {
+        return burstCapacity;
+    }
+
+    public Duration getRefillInterval() {
+        return refillInterval;
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+}
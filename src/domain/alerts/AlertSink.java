@@ -0,0 +1,41 @@
+package domain.alerts;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destino das entregas de alertas do {@link AlertDispatcher}, como o console,
+ * um arquivo ou um webhook.
+ * <p>
+ * Cada destino recebe os alertas em lotes, sempre a partir da mesma thread do
+ * despachante, e pode levar o tempo que precisar: os produtores de alertas não
+ * esperam pela entrega.
+ * </p>
+ */
+public interface AlertSink extends AutoCloseable {
+
+    /**
+     * Retorna o nome do destino, usado nas estatísticas de entrega.
+     *
+     * @return o nome do destino
+     */
+    String getName();
+
+    /**
+     * Entrega um lote de alertas, na ordem em que foram enfileirados.
+     *
+     * @param batch os alertas a serem entregues
+     * @throws IOException se a entrega falhar; o lote é contado como falho
+     */
+    void deliver(List<AlertDelivery> batch) throws IOException;
+
+    /**
+     * Libera os recursos do destino. Chamado pelo despachante ao ser encerrado,
+     * depois da última entrega.
+     *
+     * @throws IOException se a liberação falhar
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -0,0 +1,97 @@
+package domain.alerts;
+
+/**
+ * Estatísticas de entrega de um {@link AlertSink} no {@link AlertDispatcher}:
+ * alertas entregues, descartados por fila cheia e perdidos em entregas com
+ * falha, além da latência entre o enfileiramento e a entrega e do último erro
+ * do destino.
+ */
+public class SinkStats {
+    private final String sinkName;
+    private final long delivered;
+    private final long dropped;
+    private final long failed;
+    private final long batches;
+    private final int queued;
+    private final double meanLatencyMillis;
+    private final double maxLatencyMillis;
+    private final String lastError;
+
+    public SinkStats(String sinkName, long delivered, long dropped, long failed, long batches, int queued,
+            double meanLatencyMillis, double maxLatencyMillis, String lastError) {
+        this.sinkName = sinkName;
+        this.delivered = delivered;
+        this.dropped = dropped;
+        this.failed = failed;
+        this.batches = batches;
+        this.queued = queued;
+        this.meanLatencyMillis = meanLatencyMillis;
+        this.maxLatencyMillis = maxLatencyMillis;
+        this.lastError = lastError;
+    }
+
+    public String getSinkName() {
+        return sinkName;
+    }
+
+    public long getDelivered() {
+        return delivered;
+    }
+
+    /**
+     * Retorna quantos alertas foram descartados porque a fila do destino estava
+     * cheia.
+     *
+     * @return a quantidade de alertas descartados
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    /**
+     * Retorna quantos alertas estavam em lotes cuja entrega falhou.
+     *
+     * @return a quantidade de alertas não entregues por falha
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * Retorna quantos alertas aguardavam entrega no momento da consulta.
+     *
+     * @return o tamanho da fila do destino
+     */
+    public int getQueued() {
+        return queued;
+    }
+
+    public double getMeanLatencyMillis() {
+        return meanLatencyMillis;
+    }
+
+    public double getMaxLatencyMillis() {
+        return maxLatencyMillis;
+    }
+
+    /**
+     * Retorna a descrição da falha mais recente do destino, em uma entrega ou
+     * no seu fechamento.
+     *
+     * @return a última falha, ou {@code null} se não houve nenhuma
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d entregues em %d lotes, %d descartados, %d com falha, %d na fila, "
+                + "latência média %.3f ms (máx. %.3f ms)", sinkName, delivered, batches, dropped, failed, queued,
+                meanLatencyMillis, maxLatencyMillis) + (lastError == null ? "" : "; último erro: " + lastError);
+    }
+}
@@ -0,0 +1,334 @@
+package domain.backtest;
+
+import domain.entities.MonitoredArea;
+import domain.entities.WeatherHistory;
+import domain.entities.WildFire;
+import domain.risk.RiskModel;
+import domain.stats.DailyWeatherAggregates;
+import domain.storage.WeatherDataStore;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Reproduz o histórico climático das áreas com cada combinação de modelo de
+ * risco e limite de alerta de uma {@link BacktestGrid} e compara os dias em
+ * que haveria alerta com os incêndios registrados, para calibrar o limite e
+ * os coeficientes com base no que de fato aconteceu.
+ * <p>
+ * Para cada área e modelo, o risco de todas as leituras é calculado em lote, e
+ * cada dia fica com o maior risco das suas leituras. Um dia está em alerta,
+ * para um limite, quando esse risco passa do limite, sem a histerese nem o
+ * intervalo mínimo da {@link domain.alerts.AlertPolicy}, que só mudariam quais
+ * dias geram notificação. Os dias já compactados entram como uma leitura com
+ * as médias do dia. O risco é só o climático: o componente de incêndios
+ * recentes usaria os próprios incêndios que se quer prever. São considerados
+ * os incêndios do primeiro dia com leituras até {@code horizonDays} dias após
+ * o último.
+ * </p>
+ * <p>
+ * O trabalho é dividido entre as tarefas de um {@link ForkJoinPool} por pares
+ * de área e modelo, de modo que poucas áreas com muitos modelos também são
+ * avaliadas em paralelo. As tarefas não compartilham estado mutável: cada uma
+ * lê o histórico das suas áreas e devolve contadores parciais, somados ao
+ * final. O backtest pode ser executado enquanto novos dados são inseridos nas
+ * áreas; cada área é avaliada com o histórico do momento em que é lida.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     BacktestReport report = new BacktestEngine().run(areas.all(), grid);
+ *     System.out.println(report.getBestByF1());
+ * </pre>
+ */
+public class BacktestEngine {
+    private static final int UNITS_PER_TASK = 32;
+    private static final int NO_ALERT = Integer.MAX_VALUE;
+
+    private static final int ALERT_DAYS = 0;
+    private static final int CORRECT_ALERT_DAYS = 1;
+    private static final int FIRES = 2;
+    private static final int ANTICIPATED_FIRES = 3;
+    private static final int LEAD_DAYS = 4;
+    private static final int STATS = 5;
+
+    private final ForkJoinPool pool;
+
+    public BacktestEngine() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public BacktestEngine(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("O pool de execução não pode ser nulo.");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Executa o backtest das áreas informadas com todas as combinações da
+     * grade, em paralelo.
+     *
+     * @param areas as áreas cujo histórico é reproduzido
+     * @param grid  os modelos, limites e horizonte avaliados
+     * @return os resultados de cada combinação, somados sobre as áreas
+     */
+    public BacktestReport run(List<MonitoredArea> areas, BacktestGrid grid) {
+        MonitoredArea[] snapshot = areas.toArray(new MonitoredArea[0]);
+        int units = Math.multiplyExact(snapshot.length, grid.getModels().size());
+        long start = System.nanoTime();
+        PartialResult result = units == 0 ? new PartialResult(grid)
+                : pool.invoke(new BacktestTask(snapshot, grid, 0, units));
+        long elapsed = System.nanoTime() - start;
+        List<BacktestResult> results = new ArrayList<>(grid.getCombinationCount());
+        List<RiskModel> models = grid.getModels();
+        long[] stats = result.stats;
+        for (int model = 0; model < models.size(); model++) {
+            for (int threshold = 0; threshold < grid.getThresholdCount(); threshold++) {
+                int base = (model * grid.getThresholdCount() + threshold) * STATS;
+                results.add(new BacktestResult(models.get(model), grid.getThreshold(threshold),
+                        stats[base + ALERT_DAYS], stats[base + CORRECT_ALERT_DAYS], stats[base + FIRES],
+                        stats[base + ANTICIPATED_FIRES], stats[base + LEAD_DAYS]));
+            }
+        }
+        return new BacktestReport(result.areasEvaluated, result.areasWithoutData, result.readings,
+                grid.getHorizonDays(), results, elapsed, pool.getParallelism());
+    }
+
+    /** Avalia os pares {@code from..to-1}, numerados área a área e, dentro da área, modelo a modelo. */
+    private PartialResult evaluate(MonitoredArea[] areas, BacktestGrid grid, int from, int to) {
+        PartialResult result = new PartialResult(grid);
+        int modelCount = grid.getModels().size();
+        AreaHistory history = null;
+        int loadedArea = -1;
+        for (int unit = from; unit < to; unit++) {
+            int area = unit / modelCount;
+            int model = unit % modelCount;
+            if (area != loadedArea) {
+                history = AreaHistory.load(areas[area], grid.getHorizonDays());
+                loadedArea = area;
+            }
+            if (history == null) {
+                if (model == 0) {
+                    result.areasWithoutData++;
+                }
+                continue;
+            }
+            if (model == 0) {
+                result.areasEvaluated++;
+                result.readings += history.readings;
+            }
+            history.evaluate(grid, model, result.stats);
+        }
+        return result;
+    }
+
+    /** Histórico de uma área organizado por dia, lido uma vez e avaliado com cada modelo. */
+    private static final class AreaHistory {
+        private final double[] temperatures;
+        private final double[] humidities;
+        private final double[] windSpeeds;
+        /** Dia de cada leitura, contado a partir do primeiro dia com leituras. */
+        private final int[] days;
+        private final int readings;
+        private final int span;
+        private final int horizonDays;
+        /** {@code firePrefix[d]}: incêndios nos dias anteriores a {@code d}. */
+        private final int[] firePrefix;
+        private final int[] fireDays;
+        private final int[] fireCounts;
+        private final double[] risks;
+        private final double[] dailyMax;
+        private final int[] nextAlert;
+
+        private AreaHistory(double[] temperatures, double[] humidities, double[] windSpeeds, int[] days,
+                int readings, int span, int horizonDays, int[] firePrefix, int[] fireDays, int[] fireCounts) {
+            this.temperatures = temperatures;
+            this.humidities = humidities;
+            this.windSpeeds = windSpeeds;
+            this.days = days;
+            this.readings = readings;
+            this.span = span;
+            this.horizonDays = horizonDays;
+            this.firePrefix = firePrefix;
+            this.fireDays = fireDays;
+            this.fireCounts = fireCounts;
+            this.risks = new double[readings];
+            this.dailyMax = new double[span];
+            this.nextAlert = new int[span];
+        }
+
+        /**
+         * Lê as leituras brutas e os dias compactados da área e os incêndios do
+         * período.
+         *
+         * @return o histórico, ou {@code null} se a área não tiver leituras com
+         *         data
+         */
+        static AreaHistory load(MonitoredArea area, int horizonDays) {
+            WeatherHistory history = area.getWeatherHistory();
+            WeatherDataStore.View view = history.getRaw();
+            DailyWeatherAggregates daily = history.getDaily();
+            int raw = view.size();
+            int total = raw + daily.size();
+            double[] temperatures = new double[total];
+            double[] humidities = new double[total];
+            double[] windSpeeds = new double[total];
+            int[] days = new int[total];
+            view.copyTo(0, raw, new int[raw], temperatures, humidities, windSpeeds, days, 0);
+            for (int i = 0; i < daily.size(); i++) {
+                temperatures[raw + i] = daily.getMean(DailyWeatherAggregates.Metric.TEMPERATURE, i);
+                humidities[raw + i] = daily.getMean(DailyWeatherAggregates.Metric.HUMIDITY, i);
+                windSpeeds[raw + i] = daily.getMean(DailyWeatherAggregates.Metric.WIND_SPEED, i);
+                days[raw + i] = daily.getEpochDay(i);
+            }
+            // Leituras sem data não pertencem a nenhum dia e ficam de fora.
+            int readings = 0;
+            int firstDay = Integer.MAX_VALUE;
+            int lastDay = Integer.MIN_VALUE;
+            for (int i = 0; i < total; i++) {
+                if (days[i] == WeatherDataStore.NO_DATE) {
+                    continue;
+                }
+                temperatures[readings] = temperatures[i];
+                humidities[readings] = humidities[i];
+                windSpeeds[readings] = windSpeeds[i];
+                days[readings] = days[i];
+                firstDay = Math.min(firstDay, days[i]);
+                lastDay = Math.max(lastDay, days[i]);
+                readings++;
+            }
+            if (readings == 0) {
+                return null;
+            }
+            for (int i = 0; i < readings; i++) {
+                days[i] -= firstDay;
+            }
+            int span = Math.toIntExact((long) lastDay - firstDay + 1);
+            int[] firesPerDay = new int[Math.addExact(span, horizonDays)];
+            int fireDayCount = 0;
+            List<WildFire> fires = area.getWildFiresBetween(LocalDate.ofEpochDay(firstDay),
+                    LocalDate.ofEpochDay((long) lastDay + horizonDays));
+            for (WildFire fire : fires) {
+                int day = (int) (fire.getDate().toEpochDay() - firstDay);
+                if (firesPerDay[day]++ == 0) {
+                    fireDayCount++;
+                }
+            }
+            int[] firePrefix = new int[firesPerDay.length + 1];
+            int[] fireDays = new int[fireDayCount];
+            int[] fireCounts = new int[fireDayCount];
+            for (int day = 0, next = 0; day < firesPerDay.length; day++) {
+                firePrefix[day + 1] = firePrefix[day] + firesPerDay[day];
+                if (firesPerDay[day] > 0) {
+                    fireDays[next] = day;
+                    fireCounts[next++] = firesPerDay[day];
+                }
+            }
+            return new AreaHistory(temperatures, humidities, windSpeeds, days, readings, span, horizonDays,
+                    firePrefix, fireDays, fireCounts);
+        }
+
+        /** Soma em {@code stats} os contadores de todos os limites da grade com o modelo informado. */
+        void evaluate(BacktestGrid grid, int model, long[] stats) {
+            grid.getModels().get(model).calculate(temperatures, humidities, windSpeeds, 0, risks, 0, readings);
+            // Leituras inválidas (-1) nunca passam de um limite válido de alerta.
+            Arrays.fill(dailyMax, Double.NEGATIVE_INFINITY);
+            for (int i = 0; i < readings; i++) {
+                if (risks[i] > dailyMax[days[i]]) {
+                    dailyMax[days[i]] = risks[i];
+                }
+            }
+            int fires = firePrefix[firePrefix.length - 1];
+            for (int threshold = 0; threshold < grid.getThresholdCount(); threshold++) {
+                double limit = grid.getThreshold(threshold);
+                long alertDays = 0;
+                long correctAlertDays = 0;
+                int next = NO_ALERT;
+                for (int day = span - 1; day >= 0; day--) {
+                    if (dailyMax[day] > limit) {
+                        next = day;
+                        alertDays++;
+                        if (firePrefix[day + horizonDays + 1] > firePrefix[day]) {
+                            correctAlertDays++;
+                        }
+                    }
+                    nextAlert[day] = next;
+                }
+                long anticipatedFires = 0;
+                long leadDays = 0;
+                for (int i = 0; i < fireDays.length; i++) {
+                    int fireDay = fireDays[i];
+                    int windowStart = Math.max(fireDay - horizonDays, 0);
+                    if (windowStart >= span) {
+                        continue;
+                    }
+                    int firstAlert = nextAlert[windowStart];
+                    if (firstAlert <= fireDay) {
+                        anticipatedFires += fireCounts[i];
+                        leadDays += (long) (fireDay - firstAlert) * fireCounts[i];
+                    }
+                }
+                int base = (model * grid.getThresholdCount() + threshold) * STATS;
+                stats[base + ALERT_DAYS] += alertDays;
+                stats[base + CORRECT_ALERT_DAYS] += correctAlertDays;
+                stats[base + FIRES] += fires;
+                stats[base + ANTICIPATED_FIRES] += anticipatedFires;
+                stats[base + LEAD_DAYS] += leadDays;
+            }
+        }
+    }
+
+    private static class PartialResult {
+        private final long[] stats;
+        private int areasEvaluated;
+        private int areasWithoutData;
+        private long readings;
+
+        private PartialResult(BacktestGrid grid) {
+            this.stats = new long[grid.getCombinationCount() * STATS];
+        }
+
+        private PartialResult merge(PartialResult other) {
+            for (int i = 0; i < stats.length; i++) {
+                stats[i] += other.stats[i];
+            }
+            areasEvaluated += other.areasEvaluated;
+            areasWithoutData += other.areasWithoutData;
+            readings += other.readings;
+            return this;
+        }
+    }
+
+    private class BacktestTask extends RecursiveTask<PartialResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final MonitoredArea[] areas;
+        private final BacktestGrid grid;
+        private final int from;
+        private final int to;
+
+        private BacktestTask(MonitoredArea[] areas, BacktestGrid grid, int from, int to) {
+            this.areas = areas;
+            this.grid = grid;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PartialResult compute() {
+            if (to - from <= UNITS_PER_TASK) {
+                return evaluate(areas, grid, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            BacktestTask left = new BacktestTask(areas, grid, from, middle);
+            left.fork();
+            PartialResult right = new BacktestTask(areas, grid, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package domain.backtest;
+
+import domain.risk.LinearRiskModel;
+import domain.risk.RiskModel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Combinações de parâmetros avaliadas por um {@link BacktestEngine}: os
+ * modelos de risco (isto é, os coeficientes), os limites de alerta e o
+ * horizonte de previsão.
+ * <p>
+ * Um dia em alerta acerta se houver incêndio nele ou nos
+ * {@code horizonDays} dias seguintes; um incêndio é antecipado se houver dia
+ * em alerta nele ou nos {@code horizonDays} dias anteriores. As instâncias são
+ * imutáveis.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     List&lt;RiskModel&gt; models = BacktestGrid.linearModels(new double[] {1.8, 2, 2.2},
+ *             new double[] {1.8, 2, 2.2}, new double[] {1.3, 1.5, 1.7});
+ *     BacktestGrid grid = new BacktestGrid(models, BacktestGrid.thresholds(50, 90, 5), 7);
+ * </pre>
+ */
+public final class BacktestGrid {
+    /** Horizonte padrão: uma semana. */
+    public static final int DEFAULT_HORIZON_DAYS = 7;
+
+    private final List<RiskModel> models;
+    private final double[] thresholds;
+    private final int horizonDays;
+
+    /**
+     * Cria a grade de parâmetros.
+     *
+     * @param models      os modelos de risco avaliados
+     * @param thresholds  os limites de alerta avaliados; um dia fica em alerta
+     *                    quando o maior risco do dia passa do limite
+     * @param horizonDays quantos dias um alerta antecipa um incêndio, a partir
+     *                    de 0 (somente o mesmo dia)
+     * @throws IllegalArgumentException se não houver modelos ou limites, algum
+     *                                  limite não for finito ou o horizonte for
+     *                                  negativo
+     */
+    public BacktestGrid(List<RiskModel> models, double[] thresholds, int horizonDays) {
+        if (models == null || models.isEmpty() || models.contains(null)) {
+            throw new IllegalArgumentException("Informe ao menos um modelo de risco, sem valores nulos.");
+        }
+        if (thresholds == null || thresholds.length == 0) {
+            throw new IllegalArgumentException("Informe ao menos um limite de alerta.");
+        }
+        for (double threshold : thresholds) {
+            if (!Double.isFinite(threshold)) {
+                throw new IllegalArgumentException("Os limites de alerta devem ser finitos.");
+            }
+        }
+        if (horizonDays < 0) {
+            throw new IllegalArgumentException("O horizonte de previsão não pode ser negativo.");
+        }
+        this.models = List.copyOf(models);
+        this.thresholds = thresholds.clone();
+        this.horizonDays = horizonDays;
+    }
+
+    /**
+     * Gera os limites de {@code from} a {@code to}, inclusive, de
+     * {@code step} em {@code step}.
+     *
+     * @param from primeiro limite
+     * @param to   último limite
+     * @param step distância entre os limites
+     * @return os limites em ordem crescente
+     * @throws IllegalArgumentException se o passo não for positivo ou
+     *                                  {@code to} for menor que {@code from}
+     */
+    public static double[] thresholds(double from, double to, double step) {
+        if (!(step > 0) || !(to >= from)) {
+            throw new IllegalArgumentException("Intervalo de limites inválido.");
+        }
+        int count = (int) Math.floor((to - from) / step + 1e-9) + 1;
+        double[] thresholds = new double[count];
+        for (int i = 0; i < count; i++) {
+            thresholds[i] = from + i * step;
+        }
+        return thresholds;
+    }
+
+    /**
+     * Cria um {@link LinearRiskModel} para cada combinação dos pesos
+     * informados, nomeado pelos próprios pesos.
+     *
+     * @param temperatureWeights pesos da temperatura
+     * @param windSpeedWeights   pesos da velocidade do vento
+     * @param humidityWeights    pesos da umidade
+     * @return os modelos, com a temperatura variando mais devagar
+     */
+    public static List<RiskModel> linearModels(double[] temperatureWeights, double[] windSpeedWeights,
+            double[] humidityWeights) {
+        List<RiskModel> models = new ArrayList<>();
+        for (double temperature : temperatureWeights) {
+            for (double windSpeed : windSpeedWeights) {
+                for (double humidity : humidityWeights) {
+                    String name = String.format(Locale.ROOT, "T%.2f V%.2f U%.2f", temperature, windSpeed, humidity);
+                    models.add(new LinearRiskModel(name, temperature, windSpeed, humidity));
+                }
+            }
+        }
+        return models;
+    }
+
+    public List<RiskModel> getModels() {
+        return models;
+    }
+
+    public double[] getThresholds() {
+        return thresholds.clone();
+    }
+
+    int getThresholdCount() {
+        return thresholds.length;
+    }
+
+    double getThreshold(int index) {
+        return thresholds[index];
+    }
+
+    public int getHorizonDays() {
+        return horizonDays;
+    }
+
+    /**
+     * Retorna a quantidade de combinações de modelo e limite.
+     *
+     * @return modelos vezes limites
+     */
+    public int getCombinationCount() {
+        return models.size() * thresholds.length;
+    }
+}
@@ -0,0 +1,111 @@
+package domain.backtest;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Resumo de um backtest: os resultados de cada combinação de modelo e limite,
+ * na ordem da grade (modelo a modelo, limite a limite), a quantidade de áreas
+ * e de leituras avaliadas e o tempo gasto.
+ */
+public class BacktestReport {
+    private final int areasEvaluated;
+    private final int areasWithoutData;
+    private final long readings;
+    private final int horizonDays;
+    private final List<BacktestResult> results;
+    private final long elapsedNanos;
+    private final int parallelism;
+
+    public BacktestReport(int areasEvaluated, int areasWithoutData, long readings, int horizonDays,
+            List<BacktestResult> results, long elapsedNanos, int parallelism) {
+        this.areasEvaluated = areasEvaluated;
+        this.areasWithoutData = areasWithoutData;
+        this.readings = readings;
+        this.horizonDays = horizonDays;
+        this.results = List.copyOf(results);
+        this.elapsedNanos = elapsedNanos;
+        this.parallelism = parallelism;
+    }
+
+    public int getAreasEvaluated() {
+        return areasEvaluated;
+    }
+
+    public int getAreasWithoutData() {
+        return areasWithoutData;
+    }
+
+    /**
+     * Retorna quantas leituras foram reproduzidas por modelo, contando cada dia
+     * compactado como uma leitura.
+     *
+     * @return a quantidade de leituras
+     */
+    public long getReadings() {
+        return readings;
+    }
+
+    public int getHorizonDays() {
+        return horizonDays;
+    }
+
+    public List<BacktestResult> getResults() {
+        return results;
+    }
+
+    /**
+     * Retorna a combinação de maior F1; em caso de empate, a primeira da grade.
+     *
+     * @return o melhor resultado
+     */
+    public BacktestResult getBestByF1() {
+        BacktestResult best = results.get(0);
+        for (BacktestResult result : results) {
+            if (result.getF1() > best.getF1()) {
+                best = result;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Retorna as {@code count} combinações de maior F1, da melhor para a pior.
+     *
+     * @param count a quantidade de resultados
+     * @return os melhores resultados
+     */
+    public List<BacktestResult> getTopByF1(int count) {
+        return results.stream().sorted(Comparator.comparingDouble(BacktestResult::getF1).reversed()).limit(count)
+                .toList();
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Calcula a vazão do backtest.
+     *
+     * @return a quantidade de áreas avaliadas por segundo, com todas as
+     *         combinações da grade
+     */
+    public double getAreasPerSecond() {
+        return elapsedNanos == 0 ? 0 : (areasEvaluated + areasWithoutData) * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Backtest: %d áreas avaliadas (%d sem dados), %d leituras, %d combinações, horizonte "
+                + "de %d dia(s), em %.1f ms (%d tarefas em paralelo)", areasEvaluated, areasWithoutData, readings,
+                results.size(), horizonDays, getElapsedMillis(), parallelism);
+    }
+}
@@ -0,0 +1,104 @@
+package domain.backtest;
+
+import domain.risk.RiskModel;
+
+/**
+ * Resultado de uma combinação de modelo de risco e limite de alerta,
+ * somado sobre todas as áreas do backtest.
+ * <p>
+ * A precisão é a fração dos dias em alerta seguidos de incêndio dentro do
+ * horizonte; a revocação é a fração dos incêndios antecipados por algum dia
+ * em alerta; a antecedência de um incêndio antecipado é a distância, em dias,
+ * até o primeiro dia em alerta do horizonte anterior a ele.
+ * </p>
+ */
+public class BacktestResult {
+    private final RiskModel model;
+    private final double threshold;
+    private final long alertDays;
+    private final long correctAlertDays;
+    private final long fires;
+    private final long anticipatedFires;
+    private final long leadDays;
+
+    public BacktestResult(RiskModel model, double threshold, long alertDays, long correctAlertDays, long fires,
+            long anticipatedFires, long leadDays) {
+        this.model = model;
+        this.threshold = threshold;
+        this.alertDays = alertDays;
+        this.correctAlertDays = correctAlertDays;
+        this.fires = fires;
+        this.anticipatedFires = anticipatedFires;
+        this.leadDays = leadDays;
+    }
+
+    public RiskModel getModel() {
+        return model;
+    }
+
+    public double getThreshold() {
+        return threshold;
+    }
+
+    public long getAlertDays() {
+        return alertDays;
+    }
+
+    public long getCorrectAlertDays() {
+        return correctAlertDays;
+    }
+
+    public long getFires() {
+        return fires;
+    }
+
+    public long getAnticipatedFires() {
+        return anticipatedFires;
+    }
+
+    /**
+     * Calcula a precisão dos alertas.
+     *
+     * @return a fração dos dias em alerta seguidos de incêndio, ou 0 se não
+     *         houve dias em alerta
+     */
+    public double getPrecision() {
+        return alertDays == 0 ? 0 : (double) correctAlertDays / alertDays;
+    }
+
+    /**
+     * Calcula a revocação dos alertas.
+     *
+     * @return a fração dos incêndios antecipados, ou 0 se não houve incêndios
+     */
+    public double getRecall() {
+        return fires == 0 ? 0 : (double) anticipatedFires / fires;
+    }
+
+    /**
+     * Calcula a média harmônica da precisão e da revocação.
+     *
+     * @return o F1, ou 0 se a precisão e a revocação forem 0
+     */
+    public double getF1() {
+        double precision = getPrecision();
+        double recall = getRecall();
+        return precision + recall == 0 ? 0 : 2 * precision * recall / (precision + recall);
+    }
+
+    /**
+     * Calcula a antecedência média dos incêndios antecipados.
+     *
+     * @return a média, em dias, ou 0 se nenhum incêndio foi antecipado
+     */
+    public double getMeanLeadDays() {
+        return anticipatedFires == 0 ? 0 : (double) leadDays / anticipatedFires;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s, limite %.1f%%: precisão %.3f, revocação %.3f, F1 %.3f, antecedência média "
+                + "%.1f dia(s) (%d dias em alerta, %d de %d incêndios antecipados)", model.getName(), threshold,
+                getPrecision(), getRecall(), getF1(), getMeanLeadDays(), alertDays, anticipatedFires, fires);
+    }
+}
@@ -15,12 +15,21 @@ import java.time.LocalDate;
  * Fornece métodos para acessar os dados do alerta e para gerar uma mensagem
  * de alerta formatada na saída padrão.
  * </p>
+ *
+ * <p>
+ * Ocorrências repetidas de um alerta automático podem ser agrupadas no mesmo
+ * alerta ({@link #recordOccurrence(double, LocalDate)}), que passa a registrar
+ * a quantidade de ocorrências, a data da última e o maior risco observado.
+ * </p>
  * 
  */
 public class Alert {
     private int id;
     private double riskLevel;
     private LocalDate issueDate;
+    private volatile int occurrences = 1;
+    private volatile LocalDate lastOccurrenceDate;
+    private volatile double peakRiskLevel;
 
     public Alert(int id, double riskLevel, LocalDate issueDate) {
         this.id = id;
@@ -29,6 +38,12 @@ public class Alert {
         }
         this.riskLevel = riskLevel;
         this.issueDate = issueDate;
+        this.lastOccurrenceDate = issueDate;
+        this.peakRiskLevel = riskLevel;
+    }
+
+    public int getId() {
+        return id;
     }
 
     public LocalDate getIssueDate() {
@@ -39,18 +54,131 @@ public class Alert {
         return riskLevel;
     }
 
+    /**
+     * Agrupa neste alerta uma nova ocorrência do mesmo risco, em vez de criar
+     * outro alerta.
+     *
+     * @param riskLevel o nível de risco da ocorrência
+     * @param date      a data da ocorrência
+     */
+    public synchronized void recordOccurrence(double riskLevel, LocalDate date) {
+        occurrences++;
+        lastOccurrenceDate = date;
+        peakRiskLevel = Math.max(peakRiskLevel, riskLevel);
+    }
+
+    /**
+     * Restaura o agrupamento de ocorrências de um alerta lido de um snapshot.
+     *
+     * @param occurrences        a quantidade de ocorrências, incluindo a original
+     * @param lastOccurrenceDate a data da última ocorrência
+     * @param peakRiskLevel      o maior risco observado
+     */
+    public synchronized void restoreOccurrences(int occurrences, LocalDate lastOccurrenceDate,
+            double peakRiskLevel) {
+        this.occurrences = occurrences;
+        this.lastOccurrenceDate = lastOccurrenceDate;
+        this.peakRiskLevel = peakRiskLevel;
+    }
+
+    /**
+     * Restaura um agrupamento de ocorrências lido do log de alterações. Como os
+     * registros podem chegar fora de ordem e repetir o estado já restaurado do
+     * snapshot, só é aplicado se tiver mais ocorrências que o atual.
+     *
+     * @param snapshot o agrupamento registrado
+     */
+    public synchronized void mergeOccurrences(Occurrences snapshot) {
+        if (snapshot.getCount() > occurrences) {
+            restoreOccurrences(snapshot.getCount(), snapshot.getLastDate(), snapshot.getPeakRiskLevel());
+        }
+    }
+
+    /**
+     * Retorna a quantidade de ocorrências, a data da última e o maior risco
+     * lidos juntos, sem uma ocorrência agrupada entre eles.
+     *
+     * @return uma cópia do agrupamento de ocorrências
+     */
+    public synchronized Occurrences getOccurrenceSnapshot() {
+        return new Occurrences(occurrences, lastOccurrenceDate, peakRiskLevel);
+    }
+
+    /**
+     * Retorna quantas ocorrências foram agrupadas neste alerta, incluindo a que
+     * o originou.
+     *
+     * @return a quantidade de ocorrências
+     */
+    public int getOccurrences() {
+        return occurrences;
+    }
+
+    public LocalDate getLastOccurrenceDate() {
+        return lastOccurrenceDate;
+    }
+
+    public double getPeakRiskLevel() {
+        return peakRiskLevel;
+    }
+
     /**
      * Gera e imprime uma mensagem de alerta na saída padrão.
      * A mensagem inclui o nome da área, nível de risco e data de emissão.
      */
     public void throwAlert(MonitoredArea area) {
+        System.out.print(describe(area));
+    }
+
+    /**
+     * Monta a mensagem exibida por {@link #throwAlert(MonitoredArea)}, sem
+     * escrevê-la, para que ela possa ser entregue por outros meios (arquivo,
+     * webhook) ou escrita de uma só vez.
+     *
+     * @param area a área monitorada do alerta
+     * @return a mensagem completa do alerta, terminada por quebra de linha
+     */
+    public String describe(MonitoredArea area) {
         if (area == null) {
             throw new IllegalArgumentException("Área monitorada não pode ser nula.");
         }
-        System.out.println("\n===== ALERTA =====");
-        System.out.println("Área: " + area.getName());
-        System.out.println("Data do Alerta: " + issueDate);
-        System.out.printf("Nível de Risco: %.2f%%\n", riskLevel);
-        System.out.println("===================");
+        StringBuilder message = new StringBuilder();
+        message.append("\n===== ALERTA =====\n");
+        message.append("Área: ").append(area.getName()).append('\n');
+        message.append("Data do Alerta: ").append(issueDate).append('\n');
+        message.append(String.format("Nível de Risco: %.2f%%\n", riskLevel));
+        Occurrences grouped = getOccurrenceSnapshot();
+        if (grouped.getCount() > 1) {
+            message.append("Ocorrências: ").append(grouped.getCount()).append(" (última em ")
+                    .append(grouped.getLastDate()).append(", risco máximo ")
+                    .append(String.format("%.2f%%", grouped.getPeakRiskLevel())).append(")\n");
+        }
+        message.append("===================\n");
+        return message.toString();
+    }
+
+    /** Cópia imutável do agrupamento de ocorrências de um alerta. */
+    public static final class Occurrences {
+        private final int count;
+        private final LocalDate lastDate;
+        private final double peakRiskLevel;
+
+        public Occurrences(int count, LocalDate lastDate, double peakRiskLevel) {
+            this.count = count;
+            this.lastDate = lastDate;
+            this.peakRiskLevel = peakRiskLevel;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public LocalDate getLastDate() {
+            return lastDate;
+        }
+
+        public double getPeakRiskLevel() {
+            return peakRiskLevel;
+        }
     }
 }
@@ -26,25 +26,27 @@ public class AutomaticAlert extends Alert {
     }
 
     /**
-     * Exibe um alerta automático no console com informações detalhadas sobre a área,
-     * data de emissão, nível de risco e dados climáticos utilizados para a geração do alerta.
-     * Os dados exibidos incluem temperatura, umidade, velocidade do vento e o ID dos dados climáticos.
-     * 
-     * <p>
-     * Este método sobrescreve o método {@code throwAlert()} da superclasse Alert.
-     * </p>
-     * 
-     * @see Alert#throwAlert()
+     * Acrescenta à mensagem do alerta os dados climáticos utilizados para a sua
+     * geração: temperatura, umidade, velocidade do vento e o ID dos dados
+     * climáticos. A mensagem é exibida por {@link Alert#throwAlert(MonitoredArea)}.
+     *
+     * @param area a área monitorada do alerta
+     * @return a mensagem completa do alerta automático
      */
     @Override
-    public void throwAlert(MonitoredArea area) {
-        super.throwAlert(area);
-        System.out.println("Dados Climáticos Utilizados:");
-        System.out.printf("  Temperatura: %.2f°C\n", generatedFrom.getTemperature());
-        System.out.printf("  Umidade: %.2f%%\n", generatedFrom.getHumidity());
-        System.out.printf("  Vento: %.2f km/h\n", generatedFrom.getWindSpeed());
-        System.out.println("ID dos Dados Climáticos: " + generatedFrom.getId());
-        System.out.println("=============================\n");
+    public String describe(MonitoredArea area) {
+        StringBuilder message = new StringBuilder(super.describe(area));
+        message.append("Dados Climáticos Utilizados:\n");
+        message.append(String.format("  Temperatura: %.2f°C\n", generatedFrom.getTemperature()));
+        message.append(String.format("  Umidade: %.2f%%\n", generatedFrom.getHumidity()));
+        message.append(String.format("  Vento: %.2f km/h\n", generatedFrom.getWindSpeed()));
+        message.append("ID dos Dados Climáticos: ").append(generatedFrom.getId()).append('\n');
+        message.append("=============================\n\n");
+        return message.toString();
+    }
+
+    public WheatherData getGeneratedFrom() {
+        return generatedFrom;
     }
 
 }
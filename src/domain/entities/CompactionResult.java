@@ -0,0 +1,63 @@
+package domain.entities;
+
+/**
+ * Resultado da compactação do histórico climático de uma área monitorada
+ * ({@link MonitoredArea#compactWeatherData(java.time.LocalDate)}).
+ *
+ * <p>
+ * As leituras descartadas do histórico bruto entram nos agregados diários,
+ * exceto as com valores inválidos e, quando o máximo de leituras brutas obriga
+ * o descarte, as sem data; essas são contadas à parte, como ignoradas.
+ * </p>
+ */
+public final class CompactionResult {
+    /** Compactação que não descartou nenhuma leitura. */
+    public static final CompactionResult NONE = new CompactionResult(0, 0);
+
+    private final int compacted;
+    private final int skipped;
+
+    public CompactionResult(int compacted, int skipped) {
+        if (compacted < 0 || skipped < 0) {
+            throw new IllegalArgumentException("As quantidades de leituras não podem ser negativas.");
+        }
+        this.compacted = compacted;
+        this.skipped = skipped;
+    }
+
+    /**
+     * Retorna quantas leituras brutas foram substituídas por agregados diários.
+     *
+     * @return a quantidade de leituras compactadas
+     */
+    public int getCompacted() {
+        return compacted;
+    }
+
+    /**
+     * Retorna quantas leituras foram descartadas sem entrar nos agregados.
+     *
+     * @return a quantidade de leituras ignoradas
+     */
+    public int getSkipped() {
+        return skipped;
+    }
+
+    /**
+     * Retorna quantas leituras saíram do histórico bruto.
+     *
+     * @return a soma das leituras compactadas e ignoradas
+     */
+    public int getDiscarded() {
+        return compacted + skipped;
+    }
+
+    public boolean isEmpty() {
+        return getDiscarded() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "CompactionResult{compactadas=" + compacted + ", ignoradas=" + skipped + '}';
+    }
+}
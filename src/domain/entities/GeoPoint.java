@@ -0,0 +1,124 @@
+package domain.entities;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Representa uma coordenada geográfica (latitude e longitude em graus
+ * decimais).
+ * <p>
+ * Fornece a distância entre coordenadas pela fórmula de haversine e a
+ * interpretação das localizações digitadas no cadastro de áreas, como
+ * {@code "-15.79, -47.88"} ou {@code "Latitude -15.79, Longitude -47.88"}.
+ * </p>
+ */
+public final class GeoPoint {
+    /** Raio médio da Terra, em quilômetros. */
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    /** Distância aproximada, em quilômetros, de um grau de latitude. */
+    public static final double KM_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_KM;
+
+    private static final String LATITUDE_LABEL = "(?:lat(?:itude)?\\s*:?\\s*)?";
+    private static final String LONGITUDE_LABEL = "(?:lon(?:g(?:itude)?)?\\s*:?\\s*)?";
+    /** Números com ponto decimal, separados por vírgula, ponto e vírgula ou espaços. */
+    private static final Pattern DECIMAL_POINT = Pattern.compile("\\s*" + LATITUDE_LABEL
+            + "([-+]?\\d{1,3}(?:\\.\\d+)?)(\\s*[,;]\\s*|\\s+)" + LONGITUDE_LABEL
+            + "([-+]?\\d{1,3}(?:\\.\\d+)?)\\s*", Pattern.CASE_INSENSITIVE);
+    /** Números com vírgula decimal, separados por ponto e vírgula, vírgula seguida de espaço ou espaços. */
+    private static final Pattern DECIMAL_COMMA = Pattern.compile("\\s*" + LATITUDE_LABEL
+            + "([-+]?\\d{1,3}(?:,\\d+)?)(?:\\s*;\\s*|\\s*,\\s+|\\s+)" + LONGITUDE_LABEL
+            + "([-+]?\\d{1,3}(?:,\\d+)?)\\s*", Pattern.CASE_INSENSITIVE);
+
+    private final double latitude;
+    private final double longitude;
+
+    public GeoPoint(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90)) {
+            throw new IllegalArgumentException("Latitude deve estar entre -90 e 90.");
+        }
+        if (!(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Longitude deve estar entre -180 e 180.");
+        }
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * Interpreta uma localização digitada no formato {@code latitude, longitude},
+     * opcionalmente com os rótulos {@code Latitude} e {@code Longitude}. As
+     * medidas podem usar ponto ({@code "-15.79, -47.88"}) ou vírgula decimal
+     * ({@code "-15,79, -47,88"} ou {@code "-15,79; -47,88"}); o texto inteiro deve
+     * seguir o formato, de modo que endereços como {@code "Rodovia BR-040 km 12"}
+     * não são lidos como coordenadas. Dois inteiros separados só por uma vírgula
+     * ({@code "-15,79"}) são ambíguos e também são rejeitados.
+     *
+     * @param location a localização digitada, podendo ser {@code null}
+     * @return a coordenada informada, ou {@code null} se a localização não for
+     *         uma latitude e uma longitude válidas
+     */
+    public static GeoPoint parse(String location) {
+        if (location == null) {
+            return null;
+        }
+        String latitude;
+        String longitude;
+        Matcher matcher = DECIMAL_POINT.matcher(location);
+        if (matcher.matches()) {
+            latitude = matcher.group(1);
+            longitude = matcher.group(3);
+            if (matcher.group(2).equals(",") && latitude.indexOf('.') < 0 && longitude.indexOf('.') < 0) {
+                return null;
+            }
+        } else {
+            matcher = DECIMAL_COMMA.matcher(location);
+            if (!matcher.matches()) {
+                return null;
+            }
+            latitude = matcher.group(1).replace(',', '.');
+            longitude = matcher.group(2).replace(',', '.');
+        }
+        double lat = Double.parseDouble(latitude);
+        double lon = Double.parseDouble(longitude);
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            return null;
+        }
+        return new GeoPoint(lat, lon);
+    }
+
+    /**
+     * Calcula a distância entre duas coordenadas pela fórmula de haversine.
+     *
+     * @param latitude1  latitude do primeiro ponto, em graus
+     * @param longitude1 longitude do primeiro ponto, em graus
+     * @param latitude2  latitude do segundo ponto, em graus
+     * @param longitude2 longitude do segundo ponto, em graus
+     * @return a distância em quilômetros
+     */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLat = Math.toRadians(latitude2 - latitude1);
+        double dLon = Math.toRadians(longitude2 - longitude1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLon = Math.sin(dLon / 2);
+        double a = sinLat * sinLat
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2)) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    public double distanceKm(GeoPoint other) {
+        return distanceKm(latitude, longitude, other.latitude, other.longitude);
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    @Override
+    public String toString() {
+        return latitude + ", " + longitude;
+    }
+}
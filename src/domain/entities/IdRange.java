@@ -0,0 +1,52 @@
+package domain.entities;
+
+/**
+ * Representa um intervalo contíguo de IDs alocados de uma só vez, como os IDs
+ * dos dados climáticos inseridos em lote em uma área monitorada.
+ *
+ * <p>
+ * Um intervalo vazio possui {@code count} igual a zero e não contém nenhum ID.
+ * </p>
+ */
+public final class IdRange {
+    private final int firstId;
+    private final int count;
+
+    public IdRange(int firstId, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("A quantidade de IDs não pode ser negativa.");
+        }
+        this.firstId = firstId;
+        this.count = count;
+    }
+
+    public int getFirstId() {
+        return firstId;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Retorna o último ID do intervalo.
+     *
+     * @return o último ID, ou {@code firstId - 1} se o intervalo estiver vazio
+     */
+    public int getLastId() {
+        return firstId + count - 1;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public boolean contains(int id) {
+        return id >= firstId && id <= getLastId();
+    }
+
+    @Override
+    public String toString() {
+        return isEmpty() ? "IdRange{vazio}" : "IdRange{" + firstId + ".." + getLastId() + '}';
+    }
+}
@@ -33,32 +33,31 @@ public class ManualAlert extends Alert {
             User createdBy) {
         super(id, riskLevel, issueDate);
         this.createdBy = createdBy;
+        this.description = description;
     }
 
     /**
-     * Gera e exibe um alerta manual com informações detalhadas.
-     * <p>
-     * Este método imprime os seguintes detalhes do alerta na saída padrão:
-     * <ul>
-     *   <li>Cabeçalho do tipo de alerta</li>
-     *   <li>Nome da área</li>
-     *   <li>Data de emissão do alerta</li>
-     *   <li>Nível de risco (como porcentagem)</li>
-     *   <li>Nome e ID do criador</li>
-     *   <li>Descrição do alerta</li>
-     * </ul>
-     * A saída é formatada para melhor leitura.
-     * 
-     * <p>
-     * Este método sobrescreve o método {@code throwAlert()} da superclasse implementada.
-     * </p>
-     * @see Alert#throwAlert()
+     * Acrescenta à mensagem do alerta o nome e o ID do criador e a descrição
+     * informada. A mensagem é exibida por {@link Alert#throwAlert(MonitoredArea)}.
+     *
+     * @param area a área monitorada do alerta
+     * @return a mensagem completa do alerta manual
      */
     @Override
-    public void throwAlert(MonitoredArea area) {
-        super.throwAlert(area);
-        System.out.println("Criado por: " + createdBy.getName() + " (ID: " + createdBy.getId() + ")");
-        System.out.println("Descrição: " + description);
-        System.out.println("=========================\n");
+    public String describe(MonitoredArea area) {
+        StringBuilder message = new StringBuilder(super.describe(area));
+        message.append("Criado por: ").append(createdBy.getName()).append(" (ID: ").append(createdBy.getId())
+                .append(")\n");
+        message.append("Descrição: ").append(description).append('\n');
+        message.append("=========================\n\n");
+        return message.toString();
+    }
+
+    public User getCreatedBy() {
+        return createdBy;
+    }
+
+    public String getDescription() {
+        return description;
     }
 }
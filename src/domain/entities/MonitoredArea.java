@@ -1,8 +1,38 @@
 package domain.entities;
 
-import java.util.ArrayList;
-import java.util.Comparator;
+import domain.alerts.AlertDecision;
+import domain.alerts.AlertGate;
+import domain.alerts.AlertOutcome;
+import domain.alerts.AlertPolicy;
+import domain.events.DomainEvent;
+import domain.events.DomainEventType;
+import domain.events.DomainEvents;
+import domain.metrics.AreaMetrics;
+import domain.metrics.Metrics;
+import domain.persistence.ChangeJournal;
+import domain.persistence.Journals;
+import domain.risk.FireActivityRisk;
+import domain.risk.RiskCalculator;
+import domain.risk.RiskModel;
+import domain.risk.VegetationRiskModels;
+import domain.stats.DailyWeatherAggregates;
+import domain.stats.FireActivity;
+import domain.stats.FireActivityIndex;
+import domain.stats.RollingWeatherStats;
+import domain.stats.WeatherSummary;
+import domain.stats.WeatherWindow;
+import domain.storage.AppendLog;
+import domain.storage.DateRangeIndex;
+import domain.storage.RetentionPolicy;
+import domain.storage.WeatherDataStore;
+import domain.time.CachedDateClock;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Representa uma área monitorada para riscos ambientais, como incêndios
@@ -22,13 +52,61 @@ import java.util.List;
  * <li><b>id</b>: Identificador único da área monitorada.</li>
  * <li><b>name</b>: Nome da área monitorada.</li>
  * <li><b>location</b>: Localização geográfica da área.</li>
+ * <li><b>coordinates</b>: Coordenadas extraídas da localização, quando ela
+ * contém latitude e longitude ({@link GeoPoint#parse(String)}).</li>
  * <li><b>vegetationType</b>: Tipo de vegetação predominante na área.</li>
- * <li><b>weatherDatas</b>: Lista de dados climáticos históricos associados à
- * área.</li>
+ * <li><b>riskModel</b>: Modelo de cálculo do risco, resolvido pela vegetação
+ * na criação da área ({@link VegetationRiskModels}) ou configurado.</li>
+ * <li><b>weatherDatas</b>: Histórico de dados climáticos associados à área,
+ * armazenado em formato colunar ({@link WeatherDataStore}).</li>
  * <li><b>wildFires</b>: Lista de incêndios registrados na área.</li>
  * <li><b>alerts</b>: Lista de alertas gerados para a área monitorada.</li>
  * <li><b>sensor</b>: Sensor utilizado para coletar dados climáticos.</li>
  * </ul>
+ * <p>
+ * A inserção de dados climáticos, incêndios e alertas pode ser feita por
+ * vários produtores ao mesmo tempo, sem bloqueio nos históricos; os agregados
+ * móveis ({@link RollingWeatherStats}) dividem cada dia em células com
+ * bloqueio próprio, de modo que os produtores raramente esperam uns pelos
+ * outros. Os IDs são alocados de forma
+ * atômica por {@link #nextWeatherDataId()} e {@link #nextWildFireId()}, e as
+ * listas retornadas pelos métodos de consulta são visões consistentes do
+ * momento da chamada.
+ * <p>
+ * Os históricos de dados climáticos e de incêndios são indexados por data
+ * ({@link DateRangeIndex}), permitindo consultar um período, como em
+ * {@link #getWeatherDataBetween(LocalDate, LocalDate)} e
+ * {@link #getWildFiresInLastDays(int)}, sem percorrer nem copiar o histórico.
+ * <p>
+ * As notificações (dados ausentes ou inválidos, coletas do sensor, incêndios)
+ * são publicadas em {@link DomainEvents} em vez de escritas no console; sem
+ * ouvintes inscritos, nenhuma mensagem é formatada.
+ * <p>
+ * As inserções de dados climáticos, incêndios e alertas são registradas no
+ * {@link ChangeJournal} instalado em {@link Journals}, quando há persistência.
+ * <p>
+ * Os alertas automáticos passam por uma política de supressão
+ * ({@link AlertPolicy}) em {@link #evaluateAlert(double, WheatherData)}, que
+ * aplica histerese, intervalo mínimo entre alertas, limite de taxa e agrupa
+ * ocorrências repetidas em um único alerta.
+ * <p>
+ * Cada leitura inserida também atualiza agregados móveis de 1, 7 e 30 dias
+ * ({@link RollingWeatherStats}), consultados em tempo constante por
+ * {@link #getWeatherSummary(WeatherWindow)} e
+ * {@link #calculateWindowedRiskLevel(WeatherWindow)}.
+ * <p>
+ * Com uma política de retenção ({@link RetentionPolicy}), as leituras antigas
+ * são compactadas por {@link #compactWeatherData(LocalDate)} em agregados
+ * diários ({@link DailyWeatherAggregates}) e descartadas do histórico bruto.
+ * As consultas por período combinam os dois níveis: cada dia compactado
+ * aparece como um único ponto com as médias do dia.
+ * <p>
+ * Os incêndios também alimentam um índice por dia ({@link FireActivityIndex})
+ * com a quantidade e a maior severidade dos incêndios recentes. O risco
+ * calculado a partir de uma leitura ({@link #calculateRiskLevel()} e
+ * {@link #calculateRiskLevel(WheatherData)}) soma o componente de incêndios
+ * ({@link FireActivityRisk}) da janela que termina no dia da leitura, consultado
+ * no índice sem percorrer o histórico de incêndios.
  *
  * <h2>Exemplo de uso:</h2>
  * 
@@ -40,26 +118,51 @@ import java.util.List;
  *
  */
 public class MonitoredArea {
+    /** Marca de uma operação cuja latência não foi sorteada para medição. */
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+
     private int id;
     private String name;
     private String location;
+    private GeoPoint coordinates;
     private String vegetationType;
-    private List<WheatherData> weatherDatas = new ArrayList<>();
-    private List<WildFire> wildFires = new ArrayList<>();
-    private List<Alert> alerts = new ArrayList<>();
+    private WeatherDataStore weatherDatas = new WeatherDataStore();
+    private AppendLog<WildFire> wildFires = new AppendLog<>();
+    private AppendLog<Alert> alerts = new AppendLog<>();
+    private RollingWeatherStats weatherStats;
+    private DateRangeIndex weatherDataByDate = new DateRangeIndex(weatherDatas::size, weatherDatas::getEpochDay);
+    private DateRangeIndex wildFiresByDate = new DateRangeIndex(wildFires::size,
+            slot -> WeatherDataStore.toEpochDay(wildFires.get(slot).getDate()));
+    private AtomicInteger lastWeatherDataId = new AtomicInteger();
+    private AtomicInteger lastWildFireId = new AtomicInteger();
+    private AtomicInteger lastAlertId = new AtomicInteger();
+    private volatile AlertGate alertGate = new AlertGate(AlertPolicy.defaultPolicy());
+    private volatile RiskModel riskModel;
+    private volatile RetentionPolicy retentionPolicy = RetentionPolicy.keepAll();
+    private volatile DailyWeatherAggregates dailyWeather = DailyWeatherAggregates.EMPTY;
+    private final FireActivityIndex fireActivity = new FireActivityIndex();
+    private volatile FireActivityRisk fireActivityRisk = FireActivityRisk.defaultPolicy();
+    // Consultas por período (leitura) e compactação (escrita) dos dois níveis do histórico.
+    private final ReentrantReadWriteLock weatherTiers = new ReentrantReadWriteLock();
+    private final Object compactionLock = new Object();
+    private final AreaMetrics metrics;
     private Sensor sensor;
 
     public MonitoredArea(int id, String name, String location, String vegetationType) {
         this.id = id;
         this.name = name;
         this.location = location;
+        this.coordinates = GeoPoint.parse(location);
         this.vegetationType = vegetationType;
+        this.riskModel = VegetationRiskModels.forVegetation(vegetationType);
+        this.weatherStats = new RollingWeatherStats(riskModel);
         this.sensor = new Sensor(id, "Sensor na área monitorada: " + name);
+        this.metrics = Metrics.registry().area(id);
     }
 
     /**
      * Calcula o nível de risco da área monitorada com base nos dados climáticos
-     * mais recentes.
+     * mais recentes e nos incêndios recentes até a data da leitura.
      * 
      * @return o nível de risco calculado (0 a 100), ou -1 se não houver dados
      *         climáticos.
@@ -67,17 +170,21 @@ public class MonitoredArea {
     public double calculateRiskLevel() {
         WheatherData wd = this.getLatestWeatherData();
         if (wd == null) {
-            System.out.println("Nenhum dado climático encontrado para a área selecionada!");
+            publish(DomainEventType.WEATHER_DATA_MISSING, null,
+                    () -> "Nenhum dado climático encontrado para a área selecionada!");
             return -1;
         }
-        System.out.println(wd.getDate() + " - Dados climáticos mais recentes coletados: "
-                + wd.getTemperature() + "°C, " + wd.getHumidity() + "%, " + wd.getWindSpeed() + " km/h");
-        return calculateRiskLevel(wd.getTemperature(), wd.getHumidity(), wd.getWindSpeed());
+        publish(DomainEventType.LATEST_WEATHER_DATA_USED, wd,
+                () -> wd.getDate() + " - Dados climáticos mais recentes coletados: " + wd.getTemperature() + "°C, "
+                        + wd.getHumidity() + "%, " + wd.getWindSpeed() + " km/h");
+        return withFireActivity(countedRiskLevel(wd.getTemperature(), wd.getHumidity(), wd.getWindSpeed()),
+                wd.getDate());
     }
 
     /**
      * Calcula o nível de risco da área monitorada com base em um objeto
-     * WheatherData fornecido.
+     * WheatherData fornecido e nos incêndios recentes até a data dos dados
+     * (ou até o dia atual, se eles não tiverem data).
      * 
      * @param data os dados climáticos a serem utilizados no cálculo.
      * @return o nível de risco calculado (0 a 100), ou -1 se os dados forem
@@ -85,15 +192,24 @@ public class MonitoredArea {
      */
     public double calculateRiskLevel(WheatherData data) {
         if (data == null) {
-            System.out.println("Dados climáticos inválidos.");
+            publish(DomainEventType.INVALID_WEATHER_DATA, null, () -> "Dados climáticos inválidos.");
             return -1;
         }
-        return calculateRiskLevel(data.getTemperature(), data.getHumidity(), data.getWindSpeed());
+        return withFireActivity(countedRiskLevel(data.getTemperature(), data.getHumidity(), data.getWindSpeed()),
+                data.getDate());
     }
 
     /**
      * Calcula o nível de risco da área monitorada com base nos valores de
-     * temperatura, umidade e velocidade do vento.
+     * temperatura, umidade e velocidade do vento, pelo modelo de risco da área.
+     * Considera apenas o clima, sem o componente de incêndios recentes.
+     * <p>
+     * Por ser usado em laços de poucos nanossegundos por chamada, não é contado
+     * nas métricas; os cálculos em lote são contados por
+     * {@link #calculateRiskLevels(double[])}, e as avaliações de uma leitura,
+     * por {@link #calculateRiskLevel()} e
+     * {@link #calculateRiskLevel(WheatherData)}.
+     * </p>
      * 
      * @param temperature temperatura em graus Celsius.
      * @param humidity    umidade relativa do ar em porcentagem.
@@ -102,38 +218,109 @@ public class MonitoredArea {
      *         inválido.
      */
     public double calculateRiskLevel(double temperature, double humidity, double windSpeed) {
-        if (temperature < 0 || humidity < 0 || windSpeed < 0) {
-            System.out.println("Valores inválidos para temperatura, umidade ou velocidade do vento.");
-            return -1;
+        double riskLevel = riskModel.calculate(temperature, humidity, windSpeed);
+        if (riskLevel == RiskCalculator.INVALID) {
+            publish(DomainEventType.INVALID_WEATHER_DATA, null,
+                    () -> "Valores inválidos para temperatura, umidade ou velocidade do vento.");
         }
+        return riskLevel;
+    }
 
-        double riskLevel = (temperature * 2) + (windSpeed * 2) - (humidity * 1.5);
-        riskLevel = Math.max(0, Math.min(100, riskLevel));
+    /**
+     * Calcula o risco climático de uma leitura avaliada individualmente,
+     * contando-o nas métricas da área e medindo a latência por amostragem.
+     */
+    private double countedRiskLevel(double temperature, double humidity, double windSpeed) {
+        long start = Metrics.sampleLatency() ? System.nanoTime() : NOT_TIMED;
+        double riskLevel = calculateRiskLevel(temperature, humidity, windSpeed);
+        metrics.increment(AreaMetrics.Family.RISK_CALCULATIONS);
+        if (start != NOT_TIMED) {
+            Metrics.RISK_CALCULATION_SECONDS.record(System.nanoTime() - start);
+        }
         return riskLevel;
     }
 
     /**
-     * Recupera a entrada mais recente de {@link WheatherData} da lista
-     * {@code weatherDataList}.
+     * Soma ao risco climático o componente de incêndios da janela que termina em
+     * {@code date}. Sem incêndios registrados, o índice não é consultado.
+     */
+    private double withFireActivity(double weatherRisk, LocalDate date) {
+        FireActivityRisk policy = fireActivityRisk;
+        if (weatherRisk == RiskCalculator.INVALID || policy.isDisabled() || fireActivity.getFireCount() == 0) {
+            return weatherRisk;
+        }
+        int end = date == null ? CachedDateClock.system().todayEpochDay() : WeatherDataStore.toEpochDay(date);
+        return policy.apply(weatherRisk, fireActivity.query(end, policy.getWindowDays()));
+    }
+
+    /**
+     * Calcula o nível de risco de todas as leituras do histórico da área, na
+     * ordem de inserção, sem criar objetos {@link WheatherData} nem exibir
+     * mensagens. Como em {@link #calculateRiskLevel(double, double, double)},
+     * considera apenas o clima.
+     * <p>
+     * Leituras com valores inválidos recebem {@code -1}, como em
+     * {@link #calculateRiskLevel(double, double, double)}.
+     * </p>
+     *
+     * @param out vetor que recebe os níveis de risco; deve ter ao menos o
+     *            tamanho do histórico.
+     * @return a quantidade de leituras calculadas.
+     * @throws IndexOutOfBoundsException se {@code out} for menor que o histórico.
+     */
+    public int calculateRiskLevels(double[] out) {
+        long start = System.nanoTime();
+        int count = weatherDatas.calculateRiskLevels(riskModel, out, 0);
+        metrics.add(AreaMetrics.Family.RISK_CALCULATIONS, count);
+        Metrics.RISK_CALCULATION_SECONDS.record(System.nanoTime() - start);
+        return count;
+    }
+
+    /**
+     * Resume as leituras válidas da área na janela informada, terminando no dia
+     * atual. O resumo é montado a partir dos agregados mantidos a cada
+     * inserção, sem percorrer o histórico.
+     *
+     * @param window a janela desejada
+     * @return o mínimo, o máximo e a média de cada medição e o risco da janela
+     */
+    public WeatherSummary getWeatherSummary(WeatherWindow window) {
+        return weatherStats.summarize(window, CachedDateClock.system().todayEpochDay());
+    }
+
+    /**
+     * Calcula o nível de risco da área como a média dos riscos das leituras da
+     * janela informada, em vez de usar apenas a leitura mais recente.
+     *
+     * @param window a janela desejada
+     * @return o risco médio da janela (0 a 100), ou -1 se não houver leituras
+     *         válidas na janela
+     */
+    public double calculateWindowedRiskLevel(WeatherWindow window) {
+        WeatherSummary summary = getWeatherSummary(window);
+        return summary.isEmpty() ? -1 : summary.getMeanRiskLevel();
+    }
+
+    /**
+     * Recupera a entrada mais recente de {@link WheatherData} do histórico da
+     * área.
      * <p>
-     * Este método busca na lista de dados climáticos associados a esta área
-     * monitorada
-     * e retorna a entrada com a data mais recente. Se a lista estiver vazia,
-     * retorna {@code null}.
+     * A entrada mais recente é a de maior ID (com desempate pela data) e é
+     * mantida a cada inserção, de modo que a consulta tem custo constante
+     * independentemente do tamanho do histórico. Se não houver dados, retorna
+     * {@code null}.
      *
      * @return o objeto {@link WheatherData} mais recente, ou {@code null} se não
      *         houver dados disponíveis
      */
     public WheatherData getLatestWeatherData() {
-        return this.weatherDatas.stream()
-                .max(Comparator.comparing(WheatherData::getId))
-                .orElse(null);
+        return weatherDatas.getLatest();
     }
 
     /**
      * Gera um alerta automático com base no nível de risco e nos dados climáticos fornecidos.
      * <p>
-     * Se os dados climáticos forem {@code null}, o método exibe uma mensagem e retorna {@code null}.
+     * Se os dados climáticos forem {@code null}, o método publica um evento de dados inválidos e retorna {@code null}.
      * Caso contrário, cria um novo {@link AutomaticAlert}, adiciona à lista de alertas e o retorna.
      * </p>
      *
@@ -143,18 +330,69 @@ public class MonitoredArea {
      */
     public AutomaticAlert generateAlert(double riskLevel, WheatherData data) {
         if (data == null) {
-            System.out.println("Dados climáticos inválidos para gerar alerta.");
+            publish(DomainEventType.INVALID_WEATHER_DATA, null, () -> "Dados climáticos inválidos para gerar alerta.");
             return null;
         }
-        AutomaticAlert alert = new AutomaticAlert(alerts.size() + 1, riskLevel, data.getDate(), data);
+        AutomaticAlert alert = new AutomaticAlert(lastAlertId.incrementAndGet(), riskLevel, data.getDate(), data);
         this.addAlert(alert);
         return alert;
     }
 
+    /**
+     * Avalia o nível de risco pela política de alertas da área e gera um alerta
+     * automático somente quando ela permitir.
+     * <p>
+     * Ocorrências repetidas enquanto a área está em alerta são agrupadas no
+     * último alerta emitido, e a queda do risco abaixo do limite de saída
+     * encerra o estado de alerta. Se os dados climáticos forem {@code null}, o
+     * método publica um evento de dados inválidos e retorna {@code null}.
+     * </p>
+     *
+     * @param riskLevel o nível de risco calculado
+     * @param data      os dados climáticos que originaram o risco
+     * @return a decisão da política e o alerta gerado ou agrupado, ou
+     *         {@code null} se os dados climáticos forem inválidos
+     */
+    public AlertOutcome<AutomaticAlert> evaluateAlert(double riskLevel, WheatherData data) {
+        if (data == null) {
+            publish(DomainEventType.INVALID_WEATHER_DATA, null, () -> "Dados climáticos inválidos para gerar alerta.");
+            return null;
+        }
+        AlertOutcome<AutomaticAlert> outcome;
+        ChangeJournal journal = Journals.current();
+        journal.beginWrite();
+        try {
+            outcome = alertGate.evaluate(riskLevel, () -> generateAlert(riskLevel, data));
+            if (outcome.getDecision() == AlertDecision.COALESCED) {
+                Alert alert = outcome.getAlert();
+                journal.alertOccurrenceRecorded(this, alert, alert.getOccurrenceSnapshot());
+            }
+        } finally {
+            journal.endWrite();
+        }
+        Metrics.alertDecisions(outcome.getDecision()).increment();
+        return outcome;
+    }
+
+    /**
+     * Substitui a política de alertas automáticos da área. O estado de alerta e
+     * o limite de taxa recomeçam do zero.
+     *
+     * @param policy a nova política
+     * @throws IllegalArgumentException se a política for {@code null}
+     */
+    public void setAlertPolicy(AlertPolicy policy) {
+        this.alertGate = new AlertGate(policy);
+    }
+
+    public AlertPolicy getAlertPolicy() {
+        return alertGate.getPolicy();
+    }
+
     /**
      * Gera um alerta manual para esta área monitorada com o nível de risco, usuário e descrição especificados.
      * <p>
-     * Se o usuário fornecido for {@code null}, o método imprime uma mensagem de erro e retorna {@code null}.
+     * Se o usuário fornecido for {@code null}, o método publica um evento de usuário inválido e retorna {@code null}.
      * Caso contrário, cria um novo {@link ManualAlert}, adiciona à lista de alertas e retorna o alerta criado.
      * </p>
      *
@@ -165,44 +403,317 @@ public class MonitoredArea {
      */
     public ManualAlert generateAlert(double riskLevel, User user, String description) {
         if (user == null) {
-            System.out.println("Usuário inválido para gerar alerta.");
+            publish(DomainEventType.INVALID_USER, null, () -> "Usuário inválido para gerar alerta.");
             return null;
         }
-        ManualAlert alert = new ManualAlert(alerts.size() + 1, riskLevel, java.time.LocalDate.now(), description, user);
+        ManualAlert alert = new ManualAlert(lastAlertId.incrementAndGet(), riskLevel, java.time.LocalDate.now(), description, user);
         this.addAlert(alert);
         return alert;
     }
 
     /**
      * Coleta dados climáticos do sensor um número especificado de vezes.
-     * Para cada coleta bem-sucedida, os dados são adicionados tanto à lista local
-     * quanto ao registro de dados climáticos da área monitorada.
+     * Os dados coletados são adicionados ao registro de dados climáticos da área
+     * monitorada em uma única inserção em lote.
      *
      * @param quantidade o número de vezes que os dados serão coletados do sensor
      * @return uma lista de objetos {@link WheatherData} coletados nesta operação
      */
     public List<WheatherData> useSensor(int quantity){
-        List<WheatherData> collectedData = new ArrayList<>();
-        for (int i = 0; i < quantity; i++) {
-            int weatherId = weatherDatas.size() + 1;
-            WheatherData data = sensor.collectData(weatherId);
-            if (data != null) {
-                collectedData.add(data);
-                this.addWeatherData(data);
+        IdRange ids = allocateWeatherDataIds(quantity);
+        int first = collectFromSensor(ids);
+        publish(DomainEventType.SENSOR_DATA_COLLECTED, ids, () -> quantity + " dados climáticos inseridos com sucesso!");
+        return weatherDatas.slice(first, quantity);
+    }
+
+    /**
+     * Coleta dados climáticos do sensor em lote, sem criar objetos por leitura.
+     * <p>
+     * Os IDs são alocados em um único intervalo contíguo e as leituras são
+     * gravadas pelo sensor diretamente no histórico da área.
+     * </p>
+     *
+     * @param quantity a quantidade de leituras a coletar
+     * @param verbose  se {@code true}, publica um evento ao final da inserção
+     * @return o intervalo de IDs das leituras inseridas
+     */
+    public IdRange useSensor(int quantity, boolean verbose) {
+        IdRange ids = allocateWeatherDataIds(quantity);
+        collectFromSensor(ids);
+        if (verbose) {
+            publish(DomainEventType.SENSOR_DATA_COLLECTED, ids,
+                    () -> quantity + " dados climáticos inseridos com sucesso!");
+        }
+        return ids;
+    }
+
+    /**
+     * Adiciona em lote as leituras dos vetores paralelos ao histórico da área.
+     * <p>
+     * Os IDs são alocados em um único intervalo contíguo, na ordem dos vetores.
+     * </p>
+     *
+     * @param temperatures temperaturas em graus Celsius
+     * @param humidities   umidades relativas em porcentagem
+     * @param windSpeeds   velocidades do vento em km/h
+     * @param epochDays    datas das leituras em dias desde a época
+     * @param offset       posição inicial nos vetores
+     * @param length       quantidade de leituras
+     * @return o intervalo de IDs das leituras inseridas
+     * @throws IndexOutOfBoundsException se algum vetor não comportar o intervalo
+     */
+    public IdRange addWeatherData(double[] temperatures, double[] humidities, double[] windSpeeds, int[] epochDays,
+            int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, temperatures.length);
+        Objects.checkFromIndexSize(offset, length, humidities.length);
+        Objects.checkFromIndexSize(offset, length, windSpeeds.length);
+        Objects.checkFromIndexSize(offset, length, epochDays.length);
+        long start = System.nanoTime();
+        IdRange ids = allocateWeatherDataIds(length);
+        ChangeJournal journal = Journals.current();
+        journal.beginWrite();
+        try {
+            weatherDatas.addAll(ids.getFirstId(), temperatures, humidities, windSpeeds, epochDays, offset, length);
+            weatherStats.addAll(temperatures, humidities, windSpeeds, epochDays, offset, length);
+            journal.weatherDataAdded(this, ids.getFirstId(), temperatures, humidities, windSpeeds, epochDays, offset,
+                    length);
+        } finally {
+            journal.endWrite();
+        }
+        recordInsert(length, start);
+        return ids;
+    }
+
+    /**
+     * Insere em lote leituras com IDs já atribuídos, como as importadas de um
+     * arquivo exportado de outra área ou instalação. A inserção é registrada no
+     * {@link ChangeJournal}; se algum ID for maior que os já alocados, a
+     * sequência de {@link #nextWeatherDataId()} passa a partir dele.
+     *
+     * @param ids          IDs das leituras
+     * @param temperatures temperaturas em graus Celsius
+     * @param humidities   umidades relativas em porcentagem
+     * @param windSpeeds   velocidades do vento em km/h
+     * @param epochDays    datas das leituras em dias desde a época, ou
+     *                     {@link WeatherDataStore#NO_DATE}
+     * @param offset       posição inicial nos vetores
+     * @param length       quantidade de leituras
+     * @throws IndexOutOfBoundsException se algum vetor não comportar o intervalo
+     */
+    public void addWeatherData(int[] ids, double[] temperatures, double[] humidities, double[] windSpeeds,
+            int[] epochDays, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, ids.length);
+        Objects.checkFromIndexSize(offset, length, temperatures.length);
+        Objects.checkFromIndexSize(offset, length, humidities.length);
+        Objects.checkFromIndexSize(offset, length, windSpeeds.length);
+        Objects.checkFromIndexSize(offset, length, epochDays.length);
+        long start = System.nanoTime();
+        ChangeJournal journal = Journals.current();
+        journal.beginWrite();
+        try {
+            storeWeatherData(ids, temperatures, humidities, windSpeeds, epochDays, offset, length);
+            journal.weatherDataAdded(this, ids, temperatures, humidities, windSpeeds, epochDays, offset, length);
+        } finally {
+            journal.endWrite();
+        }
+        recordInsert(length, start);
+    }
+
+    /**
+     * Restaura leituras com IDs já atribuídos, como as lidas de um snapshot ou do
+     * log de recuperação, sem registrá-las novamente nem publicar eventos.
+     *
+     * @param ids          IDs das leituras
+     * @param temperatures temperaturas em graus Celsius
+     * @param humidities   umidades relativas em porcentagem
+     * @param windSpeeds   velocidades do vento em km/h
+     * @param epochDays    datas das leituras em dias desde a época
+     * @param offset       posição inicial nos vetores
+     * @param length       quantidade de leituras
+     */
+    public void restoreWeatherData(int[] ids, double[] temperatures, double[] humidities, double[] windSpeeds,
+            int[] epochDays, int offset, int length) {
+        storeWeatherData(ids, temperatures, humidities, windSpeeds, epochDays, offset, length);
+    }
+
+    private void storeWeatherData(int[] ids, double[] temperatures, double[] humidities, double[] windSpeeds,
+            int[] epochDays, int offset, int length) {
+        weatherDatas.addAll(ids, temperatures, humidities, windSpeeds, epochDays, offset, length);
+        weatherStats.addAll(temperatures, humidities, windSpeeds, epochDays, offset, length);
+        int maxId = 0;
+        for (int i = offset; i < offset + length; i++) {
+            maxId = Math.max(maxId, ids[i]);
+        }
+        lastWeatherDataId.accumulateAndGet(maxId, Math::max);
+    }
+
+    /**
+     * Restaura agregados diários de leituras já compactadas, como os lidos de um
+     * snapshot. Os dias ainda dentro das janelas móveis voltam a fazer parte de
+     * {@link #getWeatherSummary(WeatherWindow)}.
+     *
+     * @param aggregates os agregados restaurados
+     */
+    public void restoreDailyWeather(DailyWeatherAggregates aggregates) {
+        Lock lock = weatherTiers.writeLock();
+        lock.lock();
+        try {
+            dailyWeather = dailyWeather.merge(aggregates);
+        } finally {
+            lock.unlock();
+        }
+        weatherStats.addAll(aggregates);
+    }
+
+    /**
+     * Restaura um incêndio já registrado, sem registrá-lo novamente nem publicar
+     * eventos.
+     *
+     * @param wildFire o incêndio restaurado
+     */
+    public void restoreWildFire(WildFire wildFire) {
+        wildFires.add(wildFire);
+        indexWildFire(wildFire);
+        lastWildFireId.accumulateAndGet(wildFire.getId(), Math::max);
+    }
+
+    /**
+     * Restaura um alerta já registrado, sem registrá-lo novamente.
+     *
+     * @param alert o alerta restaurado
+     */
+    public void restoreAlert(Alert alert) {
+        alerts.add(alert);
+        lastAlertId.accumulateAndGet(alert.getId(), Math::max);
+    }
+
+    /**
+     * Restaura o agrupamento de ocorrências de um alerta da área, sem
+     * registrá-lo novamente. O alerta é procurado a partir do mais recente.
+     *
+     * @param alertId     o ID do alerta
+     * @param occurrences o agrupamento registrado
+     * @return {@code true} se o alerta foi encontrado
+     */
+    public boolean restoreAlertOccurrences(int alertId, Alert.Occurrences occurrences) {
+        List<Alert> restored = alerts.asList();
+        for (int i = restored.size() - 1; i >= 0; i--) {
+            Alert alert = restored.get(i);
+            if (alert.getId() == alertId) {
+                alert.mergeOccurrences(occurrences);
+                return true;
             }
         }
-        System.out.println(quantity + " dados climáticos inseridos com sucesso!");
-        return collectedData;
+        return false;
+    }
+
+    private int collectFromSensor(IdRange ids) {
+        long start = System.nanoTime();
+        ChangeJournal journal = Journals.current();
+        journal.beginWrite();
+        try {
+            int first = weatherDatas.append(ids.getFirstId(), ids.getCount(), new WeatherDataStore.ColumnWriter() {
+                private int nextId = ids.getFirstId();
+
+                @Override
+                public void write(double[] temperatures, double[] humidities, double[] windSpeeds, int[] epochDays,
+                        int offset, int length) {
+                    sensor.collectData(temperatures, humidities, windSpeeds, epochDays, offset, length);
+                    weatherStats.addAll(temperatures, humidities, windSpeeds, epochDays, offset, length);
+                    journal.weatherDataAdded(MonitoredArea.this, nextId, temperatures, humidities, windSpeeds,
+                            epochDays, offset, length);
+                    nextId += length;
+                }
+            });
+            recordInsert(ids.getCount(), start);
+            return first;
+        } finally {
+            journal.endWrite();
+        }
+    }
+
+    /**
+     * Conta uma inserção de leituras e, se ela foi cronometrada, registra a
+     * duração.
+     *
+     * @param readings  quantidade de leituras inseridas
+     * @param startNanos início da inserção, ou {@link #NOT_TIMED}
+     */
+    private void recordInsert(int readings, long startNanos) {
+        metrics.add(AreaMetrics.Family.WEATHER_READINGS, readings);
+        Metrics.WEATHER_INSERTS.increment();
+        if (startNanos != NOT_TIMED) {
+            Metrics.WEATHER_INSERT_SECONDS.record(System.nanoTime() - startNanos);
+        }
+    }
+
+    private IdRange allocateWeatherDataIds(int quantity) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("A quantidade de leituras não pode ser negativa.");
+        }
+        return new IdRange(lastWeatherDataId.getAndAdd(quantity) + 1, quantity);
     }
 
     private void addAlert(Alert alert) {
-        this.alerts.add(alert);
+        ChangeJournal journal = Journals.current();
+        journal.beginWrite();
+        try {
+            this.alerts.add(alert);
+            journal.alertAdded(this, alert);
+        } finally {
+            journal.endWrite();
+        }
+        metrics.increment(AreaMetrics.Family.ALERTS);
     }
 
+    /**
+     * Registra um incêndio na área. Se o ID do incêndio for maior que os já
+     * alocados, a sequência de {@link #nextWildFireId()} passa a partir dele.
+     *
+     * @param wildFire o incêndio a ser registrado
+     */
     public void addWildFire(WildFire wildFire) {
-        this.wildFires.add(wildFire);
-        System.out.println("Wildfire reportado na área " + this.getName() + " na data " + wildFire.getDate()
-                + " com severidade " + wildFire.getSeverity());
+        ChangeJournal journal = Journals.current();
+        journal.beginWrite();
+        try {
+            this.wildFires.add(wildFire);
+            journal.wildFireAdded(this, wildFire);
+        } finally {
+            journal.endWrite();
+        }
+        indexWildFire(wildFire);
+        lastWildFireId.accumulateAndGet(wildFire.getId(), Math::max);
+        publish(DomainEventType.WILDFIRE_REPORTED, wildFire, () -> "Wildfire reportado na área " + this.getName()
+                + " na data " + wildFire.getDate() + " com severidade " + wildFire.getSeverity());
+    }
+
+    /**
+     * Registra em lote incêndios já ocorridos, como os importados de um
+     * histórico. Cada incêndio é registrado no {@link ChangeJournal}, mas nenhum
+     * evento é publicado: quem importa o histórico informa o resultado de uma só
+     * vez.
+     *
+     * @param wildFires os incêndios a serem registrados
+     */
+    public void addWildFires(List<WildFire> wildFires) {
+        int maxId = 0;
+        ChangeJournal journal = Journals.current();
+        journal.beginWrite();
+        try {
+            for (WildFire wildFire : wildFires) {
+                this.wildFires.add(wildFire);
+                journal.wildFireAdded(this, wildFire);
+                indexWildFire(wildFire);
+                maxId = Math.max(maxId, wildFire.getId());
+            }
+        } finally {
+            journal.endWrite();
+        }
+        lastWildFireId.accumulateAndGet(maxId, Math::max);
+    }
+
+    private void indexWildFire(WildFire wildFire) {
+        fireActivity.add(WeatherDataStore.toEpochDay(wildFire.getDate()), wildFire.getSeverity());
     }
 
     public int getId() {
@@ -213,24 +724,375 @@ public class MonitoredArea {
         return name;
     }
 
+    /**
+     * Retorna uma visão somente leitura das leituras brutas retidas no momento
+     * da chamada, na ordem de inserção. Os objetos {@link WheatherData} são
+     * criados à medida que são acessados.
+     *
+     * @return a lista de dados climáticos brutos da área
+     */
     public List<WheatherData> getWeatherDataList() {
-        return weatherDatas;
+        return weatherDatas.asList();
+    }
+
+    /**
+     * Retorna uma visão colunar das leituras brutas retidas no momento da
+     * chamada, que continua legível mesmo após uma compactação.
+     *
+     * @return a visão do histórico bruto
+     */
+    public WeatherDataStore.View getWeatherDataView() {
+        return weatherDatas.view();
+    }
+
+    /**
+     * Retorna a quantidade de leituras brutas retidas no histórico da área.
+     *
+     * @return a quantidade de leituras
+     */
+    public int getWeatherDataCount() {
+        return weatherDatas.view().size();
+    }
+
+    /**
+     * Copia em colunas as leituras brutas retidas {@code first} a
+     * {@code first + count - 1}, na ordem de inserção, sem criar objetos
+     * {@link WheatherData}. As posições são relativas à primeira leitura retida;
+     * para cópias consistentes com uma compactação concorrente, use
+     * {@link #getWeatherDataView()}.
+     *
+     * @see WeatherDataStore.View#copyTo(int, int, int[], double[], double[], double[], int[], int)
+     */
+    public void copyWeatherData(int first, int count, int[] ids, double[] temperatures, double[] humidities,
+            double[] windSpeeds, int[] epochDays, int offset) {
+        weatherDatas.view().copyTo(first, count, ids, temperatures, humidities, windSpeeds, epochDays, offset);
+    }
+
+    /**
+     * Retorna os agregados diários das leituras já compactadas. Para combiná-los
+     * com as leituras brutas, use {@link #getWeatherHistory()}.
+     *
+     * @return os agregados, vazios se nada foi compactado
+     */
+    public DailyWeatherAggregates getDailyWeather() {
+        return dailyWeather;
+    }
+
+    /**
+     * Retorna as leituras brutas retidas e os agregados diários lidos juntos,
+     * sob o bloqueio que a compactação usa para trocar um nível pelo outro.
+     * Lidos separadamente, uma compactação entre as duas leituras faria os
+     * dias compactados aparecerem nos dois níveis.
+     *
+     * @return os dois níveis do histórico
+     */
+    public WeatherHistory getWeatherHistory() {
+        Lock lock = weatherTiers.readLock();
+        lock.lock();
+        try {
+            return new WeatherHistory(weatherDatas.view(), dailyWeather);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Substitui o modelo de risco resolvido pela vegetação da área. Os resumos
+     * climáticos e os agregados diários já calculados mantêm o risco do modelo
+     * anterior; só as leituras inseridas depois da troca usam o novo modelo.
+     * O modelo configurado não é gravado na persistência: ao recuperar a área,
+     * o modelo volta a ser o da vegetação.
+     *
+     * @param riskModel o novo modelo
+     * @throws IllegalArgumentException se o modelo for {@code null}
+     */
+    public void setRiskModel(RiskModel riskModel) {
+        weatherStats.setRiskModel(riskModel);
+        this.riskModel = riskModel;
+    }
+
+    public RiskModel getRiskModel() {
+        return riskModel;
+    }
+
+    /**
+     * Substitui o componente de incêndios recentes somado ao risco climático.
+     * Como o modelo de risco, não é gravado na persistência.
+     *
+     * @param fireActivityRisk o novo componente, ou
+     *                         {@link FireActivityRisk#disabled()} para usar só o
+     *                         clima
+     */
+    public void setFireActivityRisk(FireActivityRisk fireActivityRisk) {
+        this.fireActivityRisk = Objects.requireNonNull(fireActivityRisk);
+    }
+
+    public FireActivityRisk getFireActivityRisk() {
+        return fireActivityRisk;
+    }
+
+    public void setRetentionPolicy(RetentionPolicy policy) {
+        this.retentionPolicy = Objects.requireNonNull(policy);
     }
 
+    public RetentionPolicy getRetentionPolicy() {
+        return retentionPolicy;
+    }
+
+    /**
+     * Compacta as leituras brutas que excedem a política de retenção em
+     * agregados diários e as descarta do histórico bruto.
+     * <p>
+     * O descarte é feito por blocos inteiros do armazenamento, a partir dos mais
+     * antigos, e para no primeiro bloco com leituras dentro do período mantido
+     * ou sem data, ou no bloco da leitura mais recente. Por isso o limite de
+     * leituras é respeitado com a folga de um bloco e leituras antigas
+     * inseridas depois de leituras recentes podem permanecer brutas. Os
+     * agregados são publicados junto com o descarte, de modo que as consultas
+     * por período nunca veem uma leitura nos dois níveis nem em nenhum deles.
+     * Leituras inválidas, e as sem data descartadas pelo limite de leituras,
+     * não entram nos agregados e são contadas como ignoradas.
+     * </p>
+     *
+     * @param today dia de referência da política
+     * @return as quantidades de leituras compactadas e ignoradas
+     */
+    public CompactionResult compactWeatherData(LocalDate today) {
+        RetentionPolicy policy = retentionPolicy;
+        if (policy.isKeepAll()) {
+            return CompactionResult.NONE;
+        }
+        synchronized (compactionLock) {
+            // Nada é registrado no journal: o bracket apenas impede que um snapshot
+            // capture o histórico bruto e os agregados de momentos diferentes.
+            ChangeJournal journal = Journals.current();
+            journal.beginWrite();
+            try {
+                int cutoff = policy.cutoffEpochDay(WeatherDataStore.toEpochDay(today));
+                int boundary = weatherDatas.discardBoundary(cutoff, policy.getMaxRawReadings());
+                WeatherDataStore.View view = weatherDatas.view();
+                int count = boundary - view.getFirstIndex();
+                if (count <= 0) {
+                    return CompactionResult.NONE;
+                }
+                DailyWeatherAggregates.Accumulator accumulator = new DailyWeatherAggregates.Accumulator(riskModel);
+                view.read(0, count, accumulator::addAll);
+                DailyWeatherAggregates merged = dailyWeather.merge(accumulator.build());
+                Lock lock = weatherTiers.writeLock();
+                lock.lock();
+                try {
+                    dailyWeather = merged;
+                    weatherDatas.discardBefore(boundary);
+                    weatherDataByDate.retainFrom(boundary);
+                } finally {
+                    lock.unlock();
+                }
+                int skipped = (int) accumulator.getSkipped();
+                return new CompactionResult(count - skipped, skipped);
+            } finally {
+                journal.endWrite();
+            }
+        }
+    }
+
+    /**
+     * Adiciona uma leitura ao histórico da área. Se o ID da leitura for maior
+     * que os já alocados, a sequência de {@link #nextWeatherDataId()} passa a
+     * partir dele.
+     *
+     * @param data os dados climáticos a serem adicionados
+     */
     public void addWeatherData(WheatherData data) {
-        weatherDatas.add(data);
+        long start = Metrics.sampleLatency() ? System.nanoTime() : NOT_TIMED;
+        int epochDay = WeatherDataStore.toEpochDay(data.getDate());
+        ChangeJournal journal = Journals.current();
+        journal.beginWrite();
+        try {
+            weatherDatas.add(data.getId(), data.getTemperature(), data.getHumidity(), data.getWindSpeed(), epochDay);
+            weatherStats.add(data.getTemperature(), data.getHumidity(), data.getWindSpeed(), epochDay);
+            journal.weatherDataAdded(this, data.getId(), data.getTemperature(), data.getHumidity(),
+                    data.getWindSpeed(), epochDay);
+        } finally {
+            journal.endWrite();
+        }
+        lastWeatherDataId.accumulateAndGet(data.getId(), Math::max);
+        recordInsert(1, start);
     }
 
+    /**
+     * Aloca de forma atômica o próximo ID de dados climáticos da área.
+     *
+     * @return um ID ainda não alocado
+     */
+    public int nextWeatherDataId() {
+        return lastWeatherDataId.incrementAndGet();
+    }
+
+    /**
+     * Aloca de forma atômica o próximo ID de incêndio da área.
+     *
+     * @return um ID ainda não alocado
+     */
+    public int nextWildFireId() {
+        return lastWildFireId.incrementAndGet();
+    }
+
+    /**
+     * Retorna uma visão somente leitura dos incêndios registrados até o momento
+     * da chamada.
+     *
+     * @return a lista de incêndios da área
+     */
     public List<WildFire> getWildFires() {
-        return wildFires;
+        return wildFires.asList();
+    }
+
+    /**
+     * Retorna os dados climáticos com data entre {@code from} e {@code to},
+     * inclusive, ordenados por data. A consulta é feita por busca binária no
+     * índice de datas e os objetos {@link WheatherData} são criados à medida que
+     * são acessados. Os dias já compactados aparecem como um único ponto, com
+     * ID 0 e as médias do dia, antes das leituras brutas do mesmo dia.
+     *
+     * @param from data inicial, ou {@code null} para não limitar o início
+     * @param to   data final, ou {@code null} para não limitar o fim
+     * @return a lista de dados climáticos do período
+     */
+    public List<WheatherData> getWeatherDataBetween(LocalDate from, LocalDate to) {
+        return weatherHistoryBetween(fromEpochDay(from), toEpochDay(to));
+    }
+
+    /**
+     * Retorna os dados climáticos dos últimos {@code days} dias, incluindo o dia
+     * atual, ordenados por data, combinando leituras brutas e dias compactados
+     * como em {@link #getWeatherDataBetween(LocalDate, LocalDate)}.
+     *
+     * @param days a quantidade de dias
+     * @return a lista de dados climáticos do período
+     * @throws IllegalArgumentException se {@code days} não for positivo
+     */
+    public List<WheatherData> getWeatherDataInLastDays(int days) {
+        int today = lastDaysEnd(days);
+        return weatherHistoryBetween(today - days + 1, today);
+    }
+
+    private List<WheatherData> weatherHistoryBetween(int fromEpochDay, int toEpochDay) {
+        Lock lock = weatherTiers.readLock();
+        lock.lock();
+        try {
+            // A visão é obtida depois da consulta ao índice, para conter todas as
+            // posições que ele devolveu; os descartes esperam o bloqueio de escrita.
+            WeatherDataStore.View[] view = new WeatherDataStore.View[1];
+            List<WheatherData> raw = weatherDataByDate.between(fromEpochDay, toEpochDay,
+                    slot -> view[0].getAt(slot));
+            view[0] = weatherDatas.view();
+            return dailyWeather.mergeWith(raw, fromEpochDay, toEpochDay);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retorna os incêndios com data entre {@code from} e {@code to}, inclusive,
+     * ordenados por data.
+     *
+     * @param from data inicial, ou {@code null} para não limitar o início
+     * @param to   data final, ou {@code null} para não limitar o fim
+     * @return a lista de incêndios do período
+     */
+    public List<WildFire> getWildFiresBetween(LocalDate from, LocalDate to) {
+        return wildFiresByDate.between(fromEpochDay(from), toEpochDay(to), wildFires::get);
+    }
+
+    /**
+     * Retorna os incêndios dos últimos {@code days} dias, incluindo o dia atual,
+     * ordenados por data.
+     *
+     * @param days a quantidade de dias
+     * @return a lista de incêndios do período
+     * @throws IllegalArgumentException se {@code days} não for positivo
+     */
+    public List<WildFire> getWildFiresInLastDays(int days) {
+        int today = lastDaysEnd(days);
+        return wildFiresByDate.between(today - days + 1, today, wildFires::get);
+    }
+
+    /**
+     * Retorna a quantidade e a maior severidade dos incêndios dos últimos
+     * {@code days} dias, incluindo o dia atual, consultadas no índice de
+     * incêndios em {@code O(log n)}.
+     *
+     * @param days a quantidade de dias, de 1 a {@link FireActivityIndex#DAYS}
+     * @return a atividade de incêndios do período
+     * @throws IllegalArgumentException se {@code days} estiver fora do intervalo
+     */
+    public FireActivity getFireActivity(int days) {
+        return fireActivity.query(CachedDateClock.system().todayEpochDay(), days);
+    }
+
+    /**
+     * Retorna a quantidade e a maior severidade dos incêndios dos {@code days}
+     * dias que terminam em {@code end}, inclusive. Só os
+     * {@link FireActivityIndex#DAYS} dias que terminam no incêndio mais recente
+     * são indexados.
+     *
+     * @param end  último dia do período
+     * @param days a quantidade de dias, de 1 a {@link FireActivityIndex#DAYS}
+     * @return a atividade de incêndios do período
+     * @throws IllegalArgumentException se {@code days} estiver fora do intervalo
+     */
+    public FireActivity getFireActivity(LocalDate end, int days) {
+        return fireActivity.query(WeatherDataStore.toEpochDay(Objects.requireNonNull(end)), days);
+    }
+
+    /**
+     * Retorna uma visão somente leitura dos alertas gerados até o momento da
+     * chamada.
+     *
+     * @return a lista de alertas da área
+     */
+    public List<Alert> getAlerts() {
+        return alerts.asList();
     }
 
     public String getLocation() {
         return location;
     }
 
+    /**
+     * Retorna as coordenadas da área, extraídas da localização informada no
+     * cadastro.
+     *
+     * @return as coordenadas da área, ou {@code null} se a localização não
+     *         contiver latitude e longitude
+     */
+    public GeoPoint getCoordinates() {
+        return coordinates;
+    }
+
     public String getVegetationType() {
         return vegetationType;
     }
 
-}
\ No newline at end of file
+    private static int fromEpochDay(LocalDate from) {
+        // Registros sem data ficam fora de qualquer período.
+        return from == null ? WeatherDataStore.NO_DATE + 1 : WeatherDataStore.toEpochDay(from);
+    }
+
+    private static int toEpochDay(LocalDate to) {
+        return to == null ? Integer.MAX_VALUE : WeatherDataStore.toEpochDay(to);
+    }
+
+    private static int lastDaysEnd(int days) {
+        if (days <= 0) {
+            throw new IllegalArgumentException("A quantidade de dias deve ser positiva.");
+        }
+        return CachedDateClock.system().todayEpochDay();
+    }
+
+    private void publish(DomainEventType type, Object payload, Supplier<String> message) {
+        if (DomainEvents.isEnabled()) {
+            DomainEvents.publish(new DomainEvent(type, this, payload, message));
+        }
+    }
+}
@@ -1,43 +1,174 @@
 package domain.entities;
 
+import domain.time.CachedDateClock;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
 /**
  * Representa um sensor meteorológico responsável por coletar dados ambientais como
  * temperatura, umidade e velocidade do vento em uma determinada localização.
  * Cada sensor possui um identificador único e uma descrição de localização.
  *
+ * <p>
+ * Os valores são simulados por um {@link SplittableRandom} por thread, derivado
+ * da semente do sensor: sensores criados com a mesma semente produzem a mesma
+ * sequência de leituras em execuções com uma única thread, e as coletas em lote
+ * paralelas também são reproduzíveis. A data das leituras vem de um
+ * {@link CachedDateClock}, sem criar um {@link java.time.LocalDate} por coleta.
+ * </p>
+ *
  * Métodos principais:
  * <ul>
  *   <li>{@link #collectData(int)}: Simula a coleta de dados meteorológicos, gerando valores aleatórios para temperatura, umidade e velocidade do vento, além de registrar a data atual.</li>
+ *   <li>{@link #collectData(double[], double[], double[], int[], int, int)}: Preenche vetores primitivos com várias leituras de uma só vez.</li>
+ *   <li>{@link #collectDataParallel(double[], double[], double[], int[])}: Preenche vetores primitivos em paralelo, usando todos os núcleos.</li>
  * </ul>
  *
  * Exemplo de uso:
  * <pre>
- *     Sensor sensor = new Sensor(1, "Campus Principal");
+ *     Sensor sensor = new Sensor(1, "Campus Principal", 42L);
  *     WheatherData dados = sensor.collectData(1001);
  * </pre>
  */
 public class Sensor {
+    /** Temperatura máxima simulada, em graus Celsius. */
+    public static final double MAX_TEMPERATURE = 40;
+    /** Umidade máxima simulada, em porcentagem. */
+    public static final double MAX_HUMIDITY = 100;
+    /** Velocidade máxima do vento simulada. */
+    public static final double MAX_WIND_SPEED = 20;
+
+    private static final int READINGS_PER_TASK = 1 << 16;
+
     private int id;
     private String locationDescription;
+    private final long seed;
+    private final SplittableRandom seedSource;
+    private final ThreadLocal<SplittableRandom> random;
+    private final CachedDateClock clock;
 
     public Sensor(int id, String locationDescription) {
+        this(id, locationDescription, ThreadLocalRandom.current().nextLong());
+    }
+
+    public Sensor(int id, String locationDescription, long seed) {
+        this(id, locationDescription, seed, CachedDateClock.system());
+    }
+
+    public Sensor(int id, String locationDescription, long seed, CachedDateClock clock) {
         this.id = id;
         this.locationDescription = locationDescription;
+        this.seed = seed;
+        this.seedSource = new SplittableRandom(seed);
+        this.random = ThreadLocal.withInitial(this::splitSeedSource);
+        this.clock = Objects.requireNonNull(clock, "O relógio do sensor não pode ser nulo.");
     }
 
     /**
      * Simula a coleta de dados meteorológicos gerando valores aleatórios para temperatura,
-     * umidade e velocidade do vento. Também gera um ID único aleatório para os dados coletados
-     * e utiliza a data atual como timestamp.
+     * umidade e velocidade do vento, utilizando a data atual como timestamp.
      *
      * @return um novo objeto {@link WheatherData} contendo temperatura (0-40°C),
      *         umidade (0-100%), velocidade do vento (0-20 m/s) geradas aleatoriamente,
-     *         um ID aleatório e a data atual.
+     *         o ID informado e a data atual.
      */
     public WheatherData collectData(int wheatherId) {
-        double temperature = Math.random() * 40;
-        double humidity = Math.random() * 100;
-        double windSpeed = Math.random() * 20;
-        return new WheatherData(wheatherId, temperature, humidity, windSpeed, java.time.LocalDate.now());
+        SplittableRandom generator = random.get();
+        double temperature = generator.nextDouble() * MAX_TEMPERATURE;
+        double humidity = generator.nextDouble() * MAX_HUMIDITY;
+        double windSpeed = generator.nextDouble() * MAX_WIND_SPEED;
+        return new WheatherData(wheatherId, temperature, humidity, windSpeed, clock.today());
+    }
+
+    /**
+     * Simula {@code length} coletas, preenchendo os vetores a partir da posição
+     * {@code offset} sem criar objetos por leitura. A data de todas as leituras é
+     * a data atual, em dias desde a época.
+     *
+     * @param temperatures vetor que recebe as temperaturas
+     * @param humidities   vetor que recebe as umidades
+     * @param windSpeeds   vetor que recebe as velocidades do vento
+     * @param epochDays    vetor que recebe as datas
+     * @param offset       posição inicial nos vetores
+     * @param length       quantidade de leituras
+     * @throws IndexOutOfBoundsException se algum vetor não comportar o intervalo
+     */
+    public void collectData(double[] temperatures, double[] humidities, double[] windSpeeds, int[] epochDays,
+            int offset, int length) {
+        checkBuffers(temperatures, humidities, windSpeeds, epochDays, offset, length);
+        fill(random.get(), temperatures, humidities, windSpeeds, offset, length);
+        Arrays.fill(epochDays, offset, offset + length, clock.todayEpochDay());
+    }
+
+    /**
+     * Simula uma coleta para cada posição dos vetores, dividindo o trabalho entre
+     * todos os núcleos disponíveis.
+     * <p>
+     * Cada bloco de leituras recebe um gerador derivado da semente do sensor de
+     * forma determinística, portanto o resultado não depende da quantidade de
+     * threads nem da ordem de execução.
+     * </p>
+     *
+     * @param temperatures vetor que recebe as temperaturas
+     * @param humidities   vetor que recebe as umidades
+     * @param windSpeeds   vetor que recebe as velocidades do vento
+     * @param epochDays    vetor que recebe as datas
+     * @throws IndexOutOfBoundsException se os vetores tiverem tamanhos diferentes
+     */
+    public void collectDataParallel(double[] temperatures, double[] humidities, double[] windSpeeds,
+            int[] epochDays) {
+        int length = temperatures.length;
+        checkBuffers(temperatures, humidities, windSpeeds, epochDays, 0, length);
+        int tasks = (length + READINGS_PER_TASK - 1) / READINGS_PER_TASK;
+        SplittableRandom source = new SplittableRandom(seed);
+        SplittableRandom[] generators = new SplittableRandom[tasks];
+        for (int i = 0; i < tasks; i++) {
+            generators[i] = source.split();
+        }
+        int epochDay = clock.todayEpochDay();
+        IntStream.range(0, tasks).parallel().forEach(task -> {
+            int from = task * READINGS_PER_TASK;
+            int count = Math.min(READINGS_PER_TASK, length - from);
+            fill(generators[task], temperatures, humidities, windSpeeds, from, count);
+            Arrays.fill(epochDays, from, from + count, epochDay);
+        });
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public String getLocationDescription() {
+        return locationDescription;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    private SplittableRandom splitSeedSource() {
+        synchronized (seedSource) {
+            return seedSource.split();
+        }
+    }
+
+    private static void fill(SplittableRandom generator, double[] temperatures, double[] humidities,
+            double[] windSpeeds, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            temperatures[i] = generator.nextDouble() * MAX_TEMPERATURE;
+            humidities[i] = generator.nextDouble() * MAX_HUMIDITY;
+            windSpeeds[i] = generator.nextDouble() * MAX_WIND_SPEED;
+        }
+    }
+
+    private static void checkBuffers(double[] temperatures, double[] humidities, double[] windSpeeds,
+            int[] epochDays, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, temperatures.length);
+        Objects.checkFromIndexSize(offset, length, humidities.length);
+        Objects.checkFromIndexSize(offset, length, windSpeeds.length);
+        Objects.checkFromIndexSize(offset, length, epochDays.length);
     }
 }
@@ -1,5 +1,10 @@
 package domain.entities;
 
+import domain.events.DomainEvent;
+import domain.events.DomainEventType;
+import domain.events.DomainEvents;
+import domain.persistence.ChangeJournal;
+import domain.persistence.Journals;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -27,18 +32,32 @@ public class User {
 
     /**
      * Adiciona a {@code MonitoredArea} especificada à lista de áreas monitoradas se ainda não estiver sendo monitorada.
-     * Se a área já estiver sendo monitorada, uma mensagem será exibida indicando isso.
-     * Caso contrário, a área é adicionada e uma mensagem de confirmação é exibida.
+     * Se a área já estiver sendo monitorada, um evento
+     * {@link DomainEventType#AREA_ALREADY_MONITORED} é publicado em {@link DomainEvents}.
+     * Caso contrário, a área é adicionada e um evento {@link DomainEventType#AREA_MONITORED} é publicado.
      *
      * @param area a {@code MonitoredArea} a ser monitorada
      */
     public void monitor(MonitoredArea area) {
         if (monitoredAreas.contains(area)) {
-            System.out.println("Área já está sendo monitorada: " + area.getName());
+            if (DomainEvents.isEnabled()) {
+                DomainEvents.publish(new DomainEvent(DomainEventType.AREA_ALREADY_MONITORED, area, this,
+                        () -> "Área já está sendo monitorada: " + area.getName()));
+            }
             return;
         }
-        monitoredAreas.add(area);
-        System.out.println("Monitorando área: " + area.getName());
+        ChangeJournal journal = Journals.current();
+        journal.beginWrite();
+        try {
+            monitoredAreas.add(area);
+            journal.areaMonitored(this, area);
+        } finally {
+            journal.endWrite();
+        }
+        if (DomainEvents.isEnabled()) {
+            DomainEvents.publish(new DomainEvent(DomainEventType.AREA_MONITORED, area, this,
+                    () -> "Monitorando área: " + area.getName()));
+        }
     }
 
     public String getName() {
@@ -52,6 +71,18 @@ public class User {
         return id;
     }
 
+    /**
+     * Restaura uma área monitorada pelo usuário, sem registrar a alteração nem
+     * publicar eventos.
+     *
+     * @param area a área monitorada
+     */
+    public void restoreMonitoredArea(MonitoredArea area) {
+        if (!monitoredAreas.contains(area)) {
+            monitoredAreas.add(area);
+        }
+    }
+
     public List<MonitoredArea> getMonitoredAreas() {
         return monitoredAreas;
     }
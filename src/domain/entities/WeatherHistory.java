@@ -0,0 +1,35 @@
+package domain.entities;
+
+import domain.stats.DailyWeatherAggregates;
+import domain.storage.WeatherDataStore;
+
+/**
+ * Os dois níveis do histórico climático de uma área monitorada lidos no mesmo
+ * instante: as leituras brutas retidas e os agregados diários das leituras já
+ * compactadas.
+ *
+ * <p>
+ * Obtido por {@link MonitoredArea#getWeatherHistory()}, cada leitura aparece
+ * em exatamente um dos níveis, mesmo com uma compactação concorrente.
+ * </p>
+ */
+public final class WeatherHistory {
+    private final WeatherDataStore.View raw;
+    private final DailyWeatherAggregates daily;
+
+    public WeatherHistory(WeatherDataStore.View raw, DailyWeatherAggregates daily) {
+        if (raw == null || daily == null) {
+            throw new IllegalArgumentException("As leituras brutas e os agregados diários são obrigatórios.");
+        }
+        this.raw = raw;
+        this.daily = daily;
+    }
+
+    public WeatherDataStore.View getRaw() {
+        return raw;
+    }
+
+    public DailyWeatherAggregates getDaily() {
+        return daily;
+    }
+}
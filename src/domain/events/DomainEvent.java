@@ -0,0 +1,56 @@
+package domain.events;
+
+import domain.entities.MonitoredArea;
+import java.util.function.Supplier;
+
+/**
+ * Notificação publicada pelo domínio em {@link DomainEvents}.
+ * <p>
+ * A mensagem legível é montada somente quando {@link #getMessage()} é
+ * chamado, de modo que os ouvintes que tratam apenas o tipo e os dados do
+ * evento não pagam pela formatação.
+ * </p>
+ */
+public class DomainEvent {
+    private final DomainEventType type;
+    private final MonitoredArea area;
+    private final Object payload;
+    private final Supplier<String> message;
+
+    /**
+     * Cria um evento.
+     *
+     * @param type    o tipo do evento
+     * @param area    a área envolvida, ou {@code null}
+     * @param payload o dado associado ao evento (leitura, incêndio, usuário),
+     *                ou {@code null}
+     * @param message monta a mensagem legível do evento
+     */
+    public DomainEvent(DomainEventType type, MonitoredArea area, Object payload, Supplier<String> message) {
+        this.type = type;
+        this.area = area;
+        this.payload = payload;
+        this.message = message;
+    }
+
+    public DomainEventType getType() {
+        return type;
+    }
+
+    public MonitoredArea getArea() {
+        return area;
+    }
+
+    public Object getPayload() {
+        return payload;
+    }
+
+    /**
+     * Monta a mensagem legível do evento, como era exibida no console.
+     *
+     * @return a mensagem do evento
+     */
+    public String getMessage() {
+        return message.get();
+    }
+}
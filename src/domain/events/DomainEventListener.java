@@ -0,0 +1,19 @@
+package domain.events;
+
+/**
+ * Ouvinte das notificações do domínio, inscrito em {@link DomainEvents}.
+ * <p>
+ * É chamado na thread que gerou o evento; implementações usadas em caminhos
+ * de alta frequência devem ser rápidas e seguras para uso concorrente.
+ * </p>
+ */
+@FunctionalInterface
+public interface DomainEventListener {
+
+    /**
+     * Recebe um evento publicado pelo domínio.
+     *
+     * @param event o evento publicado
+     */
+    void onEvent(DomainEvent event);
+}
@@ -0,0 +1,23 @@
+package domain.events;
+
+/**
+ * Tipos de notificação publicados pelas entidades do domínio.
+ */
+public enum DomainEventType {
+    /** A área não possui dados climáticos para calcular o risco. */
+    WEATHER_DATA_MISSING,
+    /** A leitura mais recente da área foi usada no cálculo do risco. */
+    LATEST_WEATHER_DATA_USED,
+    /** Os dados climáticos informados são nulos ou possuem valores inválidos. */
+    INVALID_WEATHER_DATA,
+    /** O usuário informado para um alerta manual é inválido. */
+    INVALID_USER,
+    /** Leituras do sensor foram inseridas no histórico da área. */
+    SENSOR_DATA_COLLECTED,
+    /** Um incêndio foi registrado na área. */
+    WILDFIRE_REPORTED,
+    /** Um usuário passou a monitorar a área. */
+    AREA_MONITORED,
+    /** O usuário já monitorava a área. */
+    AREA_ALREADY_MONITORED
+}
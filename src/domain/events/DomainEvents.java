@@ -0,0 +1,72 @@
+package domain.events;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Canal das notificações do domínio (cálculo de risco, coleta do sensor,
+ * incêndios, monitoramento de áreas).
+ * <p>
+ * Sem ouvintes inscritos o domínio opera sem saída (modo headless): as
+ * entidades consultam {@link #isEnabled()} antes de criar o evento, portanto
+ * nenhuma mensagem é formatada nem escrita. A aplicação de console mantém a
+ * saída original inscrevendo um ouvinte que escreve as mensagens.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     DomainEvents.subscribe(event -&gt; System.out.println(event.getMessage()));
+ * </pre>
+ */
+public final class DomainEvents {
+    private static final CopyOnWriteArrayList<DomainEventListener> LISTENERS = new CopyOnWriteArrayList<>();
+    private static volatile boolean enabled;
+
+    private DomainEvents() {
+    }
+
+    /**
+     * Inscreve um ouvinte para receber todos os eventos do domínio.
+     *
+     * @param listener o ouvinte
+     * @throws IllegalArgumentException se o ouvinte for {@code null}
+     */
+    public static synchronized void subscribe(DomainEventListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("O ouvinte de eventos não pode ser nulo.");
+        }
+        LISTENERS.add(listener);
+        enabled = true;
+    }
+
+    /**
+     * Remove a inscrição de um ouvinte. Sem ouvintes, o domínio volta ao modo
+     * headless.
+     *
+     * @param listener o ouvinte
+     */
+    public static synchronized void unsubscribe(DomainEventListener listener) {
+        LISTENERS.remove(listener);
+        enabled = !LISTENERS.isEmpty();
+    }
+
+    /**
+     * Indica se há ouvintes inscritos, isto é, se vale a pena criar eventos.
+     *
+     * @return {@code true} se algum ouvinte estiver inscrito
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Entrega o evento a todos os ouvintes inscritos, na thread atual.
+     *
+     * @param event o evento
+     */
+    public static void publish(DomainEvent event) {
+        for (DomainEventListener listener : LISTENERS) {
+            listener.onEvent(event);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package domain.metrics;
+
+/**
+ * Contadores de uma área monitorada, rotulados com {@code area="<id>"}.
+ * <p>
+ * Obtidos por {@link MetricRegistry#area(int)} e guardados pela área, de modo
+ * que contar um evento é um acesso a vetor e um incremento de
+ * {@link java.util.concurrent.atomic.LongAdder}.
+ * </p>
+ */
+public final class AreaMetrics {
+    public enum Family {
+        WEATHER_READINGS("ignira_weather_readings_total", "Leituras climáticas inseridas por área."),
+        RISK_CALCULATIONS("ignira_risk_calculations_total", "Cálculos de nível de risco por área."),
+        ALERTS("ignira_alerts_generated_total", "Alertas gerados por área, automáticos ou manuais.");
+
+        private final String metricName;
+        private final String help;
+
+        Family(String metricName, String help) {
+            this.metricName = metricName;
+            this.help = help;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private final String area;
+    private final Counter[] counters = new Counter[Family.values().length];
+
+    AreaMetrics(MetricRegistry registry, String area) {
+        this.area = area;
+        for (Family family : Family.values()) {
+            counters[family.ordinal()] = registry.counter(family.metricName, family.help, "area=\"" + area + "\"");
+        }
+    }
+
+    public void increment(Family family) {
+        counters[family.ordinal()].increment();
+    }
+
+    public void add(Family family, long amount) {
+        counters[family.ordinal()].add(amount);
+    }
+
+    public long get(Family family) {
+        return counters[family.ordinal()].get();
+    }
+
+    /**
+     * Retorna o valor do rótulo {@code area}: o ID da área ou {@code outras}.
+     *
+     * @return o rótulo das séries
+     */
+    public String getArea() {
+        return area;
+    }
+}
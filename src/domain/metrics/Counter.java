@@ -0,0 +1,62 @@
+package domain.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador monotônico de eventos, baseado em {@link LongAdder}: cada thread
+ * incrementa a sua própria célula quando há disputa, de modo que um incremento
+ * custa poucos nanossegundos mesmo com vários produtores.
+ * <p>
+ * Os contadores são criados por {@link MetricRegistry}, que os exporta. Séries
+ * da mesma métrica com rótulos diferentes (por exemplo, uma por área) são
+ * contadores distintos com o mesmo nome.
+ * </p>
+ */
+public final class Counter {
+    private final String name;
+    private final String help;
+    private final String labels;
+    private final LongAdder value = new LongAdder();
+
+    Counter(String name, String help, String labels) {
+        this.name = name;
+        this.help = help;
+        this.labels = labels;
+    }
+
+    public void increment() {
+        value.increment();
+    }
+
+    public void add(long amount) {
+        value.add(amount);
+    }
+
+    /**
+     * Retorna o valor atual. Incrementos concorrentes com a leitura podem ou não
+     * estar incluídos.
+     *
+     * @return a soma dos incrementos
+     */
+    public long get() {
+        return value.sum();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    /**
+     * Retorna os rótulos da série no formato {@code chave="valor"}, separados
+     * por vírgula.
+     *
+     * @return os rótulos, ou uma string vazia se a série não tiver rótulos
+     */
+    public String getLabels() {
+        return labels;
+    }
+}
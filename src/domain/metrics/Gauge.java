@@ -0,0 +1,37 @@
+package domain.metrics;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Valor instantâneo lido no momento da exportação, como a profundidade de uma
+ * fila ou a quantidade de áreas cadastradas. Não custa nada entre as leituras.
+ */
+public final class Gauge {
+    private final String name;
+    private final String help;
+    private final String labels;
+    private final LongSupplier value;
+
+    Gauge(String name, String help, String labels, LongSupplier value) {
+        this.name = name;
+        this.help = help;
+        this.labels = labels;
+        this.value = value;
+    }
+
+    public long get() {
+        return value.getAsLong();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+
+    public String getLabels() {
+        return labels;
+    }
+}
@@ -0,0 +1,122 @@
+package domain.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências com baldes fixos em potências de dois, de
+ * {@code 64 ns} a cerca de {@code 17 s}, mais um balde para valores maiores.
+ * <p>
+ * O balde de um registro é obtido com {@link Long#numberOfLeadingZeros(long)},
+ * sem busca nem divisão, e cada balde é um {@link LongAdder}; registrar uma
+ * latência custa um incremento e uma soma. Como a resolução é de um fator dois,
+ * os quantis estimados por {@link #quantileNanos(double)} são o limite
+ * superior do balde em que caem.
+ * </p>
+ */
+public final class LatencyHistogram {
+    private static final int FIRST_SHIFT = 6;
+    /** Quantidade de baldes com limite superior; o último balde não tem limite. */
+    private static final int BOUNDED_BUCKETS = 29;
+
+    private final String name;
+    private final String help;
+    private final LongAdder[] buckets = new LongAdder[BOUNDED_BUCKETS + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    LatencyHistogram(String name, String help) {
+        this.name = name;
+        this.help = help;
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Registra uma duração.
+     *
+     * @param nanos a duração em nanossegundos; valores negativos contam como zero
+     */
+    public void record(long nanos) {
+        long value = Math.max(nanos, 0);
+        int bits = 64 - Long.numberOfLeadingZeros(Math.max(value, 1) - 1);
+        buckets[Math.min(Math.max(bits - FIRST_SHIFT, 0), BOUNDED_BUCKETS)].increment();
+        sumNanos.add(value);
+    }
+
+    /**
+     * Retorna a quantidade de baldes, incluindo o último, sem limite superior.
+     *
+     * @return a quantidade de baldes
+     */
+    public int getBucketCount() {
+        return buckets.length;
+    }
+
+    /**
+     * Retorna o limite superior (inclusivo) de um balde.
+     *
+     * @param bucket índice do balde
+     * @return o limite em nanossegundos, ou {@link Long#MAX_VALUE} no último balde
+     */
+    public long getUpperBoundNanos(int bucket) {
+        return bucket >= BOUNDED_BUCKETS ? Long.MAX_VALUE : 1L << (FIRST_SHIFT + bucket);
+    }
+
+    /**
+     * Retorna quantos registros caíram em um balde (sem acumular os anteriores).
+     *
+     * @param bucket índice do balde
+     * @return a quantidade de registros do balde
+     */
+    public long getCount(int bucket) {
+        return buckets[bucket].sum();
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (LongAdder bucket : buckets) {
+            total += bucket.sum();
+        }
+        return total;
+    }
+
+    public long getSumNanos() {
+        return sumNanos.sum();
+    }
+
+    /**
+     * Estima um quantil pelo limite superior do balde em que ele cai.
+     *
+     * @param quantile o quantil, entre 0 e 1
+     * @return o limite do balde em nanossegundos, {@code 0} se não houver
+     *         registros ou {@link Long#MAX_VALUE} se cair no último balde
+     */
+    public long quantileNanos(double quantile) {
+        long[] counts = new long[buckets.length];
+        long total = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(Math.min(Math.max(quantile, 0), 1) * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= Math.max(rank, 1)) {
+                return getUpperBoundNanos(i);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getHelp() {
+        return help;
+    }
+}
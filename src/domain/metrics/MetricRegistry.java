@@ -0,0 +1,160 @@
+package domain.metrics;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+/**
+ * Conjunto de métricas exportadas pela aplicação.
+ * <p>
+ * As métricas são registradas uma vez (em geral na inicialização ou na criação
+ * de uma área) e lidas pelos exportadores; por isso as listas são
+ * {@link CopyOnWriteArrayList}, e os caminhos quentes só tocam os contadores e
+ * histogramas já criados.
+ * </p>
+ * <p>
+ * Para limitar a cardinalidade, apenas as primeiras {@link #getMaxAreaSeries()}
+ * áreas ganham séries próprias; as demais compartilham a série
+ * {@code area="outras"}.
+ * </p>
+ */
+public final class MetricRegistry {
+    /** Quantidade padrão de áreas com séries próprias. */
+    public static final int DEFAULT_MAX_AREA_SERIES = 100;
+
+    private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+    private final List<Counter> counters = new CopyOnWriteArrayList<>();
+    private final List<LatencyHistogram> histograms = new CopyOnWriteArrayList<>();
+    private final List<Gauge> gauges = new CopyOnWriteArrayList<>();
+    private final ConcurrentHashMap<Integer, AreaMetrics> areas = new ConcurrentHashMap<>();
+    private volatile AreaMetrics otherAreas;
+    private volatile int maxAreaSeries = DEFAULT_MAX_AREA_SERIES;
+
+    public Counter counter(String name, String help) {
+        return counter(name, help, "");
+    }
+
+    /**
+     * Registra um contador.
+     *
+     * @param name   nome da métrica, no formato aceito pelo Prometheus
+     * @param help   descrição da métrica
+     * @param labels rótulos da série no formato {@code chave="valor"}, ou vazio
+     * @return o contador registrado
+     * @throws IllegalArgumentException se o nome for inválido
+     */
+    public Counter counter(String name, String help, String labels) {
+        Counter counter = new Counter(checkName(name), help, labels);
+        counters.add(counter);
+        return counter;
+    }
+
+    /**
+     * Registra um histograma de latências.
+     *
+     * @param name nome da métrica; os exportadores publicam as durações em
+     *             segundos
+     * @param help descrição da métrica
+     * @return o histograma registrado
+     * @throws IllegalArgumentException se o nome for inválido
+     */
+    public LatencyHistogram histogram(String name, String help) {
+        LatencyHistogram histogram = new LatencyHistogram(checkName(name), help);
+        histograms.add(histogram);
+        return histogram;
+    }
+
+    public Gauge gauge(String name, String help, LongSupplier value) {
+        return gauge(name, help, "", value);
+    }
+
+    /**
+     * Registra um valor instantâneo, lido a cada exportação.
+     *
+     * @param name   nome da métrica
+     * @param help   descrição da métrica
+     * @param labels rótulos da série, ou vazio
+     * @param value  função que lê o valor; deve ser barata e segura entre threads
+     * @return o valor registrado
+     * @throws IllegalArgumentException se o nome for inválido
+     */
+    public Gauge gauge(String name, String help, String labels, LongSupplier value) {
+        if (value == null) {
+            throw new IllegalArgumentException("A função de leitura não pode ser nula.");
+        }
+        Gauge gauge = new Gauge(checkName(name), help, labels, value);
+        gauges.add(gauge);
+        return gauge;
+    }
+
+    /**
+     * Retorna os contadores de uma área, criando-os no primeiro acesso. Depois
+     * que o limite de séries é atingido, as novas áreas recebem os contadores
+     * compartilhados {@code area="outras"}.
+     *
+     * @param areaId ID da área
+     * @return os contadores da área
+     */
+    public AreaMetrics area(int areaId) {
+        AreaMetrics metrics = areas.get(areaId);
+        if (metrics != null) {
+            return metrics;
+        }
+        synchronized (areas) {
+            metrics = areas.get(areaId);
+            if (metrics != null) {
+                return metrics;
+            }
+            if (areas.size() >= maxAreaSeries) {
+                if (otherAreas == null) {
+                    otherAreas = new AreaMetrics(this, "outras");
+                }
+                return otherAreas;
+            }
+            metrics = new AreaMetrics(this, Integer.toString(areaId));
+            areas.put(areaId, metrics);
+            return metrics;
+        }
+    }
+
+    public int getMaxAreaSeries() {
+        return maxAreaSeries;
+    }
+
+    /**
+     * Define quantas áreas têm séries próprias. Só afeta as áreas ainda sem
+     * contadores.
+     *
+     * @param maxAreaSeries a quantidade de áreas; zero agrupa todas em
+     *                      {@code area="outras"}
+     * @throws IllegalArgumentException se a quantidade for negativa
+     */
+    public void setMaxAreaSeries(int maxAreaSeries) {
+        if (maxAreaSeries < 0) {
+            throw new IllegalArgumentException("A quantidade de séries por área não pode ser negativa.");
+        }
+        this.maxAreaSeries = maxAreaSeries;
+    }
+
+    public List<Counter> getCounters() {
+        return counters;
+    }
+
+    public List<LatencyHistogram> getHistograms() {
+        return histograms;
+    }
+
+    public List<Gauge> getGauges() {
+        return gauges;
+    }
+
+    private static String checkName(String name) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Nome de métrica inválido: " + name);
+        }
+        return name;
+    }
+}
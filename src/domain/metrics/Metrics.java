@@ -0,0 +1,65 @@
+package domain.metrics;
+
+import domain.alerts.AlertDecision;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Métricas globais da aplicação e o {@link MetricRegistry} em que são
+ * registradas.
+ * <p>
+ * Os contadores são incrementados sempre, exceto no cálculo de risco a partir
+ * de valores avulsos, contado apenas nas avaliações de uma leitura e nos lotes.
+ * As latências das operações de poucos nanossegundos (o cálculo de risco e a
+ * inserção de uma leitura avulsa) são amostradas em uma a cada
+ * {@value #SAMPLE_RATE} chamadas por {@link #sampleLatency()}, porque duas
+ * leituras de {@link System#nanoTime()} custariam mais que a própria operação;
+ * a distribuição continua representativa, só a contagem do histograma é menor
+ * que a do contador.
+ * </p>
+ */
+public final class Metrics {
+    /** Uma a cada quantas chamadas tem a latência medida. */
+    public static final int SAMPLE_RATE = 64;
+
+    private static final MetricRegistry REGISTRY = new MetricRegistry();
+
+    public static final Counter WEATHER_INSERTS = REGISTRY.counter("ignira_weather_inserts_total",
+            "Inserções de dados climáticos, avulsas ou em lote.");
+    public static final LatencyHistogram WEATHER_INSERT_SECONDS = REGISTRY.histogram("ignira_weather_insert_seconds",
+            "Duração das inserções de dados climáticos (amostrada nas inserções avulsas).");
+    public static final LatencyHistogram RISK_CALCULATION_SECONDS = REGISTRY.histogram(
+            "ignira_risk_calculation_seconds", "Duração do cálculo de nível de risco (amostrada nos cálculos avulsos, medida inteira nos lotes).");
+    public static final Counter ALERTS_THROWN = REGISTRY.counter("ignira_alerts_thrown_total",
+            "Alertas aceitos pelo AlertDispatcher em ao menos um destino, uma vez por alerta.");
+
+    private static final Counter[] ALERT_DECISIONS = new Counter[AlertDecision.values().length];
+
+    static {
+        for (AlertDecision decision : AlertDecision.values()) {
+            ALERT_DECISIONS[decision.ordinal()] = REGISTRY.counter("ignira_alert_decisions_total",
+                    "Decisões da avaliação de alertas automáticos.",
+                    "decision=\"" + decision.name().toLowerCase(Locale.ROOT) + "\"");
+        }
+    }
+
+    private Metrics() {
+    }
+
+    public static MetricRegistry registry() {
+        return REGISTRY;
+    }
+
+    public static Counter alertDecisions(AlertDecision decision) {
+        return ALERT_DECISIONS[decision.ordinal()];
+    }
+
+    /**
+     * Sorteia se a chamada atual deve ter a latência medida.
+     *
+     * @return {@code true} em uma a cada {@value #SAMPLE_RATE} chamadas, em média
+     */
+    public static boolean sampleLatency() {
+        return (ThreadLocalRandom.current().nextInt() & (SAMPLE_RATE - 1)) == 0;
+    }
+}
@@ -0,0 +1,44 @@
+package domain.monitoring;
+
+import domain.alerts.AlertDecision;
+import domain.alerts.AlertOutcome;
+import domain.entities.AutomaticAlert;
+import domain.entities.MonitoredArea;
+
+/**
+ * Resultado da avaliação de uma área durante uma varredura do
+ * {@link FleetMonitor}: a área, o nível de risco calculado e a decisão da
+ * política de alertas, com o alerta automático gerado ou agrupado.
+ */
+public class AreaRiskResult {
+    private final MonitoredArea area;
+    private final double riskLevel;
+    private final AlertOutcome<AutomaticAlert> outcome;
+
+    public AreaRiskResult(MonitoredArea area, double riskLevel, AlertOutcome<AutomaticAlert> outcome) {
+        this.area = area;
+        this.riskLevel = riskLevel;
+        this.outcome = outcome;
+    }
+
+    public MonitoredArea getArea() {
+        return area;
+    }
+
+    public double getRiskLevel() {
+        return riskLevel;
+    }
+
+    public AlertDecision getDecision() {
+        return outcome.getDecision();
+    }
+
+    /**
+     * Retorna o alerta gerado ou agrupado nesta avaliação.
+     *
+     * @return o alerta, ou {@code null} se ele foi suprimido pelo limite de taxa
+     */
+    public AutomaticAlert getAlert() {
+        return outcome.getAlert();
+    }
+}
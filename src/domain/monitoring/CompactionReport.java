@@ -0,0 +1,70 @@
+package domain.monitoring;
+
+/**
+ * Resumo de uma compactação do histórico climático de todas as áreas feita por
+ * {@link HistoryCompactor}.
+ */
+public class CompactionReport {
+    private final int areasScanned;
+    private final int areasCompacted;
+    private final long readingsCompacted;
+    private final long readingsSkipped;
+    private final long elapsedNanos;
+
+    public CompactionReport(int areasScanned, int areasCompacted, long readingsCompacted, long readingsSkipped,
+            long elapsedNanos) {
+        this.areasScanned = areasScanned;
+        this.areasCompacted = areasCompacted;
+        this.readingsCompacted = readingsCompacted;
+        this.readingsSkipped = readingsSkipped;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getAreasScanned() {
+        return areasScanned;
+    }
+
+    /**
+     * Retorna quantas áreas tiveram leituras compactadas.
+     *
+     * @return a quantidade de áreas compactadas
+     */
+    public int getAreasCompacted() {
+        return areasCompacted;
+    }
+
+    /**
+     * Retorna quantas leituras brutas foram substituídas por agregados diários.
+     *
+     * @return a quantidade de leituras compactadas
+     */
+    public long getReadingsCompacted() {
+        return readingsCompacted;
+    }
+
+    /**
+     * Retorna quantas leituras saíram do histórico bruto sem entrar nos
+     * agregados, por terem valores inválidos ou, quando o máximo de leituras
+     * obrigou o descarte, por não terem data.
+     *
+     * @return a quantidade de leituras ignoradas
+     */
+    public long getReadingsSkipped() {
+        return readingsSkipped;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Compactação: %d leituras de %d áreas (de %d verificadas) em %.1f ms%s",
+                readingsCompacted, areasCompacted, areasScanned, getElapsedMillis(),
+                readingsSkipped == 0 ? "" : "; " + readingsSkipped + " leituras ignoradas");
+    }
+}
@@ -0,0 +1,120 @@
+package domain.monitoring;
+
+import domain.alerts.AlertOutcome;
+import domain.entities.AutomaticAlert;
+import domain.entities.MonitoredArea;
+import domain.entities.WheatherData;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Executa o monitoramento de todas as áreas de uma só vez, distribuindo o
+ * cálculo de risco e a geração de alertas entre todos os núcleos disponíveis
+ * por meio de um {@link ForkJoinPool}.
+ * <p>
+ * Para cada área é usada a leitura mais recente, e o risco calculado passa
+ * pela política de alertas da área com
+ * {@link MonitoredArea#evaluateAlert(double, WheatherData)}, que decide se um
+ * {@link AutomaticAlert} é gerado, agrupado no alerta anterior ou suprimido.
+ * As áreas cujo risco ultrapassa o limite da política aparecem no resumo com
+ * a decisão tomada. As tarefas não
+ * compartilham estado mutável: cada uma devolve seus resultados parciais, que
+ * são combinados ao final. A varredura pode ser executada enquanto novos dados
+ * são inseridos nas áreas.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     SweepReport report = new FleetMonitor().sweep(areas);
+ *     report.getRaisedAlerts().forEach(r -&gt; dispatcher.dispatch(r.getAlert(), r.getArea()));
+ * </pre>
+ */
+public class FleetMonitor {
+    private static final int AREAS_PER_TASK = 512;
+
+    private final ForkJoinPool pool;
+
+    public FleetMonitor() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public FleetMonitor(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("O pool de execução não pode ser nulo.");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Avalia todas as áreas informadas em paralelo.
+     *
+     * @param areas as áreas a serem monitoradas
+     * @return o resumo da varredura, com as áreas acima do limite e o tempo gasto
+     */
+    public SweepReport sweep(List<MonitoredArea> areas) {
+        MonitoredArea[] snapshot = areas.toArray(new MonitoredArea[0]);
+        long start = System.nanoTime();
+        PartialResult result = pool.invoke(new SweepTask(snapshot, 0, snapshot.length));
+        long elapsed = System.nanoTime() - start;
+        return new SweepReport(snapshot.length, result.areasWithoutData, result.areasOverThreshold, elapsed,
+                pool.getParallelism());
+    }
+
+    private PartialResult evaluate(MonitoredArea[] areas, int from, int to) {
+        PartialResult result = new PartialResult();
+        for (int i = from; i < to; i++) {
+            MonitoredArea area = areas[i];
+            WheatherData latest = area.getLatestWeatherData();
+            if (latest == null) {
+                result.areasWithoutData++;
+                continue;
+            }
+            double riskLevel = area.calculateRiskLevel(latest);
+            AlertOutcome<AutomaticAlert> outcome = area.evaluateAlert(riskLevel, latest);
+            if (riskLevel > area.getAlertPolicy().getEnterThreshold()) {
+                result.areasOverThreshold.add(new AreaRiskResult(area, riskLevel, outcome));
+            }
+        }
+        return result;
+    }
+
+    private static class PartialResult {
+        private int areasWithoutData;
+        private List<AreaRiskResult> areasOverThreshold = new ArrayList<>();
+
+        private PartialResult merge(PartialResult other) {
+            areasWithoutData += other.areasWithoutData;
+            areasOverThreshold.addAll(other.areasOverThreshold);
+            return this;
+        }
+    }
+
+    private class SweepTask extends RecursiveTask<PartialResult> {
+        private static final long serialVersionUID = 1L;
+
+        private final MonitoredArea[] areas;
+        private final int from;
+        private final int to;
+
+        private SweepTask(MonitoredArea[] areas, int from, int to) {
+            this.areas = areas;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PartialResult compute() {
+            if (to - from <= AREAS_PER_TASK) {
+                return evaluate(areas, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            SweepTask left = new SweepTask(areas, from, middle);
+            left.fork();
+            PartialResult right = new SweepTask(areas, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package domain.monitoring;
+
+import domain.entities.CompactionResult;
+import domain.entities.MonitoredArea;
+import domain.registry.AreaRegistry;
+import domain.storage.RetentionPolicy;
+import domain.time.CachedDateClock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aplica a política de retenção ({@link RetentionPolicy}) de cada área
+ * cadastrada, compactando as leituras climáticas antigas em agregados diários
+ * com {@link MonitoredArea#compactWeatherData(LocalDate)}.
+ * <p>
+ * A compactação pode ser executada sob demanda por {@link #compactAll()} ou
+ * periodicamente, em uma thread de fundo, com {@link #schedule(Duration)}. Ela
+ * ocorre em paralelo com novas inserções e consultas: as áreas só bloqueiam
+ * as consultas por período durante a troca do histórico bruto pelos agregados.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     area.setRetentionPolicy(new RetentionPolicy(90, RetentionPolicy.UNLIMITED));
+ *     HistoryCompactor compactor = new HistoryCompactor(areas);
+ *     compactor.schedule(Duration.ofHours(1));
+ *     ...
+ *     compactor.close();
+ * </pre>
+ */
+public class HistoryCompactor implements AutoCloseable {
+    private final AreaRegistry registry;
+    private final CachedDateClock clock;
+    private ScheduledExecutorService scheduler;
+    private volatile CompactionReport lastReport;
+    private volatile String lastError;
+
+    public HistoryCompactor(AreaRegistry registry) {
+        this(registry, CachedDateClock.system());
+    }
+
+    public HistoryCompactor(AreaRegistry registry, CachedDateClock clock) {
+        if (registry == null || clock == null) {
+            throw new IllegalArgumentException("O registro de áreas e o relógio são obrigatórios.");
+        }
+        this.registry = registry;
+        this.clock = clock;
+    }
+
+    /**
+     * Compacta o histórico de todas as áreas cadastradas, conforme a política de
+     * cada uma, usando o dia atual como referência.
+     *
+     * @return o resumo da compactação
+     */
+    public CompactionReport compactAll() {
+        LocalDate today = clock.today();
+        long start = System.nanoTime();
+        int scanned = 0;
+        int compacted = 0;
+        long readings = 0;
+        long skipped = 0;
+        for (MonitoredArea area : registry.all()) {
+            scanned++;
+            CompactionResult result = area.compactWeatherData(today);
+            if (!result.isEmpty()) {
+                compacted++;
+                readings += result.getCompacted();
+                skipped += result.getSkipped();
+            }
+        }
+        CompactionReport report = new CompactionReport(scanned, compacted, readings, skipped,
+                System.nanoTime() - start);
+        lastReport = report;
+        return report;
+    }
+
+    /**
+     * Retorna o resumo da última compactação concluída, sob demanda ou
+     * periódica.
+     *
+     * @return o último resumo, ou {@code null} se nenhuma compactação terminou
+     */
+    public CompactionReport getLastReport() {
+        return lastReport;
+    }
+
+    /**
+     * Retorna o motivo da última falha de uma compactação periódica. As
+     * compactações feitas por {@link #compactAll()} lançam a exceção para
+     * quem as pediu.
+     *
+     * @return a última falha, ou {@code null} se nenhuma compactação
+     *         periódica falhou
+     */
+    public String getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Passa a compactar o histórico periodicamente, em uma thread de fundo,
+     * substituindo um agendamento anterior.
+     *
+     * @param interval intervalo entre as compactações
+     * @throws IllegalArgumentException se o intervalo não for positivo
+     */
+    public synchronized void schedule(Duration interval) {
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("O intervalo entre compactações deve ser positivo.");
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "compactacao");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                compactAll();
+            } catch (RuntimeException e) {
+                // Uma exceção que escapasse cancelaria as compactações seguintes.
+                lastError = e.toString();
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Para as compactações periódicas, aguardando a que estiver em andamento.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler == null) {
+            return;
+        }
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+    }
+}
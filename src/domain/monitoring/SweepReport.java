@@ -0,0 +1,95 @@
+package domain.monitoring;
+
+import domain.alerts.AlertDecision;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumo de uma varredura de monitoramento sobre todas as áreas.
+ * <p>
+ * Contém a quantidade de áreas avaliadas, quantas não possuíam dados
+ * climáticos, as áreas cujo risco ultrapassou o limite (com a decisão da
+ * política de alertas de cada uma) e o tempo total da varredura.
+ * </p>
+ */
+public class SweepReport {
+    private final int areasScanned;
+    private final int areasWithoutData;
+    private final List<AreaRiskResult> areasOverThreshold;
+    private final long elapsedNanos;
+    private final int parallelism;
+
+    public SweepReport(int areasScanned, int areasWithoutData, List<AreaRiskResult> areasOverThreshold,
+            long elapsedNanos, int parallelism) {
+        this.areasScanned = areasScanned;
+        this.areasWithoutData = areasWithoutData;
+        this.areasOverThreshold = List.copyOf(areasOverThreshold);
+        this.elapsedNanos = elapsedNanos;
+        this.parallelism = parallelism;
+    }
+
+    public int getAreasScanned() {
+        return areasScanned;
+    }
+
+    public int getAreasWithoutData() {
+        return areasWithoutData;
+    }
+
+    public List<AreaRiskResult> getAreasOverThreshold() {
+        return areasOverThreshold;
+    }
+
+    /**
+     * Retorna as áreas acima do limite para as quais um novo alerta foi gerado
+     * nesta varredura.
+     *
+     * @return os resultados com decisão {@link AlertDecision#RAISED}
+     */
+    public List<AreaRiskResult> getRaisedAlerts() {
+        List<AreaRiskResult> raised = new ArrayList<>();
+        for (AreaRiskResult result : areasOverThreshold) {
+            if (result.getDecision() == AlertDecision.RAISED) {
+                raised.add(result);
+            }
+        }
+        return raised;
+    }
+
+    /**
+     * Conta as áreas acima do limite com a decisão informada.
+     *
+     * @param decision a decisão da política de alertas
+     * @return a quantidade de áreas com essa decisão
+     */
+    public int countByDecision(AlertDecision decision) {
+        int count = 0;
+        for (AreaRiskResult result : areasOverThreshold) {
+            if (result.getDecision() == decision) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Calcula a vazão da varredura.
+     *
+     * @return a quantidade de áreas avaliadas por segundo
+     */
+    public double getAreasPerSecond() {
+        return elapsedNanos == 0 ? 0 : areasScanned * 1_000_000_000.0 / elapsedNanos;
+    }
+}
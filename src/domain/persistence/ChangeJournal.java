@@ -0,0 +1,81 @@
+package domain.persistence;
+
+import domain.entities.Alert;
+import domain.entities.MonitoredArea;
+import domain.entities.User;
+import domain.entities.WildFire;
+
+/**
+ * Registro das alterações do domínio que precisam sobreviver a uma
+ * reinicialização: cadastro de áreas e usuários, leituras climáticas,
+ * incêndios e alertas.
+ * <p>
+ * Cada alteração é feita entre {@link #beginWrite()} e {@link #endWrite()}:
+ * a alteração em memória e o seu registro ocorrem dentro da mesma seção, o que
+ * permite à implementação tirar um snapshot consistente esperando apenas as
+ * seções abertas. O registro padrão ({@link #NONE}) não faz nada, e o domínio
+ * continua funcionando apenas em memória.
+ * </p>
+ */
+public interface ChangeJournal {
+
+    /** Registro que descarta as alterações, usado quando não há persistência. */
+    ChangeJournal NONE = new ChangeJournal() {
+    };
+
+    /**
+     * Abre uma seção de escrita. Deve ser seguido de {@link #endWrite()} em um
+     * bloco {@code finally}.
+     */
+    default void beginWrite() {
+    }
+
+    /**
+     * Fecha a seção de escrita aberta pela thread atual, aguardando, se a
+     * implementação exigir, a gravação durável dos registros feitos nela.
+     */
+    default void endWrite() {
+    }
+
+    default void areaRegistered(MonitoredArea area) {
+    }
+
+    default void userRegistered(User user) {
+    }
+
+    default void areaMonitored(User user, MonitoredArea area) {
+    }
+
+    default void weatherDataAdded(MonitoredArea area, int id, double temperature, double humidity,
+            double windSpeed, int epochDay) {
+    }
+
+    /**
+     * Registra leituras inseridas em lote, com IDs consecutivos a partir de
+     * {@code firstId}.
+     */
+    default void weatherDataAdded(MonitoredArea area, int firstId, double[] temperatures, double[] humidities,
+            double[] windSpeeds, int[] epochDays, int offset, int length) {
+    }
+
+    /**
+     * Registra leituras inseridas em lote com IDs já atribuídos, não
+     * necessariamente consecutivos.
+     */
+    default void weatherDataAdded(MonitoredArea area, int[] ids, double[] temperatures, double[] humidities,
+            double[] windSpeeds, int[] epochDays, int offset, int length) {
+    }
+
+    default void wildFireAdded(MonitoredArea area, WildFire wildFire) {
+    }
+
+    default void alertAdded(MonitoredArea area, Alert alert) {
+    }
+
+    /**
+     * Registra o agrupamento de ocorrências de um alerta já registrado, lido
+     * logo após a ocorrência agrupada.
+     */
+    default void alertOccurrenceRecorded(MonitoredArea area, Alert alert, Alert.Occurrences occurrences) {
+    }
+}
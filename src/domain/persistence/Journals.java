@@ -0,0 +1,31 @@
+package domain.persistence;
+
+/**
+ * Mantém o {@link ChangeJournal} usado pelo domínio. Sem instalação, o domínio
+ * usa {@link ChangeJournal#NONE} e opera apenas em memória.
+ */
+public final class Journals {
+    private static volatile ChangeJournal current = ChangeJournal.NONE;
+
+    private Journals() {
+    }
+
+    /**
+     * Retorna o registro de alterações em uso.
+     *
+     * @return o registro em uso, nunca {@code null}
+     */
+    public static ChangeJournal current() {
+        return current;
+    }
+
+    /**
+     * Instala o registro de alterações usado por todo o domínio.
+     *
+     * @param journal o registro, ou {@code null} para voltar a operar apenas em
+     *                memória
+     */
+    public static void install(ChangeJournal journal) {
+        current = journal == null ? ChangeJournal.NONE : journal;
+    }
+}
@@ -0,0 +1,217 @@
+package domain.registry;
+
+import domain.entities.MonitoredArea;
+import domain.persistence.ChangeJournal;
+import domain.persistence.Journals;
+import domain.storage.AppendLog;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+
+/**
+ * Registro das áreas monitoradas, indexado pelo ID da área.
+ * <p>
+ * As áreas ficam em uma tabela de endereçamento aberto com chaves
+ * {@code int} primitivas (sondagem linear), o que permite localizar uma área
+ * pelo ID em tempo constante, sem percorrer a lista de áreas. IDs duplicados são
+ * rejeitados no cadastro.
+ * </p>
+ *
+ * <p>
+ * As consultas não usam bloqueio e podem ser feitas por várias threads ao mesmo
+ * tempo que novos cadastros; os cadastros são serializados entre si. A ordem de
+ * cadastro é preservada em {@link #all()}.
+ * </p>
+ *
+ * <p>
+ * As áreas cuja localização contém coordenadas também são indexadas em um
+ * {@link GeoGridIndex}, permitindo buscas por raio, por retângulo e pelas áreas
+ * mais próximas de um ponto.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     AreaRegistry registry = new AreaRegistry();
+ *     registry.register(new MonitoredArea(1, "Parque Nacional", "-15.8, -47.9", "Cerrado"));
+ *     MonitoredArea area = registry.find(1);
+ * </pre>
+ */
+public class AreaRegistry {
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(MonitoredArea[].class);
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Object writeLock = new Object();
+    private final AppendLog<MonitoredArea> areas = new AppendLog<>();
+    private final GeoGridIndex spatialIndex = new GeoGridIndex();
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+
+    private static final class Table {
+        private final int[] keys;
+        private final MonitoredArea[] values;
+        private final int mask;
+        private int size;
+
+        private Table(int capacity) {
+            this.keys = new int[capacity];
+            this.values = new MonitoredArea[capacity];
+            this.mask = capacity - 1;
+        }
+    }
+
+    /**
+     * Cadastra uma área no registro.
+     *
+     * @param area a área a ser cadastrada
+     * @throws IllegalArgumentException se a área for nula ou se já existir uma
+     *                                  área com o mesmo ID
+     */
+    public void register(MonitoredArea area) {
+        if (!registerIfAbsent(area)) {
+            throw new IllegalArgumentException("Já existe uma área cadastrada com o ID " + area.getId() + ".");
+        }
+    }
+
+    /**
+     * Cadastra uma área no registro, se ainda não houver uma área com o mesmo
+     * ID. A verificação e o cadastro são atômicos: entre cadastros
+     * concorrentes do mesmo ID, apenas um retorna {@code true}.
+     *
+     * @param area a área a ser cadastrada
+     * @return {@code true} se a área foi cadastrada; {@code false} se já
+     *         existia uma área com o mesmo ID
+     * @throws IllegalArgumentException se a área for nula
+     */
+    public boolean registerIfAbsent(MonitoredArea area) {
+        if (area == null) {
+            throw new IllegalArgumentException("Área monitorada não pode ser nula.");
+        }
+        ChangeJournal journal = Journals.current();
+        journal.beginWrite();
+        try {
+            synchronized (writeLock) {
+                if (find(area.getId()) != null) {
+                    return false;
+                }
+                Table current = table;
+                if ((current.size + 1) * 2 > current.keys.length) {
+                    current = resize(current);
+                    table = current;
+                }
+                insert(current, area);
+                areas.add(area);
+                spatialIndex.add(area);
+                journal.areaRegistered(area);
+                return true;
+            }
+        } finally {
+            journal.endWrite();
+        }
+    }
+
+    /**
+     * Busca uma área pelo ID.
+     *
+     * @param id o ID da área
+     * @return a área encontrada, ou {@code null} se não houver área com esse ID
+     */
+    public MonitoredArea find(int id) {
+        Table current = table;
+        int index = hash(id) & current.mask;
+        while (true) {
+            MonitoredArea area = (MonitoredArea) VALUES.getAcquire(current.values, index);
+            if (area == null) {
+                return null;
+            }
+            if (current.keys[index] == id) {
+                return area;
+            }
+            index = (index + 1) & current.mask;
+        }
+    }
+
+    public boolean contains(int id) {
+        return find(id) != null;
+    }
+
+    public int size() {
+        return areas.size();
+    }
+
+    public boolean isEmpty() {
+        return areas.isEmpty();
+    }
+
+    /**
+     * Retorna as áreas cadastradas até o momento da chamada, na ordem de
+     * cadastro.
+     *
+     * @return uma visão somente leitura das áreas cadastradas
+     */
+    public List<MonitoredArea> all() {
+        return areas.asList();
+    }
+
+    /**
+     * Busca as áreas a até {@code radiusKm} quilômetros do ponto informado.
+     *
+     * @param latitude  latitude do centro, em graus
+     * @param longitude longitude do centro, em graus
+     * @param radiusKm  raio de busca, em quilômetros
+     * @return as áreas encontradas, da mais próxima para a mais distante
+     */
+    public List<MonitoredArea> findWithinRadius(double latitude, double longitude, double radiusKm) {
+        return spatialIndex.withinRadius(latitude, longitude, radiusKm);
+    }
+
+    /**
+     * Busca as áreas cujas coordenadas estão dentro do retângulo informado.
+     *
+     * @param minLatitude  latitude mínima, em graus
+     * @param minLongitude longitude mínima, em graus
+     * @param maxLatitude  latitude máxima, em graus
+     * @param maxLongitude longitude máxima, em graus
+     * @return as áreas encontradas
+     */
+    public List<MonitoredArea> findWithinBoundingBox(double minLatitude, double minLongitude, double maxLatitude,
+            double maxLongitude) {
+        return spatialIndex.withinBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+    }
+
+    /**
+     * Busca as {@code k} áreas mais próximas do ponto informado.
+     *
+     * @param latitude  latitude do ponto, em graus
+     * @param longitude longitude do ponto, em graus
+     * @param k         quantidade de áreas desejada
+     * @return até {@code k} áreas, da mais próxima para a mais distante
+     */
+    public List<MonitoredArea> findNearest(double latitude, double longitude, int k) {
+        return spatialIndex.nearest(latitude, longitude, k);
+    }
+
+    private static void insert(Table target, MonitoredArea area) {
+        int index = hash(area.getId()) & target.mask;
+        while (target.values[index] != null) {
+            index = (index + 1) & target.mask;
+        }
+        target.keys[index] = area.getId();
+        VALUES.setRelease(target.values, index, area);
+        target.size++;
+    }
+
+    private static Table resize(Table current) {
+        Table resized = new Table(current.keys.length * 2);
+        for (MonitoredArea area : current.values) {
+            if (area != null) {
+                insert(resized, area);
+            }
+        }
+        return resized;
+    }
+
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,214 @@
+package domain.registry;
+
+import domain.entities.GeoPoint;
+import domain.entities.MonitoredArea;
+import domain.storage.AppendLog;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice espacial das áreas monitoradas, baseado em uma grade regular de
+ * latitude e longitude.
+ * <p>
+ * Cada área com coordenadas é colocada na célula da grade que contém seu
+ * ponto. As consultas por raio e por retângulo visitam apenas as células que
+ * intersectam a região consultada e calculam a distância exata (haversine)
+ * somente para as áreas dessas células. A busca pelos {@code k} vizinhos mais
+ * próximos amplia o raio de busca progressivamente até encontrar {@code k}
+ * áreas.
+ * </p>
+ *
+ * <p>
+ * As células aceitam inserções concorrentes sem bloqueio e as consultas podem
+ * ser feitas durante novos cadastros.
+ * </p>
+ */
+public class GeoGridIndex {
+    /** Tamanho padrão da célula, em graus (cerca de 55 km no equador). */
+    public static final double DEFAULT_CELL_DEGREES = 0.5;
+
+    private static final double HALF_CIRCUMFERENCE_KM = Math.PI * GeoPoint.EARTH_RADIUS_KM;
+
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+    private final ConcurrentHashMap<Long, AppendLog<MonitoredArea>> cells = new ConcurrentHashMap<>();
+
+    public GeoGridIndex() {
+        this(DEFAULT_CELL_DEGREES);
+    }
+
+    public GeoGridIndex(double cellDegrees) {
+        if (!(cellDegrees > 0 && cellDegrees <= 90)) {
+            throw new IllegalArgumentException("O tamanho da célula deve estar entre 0 e 90 graus.");
+        }
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    /**
+     * Adiciona uma área ao índice. Áreas sem coordenadas são ignoradas.
+     *
+     * @param area a área a ser indexada
+     * @return {@code true} se a área possuía coordenadas e foi indexada
+     */
+    public boolean add(MonitoredArea area) {
+        GeoPoint point = area.getCoordinates();
+        if (point == null) {
+            return false;
+        }
+        long key = key(row(point.getLatitude()), column(point.getLongitude()));
+        cells.computeIfAbsent(key, k -> new AppendLog<>()).add(area);
+        return true;
+    }
+
+    /**
+     * Busca as áreas a até {@code radiusKm} quilômetros do ponto informado.
+     *
+     * @param latitude  latitude do centro, em graus
+     * @param longitude longitude do centro, em graus
+     * @param radiusKm  raio de busca, em quilômetros
+     * @return as áreas encontradas, ordenadas da mais próxima para a mais distante
+     */
+    public List<MonitoredArea> withinRadius(double latitude, double longitude, double radiusKm) {
+        List<Neighbor> neighbors = collectWithinRadius(latitude, longitude, radiusKm);
+        neighbors.sort(Comparator.comparingDouble(n -> n.distanceKm));
+        return toAreas(neighbors, neighbors.size());
+    }
+
+    /**
+     * Busca as áreas cujas coordenadas estão dentro do retângulo informado. Se
+     * {@code minLongitude} for maior que {@code maxLongitude}, o retângulo
+     * atravessa o antimeridiano.
+     *
+     * @param minLatitude  latitude mínima, em graus
+     * @param minLongitude longitude mínima, em graus
+     * @param maxLatitude  latitude máxima, em graus
+     * @param maxLongitude longitude máxima, em graus
+     * @return as áreas encontradas
+     */
+    public List<MonitoredArea> withinBoundingBox(double minLatitude, double minLongitude, double maxLatitude,
+            double maxLongitude) {
+        List<MonitoredArea> result = new ArrayList<>();
+        int firstRow = row(minLatitude);
+        int lastRow = row(maxLatitude);
+        int firstColumn = column(minLongitude);
+        int lastColumn = column(maxLongitude);
+        boolean wraps = minLongitude > maxLongitude;
+        int columnCount = wraps ? columns - firstColumn + lastColumn + 1 : lastColumn - firstColumn + 1;
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int i = 0; i < columnCount; i++) {
+                AppendLog<MonitoredArea> cell = cells.get(key(row, (firstColumn + i) % columns));
+                if (cell == null) {
+                    continue;
+                }
+                for (MonitoredArea area : cell.asList()) {
+                    GeoPoint point = area.getCoordinates();
+                    double lon = point.getLongitude();
+                    boolean insideLongitude = wraps ? lon >= minLongitude || lon <= maxLongitude
+                            : lon >= minLongitude && lon <= maxLongitude;
+                    if (insideLongitude && point.getLatitude() >= minLatitude && point.getLatitude() <= maxLatitude) {
+                        result.add(area);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Busca as {@code k} áreas mais próximas do ponto informado.
+     *
+     * @param latitude  latitude do ponto, em graus
+     * @param longitude longitude do ponto, em graus
+     * @param k         quantidade de áreas desejada
+     * @return até {@code k} áreas, ordenadas da mais próxima para a mais distante
+     */
+    public List<MonitoredArea> nearest(double latitude, double longitude, int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        double radiusKm = cellDegrees * GeoPoint.KM_PER_DEGREE;
+        while (true) {
+            List<Neighbor> neighbors = collectWithinRadius(latitude, longitude, radiusKm);
+            if (neighbors.size() >= k || radiusKm >= HALF_CIRCUMFERENCE_KM) {
+                neighbors.sort(Comparator.comparingDouble(n -> n.distanceKm));
+                return toAreas(neighbors, Math.min(k, neighbors.size()));
+            }
+            radiusKm = Math.min(radiusKm * 2, HALF_CIRCUMFERENCE_KM);
+        }
+    }
+
+    private List<Neighbor> collectWithinRadius(double latitude, double longitude, double radiusKm) {
+        List<Neighbor> result = new ArrayList<>();
+        double latitudeSpan = radiusKm / GeoPoint.KM_PER_DEGREE;
+        double minLatitude = Math.max(-90, latitude - latitudeSpan);
+        double maxLatitude = Math.min(90, latitude + latitudeSpan);
+        double widestLatitude = Math.max(Math.abs(minLatitude), Math.abs(maxLatitude));
+        double cos = Math.cos(Math.toRadians(widestLatitude));
+        double longitudeSpan = cos <= 0 ? 360 : radiusKm / (GeoPoint.KM_PER_DEGREE * cos);
+
+        int firstRow = row(minLatitude);
+        int lastRow = row(maxLatitude);
+        int firstColumn;
+        int columnCount;
+        if (longitudeSpan >= 180) {
+            firstColumn = 0;
+            columnCount = columns;
+        } else {
+            firstColumn = Math.floorMod(column(longitude - longitudeSpan), columns);
+            columnCount = Math.min(columns, (int) Math.ceil(2 * longitudeSpan / cellDegrees) + 2);
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int i = 0; i < columnCount; i++) {
+                AppendLog<MonitoredArea> cell = cells.get(key(row, (firstColumn + i) % columns));
+                if (cell == null) {
+                    continue;
+                }
+                for (MonitoredArea area : cell.asList()) {
+                    GeoPoint point = area.getCoordinates();
+                    double distance = GeoPoint.distanceKm(latitude, longitude, point.getLatitude(),
+                            point.getLongitude());
+                    if (distance <= radiusKm) {
+                        result.add(new Neighbor(area, distance));
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, (int) Math.floor((latitude + 90) / cellDegrees));
+    }
+
+    private int column(double longitude) {
+        double normalized = longitude < -180 ? longitude + 360 : longitude;
+        return Math.min(columns - 1, (int) Math.floor((normalized + 180) / cellDegrees));
+    }
+
+    private static long key(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private static List<MonitoredArea> toAreas(List<Neighbor> neighbors, int limit) {
+        List<MonitoredArea> result = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            result.add(neighbors.get(i).area);
+        }
+        return result;
+    }
+
+    private static final class Neighbor {
+        private final MonitoredArea area;
+        private final double distanceKm;
+
+        private Neighbor(MonitoredArea area, double distanceKm) {
+            this.area = area;
+            this.distanceKm = distanceKm;
+        }
+    }
+}
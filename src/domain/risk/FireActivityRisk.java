@@ -0,0 +1,136 @@
+package domain.risk;
+
+import domain.stats.FireActivity;
+import domain.stats.FireActivityIndex;
+
+/**
+ * Componente do risco baseado nos incêndios recentes da área: cada incêndio
+ * da janela soma {@code pointsPerFire} pontos e a maior severidade soma
+ * {@code severityWeight} pontos por unidade, com o total limitado a
+ * {@code maxBonus}. O acréscimo é somado ao risco climático, limitado a 100.
+ * <p>
+ * Uma área com incêndios recentes tem vegetação seca e focos que podem
+ * reacender, de modo que as mesmas condições climáticas representam um risco
+ * maior. As instâncias são imutáveis.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     area.setFireActivityRisk(new FireActivityRisk(15, 3, 0.1, 25));
+ * </pre>
+ */
+public class FireActivityRisk {
+    public static final int DEFAULT_WINDOW_DAYS = 30;
+    public static final double DEFAULT_POINTS_PER_FIRE = 2;
+    public static final double DEFAULT_SEVERITY_WEIGHT = 0.1;
+    public static final double DEFAULT_MAX_BONUS = 20;
+
+    private static final FireActivityRisk DEFAULT = new FireActivityRisk(DEFAULT_WINDOW_DAYS,
+            DEFAULT_POINTS_PER_FIRE, DEFAULT_SEVERITY_WEIGHT, DEFAULT_MAX_BONUS);
+    private static final FireActivityRisk DISABLED = new FireActivityRisk(1, 0, 0, 0);
+
+    private final int windowDays;
+    private final double pointsPerFire;
+    private final double severityWeight;
+    private final double maxBonus;
+
+    /**
+     * Cria o componente de incêndios.
+     *
+     * @param windowDays     quantidade de dias considerados, terminando no dia da
+     *                       leitura
+     * @param pointsPerFire  pontos de risco por incêndio da janela
+     * @param severityWeight pontos de risco por unidade da maior severidade
+     * @param maxBonus       maior acréscimo ao risco climático
+     * @throws IllegalArgumentException se a janela não estiver entre 1 e
+     *                                  {@link FireActivityIndex#DAYS} dias ou
+     *                                  algum peso for negativo ou não finito
+     */
+    public FireActivityRisk(int windowDays, double pointsPerFire, double severityWeight, double maxBonus) {
+        if (windowDays <= 0 || windowDays > FireActivityIndex.DAYS) {
+            throw new IllegalArgumentException(
+                    "A janela de incêndios deve ter de 1 a " + FireActivityIndex.DAYS + " dias.");
+        }
+        if (!isWeight(pointsPerFire) || !isWeight(severityWeight) || !isWeight(maxBonus)) {
+            throw new IllegalArgumentException("Os pesos do risco de incêndios devem ser finitos e não negativos.");
+        }
+        this.windowDays = windowDays;
+        this.pointsPerFire = pointsPerFire;
+        this.severityWeight = severityWeight;
+        this.maxBonus = maxBonus;
+    }
+
+    /**
+     * Retorna o componente padrão: janela de 30 dias, 2 pontos por incêndio,
+     * 0,1 ponto por unidade de severidade e acréscimo máximo de 20 pontos.
+     *
+     * @return o componente padrão compartilhado
+     */
+    public static FireActivityRisk defaultPolicy() {
+        return DEFAULT;
+    }
+
+    /**
+     * Retorna um componente que não altera o risco climático.
+     *
+     * @return o componente sem acréscimo compartilhado
+     */
+    public static FireActivityRisk disabled() {
+        return DISABLED;
+    }
+
+    public int getWindowDays() {
+        return windowDays;
+    }
+
+    public double getPointsPerFire() {
+        return pointsPerFire;
+    }
+
+    public double getSeverityWeight() {
+        return severityWeight;
+    }
+
+    public double getMaxBonus() {
+        return maxBonus;
+    }
+
+    public boolean isDisabled() {
+        return maxBonus == 0;
+    }
+
+    /**
+     * Calcula o acréscimo ao risco pela atividade de incêndios.
+     *
+     * @param activity os incêndios da janela
+     * @return o acréscimo, de 0 a {@code maxBonus}
+     */
+    public double bonus(FireActivity activity) {
+        if (activity.isEmpty()) {
+            return 0;
+        }
+        double bonus = activity.getCount() * pointsPerFire + Math.max(0, activity.getMaxSeverity()) * severityWeight;
+        return Math.min(maxBonus, bonus);
+    }
+
+    /**
+     * Soma o acréscimo dos incêndios ao risco climático.
+     *
+     * @param weatherRisk o risco climático, de 0 a 100, ou
+     *                    {@link RiskCalculator#INVALID}
+     * @param activity    os incêndios da janela
+     * @return o risco combinado, limitado a 100, ou
+     *         {@link RiskCalculator#INVALID} se o risco climático for inválido
+     */
+    public double apply(double weatherRisk, FireActivity activity) {
+        if (weatherRisk == RiskCalculator.INVALID) {
+            return RiskCalculator.INVALID;
+        }
+        return Math.min(100, weatherRisk + bonus(activity));
+    }
+
+    private static boolean isWeight(double weight) {
+        return weight >= 0 && Double.isFinite(weight);
+    }
+}
@@ -0,0 +1,112 @@
+package domain.risk;
+
+import java.util.Objects;
+
+/**
+ * Modelo de risco linear:
+ * {@code (temperatura * a) + (vento * b) - (umidade * c)}, limitado ao
+ * intervalo de 0 a 100.
+ * <p>
+ * Os coeficientes são fixados na criação, e o cálculo em lote não possui
+ * desvios condicionais, como em {@link RiskCalculator}, para que o compilador
+ * JIT possa vetorizá-lo. {@link #STANDARD} usa os coeficientes de
+ * {@link RiskCalculator} ({@code 2}, {@code 2} e {@code 1.5}) e produz
+ * exatamente os mesmos resultados.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     RiskModel model = new LinearRiskModel("Campo seco", 2.2, 2.5, 1.2);
+ *     area.setRiskModel(model);
+ * </pre>
+ */
+public final class LinearRiskModel implements RiskModel {
+    /** Modelo com a fórmula de {@link RiskCalculator}, usado quando a vegetação não é conhecida. */
+    public static final LinearRiskModel STANDARD = new LinearRiskModel("Padrão", 2, 2, 1.5);
+
+    private final String name;
+    private final double temperatureWeight;
+    private final double windSpeedWeight;
+    private final double humidityWeight;
+
+    /**
+     * Cria um modelo linear.
+     *
+     * @param name              nome do modelo
+     * @param temperatureWeight peso da temperatura, somado ao risco
+     * @param windSpeedWeight   peso da velocidade do vento, somado ao risco
+     * @param humidityWeight    peso da umidade, subtraído do risco
+     * @throws IllegalArgumentException se o nome for vazio ou algum peso for
+     *                                  negativo ou não finito
+     */
+    public LinearRiskModel(String name, double temperatureWeight, double windSpeedWeight, double humidityWeight) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("O nome do modelo de risco não pode ser vazio.");
+        }
+        if (!isWeight(temperatureWeight) || !isWeight(windSpeedWeight) || !isWeight(humidityWeight)) {
+            throw new IllegalArgumentException("Os pesos do modelo de risco devem ser finitos e não negativos.");
+        }
+        this.name = name;
+        this.temperatureWeight = temperatureWeight;
+        this.windSpeedWeight = windSpeedWeight;
+        this.humidityWeight = humidityWeight;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    public double getTemperatureWeight() {
+        return temperatureWeight;
+    }
+
+    public double getWindSpeedWeight() {
+        return windSpeedWeight;
+    }
+
+    public double getHumidityWeight() {
+        return humidityWeight;
+    }
+
+    @Override
+    public double calculate(double temperature, double humidity, double windSpeed) {
+        if (temperature < 0 || humidity < 0 || windSpeed < 0) {
+            return RiskCalculator.INVALID;
+        }
+        double riskLevel = (temperature * temperatureWeight) + (windSpeed * windSpeedWeight)
+                - (humidity * humidityWeight);
+        return Math.max(0, Math.min(100, riskLevel));
+    }
+
+    @Override
+    public void calculate(double[] temperatures, double[] humidities, double[] windSpeeds, int offset, double[] out,
+            int outOffset, int length) {
+        Objects.checkFromIndexSize(offset, length, temperatures.length);
+        Objects.checkFromIndexSize(offset, length, humidities.length);
+        Objects.checkFromIndexSize(offset, length, windSpeeds.length);
+        Objects.checkFromIndexSize(outOffset, length, out.length);
+        double a = temperatureWeight;
+        double b = windSpeedWeight;
+        double c = humidityWeight;
+        for (int i = 0; i < length; i++) {
+            double temperature = temperatures[offset + i];
+            double humidity = humidities[offset + i];
+            double windSpeed = windSpeeds[offset + i];
+            double riskLevel = Math.max(0, Math.min(100, (temperature * a) + (windSpeed * b) - (humidity * c)));
+            boolean invalid = temperature < 0 | humidity < 0 | windSpeed < 0;
+            out[outOffset + i] = invalid ? RiskCalculator.INVALID : riskLevel;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s (temperatura x %.2f + vento x %.2f - umidade x %.2f)", name, temperatureWeight,
+                windSpeedWeight, humidityWeight);
+    }
+
+    private static boolean isWeight(double weight) {
+        return weight >= 0 && Double.isFinite(weight);
+    }
+}
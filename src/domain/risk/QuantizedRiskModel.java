@@ -0,0 +1,318 @@
+package domain.risk;
+
+import domain.entities.Sensor;
+import java.util.Objects;
+
+/**
+ * Modelo de risco pré-calculado: uma grade tridimensional com o risco de outro
+ * modelo nos pontos de temperatura, umidade e vento espaçados pelos passos
+ * configurados, consultada em vez de recalcular o modelo a cada leitura.
+ * <p>
+ * A grade cobre de zero até o máximo de cada medição (por padrão, as faixas de
+ * {@link Sensor}) e guarda os valores em {@code float}, com o
+ * vento como eixo mais interno, para que pontos vizinhos fiquem próximos na
+ * memória. Leituras fora da grade, inclusive as inválidas, são calculadas
+ * exatamente pelo modelo de origem.
+ * </p>
+ *
+ * <p>
+ * Há duas formas de consulta ({@link Interpolation}): o ponto mais próximo,
+ * com uma única leitura da tabela, e a interpolação trilinear entre os oito
+ * vértices da célula. O erro máximo em relação ao modelo de origem é
+ * informado por {@link #getErrorBound()}:
+ * </p>
+ * <ul>
+ * <li>para um {@link LinearRiskModel}, é um limite garantido. O risco varia no
+ * máximo {@code d = a * passoTemperatura + c * passoUmidade + b * passoVento}
+ * dentro de uma célula. O ponto mais próximo erra no máximo {@code d / 2}. A
+ * interpolação é exata onde o risco não é limitado a 0 ou 100, e erra no
+ * máximo {@code d / 4} nas células em que é;</li>
+ * <li>para outros modelos, é estimado na criação, comparando a grade com o
+ * modelo em pontos amostrados: os cantos da região de cada vértice, no ponto
+ * mais próximo, e quatro pontos por passo em cada eixo, na interpolação. Em
+ * modelos com variações bruscas dentro de uma célula, o erro real pode ser
+ * maior que o estimado.</li>
+ * </ul>
+ * <p>
+ * Nos dois casos, o limite inclui o arredondamento para {@code float}.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     RiskModel grid = QuantizedRiskModel.forSensorRange(area.getRiskModel(), Interpolation.TRILINEAR);
+ *     area.setRiskModel(grid);
+ * </pre>
+ */
+public final class QuantizedRiskModel implements RiskModel {
+    public enum Interpolation {
+        /** Valor do vértice mais próximo da leitura. */
+        NEAREST,
+        /** Interpolação trilinear entre os oito vértices da célula da leitura. */
+        TRILINEAR
+    }
+
+    /** Passo padrão da temperatura, em graus Celsius. */
+    public static final double DEFAULT_TEMPERATURE_STEP = 1;
+    /** Passo padrão da umidade, em pontos percentuais. */
+    public static final double DEFAULT_HUMIDITY_STEP = 2;
+    /** Passo padrão do vento, em km/h. */
+    public static final double DEFAULT_WIND_SPEED_STEP = 1;
+
+    /** Maior erro de arredondamento de um risco de 0 a 100 guardado em {@code float}. */
+    private static final double FLOAT_ERROR = Math.ulp(100f) / 2;
+
+    private final RiskModel source;
+    private final Interpolation interpolation;
+    private final double maxTemperature;
+    private final double maxHumidity;
+    private final double maxWindSpeed;
+    private final int temperaturePoints;
+    private final int humidityPoints;
+    private final int windSpeedPoints;
+    private final double temperatureScale;
+    private final double humidityScale;
+    private final double windSpeedScale;
+    private final float[] table;
+    private final double errorBound;
+
+    /**
+     * Pré-calcula a grade de um modelo.
+     *
+     * @param source          modelo de origem
+     * @param interpolation   forma de consulta da grade
+     * @param maxTemperature  maior temperatura coberta, em graus Celsius
+     * @param temperatureStep espaçamento máximo entre os pontos de temperatura
+     * @param maxHumidity     maior umidade coberta, em porcentagem
+     * @param humidityStep    espaçamento máximo entre os pontos de umidade
+     * @param maxWindSpeed    maior velocidade do vento coberta, em km/h
+     * @param windSpeedStep   espaçamento máximo entre os pontos de vento
+     * @throws IllegalArgumentException se o modelo ou a interpolação forem
+     *                                  {@code null}, se algum máximo ou passo
+     *                                  não for positivo e finito ou se a grade
+     *                                  tiver mais de {@link Integer#MAX_VALUE}
+     *                                  pontos
+     */
+    public QuantizedRiskModel(RiskModel source, Interpolation interpolation, double maxTemperature,
+            double temperatureStep, double maxHumidity, double humidityStep, double maxWindSpeed,
+            double windSpeedStep) {
+        if (source == null || interpolation == null) {
+            throw new IllegalArgumentException("O modelo de origem e a interpolação são obrigatórios.");
+        }
+        this.source = source;
+        this.interpolation = interpolation;
+        this.maxTemperature = maxTemperature;
+        this.maxHumidity = maxHumidity;
+        this.maxWindSpeed = maxWindSpeed;
+        this.temperaturePoints = points(maxTemperature, temperatureStep);
+        this.humidityPoints = points(maxHumidity, humidityStep);
+        this.windSpeedPoints = points(maxWindSpeed, windSpeedStep);
+        long size = (long) temperaturePoints * humidityPoints * windSpeedPoints;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("A grade de risco tem pontos demais: " + size + ".");
+        }
+        this.temperatureScale = (temperaturePoints - 1) / maxTemperature;
+        this.humidityScale = (humidityPoints - 1) / maxHumidity;
+        this.windSpeedScale = (windSpeedPoints - 1) / maxWindSpeed;
+        this.table = new float[(int) size];
+        int index = 0;
+        for (int t = 0; t < temperaturePoints; t++) {
+            double temperature = t / temperatureScale;
+            for (int h = 0; h < humidityPoints; h++) {
+                double humidity = h / humidityScale;
+                for (int w = 0; w < windSpeedPoints; w++) {
+                    table[index++] = (float) source.calculate(temperature, humidity, w / windSpeedScale);
+                }
+            }
+        }
+        this.errorBound = source instanceof LinearRiskModel linear ? linearBound(linear) : estimateBound();
+    }
+
+    /**
+     * Pré-calcula a grade de um modelo nas faixas de medição do
+     * {@link Sensor}, com os passos padrão.
+     *
+     * @param source        modelo de origem
+     * @param interpolation forma de consulta da grade
+     * @return o modelo pré-calculado
+     * @throws IllegalArgumentException se o modelo ou a interpolação forem
+     *                                  {@code null}
+     */
+    public static QuantizedRiskModel forSensorRange(RiskModel source, Interpolation interpolation) {
+        return new QuantizedRiskModel(source, interpolation, Sensor.MAX_TEMPERATURE,
+                DEFAULT_TEMPERATURE_STEP, Sensor.MAX_HUMIDITY, DEFAULT_HUMIDITY_STEP,
+                Sensor.MAX_WIND_SPEED, DEFAULT_WIND_SPEED_STEP);
+    }
+
+    @Override
+    public String getName() {
+        return source.getName();
+    }
+
+    public RiskModel getSource() {
+        return source;
+    }
+
+    public Interpolation getInterpolation() {
+        return interpolation;
+    }
+
+    /**
+     * Retorna o maior erro absoluto da grade em relação ao modelo de origem,
+     * dentro das faixas cobertas.
+     *
+     * @return o limite do erro, em pontos de risco
+     */
+    public double getErrorBound() {
+        return errorBound;
+    }
+
+    /**
+     * Indica se o limite de {@link #getErrorBound()} é garantido (modelo de
+     * origem linear) ou estimado por amostragem.
+     *
+     * @return {@code true} se o limite for garantido
+     */
+    public boolean isErrorBoundGuaranteed() {
+        return source instanceof LinearRiskModel;
+    }
+
+    /**
+     * Retorna a memória ocupada pela tabela.
+     *
+     * @return o tamanho da tabela em bytes
+     */
+    public long getTableBytes() {
+        return (long) table.length * Float.BYTES;
+    }
+
+    /**
+     * Indica se uma leitura está dentro da grade; leituras fora dela são
+     * calculadas pelo modelo de origem.
+     *
+     * @param temperature temperatura em graus Celsius
+     * @param humidity    umidade relativa em porcentagem
+     * @param windSpeed   velocidade do vento em km/h
+     * @return {@code true} se a leitura for consultada na grade
+     */
+    public boolean covers(double temperature, double humidity, double windSpeed) {
+        // Comparações na forma positiva, para que NaN fique fora da grade.
+        return temperature >= 0 && temperature <= maxTemperature && humidity >= 0 && humidity <= maxHumidity
+                && windSpeed >= 0 && windSpeed <= maxWindSpeed;
+    }
+
+    @Override
+    public double calculate(double temperature, double humidity, double windSpeed) {
+        if (!covers(temperature, humidity, windSpeed)) {
+            return source.calculate(temperature, humidity, windSpeed);
+        }
+        double t = temperature * temperatureScale;
+        double h = humidity * humidityScale;
+        double w = windSpeed * windSpeedScale;
+        if (interpolation == Interpolation.NEAREST) {
+            return table[((int) (t + 0.5) * humidityPoints + (int) (h + 0.5)) * windSpeedPoints + (int) (w + 0.5)];
+        }
+        // A célula é limitada à penúltima posição, para que o máximo use a última célula com fração 1.
+        int ti = Math.min((int) t, temperaturePoints - 2);
+        int hi = Math.min((int) h, humidityPoints - 2);
+        int wi = Math.min((int) w, windSpeedPoints - 2);
+        double ft = t - ti;
+        double fh = h - hi;
+        double fw = w - wi;
+        int base = (ti * humidityPoints + hi) * windSpeedPoints + wi;
+        int nextHumidity = windSpeedPoints;
+        int nextTemperature = humidityPoints * windSpeedPoints;
+        double c00 = lerp(table[base], table[base + 1], fw);
+        double c01 = lerp(table[base + nextHumidity], table[base + nextHumidity + 1], fw);
+        double c10 = lerp(table[base + nextTemperature], table[base + nextTemperature + 1], fw);
+        double c11 = lerp(table[base + nextTemperature + nextHumidity],
+                table[base + nextTemperature + nextHumidity + 1], fw);
+        return lerp(lerp(c00, c01, fh), lerp(c10, c11, fh), ft);
+    }
+
+    @Override
+    public void calculate(double[] temperatures, double[] humidities, double[] windSpeeds, int offset, double[] out,
+            int outOffset, int length) {
+        Objects.checkFromIndexSize(offset, length, temperatures.length);
+        Objects.checkFromIndexSize(offset, length, humidities.length);
+        Objects.checkFromIndexSize(offset, length, windSpeeds.length);
+        Objects.checkFromIndexSize(outOffset, length, out.length);
+        for (int i = 0; i < length; i++) {
+            out[outOffset + i] = calculate(temperatures[offset + i], humidities[offset + i], windSpeeds[offset + i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s em grade %dx%dx%d (%s, erro máximo %.3f)", source.getName(), temperaturePoints,
+                humidityPoints, windSpeedPoints, interpolation == Interpolation.NEAREST ? "ponto mais próximo"
+                        : "trilinear", errorBound);
+    }
+
+    private double linearBound(LinearRiskModel linear) {
+        double cellRange = linear.getTemperatureWeight() / temperatureScale
+                + linear.getHumidityWeight() / humidityScale + linear.getWindSpeedWeight() / windSpeedScale;
+        double bound = interpolation == Interpolation.NEAREST ? cellRange / 2 : cellRange / 4;
+        // Margem para o arredondamento das coordenadas e dos pesos da interpolação em double.
+        return bound + FLOAT_ERROR + 1e-9;
+    }
+
+    private double estimateBound() {
+        double max = 0;
+        if (interpolation == Interpolation.NEAREST) {
+            // Cada vértice responde por uma caixa de meio passo para cada lado; o erro é comparado nos seus 27 pontos.
+            int index = 0;
+            for (int t = 0; t < temperaturePoints; t++) {
+                for (int h = 0; h < humidityPoints; h++) {
+                    for (int w = 0; w < windSpeedPoints; w++) {
+                        float value = table[index++];
+                        for (int dt = -1; dt <= 1; dt++) {
+                            double temperature = coordinate(t + dt * 0.5, temperatureScale, maxTemperature);
+                            for (int dh = -1; dh <= 1; dh++) {
+                                double humidity = coordinate(h + dh * 0.5, humidityScale, maxHumidity);
+                                for (int dw = -1; dw <= 1; dw++) {
+                                    double windSpeed = coordinate(w + dw * 0.5, windSpeedScale, maxWindSpeed);
+                                    max = Math.max(max, Math.abs(value - source.calculate(temperature, humidity,
+                                            windSpeed)));
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            return max + FLOAT_ERROR;
+        }
+        for (int t = 0; t <= 4 * (temperaturePoints - 1); t++) {
+            double temperature = coordinate(t / 4.0, temperatureScale, maxTemperature);
+            for (int h = 0; h <= 4 * (humidityPoints - 1); h++) {
+                double humidity = coordinate(h / 4.0, humidityScale, maxHumidity);
+                for (int w = 0; w <= 4 * (windSpeedPoints - 1); w++) {
+                    double windSpeed = coordinate(w / 4.0, windSpeedScale, maxWindSpeed);
+                    max = Math.max(max, Math.abs(calculate(temperature, humidity, windSpeed)
+                            - source.calculate(temperature, humidity, windSpeed)));
+                }
+            }
+        }
+        return max + FLOAT_ERROR;
+    }
+
+    /** Converte uma posição na grade (fracionária) em medição, dentro da faixa coberta. */
+    private static double coordinate(double position, double scale, double max) {
+        return Math.max(0, Math.min(max, position / scale));
+    }
+
+    private static double lerp(double from, double to, double fraction) {
+        return from + (to - from) * fraction;
+    }
+
+    private static int points(double max, double step) {
+        if (!(max > 0) || !(step > 0) || Double.isInfinite(max) || Double.isInfinite(step)) {
+            throw new IllegalArgumentException("Os máximos e os passos da grade de risco devem ser positivos.");
+        }
+        double points = Math.ceil(max / step) + 1;
+        if (points > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A grade de risco tem pontos demais.");
+        }
+        return Math.max(2, (int) points);
+    }
+}
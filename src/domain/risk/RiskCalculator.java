@@ -0,0 +1,102 @@
+package domain.risk;
+
+import java.util.Objects;
+
+/**
+ * Reúne o cálculo do nível de risco de incêndio a partir das medições
+ * climáticas: {@code (temperatura * 2) + (vento * 2) - (umidade * 1.5)},
+ * limitado ao intervalo de 0 a 100.
+ *
+ * <p>
+ * Além do cálculo individual, oferece um cálculo em lote sobre vetores
+ * paralelos de medições, sem alocação e sem saída no console por elemento. O
+ * laço do cálculo em lote não possui desvios condicionais, permitindo que o
+ * compilador JIT o vetorize automaticamente. Ambos produzem exatamente os
+ * mesmos resultados.
+ * </p>
+ *
+ * <p>
+ * As áreas monitoradas calculam o risco pelo seu {@link RiskModel}; esta
+ * fórmula é a de {@link LinearRiskModel#STANDARD}, usada quando a vegetação da
+ * área não tem um modelo próprio.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     double[] risks = new double[temperatures.length];
+ *     RiskCalculator.calculate(temperatures, humidities, windSpeeds, risks);
+ * </pre>
+ */
+public final class RiskCalculator {
+    /** Valor retornado quando alguma das medições é inválida (negativa). */
+    public static final double INVALID = -1;
+
+    private RiskCalculator() {
+    }
+
+    /**
+     * Calcula o nível de risco para uma única leitura.
+     *
+     * @param temperature temperatura em graus Celsius.
+     * @param humidity    umidade relativa do ar em porcentagem.
+     * @param windSpeed   velocidade do vento em km/h.
+     * @return o nível de risco calculado (0 a 100), ou {@link #INVALID} se algum
+     *         valor for negativo.
+     */
+    public static double calculate(double temperature, double humidity, double windSpeed) {
+        if (temperature < 0 || humidity < 0 || windSpeed < 0) {
+            return INVALID;
+        }
+        double riskLevel = (temperature * 2) + (windSpeed * 2) - (humidity * 1.5);
+        return Math.max(0, Math.min(100, riskLevel));
+    }
+
+    /**
+     * Calcula o nível de risco de cada leitura dos vetores paralelos,
+     * escrevendo o resultado na mesma posição de {@code out}.
+     *
+     * @param temperatures temperaturas em graus Celsius.
+     * @param humidities   umidades relativas em porcentagem.
+     * @param windSpeeds   velocidades do vento em km/h.
+     * @param out          vetor que recebe os níveis de risco; deve ter ao menos o
+     *                     tamanho de {@code temperatures}.
+     */
+    public static void calculate(double[] temperatures, double[] humidities, double[] windSpeeds, double[] out) {
+        calculate(temperatures, humidities, windSpeeds, 0, out, 0, temperatures.length);
+    }
+
+    /**
+     * Calcula o nível de risco de {@code length} leituras a partir de
+     * {@code offset} nos vetores de medições, escrevendo os resultados em
+     * {@code out} a partir de {@code outOffset}.
+     * <p>
+     * Leituras com algum valor negativo recebem {@link #INVALID}, como em
+     * {@link #calculate(double, double, double)}.
+     * </p>
+     *
+     * @param temperatures temperaturas em graus Celsius.
+     * @param humidities   umidades relativas em porcentagem.
+     * @param windSpeeds   velocidades do vento em km/h.
+     * @param offset       posição inicial nos vetores de medições.
+     * @param out          vetor que recebe os níveis de risco.
+     * @param outOffset    posição inicial em {@code out}.
+     * @param length       quantidade de leituras a calcular.
+     * @throws IndexOutOfBoundsException se algum intervalo exceder os vetores.
+     */
+    public static void calculate(double[] temperatures, double[] humidities, double[] windSpeeds, int offset,
+            double[] out, int outOffset, int length) {
+        Objects.checkFromIndexSize(offset, length, temperatures.length);
+        Objects.checkFromIndexSize(offset, length, humidities.length);
+        Objects.checkFromIndexSize(offset, length, windSpeeds.length);
+        Objects.checkFromIndexSize(outOffset, length, out.length);
+        for (int i = 0; i < length; i++) {
+            double temperature = temperatures[offset + i];
+            double humidity = humidities[offset + i];
+            double windSpeed = windSpeeds[offset + i];
+            double riskLevel = Math.max(0, Math.min(100, (temperature * 2) + (windSpeed * 2) - (humidity * 1.5)));
+            boolean invalid = temperature < 0 | humidity < 0 | windSpeed < 0;
+            out[outOffset + i] = invalid ? INVALID : riskLevel;
+        }
+    }
+}
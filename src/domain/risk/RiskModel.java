@@ -0,0 +1,55 @@
+package domain.risk;
+
+/**
+ * Modelo de cálculo do nível de risco de incêndio a partir das medições
+ * climáticas.
+ * <p>
+ * Cada área monitorada resolve o seu modelo uma única vez, pelo tipo de
+ * vegetação ({@link VegetationRiskModels#forVegetation(String)}) ou por
+ * configuração, e o guarda; o cálculo de uma leitura é então uma chamada
+ * direta ao modelo, sem busca por leitura. As implementações devem ser
+ * imutáveis e seguras entre threads.
+ * </p>
+ *
+ * <p>
+ * Os dois métodos de cálculo devem produzir exatamente os mesmos resultados:
+ * um nível de 0 a 100, ou {@link RiskCalculator#INVALID} se alguma medição for
+ * negativa.
+ * </p>
+ */
+public interface RiskModel {
+    /**
+     * Retorna um nome legível do modelo, como o da vegetação a que se aplica.
+     *
+     * @return o nome do modelo
+     */
+    String getName();
+
+    /**
+     * Calcula o nível de risco para uma única leitura.
+     *
+     * @param temperature temperatura em graus Celsius.
+     * @param humidity    umidade relativa do ar em porcentagem.
+     * @param windSpeed   velocidade do vento em km/h.
+     * @return o nível de risco calculado (0 a 100), ou
+     *         {@link RiskCalculator#INVALID} se algum valor for negativo.
+     */
+    double calculate(double temperature, double humidity, double windSpeed);
+
+    /**
+     * Calcula o nível de risco de {@code length} leituras a partir de
+     * {@code offset} nos vetores de medições, escrevendo os resultados em
+     * {@code out} a partir de {@code outOffset}.
+     *
+     * @param temperatures temperaturas em graus Celsius.
+     * @param humidities   umidades relativas em porcentagem.
+     * @param windSpeeds   velocidades do vento em km/h.
+     * @param offset       posição inicial nos vetores de medições.
+     * @param out          vetor que recebe os níveis de risco.
+     * @param outOffset    posição inicial em {@code out}.
+     * @param length       quantidade de leituras a calcular.
+     * @throws IndexOutOfBoundsException se algum intervalo exceder os vetores.
+     */
+    void calculate(double[] temperatures, double[] humidities, double[] windSpeeds, int offset, double[] out,
+            int outOffset, int length);
+}
@@ -0,0 +1,76 @@
+package domain.risk;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Modelos de risco por tipo de vegetação.
+ * <p>
+ * Os coeficientes refletem a inflamabilidade relativa de cada bioma: a
+ * Caatinga e o Cerrado, com vegetação seca e gramíneas, respondem mais à
+ * temperatura e ao vento e menos à umidade; a Amazônia e a Mata Atlântica,
+ * úmidas e de dossel fechado, respondem mais à umidade. O Pantanal e o Pampa,
+ * com campos abertos, dão mais peso ao vento. Vegetações não reconhecidas usam
+ * {@link LinearRiskModel#STANDARD}.
+ * </p>
+ *
+ * <p>
+ * A busca ignora maiúsculas, acentos e espaços nas extremidades, de modo que
+ * {@code "Amazônia"}, {@code "amazonia"} e {@code "AMAZÔNIA "} resolvem o
+ * mesmo modelo. Ela é feita uma vez por área, na criação.
+ * </p>
+ */
+public final class VegetationRiskModels {
+    public static final LinearRiskModel CERRADO = new LinearRiskModel("Cerrado", 2.2, 2.4, 1.3);
+    public static final LinearRiskModel AMAZONIA = new LinearRiskModel("Amazônia", 1.8, 1.6, 1.8);
+    public static final LinearRiskModel MATA_ATLANTICA = new LinearRiskModel("Mata Atlântica", 1.9, 1.8, 1.7);
+    public static final LinearRiskModel CAATINGA = new LinearRiskModel("Caatinga", 2.3, 2.2, 1.2);
+    public static final LinearRiskModel PANTANAL = new LinearRiskModel("Pantanal", 2.0, 2.3, 1.4);
+    public static final LinearRiskModel PAMPA = new LinearRiskModel("Pampa", 2.0, 2.5, 1.4);
+
+    private static final Map<String, RiskModel> BY_VEGETATION = new LinkedHashMap<>();
+
+    static {
+        for (LinearRiskModel model : new LinearRiskModel[] {CERRADO, AMAZONIA, MATA_ATLANTICA, CAATINGA, PANTANAL,
+                PAMPA}) {
+            BY_VEGETATION.put(normalize(model.getName()), model);
+        }
+        BY_VEGETATION.put("floresta amazonica", AMAZONIA);
+    }
+
+    private VegetationRiskModels() {
+    }
+
+    /**
+     * Resolve o modelo de risco de um tipo de vegetação.
+     *
+     * @param vegetationType o tipo de vegetação da área; pode ser {@code null}
+     * @return o modelo da vegetação, ou {@link LinearRiskModel#STANDARD} se ela
+     *         não for reconhecida
+     */
+    public static RiskModel forVegetation(String vegetationType) {
+        if (vegetationType == null) {
+            return LinearRiskModel.STANDARD;
+        }
+        return BY_VEGETATION.getOrDefault(normalize(vegetationType), LinearRiskModel.STANDARD);
+    }
+
+    /**
+     * Retorna os modelos das vegetações reconhecidas, sem repetições.
+     *
+     * @return os modelos, na ordem em que foram declarados
+     */
+    public static Collection<RiskModel> all() {
+        return Collections.unmodifiableCollection(new LinkedHashSet<>(BY_VEGETATION.values()));
+    }
+
+    private static String normalize(String name) {
+        String decomposed = Normalizer.normalize(name.trim(), Normalizer.Form.NFD);
+        return decomposed.replaceAll("\\p{M}", "").replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,470 @@
+package domain.stats;
+
+import domain.entities.WheatherData;
+import domain.risk.LinearRiskModel;
+import domain.risk.RiskCalculator;
+import domain.risk.RiskModel;
+import domain.storage.WeatherDataStore;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Agregados diários das leituras climáticas compactadas de uma área: para cada
+ * dia, a quantidade de leituras e a soma, o mínimo e o máximo de cada
+ * {@link Metric}.
+ * <p>
+ * As instâncias são imutáveis e ordenadas por dia, com os valores guardados em
+ * vetores primitivos. {@link #merge(DailyWeatherAggregates)} devolve uma nova
+ * instância, o que permite publicá-las em um campo {@code volatile} e
+ * consultá-las sem bloqueio. Como em {@link RollingWeatherStats}, só entram
+ * nos agregados as leituras com data e com valores válidos.
+ * </p>
+ */
+public final class DailyWeatherAggregates {
+    /** Grandezas agregadas por dia. */
+    public enum Metric {
+        TEMPERATURE, HUMIDITY, WIND_SPEED, RISK
+    }
+
+    private static final int METRICS = Metric.values().length;
+
+    /** Agregados sem nenhum dia. */
+    public static final DailyWeatherAggregates EMPTY = new DailyWeatherAggregates(new int[0], new int[0],
+            new double[METRICS][0], new double[METRICS][0], new double[METRICS][0]);
+
+    private final int[] epochDays;
+    private final int[] counts;
+    private final double[][] sums;
+    private final double[][] mins;
+    private final double[][] maxs;
+    private final long readingCount;
+
+    private DailyWeatherAggregates(int[] epochDays, int[] counts, double[][] sums, double[][] mins,
+            double[][] maxs) {
+        this.epochDays = epochDays;
+        this.counts = counts;
+        this.sums = sums;
+        this.mins = mins;
+        this.maxs = maxs;
+        long total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        this.readingCount = total;
+    }
+
+    /**
+     * Retorna a quantidade de dias agregados.
+     *
+     * @return a quantidade de dias
+     */
+    public int size() {
+        return epochDays.length;
+    }
+
+    public boolean isEmpty() {
+        return epochDays.length == 0;
+    }
+
+    /**
+     * Retorna a quantidade total de leituras representadas pelos agregados.
+     *
+     * @return a soma das contagens de todos os dias
+     */
+    public long getReadingCount() {
+        return readingCount;
+    }
+
+    public int getEpochDay(int index) {
+        return epochDays[index];
+    }
+
+    public int getCount(int index) {
+        return counts[index];
+    }
+
+    public double getSum(Metric metric, int index) {
+        return sums[metric.ordinal()][index];
+    }
+
+    public double getMin(Metric metric, int index) {
+        return mins[metric.ordinal()][index];
+    }
+
+    public double getMax(Metric metric, int index) {
+        return maxs[metric.ordinal()][index];
+    }
+
+    public double getMean(Metric metric, int index) {
+        return sums[metric.ordinal()][index] / counts[index];
+    }
+
+    /**
+     * Retorna a posição do primeiro dia agregado igual ou posterior ao dia
+     * informado.
+     *
+     * @param epochDay dia em dias desde a época
+     * @return a posição, ou {@link #size()} se todos os dias forem anteriores
+     */
+    public int lowerBound(int epochDay) {
+        int low = 0;
+        int high = epochDays.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochDays[mid] < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Resume o dia da posição informada, como a janela de um dia de
+     * {@link RollingWeatherStats}.
+     *
+     * @param index posição do dia
+     * @return o resumo das leituras do dia
+     */
+    public WeatherSummary summarize(int index) {
+        int t = Metric.TEMPERATURE.ordinal();
+        int h = Metric.HUMIDITY.ordinal();
+        int w = Metric.WIND_SPEED.ordinal();
+        int r = Metric.RISK.ordinal();
+        return new WeatherSummary(WeatherWindow.DAY, epochDays[index], counts[index], mins[t][index],
+                maxs[t][index], sums[t][index], mins[h][index], maxs[h][index], sums[h][index], mins[w][index],
+                maxs[w][index], sums[w][index], sums[r][index], maxs[r][index]);
+    }
+
+    /**
+     * Combina estes agregados com outros. Os dias presentes nos dois somam as
+     * contagens e as somas e combinam os mínimos e os máximos.
+     *
+     * @param other os agregados a incluir
+     * @return os agregados combinados
+     */
+    public DailyWeatherAggregates merge(DailyWeatherAggregates other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        if (isEmpty()) {
+            return other;
+        }
+        int capacity = size() + other.size();
+        int[] days = new int[capacity];
+        int[] mergedCounts = new int[capacity];
+        double[][] mergedSums = new double[METRICS][capacity];
+        double[][] mergedMins = new double[METRICS][capacity];
+        double[][] mergedMaxs = new double[METRICS][capacity];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < size() || j < other.size()) {
+            int day;
+            if (j == other.size() || (i < size() && epochDays[i] < other.epochDays[j])) {
+                day = epochDays[i];
+                copyDay(this, i++, n, mergedCounts, mergedSums, mergedMins, mergedMaxs);
+            } else if (i == size() || other.epochDays[j] < epochDays[i]) {
+                day = other.epochDays[j];
+                copyDay(other, j++, n, mergedCounts, mergedSums, mergedMins, mergedMaxs);
+            } else {
+                day = epochDays[i];
+                copyDay(this, i++, n, mergedCounts, mergedSums, mergedMins, mergedMaxs);
+                mergedCounts[n] += other.counts[j];
+                for (int m = 0; m < METRICS; m++) {
+                    mergedSums[m][n] += other.sums[m][j];
+                    mergedMins[m][n] = Math.min(mergedMins[m][n], other.mins[m][j]);
+                    mergedMaxs[m][n] = Math.max(mergedMaxs[m][n], other.maxs[m][j]);
+                }
+                j++;
+            }
+            days[n++] = day;
+        }
+        return new DailyWeatherAggregates(Arrays.copyOf(days, n), Arrays.copyOf(mergedCounts, n),
+                trim(mergedSums, n), trim(mergedMins, n), trim(mergedMaxs, n));
+    }
+
+    /**
+     * Intercala leituras brutas com um ponto médio por dia agregado do
+     * intervalo, formando um histórico ordenado por data. O ponto médio de um
+     * dia vem antes das leituras brutas do mesmo dia e tem ID 0.
+     *
+     * @param raw           leituras brutas do intervalo, ordenadas por data
+     * @param fromEpochDay  primeiro dia do intervalo (inclusivo)
+     * @param toEpochDay    último dia do intervalo (inclusivo)
+     * @return uma lista somente leitura com os dois níveis do histórico
+     */
+    public List<WheatherData> mergeWith(List<WheatherData> raw, int fromEpochDay, int toEpochDay) {
+        int first = lowerBound(fromEpochDay);
+        int end = toEpochDay == Integer.MAX_VALUE ? size() : lowerBound(toEpochDay + 1);
+        if (first >= end) {
+            return raw;
+        }
+        int[] positions = new int[end - first];
+        for (int k = 0; k < positions.length; k++) {
+            positions[k] = countBefore(raw, epochDays[first + k]) + k;
+        }
+        return new MergedHistory(this, first, positions, raw);
+    }
+
+    /** Quantidade de leituras da lista, ordenada por data, anteriores ao dia. */
+    private static int countBefore(List<WheatherData> raw, int epochDay) {
+        int low = 0;
+        int high = raw.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (raw.get(mid).getDate().toEpochDay() < epochDay) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void copyDay(DailyWeatherAggregates source, int from, int to, int[] counts, double[][] sums,
+            double[][] mins, double[][] maxs) {
+        counts[to] = source.counts[from];
+        for (int m = 0; m < METRICS; m++) {
+            sums[m][to] = source.sums[m][from];
+            mins[m][to] = source.mins[m][from];
+            maxs[m][to] = source.maxs[m][from];
+        }
+    }
+
+    private static double[][] trim(double[][] columns, int length) {
+        double[][] trimmed = new double[METRICS][];
+        for (int m = 0; m < METRICS; m++) {
+            trimmed[m] = columns[m].length == length ? columns[m] : Arrays.copyOf(columns[m], length);
+        }
+        return trimmed;
+    }
+
+    /**
+     * Histórico intercalado: {@code positions[k]} é a posição, na lista
+     * combinada, do ponto médio do dia {@code first + k}.
+     */
+    private static final class MergedHistory extends AbstractList<WheatherData> {
+        private final DailyWeatherAggregates daily;
+        private final int first;
+        private final int[] positions;
+        private final List<WheatherData> raw;
+
+        private MergedHistory(DailyWeatherAggregates daily, int first, int[] positions, List<WheatherData> raw) {
+            this.daily = daily;
+            this.first = first;
+            this.positions = positions;
+            this.raw = raw;
+        }
+
+        @Override
+        public WheatherData get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            int k = Arrays.binarySearch(positions, index);
+            if (k < 0) {
+                return raw.get(index + k + 1);
+            }
+            int day = first + k;
+            return new WheatherData(0, daily.getMean(Metric.TEMPERATURE, day), daily.getMean(Metric.HUMIDITY, day),
+                    daily.getMean(Metric.WIND_SPEED, day), LocalDate.ofEpochDay(daily.epochDays[day]));
+        }
+
+        @Override
+        public int size() {
+            return raw.size() + positions.length;
+        }
+    }
+
+    /**
+     * Acumula leituras em agregados diários. O método
+     * {@link #addAll(double[], double[], double[], int[], int, int)} tem a forma
+     * de {@link WeatherDataStore.ColumnReader}, de modo que uma visão do
+     * histórico pode ser agregada diretamente sobre as suas colunas.
+     * <p>
+     * Não é seguro para uso concorrente.
+     * </p>
+     */
+    public static final class Accumulator {
+        private final RiskModel riskModel;
+        private final Map<Integer, Integer> slotByDay = new HashMap<>();
+        private int[] epochDays = new int[16];
+        private int[] counts = new int[16];
+        private double[][] sums = new double[METRICS][16];
+        private double[][] mins = new double[METRICS][16];
+        private double[][] maxs = new double[METRICS][16];
+        private int size;
+        private int lastDay = WeatherDataStore.NO_DATE;
+        private int lastSlot = -1;
+        private long skipped;
+
+        public Accumulator() {
+            this(LinearRiskModel.STANDARD);
+        }
+
+        /**
+         * Cria um acumulador que calcula o risco das leituras com o modelo
+         * informado.
+         *
+         * @param riskModel o modelo de risco da área
+         * @throws IllegalArgumentException se o modelo for {@code null}
+         */
+        public Accumulator(RiskModel riskModel) {
+            if (riskModel == null) {
+                throw new IllegalArgumentException("O modelo de risco não pode ser nulo.");
+            }
+            this.riskModel = riskModel;
+        }
+
+        /**
+         * Inclui uma leitura nos agregados do seu dia. Leituras sem data ou com
+         * valores inválidos são apenas contadas em {@link #getSkipped()}.
+         *
+         * @param temperature temperatura em graus Celsius
+         * @param humidity    umidade relativa em porcentagem
+         * @param windSpeed   velocidade do vento em km/h
+         * @param epochDay    data da leitura em dias desde a época, ou
+         *                    {@link WeatherDataStore#NO_DATE}
+         */
+        public void add(double temperature, double humidity, double windSpeed, int epochDay) {
+            double risk = riskModel.calculate(temperature, humidity, windSpeed);
+            if (epochDay == WeatherDataStore.NO_DATE || risk == RiskCalculator.INVALID) {
+                skipped++;
+                return;
+            }
+            int slot = slotFor(epochDay);
+            counts[slot]++;
+            addValue(Metric.TEMPERATURE.ordinal(), slot, temperature);
+            addValue(Metric.HUMIDITY.ordinal(), slot, humidity);
+            addValue(Metric.WIND_SPEED.ordinal(), slot, windSpeed);
+            addValue(Metric.RISK.ordinal(), slot, risk);
+        }
+
+        /**
+         * Inclui as leituras dos vetores paralelos.
+         *
+         * @param temperatures temperaturas em graus Celsius
+         * @param humidities   umidades relativas em porcentagem
+         * @param windSpeeds   velocidades do vento em km/h
+         * @param epochDays    datas das leituras em dias desde a época
+         * @param offset       posição inicial nos vetores
+         * @param length       quantidade de leituras
+         */
+        public void addAll(double[] temperatures, double[] humidities, double[] windSpeeds, int[] epochDays,
+                int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                add(temperatures[i], humidities[i], windSpeeds[i], epochDays[i]);
+            }
+        }
+
+        /**
+         * Inclui os agregados já calculados de um dia, como os lidos de um
+         * snapshot. Os vetores são indexados por {@link Metric#ordinal()}.
+         *
+         * @param epochDay dia em dias desde a época
+         * @param count    quantidade de leituras do dia
+         * @param daySums  somas de cada métrica
+         * @param dayMins  mínimos de cada métrica
+         * @param dayMaxs  máximos de cada métrica
+         */
+        public void addDay(int epochDay, int count, double[] daySums, double[] dayMins, double[] dayMaxs) {
+            if (count <= 0) {
+                return;
+            }
+            int slot = slotFor(epochDay);
+            counts[slot] += count;
+            for (int m = 0; m < METRICS; m++) {
+                sums[m][slot] += daySums[m];
+                mins[m][slot] = Math.min(mins[m][slot], dayMins[m]);
+                maxs[m][slot] = Math.max(maxs[m][slot], dayMaxs[m]);
+            }
+        }
+
+        /**
+         * Retorna quantas leituras foram descartadas por não terem data ou por
+         * terem valores inválidos.
+         *
+         * @return a quantidade de leituras ignoradas
+         */
+        public long getSkipped() {
+            return skipped;
+        }
+
+        /**
+         * Gera os agregados acumulados, ordenados por dia.
+         *
+         * @return os agregados diários
+         */
+        public DailyWeatherAggregates build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(epochDays[a], epochDays[b]));
+            int[] sortedDays = new int[size];
+            int[] sortedCounts = new int[size];
+            double[][] sortedSums = new double[METRICS][size];
+            double[][] sortedMins = new double[METRICS][size];
+            double[][] sortedMaxs = new double[METRICS][size];
+            for (int i = 0; i < size; i++) {
+                int slot = order[i];
+                sortedDays[i] = epochDays[slot];
+                sortedCounts[i] = counts[slot];
+                for (int m = 0; m < METRICS; m++) {
+                    sortedSums[m][i] = sums[m][slot];
+                    sortedMins[m][i] = mins[m][slot];
+                    sortedMaxs[m][i] = maxs[m][slot];
+                }
+            }
+            return new DailyWeatherAggregates(sortedDays, sortedCounts, sortedSums, sortedMins, sortedMaxs);
+        }
+
+        private void addValue(int metric, int slot, double value) {
+            sums[metric][slot] += value;
+            mins[metric][slot] = Math.min(mins[metric][slot], value);
+            maxs[metric][slot] = Math.max(maxs[metric][slot], value);
+        }
+
+        private int slotFor(int epochDay) {
+            if (epochDay == lastDay && lastSlot >= 0) {
+                return lastSlot;
+            }
+            Integer slot = slotByDay.get(epochDay);
+            if (slot == null) {
+                slot = newSlot(epochDay);
+                slotByDay.put(epochDay, slot);
+            }
+            lastDay = epochDay;
+            lastSlot = slot;
+            return slot;
+        }
+
+        private int newSlot(int epochDay) {
+            if (size == epochDays.length) {
+                int capacity = size * 2;
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+                for (int m = 0; m < METRICS; m++) {
+                    sums[m] = Arrays.copyOf(sums[m], capacity);
+                    mins[m] = Arrays.copyOf(mins[m], capacity);
+                    maxs[m] = Arrays.copyOf(maxs[m], capacity);
+                }
+            }
+            epochDays[size] = epochDay;
+            for (int m = 0; m < METRICS; m++) {
+                mins[m][size] = Double.POSITIVE_INFINITY;
+                maxs[m][size] = Double.NEGATIVE_INFINITY;
+            }
+            return size++;
+        }
+    }
+}
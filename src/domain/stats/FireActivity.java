@@ -0,0 +1,54 @@
+package domain.stats;
+
+/**
+ * Atividade de incêndios de uma área em uma janela de dias: quantos incêndios
+ * foram registrados e a maior severidade entre eles.
+ * <p>
+ * Quando a janela não possui incêndios, {@link #getCount()} e
+ * {@link #getMaxSeverity()} são zero.
+ * </p>
+ */
+public class FireActivity {
+    private final int endEpochDay;
+    private final int days;
+    private final int count;
+    private final int maxSeverity;
+
+    FireActivity(int endEpochDay, int days, int count, int maxSeverity) {
+        this.endEpochDay = endEpochDay;
+        this.days = days;
+        this.count = count;
+        this.maxSeverity = count == 0 ? 0 : maxSeverity;
+    }
+
+    /**
+     * Retorna o último dia da janela, em dias desde a época.
+     *
+     * @return o dia de referência da janela
+     */
+    public int getEndEpochDay() {
+        return endEpochDay;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getMaxSeverity() {
+        return maxSeverity;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    @Override
+    public String toString() {
+        return count == 0 ? "Nenhum incêndio nos últimos " + days + " dia(s)"
+                : count + " incêndio(s) nos últimos " + days + " dia(s), severidade máxima " + maxSeverity;
+    }
+}
@@ -0,0 +1,161 @@
+package domain.stats;
+
+import domain.storage.WeatherDataStore;
+import java.util.Arrays;
+
+/**
+ * Índice incremental dos incêndios de uma área por dia, para consultar a
+ * quantidade e a maior severidade dos incêndios de uma janela sem percorrer o
+ * histórico.
+ * <p>
+ * Os dias ocupam um anel de {@value #DAYS} posições (o dia {@code d} fica na
+ * posição {@code d mod DAYS}), que são as folhas de uma árvore de segmentos
+ * com a soma das quantidades e o máximo das severidades de cada intervalo. O
+ * registro de um incêndio e a consulta de uma janela custam
+ * {@code O(log DAYS)}. Quando chega um incêndio de um dia mais novo, as
+ * posições dos dias que saíram do anel são zeradas, de modo que o anel guarda
+ * sempre os {@value #DAYS} dias que terminam no incêndio mais recente;
+ * incêndios mais antigos que isso ou sem data não entram no índice.
+ * </p>
+ *
+ * <p>
+ * As atualizações e consultas são sincronizadas no próprio objeto.
+ * </p>
+ */
+public class FireActivityIndex {
+    /** Quantidade de dias mantidos; também é a maior janela consultável. */
+    public static final int DAYS = 512;
+
+    private static final int EMPTY = Integer.MIN_VALUE;
+
+    private final int[] counts = new int[2 * DAYS];
+    private final int[] maxSeverities = new int[2 * DAYS];
+    private int newestDay = WeatherDataStore.NO_DATE;
+    private volatile long fires;
+
+    public FireActivityIndex() {
+        Arrays.fill(maxSeverities, EMPTY);
+    }
+
+    /**
+     * Registra um incêndio.
+     *
+     * @param epochDay dia do incêndio, em dias desde a época, ou
+     *                 {@link WeatherDataStore#NO_DATE}
+     * @param severity severidade do incêndio
+     */
+    public synchronized void add(int epochDay, int severity) {
+        if (epochDay == WeatherDataStore.NO_DATE) {
+            return;
+        }
+        if (newestDay == WeatherDataStore.NO_DATE || epochDay > newestDay) {
+            advanceTo(epochDay);
+        } else if ((long) epochDay <= (long) newestDay - DAYS) {
+            return;
+        }
+        int node = DAYS + (epochDay & (DAYS - 1));
+        counts[node]++;
+        maxSeverities[node] = Math.max(maxSeverities[node], severity);
+        for (node >>= 1; node > 0; node >>= 1) {
+            counts[node]++;
+            maxSeverities[node] = Math.max(maxSeverities[node], severity);
+        }
+        fires++;
+    }
+
+    /**
+     * Consulta os incêndios da janela de {@code days} dias que termina em
+     * {@code endEpochDay}, inclusive.
+     *
+     * @param endEpochDay último dia da janela, em dias desde a época
+     * @param days        tamanho da janela, de 1 a {@value #DAYS} dias
+     * @return a quantidade e a maior severidade dos incêndios da janela
+     * @throws IllegalArgumentException se a janela tiver tamanho inválido
+     */
+    public synchronized FireActivity query(int endEpochDay, int days) {
+        if (days <= 0 || days > DAYS) {
+            throw new IllegalArgumentException("A janela de incêndios deve ter de 1 a " + DAYS + " dias.");
+        }
+        if (newestDay == WeatherDataStore.NO_DATE) {
+            return new FireActivity(endEpochDay, days, 0, 0);
+        }
+        long from = Math.max((long) endEpochDay - days + 1, (long) newestDay - DAYS + 1);
+        long to = Math.min(endEpochDay, newestDay);
+        if (from > to) {
+            return new FireActivity(endEpochDay, days, 0, 0);
+        }
+        int first = (int) (from & (DAYS - 1));
+        int last = (int) (to & (DAYS - 1));
+        int[] result = {0, EMPTY};
+        if (first <= last) {
+            accumulate(first, last, result);
+        } else {
+            accumulate(first, DAYS - 1, result);
+            accumulate(0, last, result);
+        }
+        return new FireActivity(endEpochDay, days, result[0], result[1]);
+    }
+
+    /**
+     * Retorna quantos incêndios foram registrados no índice, inclusive os que já
+     * saíram do anel. Não exige o bloqueio, para que quem consulta o índice
+     * possa evitar a consulta quando ele está vazio.
+     *
+     * @return a quantidade de incêndios registrados
+     */
+    public long getFireCount() {
+        return fires;
+    }
+
+    /** Soma as folhas de {@code first} a {@code last}, inclusive, em {@code result}. */
+    private void accumulate(int first, int last, int[] result) {
+        int left = first + DAYS;
+        int right = last + DAYS + 1;
+        while (left < right) {
+            if ((left & 1) == 1) {
+                result[0] += counts[left];
+                result[1] = Math.max(result[1], maxSeverities[left]);
+                left++;
+            }
+            if ((right & 1) == 1) {
+                right--;
+                result[0] += counts[right];
+                result[1] = Math.max(result[1], maxSeverities[right]);
+            }
+            left >>= 1;
+            right >>= 1;
+        }
+    }
+
+    /** Zera as posições dos dias que saem do anel quando {@code epochDay} passa a ser o mais novo. */
+    private void advanceTo(int epochDay) {
+        long cleared = newestDay == WeatherDataStore.NO_DATE ? DAYS : (long) epochDay - newestDay;
+        newestDay = epochDay;
+        if (cleared >= DAYS / 2) {
+            // Com muitos dias a zerar, reconstruir a árvore é mais barato que atualizar folha a folha.
+            long first = Math.max((long) epochDay - cleared + 1, (long) epochDay - DAYS + 1);
+            for (long day = first; day <= epochDay; day++) {
+                int leaf = DAYS + (int) (day & (DAYS - 1));
+                counts[leaf] = 0;
+                maxSeverities[leaf] = EMPTY;
+            }
+            for (int node = DAYS - 1; node > 0; node--) {
+                counts[node] = counts[2 * node] + counts[2 * node + 1];
+                maxSeverities[node] = Math.max(maxSeverities[2 * node], maxSeverities[2 * node + 1]);
+            }
+            return;
+        }
+        for (long day = (long) epochDay - cleared + 1; day <= epochDay; day++) {
+            int node = DAYS + (int) (day & (DAYS - 1));
+            if (counts[node] == 0) {
+                continue;
+            }
+            counts[node] = 0;
+            maxSeverities[node] = EMPTY;
+            for (node >>= 1; node > 0; node >>= 1) {
+                counts[node] = counts[2 * node] + counts[2 * node + 1];
+                maxSeverities[node] = Math.max(maxSeverities[2 * node], maxSeverities[2 * node + 1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package domain.stats;
+
+import domain.risk.LinearRiskModel;
+import domain.risk.RiskCalculator;
+import domain.risk.RiskModel;
+import domain.stats.DailyWeatherAggregates.Metric;
+import domain.storage.WeatherDataStore;
+import domain.time.CachedDateClock;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Agregados climáticos móveis de uma área, atualizados a cada leitura
+ * inserida.
+ * <p>
+ * As leituras são acumuladas em um anel de baldes diários, um por dia da
+ * janela mais longa ({@link WeatherWindow#longestDays()}). Cada balde guarda a
+ * contagem, as somas, os mínimos e os máximos das leituras do seu dia, de modo
+ * que uma inserção custa {@code O(1)} e o resumo de uma janela combina no
+ * máximo um balde por dia, sem percorrer o histórico. Quando chega uma leitura
+ * de um dia mais novo, o balde do dia que saiu da janela mais longa é
+ * reaproveitado; leituras mais antigas do que isso, sem data, com data
+ * posterior ao dia atual ou com valores inválidos não entram nos agregados.
+ * Uma leitura do futuro ocuparia o balde de um dia da janela e faria as
+ * leituras desse dia serem recusadas até a data chegar.
+ * </p>
+ *
+ * <p>
+ * Não há bloqueio do objeto inteiro: cada dia é dividido em células com
+ * bloqueio próprio, criadas sob demanda, como as do
+ * {@link java.util.concurrent.atomic.LongAdder}. Um produtor tenta a célula
+ * da sua thread e, se ela estiver ocupada, o dia ganha mais células, até
+ * {@link #MAX_CELLS}. O risco é calculado antes de adquirir o bloqueio, e as
+ * inserções em lote acumulam cada sequência de leituras do mesmo dia em um
+ * balde local, combinado com a célula de uma só vez.
+ * </p>
+ *
+ * <p>
+ * O risco de cada leitura é calculado na inserção, pelo {@link RiskModel} da
+ * área. Trocar o modelo só afeta as leituras inseridas depois da troca.
+ * </p>
+ */
+public class RollingWeatherStats {
+    /** Quantidade máxima de células por dia: a potência de dois que cobre os processadores, até 8. */
+    static final int MAX_CELLS = Math.min(8, Integer.highestOneBit(
+            Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)));
+
+    private static final int RING_DAYS = WeatherWindow.longestDays();
+
+    private final AtomicReferenceArray<Bucket[]> ring = new AtomicReferenceArray<>(RING_DAYS);
+    private final CachedDateClock clock;
+    private volatile RiskModel riskModel;
+    // Último dia atual observado; a corrida entre produtores é benigna, pois um valor antigo só força nova consulta.
+    private int knownToday = Integer.MIN_VALUE;
+
+    public RollingWeatherStats() {
+        this(LinearRiskModel.STANDARD);
+    }
+
+    /**
+     * Cria os agregados calculando o risco das leituras com o modelo informado.
+     *
+     * @param riskModel o modelo de risco da área
+     * @throws IllegalArgumentException se o modelo for {@code null}
+     */
+    public RollingWeatherStats(RiskModel riskModel) {
+        this(riskModel, CachedDateClock.system());
+    }
+
+    /**
+     * Cria os agregados com o relógio que define o dia atual, a partir do qual
+     * as leituras são consideradas do futuro.
+     *
+     * @param riskModel o modelo de risco da área
+     * @param clock     o relógio do dia atual
+     * @throws IllegalArgumentException se o modelo ou o relógio forem
+     *                                  {@code null}
+     */
+    public RollingWeatherStats(RiskModel riskModel, CachedDateClock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("O relógio não pode ser nulo.");
+        }
+        this.clock = clock;
+        setRiskModel(riskModel);
+    }
+
+    /**
+     * Troca o modelo usado no risco das próximas leituras inseridas.
+     *
+     * @param riskModel o novo modelo de risco
+     * @throws IllegalArgumentException se o modelo for {@code null}
+     */
+    public void setRiskModel(RiskModel riskModel) {
+        if (riskModel == null) {
+            throw new IllegalArgumentException("O modelo de risco não pode ser nulo.");
+        }
+        this.riskModel = riskModel;
+    }
+
+    private static final class Bucket {
+        private final ReentrantLock lock = new ReentrantLock();
+        private int epochDay;
+        private int count;
+        private double temperatureSum;
+        private double minTemperature;
+        private double maxTemperature;
+        private double humiditySum;
+        private double minHumidity;
+        private double maxHumidity;
+        private double windSpeedSum;
+        private double minWindSpeed;
+        private double maxWindSpeed;
+        private double riskSum;
+        private double maxRisk;
+
+        private Bucket(int epochDay) {
+            reset(epochDay);
+        }
+
+        private void reset(int epochDay) {
+            this.epochDay = epochDay;
+            count = 0;
+            temperatureSum = humiditySum = windSpeedSum = riskSum = 0;
+            minTemperature = minHumidity = minWindSpeed = Double.POSITIVE_INFINITY;
+            maxTemperature = maxHumidity = maxWindSpeed = maxRisk = Double.NEGATIVE_INFINITY;
+        }
+
+        /**
+         * Prepara o balde para receber leituras do dia, reaproveitando-o se ele
+         * guardar um dia anterior. Deve ser chamado com o bloqueio adquirido.
+         *
+         * @return {@code false} se o balde já guardar um dia mais novo
+         */
+        private boolean claim(int day) {
+            if (epochDay == day) {
+                return true;
+            }
+            if (epochDay > day) {
+                return false;
+            }
+            reset(day);
+            return true;
+        }
+
+        private void add(double temperature, double humidity, double windSpeed, double risk) {
+            count++;
+            temperatureSum += temperature;
+            minTemperature = Math.min(minTemperature, temperature);
+            maxTemperature = Math.max(maxTemperature, temperature);
+            humiditySum += humidity;
+            minHumidity = Math.min(minHumidity, humidity);
+            maxHumidity = Math.max(maxHumidity, humidity);
+            windSpeedSum += windSpeed;
+            minWindSpeed = Math.min(minWindSpeed, windSpeed);
+            maxWindSpeed = Math.max(maxWindSpeed, windSpeed);
+            riskSum += risk;
+            maxRisk = Math.max(maxRisk, risk);
+        }
+
+        private void merge(Bucket other) {
+            count += other.count;
+            temperatureSum += other.temperatureSum;
+            minTemperature = Math.min(minTemperature, other.minTemperature);
+            maxTemperature = Math.max(maxTemperature, other.maxTemperature);
+            humiditySum += other.humiditySum;
+            minHumidity = Math.min(minHumidity, other.minHumidity);
+            maxHumidity = Math.max(maxHumidity, other.maxHumidity);
+            windSpeedSum += other.windSpeedSum;
+            minWindSpeed = Math.min(minWindSpeed, other.minWindSpeed);
+            maxWindSpeed = Math.max(maxWindSpeed, other.maxWindSpeed);
+            riskSum += other.riskSum;
+            maxRisk = Math.max(maxRisk, other.maxRisk);
+        }
+
+        private void merge(DailyWeatherAggregates daily, int index) {
+            count += daily.getCount(index);
+            temperatureSum += daily.getSum(Metric.TEMPERATURE, index);
+            minTemperature = Math.min(minTemperature, daily.getMin(Metric.TEMPERATURE, index));
+            maxTemperature = Math.max(maxTemperature, daily.getMax(Metric.TEMPERATURE, index));
+            humiditySum += daily.getSum(Metric.HUMIDITY, index);
+            minHumidity = Math.min(minHumidity, daily.getMin(Metric.HUMIDITY, index));
+            maxHumidity = Math.max(maxHumidity, daily.getMax(Metric.HUMIDITY, index));
+            windSpeedSum += daily.getSum(Metric.WIND_SPEED, index);
+            minWindSpeed = Math.min(minWindSpeed, daily.getMin(Metric.WIND_SPEED, index));
+            maxWindSpeed = Math.max(maxWindSpeed, daily.getMax(Metric.WIND_SPEED, index));
+            riskSum += daily.getSum(Metric.RISK, index);
+            maxRisk = Math.max(maxRisk, daily.getMax(Metric.RISK, index));
+        }
+    }
+
+    /**
+     * Inclui uma leitura nos agregados.
+     *
+     * @param temperature temperatura em graus Celsius
+     * @param humidity    umidade relativa em porcentagem
+     * @param windSpeed   velocidade do vento em km/h
+     * @param epochDay    data da leitura em dias desde a época, ou
+     *                    {@link WeatherDataStore#NO_DATE}
+     */
+    public void add(double temperature, double humidity, double windSpeed, int epochDay) {
+        if (!accepts(epochDay)) {
+            return;
+        }
+        double risk = riskModel.calculate(temperature, humidity, windSpeed);
+        if (risk == RiskCalculator.INVALID) {
+            return;
+        }
+        Bucket cell = lockCell(epochDay);
+        try {
+            if (cell.claim(epochDay)) {
+                cell.add(temperature, humidity, windSpeed, risk);
+            }
+        } finally {
+            cell.lock.unlock();
+        }
+    }
+
+    /**
+     * Inclui nos agregados as leituras dos vetores paralelos. Cada sequência de
+     * leituras do mesmo dia é acumulada sem bloqueio e combinada com uma célula
+     * do dia de uma só vez.
+     *
+     * @param temperatures temperaturas em graus Celsius
+     * @param humidities   umidades relativas em porcentagem
+     * @param windSpeeds   velocidades do vento em km/h
+     * @param epochDays    datas das leituras em dias desde a época
+     * @param offset       posição inicial nos vetores
+     * @param length       quantidade de leituras
+     */
+    public void addAll(double[] temperatures, double[] humidities, double[] windSpeeds, int[] epochDays, int offset,
+            int length) {
+        RiskModel model = riskModel;
+        Bucket run = null;
+        for (int i = offset; i < offset + length; i++) {
+            int epochDay = epochDays[i];
+            if (run != null && run.epochDay != epochDay) {
+                mergeRun(run);
+                run.reset(WeatherDataStore.NO_DATE);
+            }
+            if (!accepts(epochDay)) {
+                continue;
+            }
+            double risk = model.calculate(temperatures[i], humidities[i], windSpeeds[i]);
+            if (risk == RiskCalculator.INVALID) {
+                continue;
+            }
+            if (run == null) {
+                run = new Bucket(epochDay);
+            } else if (run.count == 0) {
+                run.epochDay = epochDay;
+            }
+            run.add(temperatures[i], humidities[i], windSpeeds[i], risk);
+        }
+        if (run != null) {
+            mergeRun(run);
+        }
+    }
+
+    /**
+     * Inclui nos agregados os dias já compactados em
+     * {@link DailyWeatherAggregates}, como os restaurados de um snapshot. Dias
+     * que já saíram da janela mais longa ou posteriores ao dia atual são
+     * ignorados.
+     *
+     * @param daily os agregados diários
+     */
+    public void addAll(DailyWeatherAggregates daily) {
+        for (int i = 0; i < daily.size(); i++) {
+            int epochDay = daily.getEpochDay(i);
+            if (!accepts(epochDay)) {
+                continue;
+            }
+            Bucket cell = lockCell(epochDay);
+            try {
+                if (cell.claim(epochDay)) {
+                    cell.merge(daily, i);
+                }
+            } finally {
+                cell.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Resume as leituras da janela que termina no dia informado.
+     *
+     * @param window      a janela desejada
+     * @param endEpochDay último dia da janela, em dias desde a época
+     * @return o resumo das leituras válidas da janela
+     */
+    public WeatherSummary summarize(WeatherWindow window, int endEpochDay) {
+        Bucket total = new Bucket(endEpochDay);
+        for (int day = endEpochDay - window.getDays() + 1; day <= endEpochDay; day++) {
+            Bucket[] cells = ring.get(Math.floorMod(day, RING_DAYS));
+            if (cells == null) {
+                continue;
+            }
+            for (Bucket cell : cells) {
+                cell.lock.lock();
+                try {
+                    if (cell.epochDay == day && cell.count > 0) {
+                        total.merge(cell);
+                    }
+                } finally {
+                    cell.lock.unlock();
+                }
+            }
+        }
+        return new WeatherSummary(window, endEpochDay, total.count, total.minTemperature, total.maxTemperature,
+                total.temperatureSum, total.minHumidity, total.maxHumidity, total.humiditySum, total.minWindSpeed,
+                total.maxWindSpeed, total.windSpeedSum, total.riskSum, total.maxRisk);
+    }
+
+    /**
+     * Indica se a leitura do dia entra nos agregados: com data e não posterior
+     * ao dia atual. O relógio só é consultado quando o dia passa do último dia
+     * atual observado.
+     */
+    private boolean accepts(int epochDay) {
+        if (epochDay == WeatherDataStore.NO_DATE) {
+            return false;
+        }
+        if (epochDay <= knownToday) {
+            return true;
+        }
+        int today = clock.todayEpochDay();
+        knownToday = today;
+        return epochDay <= today;
+    }
+
+    private void mergeRun(Bucket run) {
+        if (run.count == 0) {
+            return;
+        }
+        Bucket cell = lockCell(run.epochDay);
+        try {
+            if (cell.claim(run.epochDay)) {
+                cell.merge(run);
+            }
+        } finally {
+            cell.lock.unlock();
+        }
+    }
+
+    /**
+     * Adquire o bloqueio de uma célula do balde do dia, criando o balde na
+     * primeira leitura e mais células quando a célula da thread estiver ocupada.
+     * Quem chama deve liberar o bloqueio.
+     */
+    private Bucket lockCell(int epochDay) {
+        int slot = Math.floorMod(epochDay, RING_DAYS);
+        int probe = probe();
+        while (true) {
+            Bucket[] cells = ring.get(slot);
+            if (cells == null) {
+                ring.compareAndSet(slot, null, new Bucket[] {new Bucket(WeatherDataStore.NO_DATE)});
+                continue;
+            }
+            Bucket cell = cells[probe & (cells.length - 1)];
+            if (cell.lock.tryLock()) {
+                return cell;
+            }
+            if (cells.length >= MAX_CELLS) {
+                cell.lock.lock();
+                return cell;
+            }
+            Bucket[] grown = Arrays.copyOf(cells, cells.length * 2);
+            for (int i = cells.length; i < grown.length; i++) {
+                grown[i] = new Bucket(WeatherDataStore.NO_DATE);
+            }
+            ring.compareAndSet(slot, cells, grown);
+        }
+    }
+
+    /** Espalha os IDs das threads entre as células. */
+    private static int probe() {
+        long id = Thread.currentThread().getId();
+        return (int) (id * 0x9E3779B97F4A7C15L >>> 32);
+    }
+}
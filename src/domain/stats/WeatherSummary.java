@@ -0,0 +1,124 @@
+package domain.stats;
+
+/**
+ * Resumo das leituras climáticas válidas de uma área em uma
+ * {@link WeatherWindow}: mínimo, máximo e média de temperatura, umidade e
+ * velocidade do vento, além do risco médio e máximo das leituras.
+ * <p>
+ * Quando a janela não possui leituras válidas, {@link #getCount()} é zero e os
+ * demais valores são {@link Double#NaN}.
+ * </p>
+ */
+public class WeatherSummary {
+    private final WeatherWindow window;
+    private final int endEpochDay;
+    private final int count;
+    private final double minTemperature;
+    private final double maxTemperature;
+    private final double meanTemperature;
+    private final double minHumidity;
+    private final double maxHumidity;
+    private final double meanHumidity;
+    private final double minWindSpeed;
+    private final double maxWindSpeed;
+    private final double meanWindSpeed;
+    private final double meanRiskLevel;
+    private final double maxRiskLevel;
+
+    WeatherSummary(WeatherWindow window, int endEpochDay, int count, double minTemperature,
+            double maxTemperature, double temperatureSum, double minHumidity, double maxHumidity,
+            double humiditySum, double minWindSpeed, double maxWindSpeed, double windSpeedSum, double riskSum,
+            double maxRiskLevel) {
+        this.window = window;
+        this.endEpochDay = endEpochDay;
+        this.count = count;
+        this.minTemperature = count == 0 ? Double.NaN : minTemperature;
+        this.maxTemperature = count == 0 ? Double.NaN : maxTemperature;
+        this.meanTemperature = temperatureSum / count;
+        this.minHumidity = count == 0 ? Double.NaN : minHumidity;
+        this.maxHumidity = count == 0 ? Double.NaN : maxHumidity;
+        this.meanHumidity = humiditySum / count;
+        this.minWindSpeed = count == 0 ? Double.NaN : minWindSpeed;
+        this.maxWindSpeed = count == 0 ? Double.NaN : maxWindSpeed;
+        this.meanWindSpeed = windSpeedSum / count;
+        this.meanRiskLevel = riskSum / count;
+        this.maxRiskLevel = count == 0 ? Double.NaN : maxRiskLevel;
+    }
+
+    public WeatherWindow getWindow() {
+        return window;
+    }
+
+    /**
+     * Retorna o último dia da janela, em dias desde a época.
+     *
+     * @return o dia de referência da janela
+     */
+    public int getEndEpochDay() {
+        return endEpochDay;
+    }
+
+    /**
+     * Retorna a quantidade de leituras válidas na janela.
+     *
+     * @return a quantidade de leituras
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public double getMinTemperature() {
+        return minTemperature;
+    }
+
+    public double getMaxTemperature() {
+        return maxTemperature;
+    }
+
+    public double getMeanTemperature() {
+        return meanTemperature;
+    }
+
+    public double getMinHumidity() {
+        return minHumidity;
+    }
+
+    public double getMaxHumidity() {
+        return maxHumidity;
+    }
+
+    public double getMeanHumidity() {
+        return meanHumidity;
+    }
+
+    public double getMinWindSpeed() {
+        return minWindSpeed;
+    }
+
+    public double getMaxWindSpeed() {
+        return maxWindSpeed;
+    }
+
+    public double getMeanWindSpeed() {
+        return meanWindSpeed;
+    }
+
+    /**
+     * Retorna a média dos níveis de risco das leituras da janela. Por considerar
+     * todas as leituras, é menos sensível a uma medição isolada do que o risco
+     * da leitura mais recente.
+     *
+     * @return o risco médio (0 a 100)
+     */
+    public double getMeanRiskLevel() {
+        return meanRiskLevel;
+    }
+
+    public double getMaxRiskLevel() {
+        return maxRiskLevel;
+    }
+}
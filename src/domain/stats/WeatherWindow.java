@@ -0,0 +1,34 @@
+package domain.stats;
+
+/**
+ * Janelas móveis usadas nos agregados climáticos de uma área. Como as leituras
+ * registram apenas a data, as janelas são medidas em dias completos e terminam
+ * no dia de referência (normalmente o dia atual).
+ */
+public enum WeatherWindow {
+    /** Leituras do dia de referência (últimas 24 horas, na resolução de um dia). */
+    DAY(1),
+    /** Leituras dos últimos 7 dias. */
+    WEEK(7),
+    /** Leituras dos últimos 30 dias. */
+    MONTH(30);
+
+    private final int days;
+
+    WeatherWindow(int days) {
+        this.days = days;
+    }
+
+    public int getDays() {
+        return days;
+    }
+
+    /**
+     * Retorna a maior quantidade de dias entre as janelas disponíveis.
+     *
+     * @return a duração da janela mais longa, em dias
+     */
+    public static int longestDays() {
+        return MONTH.days;
+    }
+}
@@ -0,0 +1,91 @@
+package domain.storage;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Lista de objetos que aceita inserções concorrentes ao final sem bloqueio.
+ * <p>
+ * Usada para os registros de incêndios e de alertas de uma área monitorada.
+ * Vários produtores podem inserir ao mesmo tempo; os leitores obtêm visões
+ * consistentes com {@link #asList()} sem bloquear os escritores.
+ * </p>
+ *
+ * @param <T> o tipo dos elementos armazenados
+ */
+public class AppendLog<T> extends ChunkedAppendBuffer<AppendLog.Items> {
+
+    static final class Items extends ChunkedAppendBuffer.Chunk {
+        final Object[] values;
+
+        Items(int capacity) {
+            super(capacity);
+            this.values = new Object[capacity];
+        }
+    }
+
+    @Override
+    protected Items newChunk(int capacity) {
+        return new Items(capacity);
+    }
+
+    /**
+     * Adiciona um elemento ao final da lista.
+     *
+     * @param value o elemento a ser adicionado
+     * @return a posição ocupada pelo elemento
+     */
+    public int add(T value) {
+        int slot = reserve(1);
+        chunkFor(slot).values[chunkOffset(slot)] = value;
+        commit(slot, 1);
+        return slot;
+    }
+
+    /**
+     * Retorna o elemento na posição informada.
+     *
+     * @param index a posição do elemento
+     * @return o elemento armazenado
+     */
+    public T get(int index) {
+        checkIndex(index, size());
+        return read(index);
+    }
+
+    /**
+     * Retorna uma visão somente leitura com os elementos visíveis no momento da
+     * chamada. Inserções posteriores não alteram a visão.
+     *
+     * @return a visão dos elementos
+     */
+    public List<T> asList() {
+        int size = size();
+        return new Snapshot(size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T read(int slot) {
+        return (T) chunkFor(slot).values[chunkOffset(slot)];
+    }
+
+    private class Snapshot extends AbstractList<T> implements RandomAccess {
+        private final int size;
+
+        private Snapshot(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public T get(int index) {
+            checkIndex(index, size);
+            return read(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package domain.storage;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Base das estruturas de inserção ao final sem bloqueio usadas pelas áreas
+ * monitoradas.
+ * <p>
+ * Os dados são divididos em blocos ({@link Chunk}) que nunca são realocados:
+ * os primeiros blocos crescem em potências de dois (de {@value #FIRST_CHUNK_SIZE}
+ * até {@value #MAX_CHUNK_SIZE} posições), para que áreas com poucos dados ocupem
+ * pouca memória, e os demais têm tamanho fixo. Cada escritor reserva suas
+ * posições com um incremento atômico, grava os dados no bloco correspondente e
+ * marca as posições como confirmadas.
+ * </p>
+ *
+ * <p>
+ * O tamanho visível ({@link #size()}) só avança sobre posições confirmadas e
+ * contíguas, de modo que um leitor que observa o tamanho {@code n} enxerga
+ * todos os dados das posições {@code 0..n-1}, sem bloquear os escritores.
+ * </p>
+ *
+ * <p>
+ * Os blocos iniciais podem ser descartados ({@link #releaseBefore(int)}) para
+ * liberar memória; as posições não mudam, e as posições descartadas deixam de
+ * ser legíveis. O diretório de blocos é substituído a cada alteração, nunca
+ * modificado, de modo que uma visão que guardou o diretório
+ * ({@link #directory()}) continua lendo os seus blocos mesmo depois do descarte.
+ * </p>
+ *
+ * @param <C> o tipo de bloco que armazena os dados
+ */
+abstract class ChunkedAppendBuffer<C extends ChunkedAppendBuffer.Chunk> {
+    static final int FIRST_CHUNK_SHIFT = 4;
+    static final int FIRST_CHUNK_SIZE = 1 << FIRST_CHUNK_SHIFT;
+    static final int MAX_CHUNK_SHIFT = 14;
+    static final int MAX_CHUNK_SIZE = 1 << MAX_CHUNK_SHIFT;
+
+    private static final int GROWING_CHUNKS = MAX_CHUNK_SHIFT - FIRST_CHUNK_SHIFT + 1;
+    private static final int GROWING_SLOTS = FIRST_CHUNK_SIZE * ((1 << GROWING_CHUNKS) - 1);
+    private static final VarHandle COMMITTED = MethodHandles.arrayElementVarHandle(byte[].class);
+
+    private final AtomicReference<Object[]> directory = new AtomicReference<>(new Object[4]);
+    private final AtomicInteger reserved = new AtomicInteger();
+    private final AtomicInteger published = new AtomicInteger();
+    private volatile int firstRetained;
+    private volatile int releasedChunks;
+
+    /**
+     * Bloco de dados com a marcação de confirmação de cada posição.
+     */
+    abstract static class Chunk {
+        final byte[] committed;
+
+        Chunk(int capacity) {
+            this.committed = new byte[capacity];
+        }
+    }
+
+    /**
+     * Cria um bloco vazio com a capacidade informada.
+     *
+     * @param capacity a quantidade de posições do bloco
+     * @return o novo bloco
+     */
+    protected abstract C newChunk(int capacity);
+
+    /**
+     * Retorna a quantidade de posições confirmadas e visíveis aos leitores.
+     *
+     * @return o tamanho visível
+     */
+    public final int size() {
+        return published.get();
+    }
+
+    public final boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Retorna a primeira posição ainda legível; as anteriores foram descartadas
+     * por {@link #releaseBefore(int)}.
+     *
+     * @return a primeira posição retida
+     */
+    public final int firstIndex() {
+        return firstRetained;
+    }
+
+    /**
+     * Retorna a quantidade de posições já reservadas, confirmadas ou não.
+     *
+     * @return o total de posições reservadas
+     */
+    protected final int reservedSize() {
+        return reserved.get();
+    }
+
+    /**
+     * Reserva {@code count} posições consecutivas, criando os blocos necessários.
+     *
+     * @param count a quantidade de posições
+     * @return a primeira posição reservada
+     * @throws IllegalStateException se a capacidade máxima for excedida
+     */
+    protected final int reserve(int count) {
+        int first = reserved.getAndAdd(count);
+        if (first < 0 || first + count < first) {
+            throw new IllegalStateException("Capacidade máxima do histórico excedida.");
+        }
+        if (count > 0) {
+            ensureChunks(chunkIndex(first + count - 1));
+        }
+        return first;
+    }
+
+    /**
+     * Marca as posições como confirmadas e avança o tamanho visível.
+     *
+     * @param first a primeira posição gravada
+     * @param count a quantidade de posições gravadas
+     */
+    protected final void commit(int first, int count) {
+        int slot = first;
+        int end = first + count;
+        while (slot < end) {
+            int chunkIndex = chunkIndex(slot);
+            Chunk chunk = chunk(chunkIndex);
+            int offset = chunkOffset(slot);
+            int length = Math.min(end - slot, chunkCapacity(chunkIndex) - offset);
+            for (int i = offset; i < offset + length; i++) {
+                COMMITTED.setRelease(chunk.committed, i, (byte) 1);
+            }
+            slot += length;
+        }
+        // Dekker: sem a barreira, a leitura das marcas dos outros escritores em advance() pode ser antecipada
+        // para antes da gravação das nossas; dois escritores simultâneos deixariam de ver um ao outro e ambos
+        // sairiam sem avançar o tamanho visível.
+        VarHandle.fullFence();
+        advance();
+    }
+
+    /**
+     * Descarta os blocos anteriores à posição informada, que deve ser o início
+     * de um bloco e já estar visível. Deve ser chamado por um único descartador
+     * de cada vez.
+     *
+     * @param slot a nova primeira posição retida
+     * @throws IllegalArgumentException se a posição não for o início de um bloco
+     *                                  visível
+     */
+    protected final void releaseBefore(int slot) {
+        int chunkIndex = chunkIndex(slot);
+        if (slot > size() || slot < firstRetained || chunkStart(chunkIndex) != slot) {
+            throw new IllegalArgumentException("Posição de descarte inválida: " + slot + ".");
+        }
+        // A primeira posição é publicada antes do novo diretório: quem lê o diretório antigo ainda tem os blocos.
+        firstRetained = slot;
+        releasedChunks = chunkIndex;
+        while (true) {
+            Object[] current = directory.get();
+            Object[] updated = Arrays.copyOf(current, current.length);
+            Arrays.fill(updated, 0, Math.min(chunkIndex, updated.length), null);
+            if (directory.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Retorna o diretório de blocos atual. O vetor nunca é modificado depois de
+     * publicado e mantém acessíveis os blocos que existiam quando foi lido.
+     */
+    protected final Object[] directory() {
+        return directory.get();
+    }
+
+    /**
+     * Retorna o bloco de índice informado de um diretório obtido por
+     * {@link #directory()}.
+     */
+    @SuppressWarnings("unchecked")
+    protected static <C> C chunkIn(Object[] directory, int chunkIndex) {
+        return (C) directory[chunkIndex];
+    }
+
+    /**
+     * Retorna o bloco de índice informado, que deve ter sido criado por
+     * {@link #reserve(int)}.
+     */
+    @SuppressWarnings("unchecked")
+    protected final C chunk(int chunkIndex) {
+        return (C) directory.get()[chunkIndex];
+    }
+
+    protected final C chunkFor(int slot) {
+        return chunk(chunkIndex(slot));
+    }
+
+    protected final void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice " + index + " fora do histórico de tamanho " + size);
+        }
+    }
+
+    static int chunkIndex(int slot) {
+        if (slot < GROWING_SLOTS) {
+            return 31 - Integer.numberOfLeadingZeros((slot >>> FIRST_CHUNK_SHIFT) + 1);
+        }
+        return GROWING_CHUNKS + ((slot - GROWING_SLOTS) >>> MAX_CHUNK_SHIFT);
+    }
+
+    static int chunkOffset(int slot) {
+        if (slot < GROWING_SLOTS) {
+            return slot + FIRST_CHUNK_SIZE - (FIRST_CHUNK_SIZE << chunkIndex(slot));
+        }
+        return (slot - GROWING_SLOTS) & (MAX_CHUNK_SIZE - 1);
+    }
+
+    static int chunkStart(int chunkIndex) {
+        if (chunkIndex < GROWING_CHUNKS) {
+            return FIRST_CHUNK_SIZE * ((1 << chunkIndex) - 1);
+        }
+        return GROWING_SLOTS + ((chunkIndex - GROWING_CHUNKS) << MAX_CHUNK_SHIFT);
+    }
+
+    static int chunkCapacity(int chunkIndex) {
+        return chunkIndex < GROWING_CHUNKS ? FIRST_CHUNK_SIZE << chunkIndex : MAX_CHUNK_SIZE;
+    }
+
+    private void ensureChunks(int lastChunk) {
+        while (true) {
+            Object[] current = directory.get();
+            if (lastChunk < current.length && current[lastChunk] != null) {
+                return;
+            }
+            int length = lastChunk < current.length ? current.length : Math.max(lastChunk + 1, current.length * 2);
+            Object[] updated = Arrays.copyOf(current, length);
+            for (int i = releasedChunks; i <= lastChunk; i++) {
+                if (updated[i] == null) {
+                    updated[i] = newChunk(chunkCapacity(i));
+                }
+            }
+            if (directory.compareAndSet(current, updated)) {
+                return;
+            }
+        }
+    }
+
+    private void advance() {
+        while (true) {
+            int start = published.get();
+            int limit = reserved.get();
+            int end = start;
+            while (end < limit && isCommitted(end)) {
+                end++;
+            }
+            if (end == start || published.compareAndSet(start, end)) {
+                return;
+            }
+        }
+    }
+
+    private boolean isCommitted(int slot) {
+        // A posição pode ter sido reservada por outro escritor que ainda não criou o bloco.
+        Object[] chunks = directory.get();
+        int chunkIndex = chunkIndex(slot);
+        if (chunkIndex >= chunks.length || chunks[chunkIndex] == null) {
+            return false;
+        }
+        Chunk chunk = (Chunk) chunks[chunkIndex];
+        return (byte) COMMITTED.getAcquire(chunk.committed, chunkOffset(slot)) != 0;
+    }
+}
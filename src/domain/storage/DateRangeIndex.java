@@ -0,0 +1,225 @@
+package domain.storage;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Índice ordenado por data sobre as posições de um histórico que só cresce ao
+ * final ({@link WeatherDataStore} ou {@link AppendLog}).
+ * <p>
+ * Cada entrada combina a data (em dias desde a época) e a posição do registro
+ * em um único {@code long}, de modo que o vetor de entradas fica ordenado por
+ * data e, dentro de uma mesma data, pela ordem de inserção. As consultas por
+ * intervalo localizam os limites por busca binária e devolvem uma visão que lê
+ * os registros sob demanda, em {@code O(log n + k)}.
+ * </p>
+ *
+ * <p>
+ * O índice é atualizado na consulta, com os registros inseridos desde a
+ * anterior. Registros que chegam em ordem de data (o caso comum, como as
+ * coletas do sensor) são acrescentados ao final do vetor; registros com datas
+ * retroativas são ordenados e intercalados em um novo vetor. As consultas
+ * podem ser feitas por várias threads ao mesmo tempo, inclusive durante novas
+ * inserções. Quando o início do histórico é descartado, as suas entradas são
+ * removidas por {@link #retainFrom(int)}.
+ * </p>
+ */
+public final class DateRangeIndex {
+    private static final long SLOT_MASK = 0xFFFFFFFFL;
+
+    private final IntSupplier size;
+    private final IntUnaryOperator epochDayOfSlot;
+    private volatile Entries entries = new Entries(new long[0], 0, 0);
+
+    private static final class Entries {
+        private final long[] keys;
+        private final int count;
+        private final int indexedSlots;
+
+        private Entries(long[] keys, int count, int indexedSlots) {
+            this.keys = keys;
+            this.count = count;
+            this.indexedSlots = indexedSlots;
+        }
+    }
+
+    /**
+     * Cria um índice sobre um histórico.
+     *
+     * @param size           fornece a quantidade de registros visíveis no histórico
+     * @param epochDayOfSlot retorna a data, em dias desde a época, do registro na
+     *                       posição informada
+     */
+    public DateRangeIndex(IntSupplier size, IntUnaryOperator epochDayOfSlot) {
+        this.size = size;
+        this.epochDayOfSlot = epochDayOfSlot;
+    }
+
+    /**
+     * Retorna uma visão, ordenada por data, dos registros com data entre
+     * {@code fromEpochDay} e {@code toEpochDay}, inclusive. Os registros são
+     * lidos com {@code reader} à medida que são acessados, e inserções
+     * posteriores não alteram a visão.
+     *
+     * @param fromEpochDay data inicial, em dias desde a época
+     * @param toEpochDay   data final, em dias desde a época
+     * @param reader       lê o registro de uma posição do histórico
+     * @param <T>          o tipo dos registros
+     * @return a visão dos registros no intervalo, vazia se
+     *         {@code fromEpochDay > toEpochDay}
+     */
+    public <T> List<T> between(int fromEpochDay, int toEpochDay, IntFunction<T> reader) {
+        Entries current = refresh();
+        if (fromEpochDay > toEpochDay) {
+            return List.of();
+        }
+        int first = lowerBound(current, key(fromEpochDay, 0));
+        int end = endOf(current, toEpochDay);
+        return new RangeView<>(current.keys, first, end - first, reader);
+    }
+
+    /**
+     * Conta os registros com data entre {@code fromEpochDay} e
+     * {@code toEpochDay}, inclusive, sem lê-los.
+     *
+     * @param fromEpochDay data inicial, em dias desde a época
+     * @param toEpochDay   data final, em dias desde a época
+     * @return a quantidade de registros no intervalo
+     */
+    public int countBetween(int fromEpochDay, int toEpochDay) {
+        Entries current = refresh();
+        if (fromEpochDay > toEpochDay) {
+            return 0;
+        }
+        return endOf(current, toEpochDay) - lowerBound(current, key(fromEpochDay, 0));
+    }
+
+    /**
+     * Remove as entradas das posições anteriores a {@code firstSlot}, que foram
+     * descartadas do histórico. As visões já devolvidas não são alteradas.
+     *
+     * @param firstSlot a primeira posição retida no histórico
+     */
+    public synchronized void retainFrom(int firstSlot) {
+        Entries current = entries;
+        int count = 0;
+        for (int i = 0; i < current.count; i++) {
+            if ((int) current.keys[i] >= firstSlot) {
+                count++;
+            }
+        }
+        long[] keys = new long[count];
+        int kept = 0;
+        for (int i = 0; i < current.count; i++) {
+            if ((int) current.keys[i] >= firstSlot) {
+                keys[kept++] = current.keys[i];
+            }
+        }
+        entries = new Entries(keys, count, Math.max(current.indexedSlots, firstSlot));
+    }
+
+    private Entries refresh() {
+        Entries current = entries;
+        if (current.indexedSlots >= size.getAsInt()) {
+            return current;
+        }
+        synchronized (this) {
+            current = entries;
+            int available = size.getAsInt();
+            if (current.indexedSlots >= available) {
+                return current;
+            }
+            int added = available - current.indexedSlots;
+            long[] tail = new long[added];
+            long previous = current.count > 0 ? current.keys[current.count - 1] : Long.MIN_VALUE;
+            boolean ordered = true;
+            for (int i = 0; i < added; i++) {
+                int slot = current.indexedSlots + i;
+                tail[i] = key(epochDayOfSlot.applyAsInt(slot), slot);
+                ordered &= tail[i] > previous;
+                previous = tail[i];
+            }
+
+            int count = current.count + added;
+            long[] keys;
+            if (ordered) {
+                // As posições além de current.count não são vistas pelas visões anteriores.
+                keys = current.keys.length >= count ? current.keys
+                        : Arrays.copyOf(current.keys, Math.max(count, current.keys.length * 2));
+                System.arraycopy(tail, 0, keys, current.count, added);
+            } else {
+                Arrays.sort(tail);
+                keys = new long[Math.max(count, current.keys.length)];
+                merge(current.keys, current.count, tail, keys);
+            }
+            Entries updated = new Entries(keys, count, available);
+            entries = updated;
+            return updated;
+        }
+    }
+
+    private static void merge(long[] left, int leftCount, long[] right, long[] target) {
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < leftCount && j < right.length) {
+            target[k++] = left[i] <= right[j] ? left[i++] : right[j++];
+        }
+        System.arraycopy(left, i, target, k, leftCount - i);
+        System.arraycopy(right, j, target, k + leftCount - i, right.length - j);
+    }
+
+    private static int lowerBound(Entries entries, long key) {
+        int low = 0;
+        int high = entries.count;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (entries.keys[middle] < key) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static int endOf(Entries entries, int toEpochDay) {
+        return toEpochDay == Integer.MAX_VALUE ? entries.count : lowerBound(entries, key(toEpochDay + 1, 0));
+    }
+
+    private static long key(int epochDay, int slot) {
+        return ((long) epochDay << 32) | (slot & SLOT_MASK);
+    }
+
+    private static final class RangeView<T> extends AbstractList<T> implements RandomAccess {
+        private final long[] keys;
+        private final int first;
+        private final int size;
+        private final IntFunction<T> reader;
+
+        private RangeView(long[] keys, int first, int size, IntFunction<T> reader) {
+            this.keys = keys;
+            this.first = first;
+            this.size = size;
+            this.reader = reader;
+        }
+
+        @Override
+        public T get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Índice " + index + " fora do intervalo de tamanho " + size);
+            }
+            return reader.apply((int) keys[first + index]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
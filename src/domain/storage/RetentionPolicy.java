@@ -0,0 +1,94 @@
+package domain.storage;
+
+/**
+ * Configuração da retenção do histórico climático bruto de uma área.
+ * <p>
+ * As leituras mais antigas que {@code rawDays} dias, ou as que excederem
+ * {@code maxRawReadings} leituras brutas, podem ser compactadas em agregados
+ * diários (quantidade, soma, mínimo e máximo de cada métrica) e descartadas do
+ * armazenamento bruto. {@link #UNLIMITED} desativa cada um dos limites. As
+ * instâncias são imutáveis e podem ser compartilhadas entre áreas.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     area.setRetentionPolicy(new RetentionPolicy(90, 1_000_000));
+ * </pre>
+ */
+public class RetentionPolicy {
+    /** Valor que desativa um limite de retenção. */
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private static final RetentionPolicy KEEP_ALL = new RetentionPolicy(UNLIMITED, UNLIMITED);
+
+    private final int rawDays;
+    private final int maxRawReadings;
+
+    /**
+     * Cria uma política de retenção.
+     *
+     * @param rawDays        quantidade de dias, contando o dia de referência,
+     *                       cujas leituras são mantidas brutas, ou
+     *                       {@link #UNLIMITED}
+     * @param maxRawReadings quantidade máxima de leituras brutas por área, ou
+     *                       {@link #UNLIMITED}
+     * @throws IllegalArgumentException se algum limite não for positivo
+     */
+    public RetentionPolicy(int rawDays, int maxRawReadings) {
+        if (rawDays <= 0) {
+            throw new IllegalArgumentException("A quantidade de dias mantidos deve ser positiva.");
+        }
+        if (maxRawReadings <= 0) {
+            throw new IllegalArgumentException("A quantidade máxima de leituras brutas deve ser positiva.");
+        }
+        this.rawDays = rawDays;
+        this.maxRawReadings = maxRawReadings;
+    }
+
+    /**
+     * Retorna a política padrão, que mantém todo o histórico bruto.
+     *
+     * @return a política sem limites compartilhada
+     */
+    public static RetentionPolicy keepAll() {
+        return KEEP_ALL;
+    }
+
+    public int getRawDays() {
+        return rawDays;
+    }
+
+    public int getMaxRawReadings() {
+        return maxRawReadings;
+    }
+
+    /**
+     * Indica se a política mantém todo o histórico bruto.
+     *
+     * @return {@code true} se nenhum dos limites estiver ativo
+     */
+    public boolean isKeepAll() {
+        return rawDays == UNLIMITED && maxRawReadings == UNLIMITED;
+    }
+
+    /**
+     * Calcula o primeiro dia mantido bruto para um dia de referência.
+     *
+     * @param todayEpochDay dia de referência, em dias desde a época
+     * @return o primeiro dia mantido, ou {@link Integer#MIN_VALUE} se não houver
+     *         limite de dias
+     */
+    public int cutoffEpochDay(int todayEpochDay) {
+        if (rawDays == UNLIMITED) {
+            return Integer.MIN_VALUE;
+        }
+        return (int) Math.max(Integer.MIN_VALUE, (long) todayEpochDay - rawDays + 1);
+    }
+
+    @Override
+    public String toString() {
+        return (rawDays == UNLIMITED ? "todos os dias" : rawDays + " dias") + ", "
+                + (maxRawReadings == UNLIMITED ? "sem limite de leituras" : "até " + maxRawReadings + " leituras");
+    }
+}
@@ -0,0 +1,707 @@
+package domain.storage;
+
+import domain.entities.WheatherData;
+import domain.risk.RiskModel;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Armazena o histórico de dados climáticos de uma área em formato colunar.
+ * <p>
+ * Em vez de manter um objeto {@link WheatherData} (e um {@link LocalDate}) por
+ * leitura, cada medição é guardada em vetores primitivos: um {@code int[]}
+ * para os IDs, um {@code int[]} para a data em dias desde a época
+ * ({@link LocalDate#toEpochDay()}) e um {@code double[]} para cada medição
+ * (temperatura, umidade e vento).
+ * </p>
+ *
+ * <p>
+ * Os objetos {@link WheatherData} são criados apenas sob demanda, pelas visões
+ * retornadas por {@link #get(int)} e {@link #asList()}.
+ * </p>
+ *
+ * <p>
+ * Vários produtores podem inserir leituras ao mesmo tempo sem bloqueio (veja
+ * {@link ChunkedAppendBuffer}); os leitores obtêm visões consistentes do
+ * histórico ({@link #view()}) sem bloquear os escritores.
+ * </p>
+ *
+ * <p>
+ * As leituras mais antigas podem ser descartadas em blocos inteiros
+ * ({@link #discardBefore(int)}), depois de resumidas por quem as descarta. As
+ * posições das leituras retidas não mudam: o histórico legível vai de
+ * {@link #firstIndex()} a {@code size() - 1}.
+ * </p>
+ *
+ * <ul>
+ * <li><b>Antes</b> ({@code ArrayList<WheatherData>}): cerca de
+ * {@value #LEGACY_BYTES_PER_READING} bytes por leitura.</li>
+ * <li><b>Depois</b> (colunar): {@value #BYTES_PER_READING} bytes por leitura,
+ * mais a folga do último bloco.</li>
+ * </ul>
+ */
+public class WeatherDataStore extends ChunkedAppendBuffer<WeatherDataStore.Columns> {
+    /**
+     * Custo estimado de uma leitura no modelo antigo (JVM de 64 bits com
+     * ponteiros comprimidos): 48 bytes do {@link WheatherData}, 24 bytes do
+     * {@link LocalDate} e 4 bytes da referência na {@code ArrayList}.
+     */
+    public static final int LEGACY_BYTES_PER_READING = 76;
+
+    /**
+     * Custo de uma leitura no armazenamento colunar: 2 {@code int}, 3
+     * {@code double} e 1 byte de confirmação.
+     */
+    public static final int BYTES_PER_READING = 2 * Integer.BYTES + 3 * Double.BYTES + 1;
+
+    /** Valor usado na coluna de datas quando a leitura não possui data. */
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    private final AtomicInteger latestIndex = new AtomicInteger(-1);
+
+    /**
+     * Grava medições diretamente nas colunas de um bloco do histórico. Pode ser
+     * chamado várias vezes em uma mesma inserção em lote, uma para cada bloco
+     * envolvido, na ordem das posições. Não deve lançar exceções, pois as
+     * posições já estão reservadas.
+     */
+    @FunctionalInterface
+    public interface ColumnWriter {
+        /**
+         * Preenche as posições {@code offset..offset+length-1} das colunas.
+         *
+         * @param temperatures coluna de temperaturas
+         * @param humidities   coluna de umidades
+         * @param windSpeeds   coluna de velocidades do vento
+         * @param epochDays    coluna de datas, em dias desde a época
+         * @param offset       primeira posição a preencher
+         * @param length       quantidade de posições a preencher
+         */
+        void write(double[] temperatures, double[] humidities, double[] windSpeeds, int[] epochDays, int offset,
+                int length);
+    }
+
+    /**
+     * Recebe as medições do histórico diretamente das colunas de cada bloco,
+     * sem cópias. As colunas só podem ser lidas durante a chamada.
+     */
+    @FunctionalInterface
+    public interface ColumnReader {
+        /**
+         * Lê as posições {@code offset..offset+length-1} das colunas.
+         *
+         * @param temperatures coluna de temperaturas
+         * @param humidities   coluna de umidades
+         * @param windSpeeds   coluna de velocidades do vento
+         * @param epochDays    coluna de datas, em dias desde a época
+         * @param offset       primeira posição a ler
+         * @param length       quantidade de posições a ler
+         */
+        void read(double[] temperatures, double[] humidities, double[] windSpeeds, int[] epochDays, int offset,
+                int length);
+    }
+
+    static final class Columns extends ChunkedAppendBuffer.Chunk {
+        final int[] ids;
+        final int[] epochDays;
+        final double[] temperatures;
+        final double[] humidities;
+        final double[] windSpeeds;
+
+        Columns(int capacity) {
+            super(capacity);
+            this.ids = new int[capacity];
+            this.epochDays = new int[capacity];
+            this.temperatures = new double[capacity];
+            this.humidities = new double[capacity];
+            this.windSpeeds = new double[capacity];
+        }
+    }
+
+    @Override
+    protected Columns newChunk(int capacity) {
+        return new Columns(capacity);
+    }
+
+    /**
+     * Adiciona uma leitura ao final do histórico.
+     *
+     * @param data os dados climáticos a serem armazenados
+     * @return a posição ocupada pela leitura
+     */
+    public int add(WheatherData data) {
+        return add(data.getId(), data.getTemperature(), data.getHumidity(), data.getWindSpeed(),
+                toEpochDay(data.getDate()));
+    }
+
+    /**
+     * Adiciona uma leitura ao final do histórico a partir dos valores primitivos.
+     *
+     * @param id          identificador da leitura
+     * @param temperature temperatura em graus Celsius
+     * @param humidity    umidade relativa do ar em porcentagem
+     * @param windSpeed   velocidade do vento em km/h
+     * @param epochDay    data da leitura em dias desde a época, ou {@link #NO_DATE}
+     * @return a posição ocupada pela leitura
+     */
+    public int add(int id, double temperature, double humidity, double windSpeed, int epochDay) {
+        int slot = reserve(1);
+        Columns columns = chunkFor(slot);
+        int offset = chunkOffset(slot);
+        columns.ids[offset] = id;
+        columns.epochDays[offset] = epochDay;
+        columns.temperatures[offset] = temperature;
+        columns.humidities[offset] = humidity;
+        columns.windSpeeds[offset] = windSpeed;
+        // A leitura mais recente é atualizada antes da publicação: assim, toda
+        // leitura visível já foi comparada, e o descarte nunca remove a mais recente.
+        updateLatest(slot);
+        commit(slot, 1);
+        return slot;
+    }
+
+    /**
+     * Insere {@code count} leituras consecutivas em uma única reserva. As
+     * medições são gravadas por {@code writer} diretamente nas colunas, sem
+     * cópias intermediárias, e recebem os IDs {@code firstId} a
+     * {@code firstId + count - 1}.
+     *
+     * @param firstId o ID da primeira leitura
+     * @param count   a quantidade de leituras
+     * @param writer  quem grava as medições nas colunas
+     * @return a posição da primeira leitura inserida
+     */
+    public int append(int firstId, int count, ColumnWriter writer) {
+        if (count < 0) {
+            throw new IllegalArgumentException("A quantidade de leituras não pode ser negativa.");
+        }
+        int first = reserve(count);
+        int slot = first;
+        int end = first + count;
+        int id = firstId;
+        while (slot < end) {
+            int chunkIndex = chunkIndex(slot);
+            Columns columns = chunk(chunkIndex);
+            int offset = chunkOffset(slot);
+            int length = Math.min(end - slot, chunkCapacity(chunkIndex) - offset);
+            writer.write(columns.temperatures, columns.humidities, columns.windSpeeds, columns.epochDays, offset,
+                    length);
+            for (int i = offset; i < offset + length; i++) {
+                columns.ids[i] = id++;
+            }
+            slot += length;
+        }
+        if (count > 0) {
+            updateLatest(end - 1);
+            commit(first, count);
+        }
+        return first;
+    }
+
+    /**
+     * Insere em lote as leituras dos vetores paralelos, copiando-as para as
+     * colunas do histórico.
+     *
+     * @param firstId      o ID da primeira leitura
+     * @param temperatures temperaturas em graus Celsius
+     * @param humidities   umidades relativas em porcentagem
+     * @param windSpeeds   velocidades do vento em km/h
+     * @param epochDays    datas em dias desde a época
+     * @param offset       posição inicial nos vetores
+     * @param length       quantidade de leituras
+     * @return a posição da primeira leitura inserida
+     * @throws IndexOutOfBoundsException se algum vetor não comportar o intervalo
+     */
+    public int addAll(int firstId, double[] temperatures, double[] humidities, double[] windSpeeds,
+            int[] epochDays, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, temperatures.length);
+        Objects.checkFromIndexSize(offset, length, humidities.length);
+        Objects.checkFromIndexSize(offset, length, windSpeeds.length);
+        Objects.checkFromIndexSize(offset, length, epochDays.length);
+        return append(firstId, length, new ColumnWriter() {
+            private int source = offset;
+
+            @Override
+            public void write(double[] columnTemperatures, double[] columnHumidities, double[] columnWindSpeeds,
+                    int[] columnEpochDays, int columnOffset, int columnLength) {
+                System.arraycopy(temperatures, source, columnTemperatures, columnOffset, columnLength);
+                System.arraycopy(humidities, source, columnHumidities, columnOffset, columnLength);
+                System.arraycopy(windSpeeds, source, columnWindSpeeds, columnOffset, columnLength);
+                System.arraycopy(epochDays, source, columnEpochDays, columnOffset, columnLength);
+                source += columnLength;
+            }
+        });
+    }
+
+    /**
+     * Insere em lote leituras com IDs arbitrários, como as lidas de um
+     * snapshot, copiando-as para as colunas do histórico.
+     *
+     * @param ids          IDs das leituras
+     * @param temperatures temperaturas em graus Celsius
+     * @param humidities   umidades relativas em porcentagem
+     * @param windSpeeds   velocidades do vento em km/h
+     * @param epochDays    datas em dias desde a época
+     * @param offset       posição inicial nos vetores
+     * @param length       quantidade de leituras
+     * @return a posição da primeira leitura inserida
+     * @throws IndexOutOfBoundsException se algum vetor não comportar o intervalo
+     */
+    public int addAll(int[] ids, double[] temperatures, double[] humidities, double[] windSpeeds, int[] epochDays,
+            int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, ids.length);
+        Objects.checkFromIndexSize(offset, length, temperatures.length);
+        Objects.checkFromIndexSize(offset, length, humidities.length);
+        Objects.checkFromIndexSize(offset, length, windSpeeds.length);
+        Objects.checkFromIndexSize(offset, length, epochDays.length);
+        int first = reserve(length);
+        int slot = first;
+        int end = first + length;
+        int source = offset;
+        int newest = offset;
+        while (slot < end) {
+            int chunkIndex = chunkIndex(slot);
+            Columns columns = chunk(chunkIndex);
+            int chunkOffset = chunkOffset(slot);
+            int count = Math.min(end - slot, chunkCapacity(chunkIndex) - chunkOffset);
+            System.arraycopy(ids, source, columns.ids, chunkOffset, count);
+            System.arraycopy(temperatures, source, columns.temperatures, chunkOffset, count);
+            System.arraycopy(humidities, source, columns.humidities, chunkOffset, count);
+            System.arraycopy(windSpeeds, source, columns.windSpeeds, chunkOffset, count);
+            System.arraycopy(epochDays, source, columns.epochDays, chunkOffset, count);
+            for (int i = source; i < source + count; i++) {
+                if (isNewer(ids[i], epochDays[i], ids[newest], epochDays[newest])) {
+                    newest = i;
+                }
+            }
+            slot += count;
+            source += count;
+        }
+        if (length > 0) {
+            updateLatest(first + newest - offset);
+            commit(first, length);
+        }
+        return first;
+    }
+
+    /**
+     * Copia as colunas das leituras visíveis {@code first} a
+     * {@code first + count - 1} para os vetores informados, bloco a bloco.
+     *
+     * @param first        posição da primeira leitura
+     * @param count        quantidade de leituras
+     * @param ids          vetor que recebe os IDs
+     * @param temperatures vetor que recebe as temperaturas
+     * @param humidities   vetor que recebe as umidades
+     * @param windSpeeds   vetor que recebe as velocidades do vento
+     * @param epochDays    vetor que recebe as datas
+     * @param offset       posição inicial nos vetores de destino
+     * @throws IndexOutOfBoundsException se o intervalo não estiver visível, já
+     *                                   tiver sido descartado ou não couber nos
+     *                                   vetores
+     */
+    public void copyTo(int first, int count, int[] ids, double[] temperatures, double[] humidities,
+            double[] windSpeeds, int[] epochDays, int offset) {
+        View view = view();
+        view.copyTo(first - view.first, count, ids, temperatures, humidities, windSpeeds, epochDays, offset);
+    }
+
+    /**
+     * Retorna uma visão das leituras inseridas por uma chamada a
+     * {@link #append(int, int, ColumnWriter)} ou
+     * {@link #addAll(int, double[], double[], double[], int[], int, int)}, mesmo
+     * que leituras anteriores de outros produtores ainda não estejam visíveis.
+     *
+     * @param first a posição retornada pela inserção
+     * @param count a quantidade de leituras inseridas
+     * @return a visão das leituras inseridas
+     */
+    public List<WheatherData> slice(int first, int count) {
+        Objects.checkFromIndexSize(first, count, reservedSize());
+        return new View(directory(), first, first + count).asList();
+    }
+
+    /**
+     * Retorna a leitura mais recente, mantida a cada inserção.
+     * <p>
+     * A leitura mais recente é a de maior ID; em caso de empate, vence a de data
+     * mais recente e, persistindo o empate, a primeira registrada. Inserções fora
+     * de ordem não alteram o resultado.
+     * </p>
+     *
+     * @return a leitura mais recente, ou {@code null} se o histórico estiver vazio
+     */
+    public WheatherData getLatest() {
+        while (true) {
+            int latest = latestIndex.get();
+            if (latest < 0) {
+                return null;
+            }
+            // Um bloco ausente indica que a leitura deixou de ser a mais recente e
+            // foi descartada depois de lida; basta ler a nova.
+            Object[] chunks = directory();
+            if (chunkIn(chunks, chunkIndex(latest)) != null) {
+                return readSlot(chunks, latest);
+            }
+        }
+    }
+
+    /**
+     * Retorna a posição da leitura mais recente (veja {@link #getLatest()}).
+     *
+     * @return a posição da leitura mais recente, ou {@code -1} se o histórico
+     *         estiver vazio
+     */
+    public int getLatestIndex() {
+        return latestIndex.get();
+    }
+
+    public int getId(int index) {
+        return retainedChunk(index).ids[chunkOffset(index)];
+    }
+
+    public int getEpochDay(int index) {
+        return retainedChunk(index).epochDays[chunkOffset(index)];
+    }
+
+    public double getTemperature(int index) {
+        return retainedChunk(index).temperatures[chunkOffset(index)];
+    }
+
+    public double getHumidity(int index) {
+        return retainedChunk(index).humidities[chunkOffset(index)];
+    }
+
+    public double getWindSpeed(int index) {
+        return retainedChunk(index).windSpeeds[chunkOffset(index)];
+    }
+
+    /**
+     * Calcula o nível de risco de todas as leituras retidas no histórico
+     * diretamente sobre as colunas, com o modelo informado.
+     *
+     * @param riskModel o modelo de risco da área
+     * @param out       vetor que recebe os níveis de risco, na ordem de inserção
+     * @param outOffset posição inicial em {@code out}
+     * @return a quantidade de leituras calculadas
+     * @throws IndexOutOfBoundsException se {@code out} não comportar o histórico
+     */
+    public int calculateRiskLevels(RiskModel riskModel, double[] out, int outOffset) {
+        View view = view();
+        Objects.checkFromIndexSize(outOffset, view.size(), out.length);
+        int[] target = {outOffset};
+        view.read(0, view.size(), (temperatures, humidities, windSpeeds, epochDays, offset, length) -> {
+            riskModel.calculate(temperatures, humidities, windSpeeds, offset, out, target[0], length);
+            target[0] += length;
+        });
+        return view.size();
+    }
+
+    /**
+     * Cria um {@link WheatherData} com os valores da leitura na posição informada.
+     *
+     * @param index posição da leitura no histórico
+     * @return um novo objeto com os dados da leitura
+     */
+    public WheatherData get(int index) {
+        Object[] chunks = directory();
+        checkRetained(index);
+        return readSlot(chunks, index);
+    }
+
+    /**
+     * Retorna uma visão somente leitura com as leituras retidas e visíveis no
+     * momento da chamada. Os elementos são criados à medida que são acessados,
+     * sem copiar o histórico, e inserções posteriores não alteram a visão.
+     *
+     * @return a lista de dados climáticos armazenados
+     */
+    public List<WheatherData> asList() {
+        return view().asList();
+    }
+
+    /**
+     * Retorna uma visão imutável das leituras retidas e visíveis no momento da
+     * chamada, de {@link #firstIndex()} a {@code size() - 1}. A visão continua
+     * legível mesmo que essas leituras sejam descartadas depois.
+     *
+     * @return a visão do histórico
+     */
+    public View view() {
+        // O diretório é lido antes da primeira posição: se um descarte acontecer entre as duas leituras, o
+        // diretório ainda contém os blocos descartados.
+        Object[] chunks = directory();
+        int first = firstIndex();
+        return new View(chunks, first, Math.max(first, size()));
+    }
+
+    /**
+     * Calcula até onde o histórico pode ser descartado: a maior posição no
+     * início de um bloco tal que os blocos anteriores só tenham leituras de
+     * antes de {@code cutoffEpochDay}, ou cujo descarte seja necessário para
+     * reter no máximo {@code maxRetained} leituras. Uma leitura sem data não
+     * fica antiga: o seu bloco só é descartado pelo limite de leituras. Nunca
+     * inclui o bloco da leitura mais recente.
+     *
+     * @param cutoffEpochDay primeiro dia cujas leituras devem ser retidas
+     * @param maxRetained    máximo de leituras retidas, ou
+     *                       {@link Integer#MAX_VALUE} para não limitar
+     * @return a nova primeira posição; igual a {@link #firstIndex()} se nada
+     *         puder ser descartado
+     */
+    public int discardBoundary(int cutoffEpochDay, int maxRetained) {
+        Object[] chunks = directory();
+        int boundary = firstIndex();
+        int size = size();
+        int latest = latestIndex.get();
+        while (boundary < size) {
+            int chunkIndex = chunkIndex(boundary);
+            int end = chunkStart(chunkIndex) + chunkCapacity(chunkIndex);
+            if (end > size || (latest >= boundary && latest < end)) {
+                break;
+            }
+            if (size - boundary <= maxRetained) {
+                Columns columns = chunkIn(chunks, chunkIndex);
+                boolean retained = false;
+                for (int day : columns.epochDays) {
+                    if (day >= cutoffEpochDay || day == WeatherDataStore.NO_DATE) {
+                        retained = true;
+                        break;
+                    }
+                }
+                if (retained) {
+                    break;
+                }
+            }
+            boundary = end;
+        }
+        return boundary;
+    }
+
+    /**
+     * Descarta as leituras anteriores à posição informada, obtida de
+     * {@link #discardBoundary(int, int)}. As visões já obtidas continuam
+     * legíveis.
+     *
+     * @param index a nova primeira posição retida
+     * @throws IllegalArgumentException se a posição não for o início de um bloco
+     *                                  visível
+     */
+    public void discardBefore(int index) {
+        if (index != firstIndex()) {
+            releaseBefore(index);
+        }
+    }
+
+    /**
+     * Converte uma data para o formato usado na coluna de datas.
+     *
+     * @param date a data a ser convertida, podendo ser {@code null}
+     * @return a data em dias desde a época, ou {@link #NO_DATE}
+     */
+    public static int toEpochDay(LocalDate date) {
+        return date == null ? NO_DATE : Math.toIntExact(date.toEpochDay());
+    }
+
+    /**
+     * Retorna o bloco de uma leitura retida. O diretório é lido antes da
+     * verificação: se ele ainda contém o bloco descartado, a leitura continua
+     * válida; se já não contém, a primeira posição retida já foi atualizada.
+     */
+    private Columns retainedChunk(int index) {
+        Object[] chunks = directory();
+        checkRetained(index);
+        return chunkIn(chunks, chunkIndex(index));
+    }
+
+    private void checkRetained(int index) {
+        if (index >= 0 && index < firstIndex()) {
+            throw new IndexOutOfBoundsException("A leitura " + index + " já foi descartada do histórico.");
+        }
+        checkIndex(index, size());
+    }
+
+    private static WheatherData readSlot(Object[] chunks, int slot) {
+        Columns columns = chunkIn(chunks, chunkIndex(slot));
+        int offset = chunkOffset(slot);
+        int day = columns.epochDays[offset];
+        return new WheatherData(columns.ids[offset], columns.temperatures[offset], columns.humidities[offset],
+                columns.windSpeeds[offset], day == NO_DATE ? null : LocalDate.ofEpochDay(day));
+    }
+
+    private void updateLatest(int slot) {
+        while (true) {
+            int current = latestIndex.get();
+            if (current >= 0 && !isNewer(slot, current)) {
+                return;
+            }
+            if (latestIndex.compareAndSet(current, slot)) {
+                return;
+            }
+        }
+    }
+
+    private boolean isNewer(int candidate, int current) {
+        Columns candidateColumns = chunkFor(candidate);
+        Columns currentColumns = chunkFor(current);
+        if (currentColumns == null) {
+            // A leitura comparada já foi substituída e descartada; a troca falhará.
+            return true;
+        }
+        int candidateOffset = chunkOffset(candidate);
+        int currentOffset = chunkOffset(current);
+        return isNewer(candidateColumns.ids[candidateOffset], candidateColumns.epochDays[candidateOffset],
+                currentColumns.ids[currentOffset], currentColumns.epochDays[currentOffset]);
+    }
+
+    /** Ordem da leitura mais recente: o maior ID e, entre IDs iguais, a data mais recente. */
+    private static boolean isNewer(int candidateId, int candidateEpochDay, int currentId, int currentEpochDay) {
+        if (candidateId != currentId) {
+            return candidateId > currentId;
+        }
+        return candidateEpochDay > currentEpochDay;
+    }
+
+    /**
+     * Visão imutável de um intervalo do histórico. Guarda o diretório de blocos
+     * do momento em que foi criada, de modo que continua legível mesmo que as
+     * leituras sejam descartadas do histórico depois.
+     */
+    public static final class View {
+        private final Object[] chunks;
+        private final int first;
+        private final int end;
+
+        private View(Object[] chunks, int first, int end) {
+            this.chunks = chunks;
+            this.first = first;
+            this.end = end;
+        }
+
+        /**
+         * Retorna a quantidade de leituras da visão.
+         *
+         * @return a quantidade de leituras
+         */
+        public int size() {
+            return end - first;
+        }
+
+        /**
+         * Retorna a posição, no histórico, da primeira leitura da visão.
+         *
+         * @return a posição da primeira leitura
+         */
+        public int getFirstIndex() {
+            return first;
+        }
+
+        /**
+         * Copia em colunas as leituras {@code index} a {@code index + count - 1}
+         * da visão, na ordem de inserção.
+         *
+         * @param index        posição da primeira leitura na visão
+         * @param count        quantidade de leituras
+         * @param ids          vetor que recebe os IDs
+         * @param temperatures vetor que recebe as temperaturas
+         * @param humidities   vetor que recebe as umidades
+         * @param windSpeeds   vetor que recebe as velocidades do vento
+         * @param epochDays    vetor que recebe as datas
+         * @param offset       posição inicial nos vetores de destino
+         * @throws IndexOutOfBoundsException se o intervalo não estiver na visão ou
+         *                                   não couber nos vetores
+         */
+        public void copyTo(int index, int count, int[] ids, double[] temperatures, double[] humidities,
+                double[] windSpeeds, int[] epochDays, int offset) {
+            Objects.checkFromIndexSize(index, count, size());
+            Objects.checkFromIndexSize(offset, count, ids.length);
+            Objects.checkFromIndexSize(offset, count, temperatures.length);
+            Objects.checkFromIndexSize(offset, count, humidities.length);
+            Objects.checkFromIndexSize(offset, count, windSpeeds.length);
+            Objects.checkFromIndexSize(offset, count, epochDays.length);
+            int slot = first + index;
+            int stop = slot + count;
+            int target = offset;
+            while (slot < stop) {
+                int chunkIndex = chunkIndex(slot);
+                Columns columns = chunkIn(chunks, chunkIndex);
+                int chunkOffset = chunkOffset(slot);
+                int length = Math.min(stop - slot, chunkCapacity(chunkIndex) - chunkOffset);
+                System.arraycopy(columns.ids, chunkOffset, ids, target, length);
+                System.arraycopy(columns.temperatures, chunkOffset, temperatures, target, length);
+                System.arraycopy(columns.humidities, chunkOffset, humidities, target, length);
+                System.arraycopy(columns.windSpeeds, chunkOffset, windSpeeds, target, length);
+                System.arraycopy(columns.epochDays, chunkOffset, epochDays, target, length);
+                slot += length;
+                target += length;
+            }
+        }
+
+        /**
+         * Entrega as medições das leituras {@code index} a
+         * {@code index + count - 1} da visão diretamente das colunas, bloco a
+         * bloco.
+         *
+         * @param index  posição da primeira leitura na visão
+         * @param count  quantidade de leituras
+         * @param reader quem lê as colunas
+         * @throws IndexOutOfBoundsException se o intervalo não estiver na visão
+         */
+        public void read(int index, int count, ColumnReader reader) {
+            Objects.checkFromIndexSize(index, count, size());
+            int slot = first + index;
+            int stop = slot + count;
+            while (slot < stop) {
+                int chunkIndex = chunkIndex(slot);
+                Columns columns = chunkIn(chunks, chunkIndex);
+                int chunkOffset = chunkOffset(slot);
+                int length = Math.min(stop - slot, chunkCapacity(chunkIndex) - chunkOffset);
+                reader.read(columns.temperatures, columns.humidities, columns.windSpeeds, columns.epochDays,
+                        chunkOffset, length);
+                slot += length;
+            }
+        }
+
+        /**
+         * Cria um {@link WheatherData} a partir da posição da leitura no
+         * histórico, como as posições guardadas por um {@link DateRangeIndex}.
+         *
+         * @param slot a posição da leitura no histórico
+         * @return um novo objeto com os dados da leitura
+         * @throws IndexOutOfBoundsException se a posição estiver fora da visão
+         */
+        public WheatherData getAt(int slot) {
+            if (slot < first || slot >= end) {
+                throw new IndexOutOfBoundsException("Posição " + slot + " fora da visão do histórico.");
+            }
+            return readSlot(chunks, slot);
+        }
+
+        /**
+         * Retorna as leituras da visão como uma lista, na ordem de inserção,
+         * criando os objetos à medida que são acessados.
+         *
+         * @return a lista de dados climáticos da visão
+         */
+        public List<WheatherData> asList() {
+            return new Readings();
+        }
+
+        private final class Readings extends AbstractList<WheatherData> implements RandomAccess {
+            @Override
+            public WheatherData get(int index) {
+                Objects.checkIndex(index, size());
+                return readSlot(chunks, first + index);
+            }
+
+            @Override
+            public int size() {
+                return View.this.size();
+            }
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package domain.time;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+/**
+ * Relógio que fornece a data atual sem criar um novo {@link LocalDate} a cada
+ * consulta.
+ * <p>
+ * A data é calculada uma vez e reaproveitada até a meia-noite seguinte (no fuso
+ * do {@link Clock} informado), quando é recalculada. Cada consulta custa apenas
+ * uma leitura de {@link Clock#millis()}, o que a torna adequada a caminhos
+ * executados milhões de vezes, como a coleta de dados dos sensores.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     LocalDate today = CachedDateClock.system().today();
+ * </pre>
+ */
+public final class CachedDateClock {
+    private static final CachedDateClock SYSTEM = new CachedDateClock(Clock.systemDefaultZone());
+
+    private final Clock clock;
+    private volatile CachedDay cachedDay;
+
+    public CachedDateClock(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("O relógio não pode ser nulo.");
+        }
+        this.clock = clock;
+        this.cachedDay = computeDay(clock.millis());
+    }
+
+    /**
+     * Retorna o relógio compartilhado baseado no relógio do sistema.
+     *
+     * @return o relógio do sistema com data em cache
+     */
+    public static CachedDateClock system() {
+        return SYSTEM;
+    }
+
+    /**
+     * Retorna a data atual.
+     *
+     * @return a data atual no fuso do relógio
+     */
+    public LocalDate today() {
+        return currentDay().date;
+    }
+
+    /**
+     * Retorna a data atual em dias desde a época.
+     *
+     * @return o valor de {@link LocalDate#toEpochDay()} da data atual
+     */
+    public int todayEpochDay() {
+        return currentDay().epochDay;
+    }
+
+    private CachedDay currentDay() {
+        CachedDay day = cachedDay;
+        long now = clock.millis();
+        if (now < day.startMillis || now >= day.endMillis) {
+            day = computeDay(now);
+            cachedDay = day;
+        }
+        return day;
+    }
+
+    private CachedDay computeDay(long now) {
+        ZoneId zone = clock.getZone();
+        LocalDate date = LocalDate.ofInstant(Instant.ofEpochMilli(now), zone);
+        long start = date.atStartOfDay(zone).toInstant().toEpochMilli();
+        long end = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        return new CachedDay(date, start, end);
+    }
+
+    private static final class CachedDay {
+        private final LocalDate date;
+        private final int epochDay;
+        private final long startMillis;
+        private final long endMillis;
+
+        private CachedDay(LocalDate date, long startMillis, long endMillis) {
+            this.date = date;
+            this.epochDay = Math.toIntExact(date.toEpochDay());
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+        }
+    }
+}
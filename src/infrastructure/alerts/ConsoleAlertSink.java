@@ -0,0 +1,37 @@
+package infrastructure.alerts;
+
+import domain.alerts.AlertDelivery;
+import domain.alerts.AlertSink;
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * Destino que escreve os alertas no console, com a mesma mensagem de
+ * {@link domain.entities.Alert#throwAlert(domain.entities.MonitoredArea)}.
+ * Cada lote é montado em memória e escrito com uma única chamada.
+ */
+public class ConsoleAlertSink implements AlertSink {
+    private final PrintStream out;
+
+    public ConsoleAlertSink(PrintStream out) {
+        if (out == null) {
+            throw new IllegalArgumentException("A saída do console não pode ser nula.");
+        }
+        this.out = out;
+    }
+
+    @Override
+    public String getName() {
+        return "console";
+    }
+
+    @Override
+    public void deliver(List<AlertDelivery> batch) {
+        StringBuilder text = new StringBuilder();
+        for (AlertDelivery delivery : batch) {
+            text.append(delivery.describe());
+        }
+        out.print(text);
+        out.flush();
+    }
+}
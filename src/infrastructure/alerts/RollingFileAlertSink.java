@@ -0,0 +1,118 @@
+package infrastructure.alerts;
+
+import domain.alerts.AlertDelivery;
+import domain.alerts.AlertSink;
+import domain.entities.Alert;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Destino que grava os alertas em arquivo, uma linha por alerta, com rotação
+ * por tamanho.
+ * <p>
+ * Os alertas são gravados em {@code <nome>.log} no diretório informado. Quando
+ * o arquivo ultrapassa {@code maxBytes}, ele passa a ser {@code <nome>.1.log},
+ * os anteriores são renumerados e apenas os {@code maxFiles} arquivos mais
+ * recentes são mantidos. Cada lote é gravado e descarregado de uma só vez.
+ * </p>
+ *
+ * <p>
+ * Formato da linha: {@code data;id da área;área;tipo;id do alerta;risco;ocorrências}.
+ * </p>
+ */
+public class RollingFileAlertSink implements AlertSink {
+    private final Path directory;
+    private final String baseName;
+    private final long maxBytes;
+    private final int maxFiles;
+    private Writer writer;
+    private long currentBytes;
+
+    /**
+     * Cria o destino, criando o diretório se necessário.
+     *
+     * @param directory diretório dos arquivos de alerta
+     * @param baseName  nome base dos arquivos
+     * @param maxBytes  tamanho a partir do qual o arquivo é rotacionado
+     * @param maxFiles  quantidade de arquivos rotacionados mantidos
+     * @throws IOException              se o diretório não puder ser criado
+     * @throws IllegalArgumentException se os limites não forem positivos
+     */
+    public RollingFileAlertSink(Path directory, String baseName, long maxBytes, int maxFiles) throws IOException {
+        if (maxBytes <= 0 || maxFiles <= 0) {
+            throw new IllegalArgumentException("O tamanho máximo e a quantidade de arquivos devem ser positivos.");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.baseName = baseName;
+        this.maxBytes = maxBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    @Override
+    public String getName() {
+        return "arquivo";
+    }
+
+    @Override
+    public void deliver(List<AlertDelivery> batch) throws IOException {
+        if (writer == null) {
+            open();
+        }
+        StringBuilder lines = new StringBuilder();
+        for (AlertDelivery delivery : batch) {
+            Alert alert = delivery.getAlert();
+            lines.append(alert.getIssueDate()).append(';')
+                    .append(delivery.getArea().getId()).append(';')
+                    .append(delivery.getArea().getName().replace(';', ',')).append(';')
+                    .append(alert.getClass().getSimpleName()).append(';')
+                    .append(alert.getId()).append(';')
+                    .append(String.format(Locale.ROOT, "%.2f", alert.getRiskLevel())).append(';')
+                    .append(alert.getOccurrences()).append('\n');
+        }
+        String text = lines.toString();
+        writer.write(text);
+        writer.flush();
+        currentBytes += text.getBytes(StandardCharsets.UTF_8).length;
+        if (currentBytes >= maxBytes) {
+            rotate();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private void open() throws IOException {
+        Path current = file(0);
+        writer = Files.newBufferedWriter(current, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+        currentBytes = Files.size(current);
+    }
+
+    private void rotate() throws IOException {
+        close();
+        Files.deleteIfExists(file(maxFiles));
+        for (int i = maxFiles - 1; i >= 0; i--) {
+            Path source = file(i);
+            if (Files.exists(source)) {
+                Files.move(source, file(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        open();
+    }
+
+    private Path file(int index) {
+        return directory.resolve(index == 0 ? baseName + ".log" : baseName + "." + index + ".log");
+    }
+}
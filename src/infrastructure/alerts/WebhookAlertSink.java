@@ -0,0 +1,111 @@
+package infrastructure.alerts;
+
+import domain.alerts.AlertDelivery;
+import domain.alerts.AlertSink;
+import domain.entities.Alert;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Destino que envia cada lote de alertas em uma única requisição
+ * {@code POST} para um endpoint HTTP (webhook), como um vetor JSON.
+ * <p>
+ * Respostas com status fora da faixa 2xx, erros de conexão e tempo esgotado
+ * são tratados como falha de entrega do lote.
+ * </p>
+ *
+ * <p>
+ * Exemplo do corpo enviado:
+ * </p>
+ *
+ * <pre>
+ * [{"alertId":3,"areaId":1,"area":"Parque","type":"AutomaticAlert","riskLevel":82.50,
+ *   "issueDate":"2025-06-01","occurrences":1}]
+ * </pre>
+ */
+public class WebhookAlertSink implements AlertSink {
+    private final URI endpoint;
+    private final Duration timeout;
+    private final HttpClient client;
+
+    public WebhookAlertSink(URI endpoint, Duration timeout) {
+        if (endpoint == null || timeout == null) {
+            throw new IllegalArgumentException("O endpoint e o tempo limite do webhook são obrigatórios.");
+        }
+        this.endpoint = endpoint;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    @Override
+    public String getName() {
+        return "webhook";
+    }
+
+    @Override
+    public void deliver(List<AlertDelivery> batch) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(timeout)
+                .header("Content-Type", "application/json; charset=utf-8")
+                .POST(HttpRequest.BodyPublishers.ofString(toJson(batch)))
+                .build();
+        HttpResponse<Void> response;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Envio do webhook interrompido.");
+        }
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("O webhook respondeu com status " + response.statusCode() + ".");
+        }
+    }
+
+    static String toJson(List<AlertDelivery> batch) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < batch.size(); i++) {
+            AlertDelivery delivery = batch.get(i);
+            Alert alert = delivery.getAlert();
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"alertId\":").append(alert.getId())
+                    .append(",\"areaId\":").append(delivery.getArea().getId())
+                    .append(",\"area\":");
+            appendString(json, delivery.getArea().getName());
+            json.append(",\"type\":");
+            appendString(json, alert.getClass().getSimpleName());
+            json.append(",\"riskLevel\":").append(String.format(Locale.ROOT, "%.2f", alert.getRiskLevel()))
+                    .append(",\"issueDate\":");
+            appendString(json, String.valueOf(alert.getIssueDate()));
+            json.append(",\"occurrences\":").append(alert.getOccurrences()).append('}');
+        }
+        return json.append(']').toString();
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,570 @@
+package infrastructure.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import domain.alerts.AlertDispatcher;
+import domain.alerts.AlertOutcome;
+import domain.entities.Alert;
+import domain.entities.AutomaticAlert;
+import domain.entities.IdRange;
+import domain.entities.ManualAlert;
+import domain.entities.MonitoredArea;
+import domain.entities.WheatherData;
+import domain.entities.WildFire;
+import domain.registry.AreaRegistry;
+import domain.risk.RiskCalculator;
+import domain.stats.FireActivity;
+import domain.storage.WeatherDataStore;
+import domain.time.CachedDateClock;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
+
+/**
+ * API HTTP local do sistema, sobre o servidor HTTP do JDK, para que vários
+ * operadores e outros sistemas usem as mesmas áreas ao mesmo tempo.
+ * <p>
+ * Os parâmetros são lidos da query string e, nos {@code POST}, também do
+ * corpo no formato {@code application/x-www-form-urlencoded}. As respostas
+ * são JSON, com os mesmos nomes de campos do {@code WebhookAlertSink}; os
+ * erros são respondidos como {@code {"error": "..."}}, com status 400 (valores
+ * inválidos), 404 (área ou recurso inexistente), 405, 409 (ID de área já
+ * cadastrado) ou 413 (corpo maior que {@value #MAX_BODY_BYTES} bytes).
+ * </p>
+ * <ul>
+ * <li>{@code GET /areas}: lista as áreas;</li>
+ * <li>{@code POST /areas} ({@code id}, {@code name}, {@code location},
+ * {@code vegetationType}): cadastra uma área;</li>
+ * <li>{@code GET /areas/{id}}: consulta uma área;</li>
+ * <li>{@code POST /areas/{id}/weather-data} ({@code temperature},
+ * {@code humidity}, {@code windSpeed} e, opcionalmente, {@code date}):
+ * insere uma leitura;</li>
+ * <li>{@code POST /areas/{id}/weather-data/batch}: insere em lote as linhas
+ * {@code temperatura,umidade,velocidadeDoVento[,data]} do corpo, em CSV; uma
+ * linha de cabeçalho é ignorada;</li>
+ * <li>{@code GET /areas/{id}/risk}: calcula o risco da leitura mais recente,
+ * ou dos valores {@code temperature}, {@code humidity}, {@code windSpeed} e
+ * {@code date} informados, com os incêndios recentes;</li>
+ * <li>{@code POST /areas/{id}/monitor}: calcula o risco da leitura mais
+ * recente e o submete à política de alertas da área, como a opção de
+ * monitorar área do menu;</li>
+ * <li>{@code POST /areas/{id}/wildfires} ({@code date}, {@code severity}):
+ * registra um incêndio;</li>
+ * <li>{@code GET /areas/{id}/alerts} (opcionalmente {@code limit}, padrão
+ * {@value #DEFAULT_ALERT_LIMIT}): lista os alertas mais recentes da
+ * área.</li>
+ * </ul>
+ * <p>
+ * Cada requisição é executada em uma thread virtual quando a JVM as oferece
+ * ({@link RequestExecutors}); as conexões ociosas não ocupam threads, pois são
+ * mantidas pelo despachante do servidor do JDK, criado por {@link HttpServers}.
+ * As operações usam os mesmos caminhos concorrentes do domínio que a
+ * varredura e a importação.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     ApiServer api = ApiServer.start(areas, dispatcher, new InetSocketAddress("127.0.0.1", 8080), 64);
+ *     ...
+ *     api.close();
+ * </pre>
+ */
+public class ApiServer implements AutoCloseable {
+    /** Maior corpo de requisição aceito, em bytes. */
+    public static final int MAX_BODY_BYTES = 8 * 1024 * 1024;
+    /** Quantidade de alertas listados quando {@code limit} não é informado. */
+    public static final int DEFAULT_ALERT_LIMIT = 100;
+
+    private static final int BACKLOG = 4096;
+    private static final String CONTENT_TYPE = "application/json; charset=utf-8";
+    private static final String FORM_TYPE = "application/x-www-form-urlencoded";
+    private static final System.Logger LOGGER = System.getLogger(ApiServer.class.getName());
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final AreaRegistry areas;
+    private final AlertDispatcher alerts;
+    private final Consumer<MonitoredArea> newAreaSetup;
+    private final CachedDateClock clock = CachedDateClock.system();
+
+    private ApiServer(HttpServer server, ExecutorService executor, AreaRegistry areas, AlertDispatcher alerts,
+            Consumer<MonitoredArea> newAreaSetup) {
+        this.server = server;
+        this.executor = executor;
+        this.areas = areas;
+        this.alerts = alerts;
+        this.newAreaSetup = newAreaSetup;
+    }
+
+    /**
+     * Abre a API no endereço informado.
+     *
+     * @param areas           registro das áreas
+     * @param alerts          despachante dos alertas gerados pelo
+     *                        monitoramento, ou {@code null} para apenas
+     *                        registrá-los nas áreas
+     * @param address         endereço e porta; a porta {@code 0} escolhe uma
+     *                        livre
+     * @param platformThreads threads das requisições quando não há threads
+     *                        virtuais
+     * @return o servidor iniciado
+     * @throws IOException se a porta não puder ser aberta
+     */
+    public static ApiServer start(AreaRegistry areas, AlertDispatcher alerts, InetSocketAddress address,
+            int platformThreads) throws IOException {
+        return start(areas, alerts, address, platformThreads, area -> {
+        });
+    }
+
+    /**
+     * Abre a API no endereço informado, configurando cada área cadastrada por
+     * ela antes do cadastro, como a política de retenção.
+     *
+     * @param newAreaSetup configuração das áreas novas
+     * @see #start(AreaRegistry, AlertDispatcher, InetSocketAddress, int)
+     */
+    public static ApiServer start(AreaRegistry areas, AlertDispatcher alerts, InetSocketAddress address,
+            int platformThreads, Consumer<MonitoredArea> newAreaSetup) throws IOException {
+        if (areas == null || address == null || newAreaSetup == null) {
+            throw new IllegalArgumentException("Áreas, endereço e configuração das áreas são obrigatórios.");
+        }
+        ExecutorService executor = RequestExecutors.newExecutor("api-http", platformThreads);
+        HttpServer server;
+        try {
+            server = HttpServers.create(address, BACKLOG);
+        } catch (IOException e) {
+            executor.shutdownNow();
+            throw e;
+        }
+        ApiServer api = new ApiServer(server, executor, areas, alerts, newAreaSetup);
+        server.setExecutor(executor);
+        server.createContext("/areas", api::handle);
+        server.start();
+        return api;
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String body;
+            int status;
+            try {
+                Response response = route(exchange);
+                status = response.status;
+                body = response.body;
+            } catch (HttpError e) {
+                if (e.allow != null) {
+                    exchange.getResponseHeaders().set("Allow", e.allow);
+                }
+                status = e.status;
+                body = Json.error(e.getMessage());
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                status = 400;
+                body = Json.error(e.getMessage());
+            } catch (RuntimeException e) {
+                // O detalhe fica no log do servidor; o cliente recebe só uma mensagem genérica.
+                LOGGER.log(System.Logger.Level.ERROR, "Falha ao atender " + exchange.getRequestMethod() + " "
+                        + exchange.getRequestURI().getPath(), e);
+                status = 500;
+                body = Json.error("Erro interno.");
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private Response route(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String path = exchange.getRequestURI().getPath();
+        String[] segments = path.substring("/areas".length()).split("/");
+        // "/areas/1/risk" resulta em ["", "1", "risk"].
+        if (segments.length <= 1) {
+            if (!path.equals("/areas") && !path.equals("/areas/")) {
+                throw new HttpError(404, "Recurso não encontrado: " + path);
+            }
+            switch (method) {
+                case "GET":
+                    return listAreas();
+                case "POST":
+                    return createArea(parameters(exchange));
+                default:
+                    throw HttpError.methodNotAllowed("GET, POST");
+            }
+        }
+        if (!segments[0].isEmpty()) {
+            throw new HttpError(404, "Recurso não encontrado: " + path);
+        }
+        MonitoredArea area = findArea(segments[1]);
+        String resource = String.join("/", Arrays.copyOfRange(segments, 2, segments.length));
+        switch (resource) {
+            case "":
+                requireMethod(method, "GET");
+                return new Response(200, areaJson(area));
+            case "weather-data":
+                requireMethod(method, "POST");
+                return addWeatherData(area, parameters(exchange));
+            case "weather-data/batch":
+                requireMethod(method, "POST");
+                return addWeatherDataBatch(area, readBody(exchange));
+            case "risk":
+                requireMethod(method, "GET");
+                return risk(area, parameters(exchange));
+            case "monitor":
+                requireMethod(method, "POST");
+                return monitor(area);
+            case "wildfires":
+                requireMethod(method, "POST");
+                return addWildFire(area, parameters(exchange));
+            case "alerts":
+                requireMethod(method, "GET");
+                return listAlerts(area, parameters(exchange));
+            default:
+                throw new HttpError(404, "Recurso não encontrado: " + path);
+        }
+    }
+
+    private Response listAreas() {
+        StringBuilder json = new StringBuilder("[");
+        List<MonitoredArea> all = areas.all();
+        for (int i = 0; i < all.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append(areaJson(all.get(i)));
+        }
+        return new Response(200, json.append(']').toString());
+    }
+
+    private Response createArea(Map<String, String> parameters) {
+        int id = intParameter(parameters, "id");
+        if (areas.contains(id)) {
+            throw duplicateArea(id);
+        }
+        MonitoredArea area = new MonitoredArea(id, required(parameters, "name"), required(parameters, "location"),
+                required(parameters, "vegetationType"));
+        newAreaSetup.accept(area);
+        // A consulta acima só evita montar a área à toa; o cadastro decide entre pedidos concorrentes.
+        if (!areas.registerIfAbsent(area)) {
+            throw duplicateArea(id);
+        }
+        return new Response(201, areaJson(area));
+    }
+
+    private static HttpError duplicateArea(int id) {
+        return new HttpError(409, "Já existe uma área com o ID " + id + ".");
+    }
+
+    private Response addWeatherData(MonitoredArea area, Map<String, String> parameters) {
+        WheatherData data = new WheatherData(area.nextWeatherDataId(), doubleParameter(parameters, "temperature"),
+                doubleParameter(parameters, "humidity"), doubleParameter(parameters, "windSpeed"),
+                dateParameter(parameters, "date", clock.today()));
+        area.addWeatherData(data);
+        return new Response(201, "{\"id\":" + data.getId() + "}");
+    }
+
+    private Response addWeatherDataBatch(MonitoredArea area, String body) {
+        int capacity = 1024;
+        double[] temperatures = new double[capacity];
+        double[] humidities = new double[capacity];
+        double[] windSpeeds = new double[capacity];
+        int[] epochDays = new int[capacity];
+        int today = clock.todayEpochDay();
+        int count = 0;
+        int lineNumber = 0;
+        for (String line : body.split("\r?\n")) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || (lineNumber == 1 && Character.isLetter(line.charAt(0)))) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            if (fields.length < 3 || fields.length > 4) {
+                throw new HttpError(400, "Linha " + lineNumber + " inválida: esperado "
+                        + "temperatura,umidade,velocidadeDoVento[,data].");
+            }
+            if (count == capacity) {
+                capacity *= 2;
+                temperatures = Arrays.copyOf(temperatures, capacity);
+                humidities = Arrays.copyOf(humidities, capacity);
+                windSpeeds = Arrays.copyOf(windSpeeds, capacity);
+                epochDays = Arrays.copyOf(epochDays, capacity);
+            }
+            try {
+                temperatures[count] = Double.parseDouble(fields[0].trim());
+                humidities[count] = Double.parseDouble(fields[1].trim());
+                windSpeeds[count] = Double.parseDouble(fields[2].trim());
+                epochDays[count] = fields.length == 4
+                        ? WeatherDataStore.toEpochDay(LocalDate.parse(fields[3].trim())) : today;
+            } catch (NumberFormatException | DateTimeParseException e) {
+                throw new HttpError(400, "Linha " + lineNumber + " inválida: " + e.getMessage());
+            }
+            count++;
+        }
+        if (count == 0) {
+            throw new HttpError(400, "Nenhuma leitura no corpo da requisição.");
+        }
+        IdRange ids = area.addWeatherData(temperatures, humidities, windSpeeds, epochDays, 0, count);
+        return new Response(201, "{\"count\":" + ids.getCount() + ",\"firstId\":" + ids.getFirstId()
+                + ",\"lastId\":" + ids.getLastId() + "}");
+    }
+
+    private Response risk(MonitoredArea area, Map<String, String> parameters) {
+        WheatherData data;
+        if (parameters.containsKey("temperature") || parameters.containsKey("humidity")
+                || parameters.containsKey("windSpeed")) {
+            data = new WheatherData(0, doubleParameter(parameters, "temperature"),
+                    doubleParameter(parameters, "humidity"), doubleParameter(parameters, "windSpeed"),
+                    dateParameter(parameters, "date", clock.today()));
+        } else {
+            data = latestWeatherData(area);
+        }
+        double riskLevel = calculateRiskLevel(area, data);
+        LocalDate date = data.getDate() == null ? clock.today() : data.getDate();
+        FireActivity fires = area.getFireActivity(date, area.getFireActivityRisk().getWindowDays());
+        StringBuilder json = new StringBuilder("{\"areaId\":").append(area.getId()).append(",\"riskLevel\":");
+        Json.appendNumber(json, riskLevel);
+        json.append(",\"date\":");
+        Json.appendString(json, String.valueOf(date));
+        json.append(",\"fireActivity\":{\"days\":").append(fires.getDays())
+                .append(",\"count\":").append(fires.getCount())
+                .append(",\"maxSeverity\":").append(fires.getMaxSeverity()).append("}}");
+        return new Response(200, json.toString());
+    }
+
+    private Response monitor(MonitoredArea area) {
+        WheatherData latest = latestWeatherData(area);
+        double riskLevel = calculateRiskLevel(area, latest);
+        AlertOutcome<AutomaticAlert> outcome = area.evaluateAlert(riskLevel, latest);
+        if (outcome.isRaised() && alerts != null) {
+            alerts.dispatch(outcome.getAlert(), area);
+        }
+        StringBuilder json = new StringBuilder("{\"areaId\":").append(area.getId()).append(",\"riskLevel\":");
+        Json.appendNumber(json, riskLevel);
+        json.append(",\"decision\":");
+        Json.appendString(json, outcome.getDecision().name());
+        json.append(",\"alert\":");
+        if (outcome.getAlert() == null) {
+            json.append("null");
+        } else {
+            appendAlert(json, outcome.getAlert());
+        }
+        return new Response(200, json.append('}').toString());
+    }
+
+    private Response addWildFire(MonitoredArea area, Map<String, String> parameters) {
+        int severity = intParameter(parameters, "severity");
+        if (severity < 0 || severity > 100) {
+            throw new HttpError(400, "A severidade deve estar entre 0 e 100.");
+        }
+        LocalDate date = LocalDate.parse(required(parameters, "date"));
+        WildFire wildFire = new WildFire(area.nextWildFireId(), date, severity);
+        area.addWildFire(wildFire);
+        return new Response(201, "{\"id\":" + wildFire.getId() + "}");
+    }
+
+    private Response listAlerts(MonitoredArea area, Map<String, String> parameters) {
+        int limit = parameters.containsKey("limit") ? intParameter(parameters, "limit") : DEFAULT_ALERT_LIMIT;
+        if (limit <= 0) {
+            throw new HttpError(400, "O limite de alertas deve ser positivo.");
+        }
+        List<Alert> all = area.getAlerts();
+        StringBuilder json = new StringBuilder("[");
+        for (int i = Math.max(0, all.size() - limit); i < all.size(); i++) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            appendAlert(json, all.get(i));
+        }
+        return new Response(200, json.append(']').toString());
+    }
+
+    private static String areaJson(MonitoredArea area) {
+        StringBuilder json = new StringBuilder("{\"id\":").append(area.getId()).append(",\"name\":");
+        Json.appendString(json, area.getName());
+        json.append(",\"location\":");
+        Json.appendString(json, area.getLocation());
+        json.append(",\"vegetationType\":");
+        Json.appendString(json, area.getVegetationType());
+        json.append(",\"riskModel\":");
+        Json.appendString(json, area.getRiskModel().getName());
+        json.append(",\"weatherDataCount\":").append(area.getWeatherDataCount())
+                .append(",\"wildFireCount\":").append(area.getWildFires().size())
+                .append(",\"alertCount\":").append(area.getAlerts().size());
+        return json.append('}').toString();
+    }
+
+    private static void appendAlert(StringBuilder json, Alert alert) {
+        json.append("{\"alertId\":").append(alert.getId()).append(",\"type\":");
+        Json.appendString(json, alert.getClass().getSimpleName());
+        json.append(",\"riskLevel\":");
+        Json.appendNumber(json, alert.getRiskLevel());
+        json.append(",\"peakRiskLevel\":");
+        Json.appendNumber(json, alert.getPeakRiskLevel());
+        json.append(",\"issueDate\":");
+        Json.appendString(json, String.valueOf(alert.getIssueDate()));
+        json.append(",\"lastOccurrenceDate\":");
+        Json.appendString(json, String.valueOf(alert.getLastOccurrenceDate()));
+        json.append(",\"occurrences\":").append(alert.getOccurrences());
+        if (alert instanceof ManualAlert) {
+            json.append(",\"description\":");
+            Json.appendString(json, ((ManualAlert) alert).getDescription());
+        }
+        json.append('}');
+    }
+
+    private MonitoredArea findArea(String id) {
+        MonitoredArea area;
+        try {
+            area = areas.find(Integer.parseInt(id));
+        } catch (NumberFormatException e) {
+            area = null;
+        }
+        if (area == null) {
+            throw new HttpError(404, "Área não encontrada: " + id + ".");
+        }
+        return area;
+    }
+
+    private static WheatherData latestWeatherData(MonitoredArea area) {
+        WheatherData latest = area.getLatestWeatherData();
+        if (latest == null) {
+            throw new HttpError(404, "Nenhum dado climático encontrado para a área " + area.getId() + ".");
+        }
+        return latest;
+    }
+
+    private static double calculateRiskLevel(MonitoredArea area, WheatherData data) {
+        double riskLevel = area.calculateRiskLevel(data);
+        if (riskLevel == RiskCalculator.INVALID) {
+            throw new HttpError(400, "Valores inválidos para temperatura, umidade ou velocidade do vento.");
+        }
+        return riskLevel;
+    }
+
+    private static void requireMethod(String method, String allowed) {
+        if (!allowed.equals(method)) {
+            throw HttpError.methodNotAllowed(allowed);
+        }
+    }
+
+    /** Junta os parâmetros da query string e, nos formulários, do corpo; os do corpo prevalecem. */
+    private static Map<String, String> parameters(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), parameters);
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if ("POST".equals(exchange.getRequestMethod()) && contentType != null
+                && contentType.startsWith(FORM_TYPE)) {
+            parseForm(readBody(exchange), parameters);
+        }
+        return parameters;
+    }
+
+    private static void parseForm(String form, Map<String, String> parameters) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                throw new HttpError(413, "O corpo da requisição excede " + MAX_BODY_BYTES + " bytes.");
+            }
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static String required(Map<String, String> parameters, String name) {
+        String value = parameters.get(name);
+        if (value == null || value.isBlank()) {
+            throw new HttpError(400, "Parâmetro obrigatório ausente: " + name + ".");
+        }
+        return value.trim();
+    }
+
+    private static int intParameter(Map<String, String> parameters, String name) {
+        try {
+            return Integer.parseInt(required(parameters, name));
+        } catch (NumberFormatException e) {
+            throw new HttpError(400, "Parâmetro " + name + " deve ser um número inteiro.");
+        }
+    }
+
+    private static double doubleParameter(Map<String, String> parameters, String name) {
+        try {
+            return Double.parseDouble(required(parameters, name));
+        } catch (NumberFormatException e) {
+            throw new HttpError(400, "Parâmetro " + name + " deve ser um número.");
+        }
+    }
+
+    private static LocalDate dateParameter(Map<String, String> parameters, String name, LocalDate defaultValue) {
+        String value = parameters.get(name);
+        return value == null || value.isBlank() ? defaultValue : LocalDate.parse(value.trim());
+    }
+
+    private static final class Response {
+        private final int status;
+        private final String body;
+
+        private Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    /** Erro respondido com o status e a mensagem informados. */
+    private static final class HttpError extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+        private final String allow;
+
+        private HttpError(int status, String message) {
+            this(status, message, null);
+        }
+
+        private HttpError(int status, String message, String allow) {
+            super(message, null, false, false);
+            this.status = status;
+            this.allow = allow;
+        }
+
+        private static HttpError methodNotAllowed(String allow) {
+            return new HttpError(405, "Método não permitido; use " + allow + ".", allow);
+        }
+    }
+}
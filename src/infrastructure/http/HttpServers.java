@@ -0,0 +1,53 @@
+package infrastructure.http;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+/**
+ * Criação dos servidores HTTP do JDK usados pelo sistema, configurados para
+ * respostas curtas e muitas conexões simultâneas.
+ * <p>
+ * O servidor do JDK escreve os cabeçalhos e o corpo da resposta em envios
+ * separados e, por padrão, mantém o algoritmo de Nagle ativo. Com isso, o corpo
+ * espera a confirmação atrasada do cliente, e cada requisição de uma conexão
+ * reaproveitada leva ~40 ms. Além disso, o servidor fecha as conexões ociosas
+ * que passam de 200, e os clientes seguintes precisam reconectar. As duas
+ * configurações são propriedades do sistema lidas uma única vez, quando o
+ * primeiro servidor é criado. Por isso, são definidas aqui, antes dessa
+ * criação, exceto quando já foram informadas na linha de comando.
+ * </p>
+ */
+public final class HttpServers {
+    /** Conexões ociosas mantidas abertas pelo servidor. */
+    public static final int MAX_IDLE_CONNECTIONS = 65_536;
+
+    private static final String NO_DELAY = "sun.net.httpserver.nodelay";
+    private static final String MAX_IDLE = "sun.net.httpserver.maxIdleConnections";
+
+    private HttpServers() {
+    }
+
+    /**
+     * Cria um servidor HTTP, ainda não iniciado.
+     *
+     * @param address endereço e porta; a porta {@code 0} escolhe uma livre
+     * @param backlog conexões aguardando aceitação; {@code 0} usa o padrão do
+     *                sistema
+     * @return o servidor criado
+     * @throws IOException se a porta não puder ser aberta
+     */
+    public static HttpServer create(InetSocketAddress address, int backlog) throws IOException {
+        configure();
+        return HttpServer.create(address, backlog);
+    }
+
+    private static synchronized void configure() {
+        if (System.getProperty(NO_DELAY) == null) {
+            System.setProperty(NO_DELAY, "true");
+        }
+        if (System.getProperty(MAX_IDLE) == null) {
+            System.setProperty(MAX_IDLE, String.valueOf(MAX_IDLE_CONNECTIONS));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package infrastructure.http;
+
+import java.util.Locale;
+
+/**
+ * Escrita dos valores das respostas JSON do {@link ApiServer}.
+ */
+final class Json {
+    private Json() {
+    }
+
+    static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    /** Escreve o número com duas casas decimais, ou {@code null} se não for finito. */
+    static void appendNumber(StringBuilder json, double value) {
+        if (Double.isFinite(value)) {
+            json.append(String.format(Locale.ROOT, "%.2f", value));
+        } else {
+            json.append("null");
+        }
+    }
+
+    static String error(String message) {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        appendString(json, message);
+        return json.append('}').toString();
+    }
+}
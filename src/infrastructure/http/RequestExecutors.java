@@ -0,0 +1,75 @@
+package infrastructure.http;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cria o executor das requisições do {@link ApiServer}: uma thread virtual por
+ * requisição quando a JVM oferece threads virtuais, ou um conjunto fixo de
+ * threads daemon nas versões anteriores.
+ * <p>
+ * O projeto é compilado para o Java 17, que não possui threads virtuais, por
+ * isso o executor virtual é obtido por reflexão
+ * ({@code Executors.newVirtualThreadPerTaskExecutor()}). Nas versões em que o
+ * método existe, mas ainda é uma prévia não habilitada, o conjunto fixo também
+ * é usado.
+ * </p>
+ */
+public final class RequestExecutors {
+    private static final Method VIRTUAL_THREAD_PER_TASK = findVirtualThreadPerTask();
+
+    private RequestExecutors() {
+    }
+
+    /**
+     * Indica se as requisições são executadas em threads virtuais nesta JVM.
+     *
+     * @return {@code true} se a JVM oferece threads virtuais
+     */
+    public static boolean virtualThreadsAvailable() {
+        return VIRTUAL_THREAD_PER_TASK != null;
+    }
+
+    /**
+     * Cria o executor das requisições.
+     *
+     * @param name            prefixo do nome das threads do conjunto fixo
+     * @param platformThreads quantidade de threads do conjunto fixo, usado
+     *                        quando não há threads virtuais
+     * @return o executor, que deve ser encerrado por quem o criou
+     * @throws IllegalArgumentException se {@code platformThreads} não for
+     *                                  positivo
+     */
+    public static ExecutorService newExecutor(String name, int platformThreads) {
+        if (platformThreads <= 0) {
+            throw new IllegalArgumentException("A quantidade de threads deve ser positiva.");
+        }
+        if (VIRTUAL_THREAD_PER_TASK != null) {
+            try {
+                return (ExecutorService) VIRTUAL_THREAD_PER_TASK.invoke(null);
+            } catch (IllegalAccessException | InvocationTargetException e) {
+                // Segue com o conjunto fixo.
+            }
+        }
+        AtomicInteger created = new AtomicInteger();
+        return Executors.newFixedThreadPool(platformThreads, runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + created.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static Method findVirtualThreadPerTask() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            // Sem --enable-preview, o Java 19 e o 20 lançam UnsupportedOperationException aqui.
+            ((ExecutorService) factory.invoke(null)).shutdown();
+            return factory;
+        } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+    }
+}
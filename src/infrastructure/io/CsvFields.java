@@ -0,0 +1,184 @@
+package infrastructure.io;
+
+import domain.storage.WeatherDataStore;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Conversão de campos de CSV diretamente dos bytes lidos do arquivo, sem criar
+ * {@code String}s: inteiros, números decimais e datas no formato
+ * {@code AAAA-MM-DD}.
+ * <p>
+ * Os números decimais com até 15 dígitos significativos e expoente pequeno
+ * (como as medições de uma estação) são convertidos de forma exata por uma
+ * única multiplicação ou divisão por uma potência de dez representável; os
+ * demais recorrem a {@link Double#parseDouble(String)}.
+ * </p>
+ */
+final class CsvFields {
+    /** Valor devolvido por {@link #parseInt(byte[], int, int)} para campos inválidos. */
+    static final long INVALID_INT = Long.MIN_VALUE;
+    /** Valor devolvido por {@link #parseEpochDay(byte[], int, int)} para datas inválidas. */
+    static final int INVALID_DATE = Integer.MAX_VALUE;
+
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18,
+        1e19, 1e20, 1e21, 1e22
+    };
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private CsvFields() {
+    }
+
+    /**
+     * Converte um inteiro com sinal opcional.
+     *
+     * @return o valor, ou {@link #INVALID_INT} se o campo estiver vazio, não for
+     *         numérico ou não couber em um {@code int}
+     */
+    static long parseInt(byte[] bytes, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+        if (i == to) {
+            return INVALID_INT;
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return INVALID_INT;
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return INVALID_INT;
+            }
+        }
+        value = negative ? -value : value;
+        return value > Integer.MAX_VALUE ? INVALID_INT : value;
+    }
+
+    /**
+     * Converte um número decimal, com sinal, parte fracionária e expoente
+     * opcionais.
+     *
+     * @return o valor, ou {@link Double#NaN} se o campo for inválido
+     */
+    static double parseDouble(byte[] bytes, int from, int to) {
+        int i = from;
+        boolean negative = false;
+        if (i < to && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int significant = 0;
+        int exponent = 0;
+        boolean exact = true;
+        for (; i < to && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+            digits++;
+            if (significant < 18) {
+                mantissa = mantissa * 10 + (bytes[i] - '0');
+                if (mantissa != 0) {
+                    significant++;
+                }
+            } else {
+                exact = false;
+                exponent++;
+            }
+        }
+        if (i < to && bytes[i] == '.') {
+            for (i++; i < to && bytes[i] >= '0' && bytes[i] <= '9'; i++) {
+                digits++;
+                if (significant < 18) {
+                    mantissa = mantissa * 10 + (bytes[i] - '0');
+                    exponent--;
+                    if (mantissa != 0) {
+                        significant++;
+                    }
+                } else {
+                    exact = false;
+                }
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+        if (i < to && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            long explicit = parseInt(bytes, i + 1, to);
+            if (explicit == INVALID_INT) {
+                return Double.NaN;
+            }
+            exponent += (int) Math.max(-100_000, Math.min(100_000, explicit));
+            i = to;
+        }
+        if (i != to) {
+            return Double.NaN;
+        }
+        if (exact && mantissa <= MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+            double value = exponent < 0 ? mantissa / POWERS_OF_TEN[-exponent] : mantissa * POWERS_OF_TEN[exponent];
+            return negative ? -value : value;
+        }
+        try {
+            return Double.parseDouble(new String(bytes, from, to - from, StandardCharsets.US_ASCII));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Converte uma data {@code AAAA-MM-DD} em dias desde a época.
+     *
+     * @return os dias desde a época, {@link WeatherDataStore#NO_DATE} se o campo
+     *         estiver vazio, ou {@link #INVALID_DATE} se a data for inválida
+     */
+    static int parseEpochDay(byte[] bytes, int from, int to) {
+        if (from == to) {
+            return WeatherDataStore.NO_DATE;
+        }
+        if (to - from != 10 || bytes[from + 4] != '-' || bytes[from + 7] != '-') {
+            return INVALID_DATE;
+        }
+        int year = digits(bytes, from, 4);
+        int month = digits(bytes, from + 5, 2);
+        int day = digits(bytes, from + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1) {
+            return INVALID_DATE;
+        }
+        boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+        int monthDays = month == 2 && leap ? 29 : DAYS_IN_MONTH[month - 1];
+        if (day > monthDays) {
+            return INVALID_DATE;
+        }
+        return epochDay(year, month, day);
+    }
+
+    /**
+     * Dias desde 1970-01-01 no calendário gregoriano proleptico, o mesmo valor
+     * de {@code LocalDate.of(year, month, day).toEpochDay()}.
+     */
+    static int epochDay(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
+    }
+
+    private static int digits(byte[] bytes, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
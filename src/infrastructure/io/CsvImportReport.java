@@ -0,0 +1,100 @@
+package infrastructure.io;
+
+/**
+ * Resumo de uma importação feita por {@link CsvImporter}.
+ * <p>
+ * Toda linha lida (exceto o cabeçalho e as linhas vazias) é importada ou
+ * rejeitada por um dos motivos contados: campos inválidos, área inexistente
+ * ou ID já presente no histórico da área.
+ * </p>
+ */
+public class CsvImportReport {
+    private final long rows;
+    private final long imported;
+    private final long malformedRows;
+    private final long unknownAreaRows;
+    private final long duplicateRows;
+    private final long bytes;
+    private final long elapsedNanos;
+    private final int parallelism;
+
+    public CsvImportReport(long rows, long imported, long malformedRows, long unknownAreaRows, long duplicateRows,
+            long bytes, long elapsedNanos, int parallelism) {
+        this.rows = rows;
+        this.imported = imported;
+        this.malformedRows = malformedRows;
+        this.unknownAreaRows = unknownAreaRows;
+        this.duplicateRows = duplicateRows;
+        this.bytes = bytes;
+        this.elapsedNanos = elapsedNanos;
+        this.parallelism = parallelism;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getMalformedRows() {
+        return malformedRows;
+    }
+
+    public long getUnknownAreaRows() {
+        return unknownAreaRows;
+    }
+
+    /**
+     * Retorna quantas linhas foram ignoradas por repetirem o ID de um registro
+     * já existente na área ou já importado do mesmo arquivo.
+     *
+     * @return a quantidade de linhas duplicadas
+     */
+    public long getDuplicateRows() {
+        return duplicateRows;
+    }
+
+    /**
+     * Retorna o total de linhas rejeitadas, por qualquer motivo.
+     *
+     * @return a quantidade de linhas não importadas
+     */
+    public long getRejectedRows() {
+        return malformedRows + unknownAreaRows + duplicateRows;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getElapsedMillis() {
+        return elapsedNanos / 1_000_000.0;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Calcula a vazão da importação.
+     *
+     * @return a quantidade de linhas lidas por segundo
+     */
+    public double getRowsPerSecond() {
+        return elapsedNanos == 0 ? 0 : rows * 1_000_000_000.0 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Importação: %d linhas lidas, %d importadas, %d rejeitadas (%d inválidas, "
+                + "%d de áreas inexistentes, %d duplicadas) em %.1f ms (%.0f linhas/s, %d tarefas em paralelo)",
+                rows, imported, getRejectedRows(), malformedRows, unknownAreaRows, duplicateRows, getElapsedMillis(),
+                getRowsPerSecond(), parallelism);
+    }
+}
@@ -0,0 +1,655 @@
+package infrastructure.io;
+
+import domain.entities.MonitoredArea;
+import domain.entities.WildFire;
+import domain.registry.AreaRegistry;
+import domain.storage.WeatherDataStore;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Importa históricos de dados climáticos e de incêndios de arquivos CSV para
+ * as áreas cadastradas, distribuindo a leitura entre todos os núcleos
+ * disponíveis por meio de um {@link ForkJoinPool}.
+ * <p>
+ * Os arquivos usam vírgula como separador e podem começar com uma linha de
+ * cabeçalho (uma primeira linha que não começa com um número é ignorada):
+ * </p>
+ *
+ * <pre>
+ *     dados climáticos: areaId,id,data,temperatura,umidade,velocidadeDoVento
+ *     incêndios:        areaId,id,data,severidade
+ * </pre>
+ * <p>
+ * As datas seguem o formato {@code AAAA-MM-DD} e só podem ficar vazias nos dados
+ * climáticos. O ID também pode ficar vazio: a linha recebe, ao final da
+ * importação, um ID novo da área ({@link MonitoredArea#nextWeatherDataId()} ou
+ * {@link MonitoredArea#nextWildFireId()}). Uma linha cujo ID já existe no
+ * histórico da área, ou já apareceu no mesmo arquivo, é ignorada e contada como
+ * duplicada; importar o mesmo arquivo de novo, portanto, não repete os
+ * registros que têm ID. Leituras já compactadas em agregados diários
+ * ({@link MonitoredArea#compactWeatherData(LocalDate)}) não guardam mais os
+ * IDs e não são reconhecidas como duplicadas.
+ * </p>
+ * <p>
+ * O arquivo é dividido em trechos terminados em fim de linha, lidos por
+ * {@link FileChannel} em blocos de bytes. Os campos são convertidos diretamente
+ * dos bytes por {@link CsvFields}, sem {@code String.split} nem um objeto por
+ * campo, e acumulados por área em vetores de tipos primitivos. Cada lote de até
+ * {@value #BATCH_ROWS} linhas de uma área é inserido de uma só vez, com
+ * {@link MonitoredArea#addWeatherData(int[], double[], double[], double[], int[], int, int)}
+ * ou {@link MonitoredArea#addWildFires(List)}, e portanto registrado na
+ * persistência.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     CsvImportReport report = new CsvImporter(areas).importWeatherData(Path.of("historico.csv"));
+ *     System.out.println(report);
+ * </pre>
+ */
+public class CsvImporter {
+    /** Quantidade máxima de linhas de uma área inseridas de cada vez. */
+    public static final int BATCH_ROWS = 1 << 16;
+
+    private static final int READ_BYTES = 1 << 20;
+    private static final long MIN_CHUNK_BYTES = 8L << 20;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int INITIAL_BATCH_ROWS = 256;
+    private static final int MAX_PENDING_ROWS = 1 << 20;
+    private static final int MAX_DIRECT_AREA_ID = 1 << 16;
+
+    private final AreaRegistry registry;
+    private final ForkJoinPool pool;
+
+    public CsvImporter(AreaRegistry registry) {
+        this(registry, ForkJoinPool.commonPool());
+    }
+
+    public CsvImporter(AreaRegistry registry, ForkJoinPool pool) {
+        if (registry == null) {
+            throw new IllegalArgumentException("O cadastro de áreas não pode ser nulo.");
+        }
+        if (pool == null) {
+            throw new IllegalArgumentException("O pool de execução não pode ser nulo.");
+        }
+        this.registry = registry;
+        this.pool = pool;
+    }
+
+    /**
+     * Importa um CSV de dados climáticos
+     * ({@code areaId,id,data,temperatura,umidade,velocidadeDoVento}).
+     *
+     * @param file o arquivo CSV
+     * @return o resumo da importação
+     * @throws IOException se o arquivo não puder ser lido
+     */
+    public CsvImportReport importWeatherData(Path file) throws IOException {
+        return importFile(file, RecordType.WEATHER_DATA);
+    }
+
+    /**
+     * Importa um CSV de incêndios ({@code areaId,id,data,severidade}), com
+     * severidade de 0 a 100.
+     *
+     * @param file o arquivo CSV
+     * @return o resumo da importação
+     * @throws IOException se o arquivo não puder ser lido
+     */
+    public CsvImportReport importWildFires(Path file) throws IOException {
+        return importFile(file, RecordType.WILDFIRE);
+    }
+
+    private CsvImportReport importFile(Path file, RecordType type) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("O arquivo não pode ser nulo.");
+        }
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int chunks = (int) Math.max(1,
+                    Math.min((long) pool.getParallelism() * CHUNKS_PER_THREAD, size / MIN_CHUNK_BYTES));
+            long[] boundaries = chunkBoundaries(channel, size, chunks);
+            Loaders loaders = new Loaders(type);
+            Counts counts;
+            try {
+                counts = pool.invoke(new ChunkTask(channel, boundaries, 0, chunks, loaders));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            loaders.finish(counts);
+            return new CsvImportReport(counts.rows, counts.imported, counts.malformed, counts.unknownArea,
+                    counts.duplicates, size, System.nanoTime() - start, pool.getParallelism());
+        }
+    }
+
+    /**
+     * Divide o arquivo em trechos de tamanho parecido, cada um começando no
+     * início de uma linha.
+     */
+    private static long[] chunkBoundaries(FileChannel channel, long size, int chunks) throws IOException {
+        long[] boundaries = new long[chunks + 1];
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        for (int k = 1; k < chunks; k++) {
+            long position = Math.max(size / chunks * k, boundaries[k - 1]);
+            boundaries[k] = position == 0 ? 0 : nextLineStart(channel, position - 1, size, buffer);
+        }
+        boundaries[chunks] = size;
+        return boundaries;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position, long size, ByteBuffer buffer)
+            throws IOException {
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    /**
+     * O formato de cada tipo de arquivo: os campos além de área, ID e data, e
+     * como os registros são lidos e inseridos na área.
+     */
+    private enum RecordType {
+        WEATHER_DATA(3) {
+            @Override
+            boolean parseValues(byte[] bytes, int[] starts, int[] ends, double[] values) {
+                for (int column = 0; column < 3; column++) {
+                    values[column] = CsvFields.parseDouble(bytes, starts[3 + column], ends[3 + column]);
+                    if (Double.isNaN(values[column])) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            void addExistingIds(MonitoredArea area, BitSet ids) {
+                WeatherDataStore.View view = area.getWeatherDataView();
+                int count = view.size();
+                int length = Math.min(BATCH_ROWS, count);
+                int[] existing = new int[length];
+                double[] ignored = new double[length];
+                int[] epochDays = new int[length];
+                for (int first = 0; first < count; first += length) {
+                    int block = Math.min(length, count - first);
+                    view.copyTo(first, block, existing, ignored, ignored, ignored, epochDays, 0);
+                    for (int i = 0; i < block; i++) {
+                        ids.set(existing[i]);
+                    }
+                }
+            }
+
+            @Override
+            int nextId(MonitoredArea area) {
+                return area.nextWeatherDataId();
+            }
+
+            @Override
+            void store(MonitoredArea area, Batch batch, int offset, int length) {
+                area.addWeatherData(batch.ids, batch.values[0], batch.values[1], batch.values[2], batch.epochDays,
+                        offset, length);
+            }
+        },
+        WILDFIRE(1) {
+            @Override
+            boolean acceptsMissingDate() {
+                return false;
+            }
+
+            @Override
+            boolean parseValues(byte[] bytes, int[] starts, int[] ends, double[] values) {
+                long severity = CsvFields.parseInt(bytes, starts[3], ends[3]);
+                values[0] = severity;
+                return severity >= 0 && severity <= 100;
+            }
+
+            @Override
+            void addExistingIds(MonitoredArea area, BitSet ids) {
+                for (WildFire wildFire : area.getWildFires()) {
+                    if (wildFire.getId() > 0) {
+                        ids.set(wildFire.getId());
+                    }
+                }
+            }
+
+            @Override
+            int nextId(MonitoredArea area) {
+                return area.nextWildFireId();
+            }
+
+            @Override
+            void store(MonitoredArea area, Batch batch, int offset, int length) {
+                List<WildFire> wildFires = new ArrayList<>(length);
+                for (int i = offset; i < offset + length; i++) {
+                    wildFires.add(new WildFire(batch.ids[i], LocalDate.ofEpochDay(batch.epochDays[i]),
+                            (int) batch.values[0][i]));
+                }
+                area.addWildFires(wildFires);
+            }
+        };
+
+        private final int columns;
+
+        RecordType(int columns) {
+            this.columns = columns;
+        }
+
+        int getFields() {
+            return 3 + columns;
+        }
+
+        boolean acceptsMissingDate() {
+            return true;
+        }
+
+        abstract boolean parseValues(byte[] bytes, int[] starts, int[] ends, double[] values);
+
+        abstract void addExistingIds(MonitoredArea area, BitSet ids);
+
+        abstract int nextId(MonitoredArea area);
+
+        abstract void store(MonitoredArea area, Batch batch, int offset, int length);
+    }
+
+    /** Linhas de uma área em colunas; ID {@code 0} indica uma linha sem ID. */
+    private static final class Batch {
+        private int[] ids;
+        private int[] epochDays;
+        private final double[][] values;
+        private int length;
+
+        private Batch(int columns, int capacity) {
+            ids = new int[capacity];
+            epochDays = new int[capacity];
+            values = new double[columns][capacity];
+        }
+
+        private void add(int id, int epochDay, double[] row) {
+            ensureCapacity();
+            ids[length] = id;
+            epochDays[length] = epochDay;
+            for (int column = 0; column < values.length; column++) {
+                values[column][length] = row[column];
+            }
+            length++;
+        }
+
+        private void addFrom(Batch other, int index) {
+            ensureCapacity();
+            ids[length] = other.ids[index];
+            epochDays[length] = other.epochDays[index];
+            for (int column = 0; column < values.length; column++) {
+                values[column][length] = other.values[column][index];
+            }
+            length++;
+        }
+
+        private void move(int from, int to) {
+            ids[to] = ids[from];
+            epochDays[to] = epochDays[from];
+            for (double[] column : values) {
+                column[to] = column[from];
+            }
+        }
+
+        private void ensureCapacity() {
+            if (length == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                for (int column = 0; column < values.length; column++) {
+                    values[column] = Arrays.copyOf(values[column], capacity);
+                }
+            }
+        }
+    }
+
+    /** Contadores de uma tarefa, somados ao final. */
+    private static final class Counts {
+        private long rows;
+        private long imported;
+        private long malformed;
+        private long unknownArea;
+        private long duplicates;
+
+        private Counts merge(Counts other) {
+            rows += other.rows;
+            imported += other.imported;
+            malformed += other.malformed;
+            unknownArea += other.unknownArea;
+            duplicates += other.duplicates;
+            return this;
+        }
+    }
+
+    /** Os carregadores das áreas encontradas no arquivo, compartilhados pelas tarefas. */
+    private final class Loaders {
+        private final RecordType type;
+        private final Map<Integer, AreaLoader> loaders = new ConcurrentHashMap<>();
+
+        private Loaders(RecordType type) {
+            this.type = type;
+        }
+
+        /** Retorna o carregador da área, ou {@code null} se ela não existir. */
+        private AreaLoader find(int areaId) {
+            AreaLoader loader = loaders.get(areaId);
+            if (loader == null) {
+                MonitoredArea area = registry.find(areaId);
+                if (area == null) {
+                    return null;
+                }
+                loader = loaders.computeIfAbsent(areaId, key -> new AreaLoader(type, area));
+            }
+            return loader;
+        }
+
+        private void finish(Counts counts) {
+            for (AreaLoader loader : loaders.values()) {
+                loader.storeUnnumbered(counts);
+            }
+        }
+    }
+
+    /**
+     * Insere os lotes de uma área, descartando os IDs já existentes. As linhas
+     * sem ID ficam guardadas até o fim da importação, quando todos os IDs do
+     * arquivo já foram inseridos e os novos IDs não podem mais coincidir com eles.
+     */
+    private static final class AreaLoader {
+        private final RecordType type;
+        private final MonitoredArea area;
+        private final Batch unnumbered;
+        private BitSet ids;
+
+        private AreaLoader(RecordType type, MonitoredArea area) {
+            this.type = type;
+            this.area = area;
+            this.unnumbered = new Batch(type.columns, INITIAL_BATCH_ROWS);
+        }
+
+        private synchronized void load(Batch batch, Counts counts) {
+            if (ids == null) {
+                ids = new BitSet();
+                type.addExistingIds(area, ids);
+            }
+            int kept = 0;
+            for (int i = 0; i < batch.length; i++) {
+                int id = batch.ids[i];
+                if (id == 0) {
+                    unnumbered.addFrom(batch, i);
+                } else if (ids.get(id)) {
+                    counts.duplicates++;
+                } else {
+                    ids.set(id);
+                    batch.move(i, kept++);
+                }
+            }
+            if (kept > 0) {
+                type.store(area, batch, 0, kept);
+                counts.imported += kept;
+            }
+            batch.length = 0;
+        }
+
+        private synchronized void storeUnnumbered(Counts counts) {
+            for (int i = 0; i < unnumbered.length; i++) {
+                unnumbered.ids[i] = type.nextId(area);
+            }
+            for (int offset = 0; offset < unnumbered.length; offset += BATCH_ROWS) {
+                type.store(area, unnumbered, offset, Math.min(BATCH_ROWS, unnumbered.length - offset));
+            }
+            counts.imported += unnumbered.length;
+            unnumbered.length = 0;
+        }
+    }
+
+    /**
+     * Lê as linhas de um trecho do arquivo e as acumula por área, inserindo um
+     * lote quando ele chega a {@value #BATCH_ROWS} linhas ou quando a tarefa
+     * acumula linhas demais. As áreas com ID pequeno são encontradas por
+     * posição em um vetor, sem consultar um mapa a cada linha.
+     */
+    private static final class ChunkParser {
+        private static final AreaSlot UNKNOWN_AREA = new AreaSlot(null, null);
+
+        private final RecordType type;
+        private final Loaders loaders;
+        private final Counts counts = new Counts();
+        private final List<AreaSlot> slots = new ArrayList<>();
+        private AreaSlot[] slotsById = new AreaSlot[64];
+        private final Map<Integer, AreaSlot> slotsByLargeId = new HashMap<>();
+        private final int[] starts;
+        private final int[] ends;
+        private final double[] row;
+        private boolean firstLine;
+        private int pending;
+
+        private ChunkParser(RecordType type, Loaders loaders, boolean firstLine) {
+            this.type = type;
+            this.loaders = loaders;
+            this.firstLine = firstLine;
+            this.starts = new int[type.getFields()];
+            this.ends = new int[type.getFields()];
+            this.row = new double[type.columns];
+        }
+
+        private Counts parse(FileChannel channel, long from, long to) throws IOException {
+            byte[] bytes = new byte[(int) Math.min(READ_BYTES, Math.max(1, to - from))];
+            long position = from;
+            int carry = 0;
+            boolean skipping = false;
+            while (position < to) {
+                int wanted = (int) Math.min(bytes.length - carry, to - position);
+                ByteBuffer buffer = ByteBuffer.wrap(bytes, carry, wanted);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position() - carry) < 0) {
+                        throw new IOException("O arquivo foi alterado durante a importação.");
+                    }
+                }
+                position += wanted;
+                int limit = carry + wanted;
+                int lineStart = 0;
+                for (int i = carry; i < limit; i++) {
+                    if (bytes[i] == '\n') {
+                        if (skipping) {
+                            skipping = false;
+                        } else {
+                            line(bytes, lineStart, i);
+                        }
+                        lineStart = i + 1;
+                    }
+                }
+                carry = limit - lineStart;
+                if (carry == bytes.length) {
+                    if (!skipping) {
+                        counts.rows++;
+                        counts.malformed++;
+                        skipping = true;
+                    }
+                    carry = 0;
+                } else {
+                    System.arraycopy(bytes, lineStart, bytes, 0, carry);
+                }
+            }
+            if (carry > 0 && !skipping) {
+                line(bytes, 0, carry);
+            }
+            loadAll();
+            return counts;
+        }
+
+        private void line(byte[] bytes, int from, int to) {
+            if (to > from && bytes[to - 1] == '\r') {
+                to--;
+            }
+            if (firstLine) {
+                firstLine = false;
+                if (to > from && bytes[from] != '-' && bytes[from] != '+'
+                        && (bytes[from] < '0' || bytes[from] > '9')) {
+                    return;
+                }
+            }
+            if (to == from) {
+                return;
+            }
+            counts.rows++;
+            int fields = 0;
+            int fieldStart = from;
+            for (int i = from; i <= to; i++) {
+                if (i == to || bytes[i] == ',') {
+                    if (fields == starts.length) {
+                        counts.malformed++;
+                        return;
+                    }
+                    int start = fieldStart;
+                    int end = i;
+                    while (start < end && bytes[start] == ' ') {
+                        start++;
+                    }
+                    while (end > start && bytes[end - 1] == ' ') {
+                        end--;
+                    }
+                    starts[fields] = start;
+                    ends[fields] = end;
+                    fields++;
+                    fieldStart = i + 1;
+                }
+            }
+            if (fields != starts.length) {
+                counts.malformed++;
+                return;
+            }
+            long areaId = CsvFields.parseInt(bytes, starts[0], ends[0]);
+            long id = starts[1] == ends[1] ? 0 : CsvFields.parseInt(bytes, starts[1], ends[1]);
+            int epochDay = CsvFields.parseEpochDay(bytes, starts[2], ends[2]);
+            if (areaId == CsvFields.INVALID_INT || id == CsvFields.INVALID_INT || id < 0
+                    || (id == 0 && starts[1] != ends[1]) || epochDay == CsvFields.INVALID_DATE
+                    || (epochDay == WeatherDataStore.NO_DATE && !type.acceptsMissingDate())
+                    || !type.parseValues(bytes, starts, ends, row)) {
+                counts.malformed++;
+                return;
+            }
+            AreaSlot slot = slot((int) areaId);
+            if (slot == UNKNOWN_AREA) {
+                counts.unknownArea++;
+                return;
+            }
+            slot.batch.add((int) id, epochDay, row);
+            pending++;
+            if (slot.batch.length == BATCH_ROWS) {
+                pending -= slot.batch.length;
+                slot.loader.load(slot.batch, counts);
+            } else if (pending >= MAX_PENDING_ROWS) {
+                loadAll();
+            }
+        }
+
+        private AreaSlot slot(int areaId) {
+            boolean direct = areaId >= 0 && areaId < MAX_DIRECT_AREA_ID;
+            AreaSlot slot = null;
+            if (direct) {
+                if (areaId >= slotsById.length) {
+                    slotsById = Arrays.copyOf(slotsById, Math.min(MAX_DIRECT_AREA_ID,
+                            Math.max(areaId + 1, slotsById.length * 2)));
+                }
+                slot = slotsById[areaId];
+            } else {
+                slot = slotsByLargeId.get(areaId);
+            }
+            if (slot == null) {
+                AreaLoader loader = loaders.find(areaId);
+                slot = loader == null ? UNKNOWN_AREA : new AreaSlot(loader, new Batch(type.columns, INITIAL_BATCH_ROWS));
+                if (loader != null) {
+                    slots.add(slot);
+                }
+                if (direct) {
+                    slotsById[areaId] = slot;
+                } else {
+                    slotsByLargeId.put(areaId, slot);
+                }
+            }
+            return slot;
+        }
+
+        private void loadAll() {
+            for (AreaSlot slot : slots) {
+                slot.loader.load(slot.batch, counts);
+            }
+            pending = 0;
+        }
+    }
+
+    /** O lote de uma área em uma tarefa. */
+    private static final class AreaSlot {
+        private final AreaLoader loader;
+        private final Batch batch;
+
+        private AreaSlot(AreaLoader loader, Batch batch) {
+            this.loader = loader;
+            this.batch = batch;
+        }
+    }
+
+    private static class ChunkTask extends RecursiveTask<Counts> {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long[] boundaries;
+        private final int from;
+        private final int to;
+        private final Loaders loaders;
+
+        private ChunkTask(FileChannel channel, long[] boundaries, int from, int to, Loaders loaders) {
+            this.channel = channel;
+            this.boundaries = boundaries;
+            this.from = from;
+            this.to = to;
+            this.loaders = loaders;
+        }
+
+        @Override
+        protected Counts compute() {
+            if (to - from == 1) {
+                try {
+                    return new ChunkParser(loaders.type, loaders, boundaries[from] == 0)
+                            .parse(channel, boundaries[from], boundaries[to]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            int middle = (from + to) >>> 1;
+            ChunkTask left = new ChunkTask(channel, boundaries, from, middle, loaders);
+            left.fork();
+            Counts right = new ChunkTask(channel, boundaries, middle, to, loaders).compute();
+            return left.join().merge(right);
+        }
+    }
+}
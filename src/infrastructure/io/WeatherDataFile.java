@@ -0,0 +1,175 @@
+package infrastructure.io;
+
+import domain.entities.MonitoredArea;
+import domain.storage.WeatherDataStore;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Exportação e importação do histórico climático de uma área em um arquivo
+ * binário de registros de tamanho fixo.
+ * <p>
+ * O arquivo começa com um cabeçalho de {@value #HEADER_BYTES} bytes (marca
+ * {@code IGWD}, versão, precisão e quantidade de leituras), seguido das
+ * leituras no formato descrito em {@link WeatherDataPrecision}, em
+ * little-endian. A leitura e a gravação usam {@link FileChannel} e um buffer
+ * direto, em blocos de {@value #BLOCK_READINGS} leituras decodificadas
+ * diretamente para vetores de tipos primitivos reaproveitados: nenhum objeto é
+ * criado por leitura.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     WeatherDataFile.export(area, Path.of("parque.igwd"), WeatherDataPrecision.FLOAT);
+ *     WeatherDataFile.importInto(outraArea, Path.of("parque.igwd"));
+ * </pre>
+ */
+public final class WeatherDataFile {
+    /** Tamanho do cabeçalho do arquivo, em bytes. */
+    public static final int HEADER_BYTES = 16;
+    /** Quantidade de leituras lidas ou gravadas de cada vez. */
+    public static final int BLOCK_READINGS = 1 << 16;
+
+    private static final int MAGIC = 0x44574749;
+    private static final short VERSION = 1;
+
+    private WeatherDataFile() {
+    }
+
+    /**
+     * Recebe as leituras de um arquivo em blocos. Os vetores são reaproveitados
+     * entre as chamadas e só são válidos durante cada uma delas.
+     */
+    @FunctionalInterface
+    public interface BlockConsumer {
+        void accept(int[] ids, double[] temperatures, double[] humidities, double[] windSpeeds, int[] epochDays,
+                int length);
+    }
+
+    /**
+     * Exporta as leituras brutas retidas e visíveis no início da chamada, na
+     * ordem de inserção. Os dias já compactados em agregados não são exportados.
+     *
+     * @param area      a área cujo histórico é exportado
+     * @param file      o arquivo de destino, criado ou sobrescrito
+     * @param precision a precisão das medições no arquivo
+     * @return a quantidade de leituras exportadas
+     * @throws IOException se o arquivo não puder ser gravado
+     */
+    public static long export(MonitoredArea area, Path file, WeatherDataPrecision precision) throws IOException {
+        if (area == null || file == null || precision == null) {
+            throw new IllegalArgumentException("Área, arquivo e precisão são obrigatórios.");
+        }
+        WeatherDataStore.View view = area.getWeatherDataView();
+        int count = view.size();
+        int recordBytes = precision.getRecordBytes();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BLOCK_READINGS * recordBytes).order(ByteOrder.LITTLE_ENDIAN);
+        int blockLength = Math.min(BLOCK_READINGS, count);
+        int[] ids = new int[blockLength];
+        double[] temperatures = new double[blockLength];
+        double[] humidities = new double[blockLength];
+        double[] windSpeeds = new double[blockLength];
+        int[] epochDays = new int[blockLength];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.putInt(MAGIC).putShort(VERSION).put(precision.getCode()).put((byte) 0).putLong(count);
+            buffer.flip();
+            writeFully(channel, buffer);
+            for (int first = 0; first < count; first += BLOCK_READINGS) {
+                int length = Math.min(BLOCK_READINGS, count - first);
+                view.copyTo(first, length, ids, temperatures, humidities, windSpeeds, epochDays, 0);
+                buffer.clear();
+                precision.encode(buffer, ids, epochDays, temperatures, humidities, windSpeeds, length);
+                buffer.limit(length * recordBytes);
+                writeFully(channel, buffer);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Lê um arquivo exportado, entregando as leituras em blocos.
+     *
+     * @param file     o arquivo exportado
+     * @param consumer recebe cada bloco de leituras
+     * @return a quantidade de leituras lidas
+     * @throws IOException se o arquivo não puder ser lido, não estiver no formato
+     *                     esperado ou estiver incompleto
+     */
+    public static long read(Path file, BlockConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, file);
+            header.flip();
+            WeatherDataPrecision precision = null;
+            if (header.getInt() == MAGIC && header.getShort() == VERSION) {
+                precision = WeatherDataPrecision.fromCode(header.get());
+            }
+            if (precision == null) {
+                throw new IOException("Arquivo de dados climáticos inválido: " + file + ".");
+            }
+            header.get();
+            long count = header.getLong();
+            int recordBytes = precision.getRecordBytes();
+            if (count < 0 || channel.size() != HEADER_BYTES + count * recordBytes) {
+                throw new IOException("Arquivo de dados climáticos incompleto: " + file + ".");
+            }
+
+            int blockLength = (int) Math.min(BLOCK_READINGS, count);
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BLOCK_READINGS * recordBytes)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            int[] ids = new int[blockLength];
+            double[] temperatures = new double[blockLength];
+            double[] humidities = new double[blockLength];
+            double[] windSpeeds = new double[blockLength];
+            int[] epochDays = new int[blockLength];
+            for (long done = 0; done < count;) {
+                int length = (int) Math.min(BLOCK_READINGS, count - done);
+                buffer.clear().limit(length * recordBytes);
+                readFully(channel, buffer, file);
+                precision.decode(buffer, ids, epochDays, temperatures, humidities, windSpeeds, length);
+                consumer.accept(ids, temperatures, humidities, windSpeeds, epochDays, length);
+                done += length;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Importa as leituras de um arquivo exportado para o histórico da área,
+     * mantendo os seus IDs. Cada bloco é inserido com
+     * {@link MonitoredArea#addWeatherData(int[], double[], double[], double[], int[], int, int)}
+     * e, portanto, registrado na persistência.
+     *
+     * @param area a área que recebe as leituras
+     * @param file o arquivo exportado
+     * @return a quantidade de leituras importadas
+     * @throws IOException se o arquivo não puder ser lido ou for inválido
+     */
+    public static long importInto(MonitoredArea area, Path file) throws IOException {
+        if (area == null || file == null) {
+            throw new IllegalArgumentException("Área e arquivo são obrigatórios.");
+        }
+        return read(file, (ids, temperatures, humidities, windSpeeds, epochDays, length) -> area
+                .addWeatherData(ids, temperatures, humidities, windSpeeds, epochDays, 0, length));
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, Path file) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Arquivo de dados climáticos incompleto: " + file + ".");
+            }
+        }
+    }
+}
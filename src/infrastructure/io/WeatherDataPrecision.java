@@ -0,0 +1,100 @@
+package infrastructure.io;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Precisão das medições no formato binário de {@link WeatherDataFile}.
+ * <p>
+ * Cada leitura ocupa um registro de tamanho fixo: o ID ({@code int}), a data
+ * em dias desde a época ({@code int}) e a temperatura, a umidade e a velocidade
+ * do vento, como {@code double} ({@link #DOUBLE}, 32 bytes por leitura) ou
+ * {@code float} ({@link #FLOAT}, 20 bytes por leitura). A precisão de
+ * {@code float} (cerca de 7 dígitos) é suficiente para as medições de um
+ * sensor e reduz o arquivo em quase 40%.
+ * </p>
+ */
+public enum WeatherDataPrecision {
+    DOUBLE(1, Double.BYTES),
+    FLOAT(2, Float.BYTES);
+
+    private final byte code;
+    private final int measurementBytes;
+
+    WeatherDataPrecision(int code, int measurementBytes) {
+        this.code = (byte) code;
+        this.measurementBytes = measurementBytes;
+    }
+
+    /**
+     * Retorna o tamanho de cada registro, em bytes.
+     *
+     * @return os bytes por leitura
+     */
+    public int getRecordBytes() {
+        return 2 * Integer.BYTES + 3 * measurementBytes;
+    }
+
+    byte getCode() {
+        return code;
+    }
+
+    static WeatherDataPrecision fromCode(byte code) {
+        for (WeatherDataPrecision precision : values()) {
+            if (precision.code == code) {
+                return precision;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Grava {@code length} leituras no início de {@code buffer}, a partir da
+     * posição zero.
+     */
+    void encode(ByteBuffer buffer, int[] ids, int[] epochDays, double[] temperatures, double[] humidities,
+            double[] windSpeeds, int length) {
+        int recordBytes = getRecordBytes();
+        if (this == DOUBLE) {
+            for (int i = 0, index = 0; i < length; i++, index += recordBytes) {
+                buffer.putInt(index, ids[i]);
+                buffer.putInt(index + 4, epochDays[i]);
+                buffer.putDouble(index + 8, temperatures[i]);
+                buffer.putDouble(index + 16, humidities[i]);
+                buffer.putDouble(index + 24, windSpeeds[i]);
+            }
+        } else {
+            for (int i = 0, index = 0; i < length; i++, index += recordBytes) {
+                buffer.putInt(index, ids[i]);
+                buffer.putInt(index + 4, epochDays[i]);
+                buffer.putFloat(index + 8, (float) temperatures[i]);
+                buffer.putFloat(index + 12, (float) humidities[i]);
+                buffer.putFloat(index + 16, (float) windSpeeds[i]);
+            }
+        }
+    }
+
+    /**
+     * Lê {@code length} leituras do início de {@code buffer} para os vetores.
+     */
+    void decode(ByteBuffer buffer, int[] ids, int[] epochDays, double[] temperatures, double[] humidities,
+            double[] windSpeeds, int length) {
+        int recordBytes = getRecordBytes();
+        if (this == DOUBLE) {
+            for (int i = 0, index = 0; i < length; i++, index += recordBytes) {
+                ids[i] = buffer.getInt(index);
+                epochDays[i] = buffer.getInt(index + 4);
+                temperatures[i] = buffer.getDouble(index + 8);
+                humidities[i] = buffer.getDouble(index + 16);
+                windSpeeds[i] = buffer.getDouble(index + 24);
+            }
+        } else {
+            for (int i = 0, index = 0; i < length; i++, index += recordBytes) {
+                ids[i] = buffer.getInt(index);
+                epochDays[i] = buffer.getInt(index + 4);
+                temperatures[i] = buffer.getFloat(index + 8);
+                humidities[i] = buffer.getFloat(index + 12);
+                windSpeeds[i] = buffer.getFloat(index + 16);
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package infrastructure.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import domain.metrics.MetricRegistry;
+import infrastructure.http.HttpServers;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Servidor HTTP que publica as métricas em {@code /metrics}, no formato de
+ * {@link PrometheusFormat}, para coleta pelo Prometheus.
+ * <p>
+ * As requisições são atendidas por uma única thread daemon: cada coleta lê os
+ * contadores sem bloquear os caminhos que os incrementam.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     MetricsHttpServer server = MetricsHttpServer.start(Metrics.registry(),
+ *             new InetSocketAddress("127.0.0.1", 9464));
+ *     ...
+ *     server.close();
+ * </pre>
+ */
+public class MetricsHttpServer implements AutoCloseable {
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private MetricsHttpServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Abre o servidor no endereço informado.
+     *
+     * @param registry métricas publicadas
+     * @param address  endereço e porta; a porta {@code 0} escolhe uma livre
+     * @return o servidor iniciado
+     * @throws IOException se a porta não puder ser aberta
+     */
+    public static MetricsHttpServer start(MetricRegistry registry, InetSocketAddress address) throws IOException {
+        if (registry == null || address == null) {
+            throw new IllegalArgumentException("Métricas e endereço são obrigatórios.");
+        }
+        HttpServer server = HttpServers.create(address, 0);
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/metrics", exchange -> respond(exchange, registry));
+        server.start();
+        return new MetricsHttpServer(server, executor);
+    }
+
+    public InetSocketAddress getAddress() {
+        return server.getAddress();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void respond(HttpExchange exchange, MetricRegistry registry) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"HEAD".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = PrometheusFormat.write(registry).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", PrometheusFormat.CONTENT_TYPE);
+            if ("HEAD".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package infrastructure.metrics;
+
+import domain.metrics.Counter;
+import domain.metrics.Gauge;
+import domain.metrics.LatencyHistogram;
+import domain.metrics.MetricRegistry;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Publica as métricas de um {@link MetricRegistry} por JMX, em
+ * {@code ignira:type=Metrics}, para consulta no JConsole ou no VisualVM.
+ * <p>
+ * Os atributos são montados a cada consulta, porque novas séries (como as de
+ * uma área recém-cadastrada) podem surgir a qualquer momento:
+ * </p>
+ * <ul>
+ * <li>cada contador, somado entre os rótulos, com o nome da métrica;</li>
+ * <li>cada valor instantâneo, com o nome e os rótulos;</li>
+ * <li>cada histograma, como {@code <nome>_count}, {@code <nome>_mean_seconds},
+ * {@code <nome>_p50_seconds} e {@code <nome>_p99_seconds}.</li>
+ * </ul>
+ */
+public class MetricsMBean implements DynamicMBean {
+    /** Nome com que o MBean é registrado. */
+    public static final String OBJECT_NAME = "ignira:type=Metrics";
+
+    private final MetricRegistry registry;
+
+    public MetricsMBean(MetricRegistry registry) {
+        if (registry == null) {
+            throw new IllegalArgumentException("As métricas não podem ser nulas.");
+        }
+        this.registry = registry;
+    }
+
+    /**
+     * Registra as métricas no servidor de MBeans da plataforma, substituindo um
+     * registro anterior com o mesmo nome.
+     *
+     * @param registry métricas publicadas
+     * @throws JMException se o registro falhar
+     */
+    public static void register(MetricRegistry registry) throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        try {
+            server.registerMBean(new MetricsMBean(registry), name);
+        } catch (InstanceAlreadyExistsException e) {
+            server.unregisterMBean(name);
+            server.registerMBean(new MetricsMBean(registry), name);
+        }
+    }
+
+    @Override
+    public Object getAttribute(String attribute) throws AttributeNotFoundException {
+        Supplier<Object> value = attributes().get(attribute);
+        if (value == null) {
+            throw new AttributeNotFoundException("Métrica inexistente: " + attribute);
+        }
+        return value.get();
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] names) {
+        Map<String, Supplier<Object>> attributes = attributes();
+        AttributeList list = new AttributeList();
+        for (String name : names) {
+            Supplier<Object> value = attributes.get(name);
+            if (value != null) {
+                list.add(new Attribute(name, value.get()));
+            }
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("As métricas são somente leitura: " + attribute.getName());
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, Object[] params, String[] signature) {
+        throw new UnsupportedOperationException("O MBean de métricas não tem operações.");
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        Map<String, Supplier<Object>> attributes = attributes();
+        MBeanAttributeInfo[] infos = new MBeanAttributeInfo[attributes.size()];
+        int i = 0;
+        for (Map.Entry<String, Supplier<Object>> entry : attributes.entrySet()) {
+            String type = entry.getValue().get() instanceof Double ? "double" : "long";
+            infos[i++] = new MBeanAttributeInfo(entry.getKey(), type, entry.getKey(), true, false, false);
+        }
+        return new MBeanInfo(getClass().getName(), "Métricas do Ignira.", infos, null, null, null);
+    }
+
+    private Map<String, Supplier<Object>> attributes() {
+        Map<String, Supplier<Object>> attributes = new LinkedHashMap<>();
+        for (Counter counter : registry.getCounters()) {
+            attributes.putIfAbsent(counter.getName(), () -> counterTotal(counter.getName()));
+        }
+        for (Gauge gauge : registry.getGauges()) {
+            String labels = gauge.getLabels();
+            attributes.put(labels.isEmpty() ? gauge.getName() : gauge.getName() + "{" + labels + "}", gauge::get);
+        }
+        for (LatencyHistogram histogram : registry.getHistograms()) {
+            String name = histogram.getName();
+            attributes.put(name + "_count", histogram::getTotalCount);
+            attributes.put(name + "_mean_seconds", () -> {
+                long count = histogram.getTotalCount();
+                return count == 0 ? 0.0 : histogram.getSumNanos() / 1e9 / count;
+            });
+            attributes.put(name + "_p50_seconds", () -> quantileSeconds(histogram, 0.5));
+            attributes.put(name + "_p99_seconds", () -> quantileSeconds(histogram, 0.99));
+        }
+        return attributes;
+    }
+
+    private long counterTotal(String name) {
+        long total = 0;
+        for (Counter counter : registry.getCounters()) {
+            if (counter.getName().equals(name)) {
+                total += counter.get();
+            }
+        }
+        return total;
+    }
+
+    private static double quantileSeconds(LatencyHistogram histogram, double quantile) {
+        long nanos = histogram.quantileNanos(quantile);
+        return nanos == Long.MAX_VALUE ? Double.POSITIVE_INFINITY : nanos / 1e9;
+    }
+}
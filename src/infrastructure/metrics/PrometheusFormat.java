@@ -0,0 +1,97 @@
+package infrastructure.metrics;
+
+import domain.metrics.Counter;
+import domain.metrics.Gauge;
+import domain.metrics.LatencyHistogram;
+import domain.metrics.MetricRegistry;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Escreve as métricas de um {@link MetricRegistry} no formato de texto do
+ * Prometheus (versão 0.0.4).
+ * <p>
+ * As linhas {@code # HELP} e {@code # TYPE} aparecem uma vez por nome, antes da
+ * primeira série. Os histogramas são publicados em segundos, com os baldes
+ * acumulados ({@code _bucket{le="..."}}), {@code _sum} e {@code _count}.
+ * </p>
+ */
+public final class PrometheusFormat {
+    /** Valor do cabeçalho {@code Content-Type} das respostas. */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private PrometheusFormat() {
+    }
+
+    public static String write(MetricRegistry registry) {
+        StringBuilder out = new StringBuilder(4096);
+        write(registry, out);
+        return out.toString();
+    }
+
+    public static void write(MetricRegistry registry, StringBuilder out) {
+        Set<String> described = new HashSet<>();
+        // As séries de um mesmo nome precisam ficar juntas, mas as das áreas são registradas intercaladas.
+        Map<String, List<Counter>> counters = new LinkedHashMap<>();
+        for (Counter counter : registry.getCounters()) {
+            counters.computeIfAbsent(counter.getName(), name -> new ArrayList<>()).add(counter);
+        }
+        for (List<Counter> series : counters.values()) {
+            for (Counter counter : series) {
+                describe(out, described, counter.getName(), counter.getHelp(), "counter");
+                sample(out, counter.getName(), counter.getLabels(), Long.toString(counter.get()));
+            }
+        }
+        Map<String, List<Gauge>> gauges = new LinkedHashMap<>();
+        for (Gauge gauge : registry.getGauges()) {
+            gauges.computeIfAbsent(gauge.getName(), name -> new ArrayList<>()).add(gauge);
+        }
+        for (List<Gauge> series : gauges.values()) {
+            for (Gauge gauge : series) {
+                describe(out, described, gauge.getName(), gauge.getHelp(), "gauge");
+                sample(out, gauge.getName(), gauge.getLabels(), Long.toString(gauge.get()));
+            }
+        }
+        for (LatencyHistogram histogram : registry.getHistograms()) {
+            String name = histogram.getName();
+            describe(out, described, name, histogram.getHelp(), "histogram");
+            long cumulative = 0;
+            for (int i = 0; i < histogram.getBucketCount(); i++) {
+                cumulative += histogram.getCount(i);
+                long bound = histogram.getUpperBoundNanos(i);
+                String le = bound == Long.MAX_VALUE ? "+Inf" : seconds(bound);
+                sample(out, name + "_bucket", "le=\"" + le + "\"", Long.toString(cumulative));
+            }
+            // A contagem é a do último balde acumulado, para que os dois valores sejam consistentes.
+            sample(out, name + "_sum", "", seconds(histogram.getSumNanos()));
+            sample(out, name + "_count", "", Long.toString(cumulative));
+        }
+    }
+
+    private static void describe(StringBuilder out, Set<String> described, String name, String help, String type) {
+        if (described.add(name)) {
+            out.append("# HELP ").append(name).append(' ').append(escapeHelp(help)).append('\n');
+            out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        }
+    }
+
+    private static void sample(StringBuilder out, String name, String labels, String value) {
+        out.append(name);
+        if (!labels.isEmpty()) {
+            out.append('{').append(labels).append('}');
+        }
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,199 @@
+package infrastructure.persistence;
+
+import domain.entities.Alert;
+import domain.entities.AutomaticAlert;
+import domain.entities.ManualAlert;
+import domain.entities.MonitoredArea;
+import domain.entities.User;
+import domain.entities.WheatherData;
+import domain.entities.WildFire;
+import domain.storage.WeatherDataStore;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Tipos de registro do log de alterações e a codificação das entidades,
+ * comuns ao {@link WalJournal}, à recuperação e aos snapshots.
+ * <p>
+ * Datas são gravadas em dias desde a época ({@link WeatherDataStore#NO_DATE}
+ * para datas ausentes) e textos como tamanho em bytes seguido do UTF-8
+ * ({@code -1} para {@code null}).
+ * </p>
+ */
+final class JournalRecords {
+    static final byte AREA_REGISTERED = 1;
+    static final byte USER_REGISTERED = 2;
+    static final byte AREA_MONITORED = 3;
+    static final byte WEATHER_DATA = 4;
+    static final byte WEATHER_DATA_BATCH = 5;
+    static final byte WILDFIRE = 6;
+    static final byte AUTOMATIC_ALERT = 7;
+    static final byte MANUAL_ALERT = 8;
+    static final byte ALERT = 9;
+    static final byte WEATHER_DATA_WITH_IDS = 10;
+    static final byte ALERT_OCCURRENCES = 11;
+
+    /** Bytes de cada leitura em um registro em lote, sem o ID. */
+    static final int BATCH_BYTES_PER_READING = 3 * Double.BYTES + Integer.BYTES;
+    /** Bytes de um incêndio: ID, data e severidade. */
+    static final int WILDFIRE_BYTES = 3 * Integer.BYTES;
+    /** Bytes de um agrupamento de ocorrências: quantidade, data e risco máximo. */
+    static final int OCCURRENCES_BYTES = 2 * Integer.BYTES + Double.BYTES;
+
+    private JournalRecords() {
+    }
+
+    static byte[] encode(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static int encodedSize(byte[] value) {
+        return Integer.BYTES + (value == null ? 0 : value.length);
+    }
+
+    static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        buffer.putInt(value.length);
+        buffer.put(value);
+    }
+
+    static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static int areaSize(MonitoredArea area) {
+        return Integer.BYTES + encodedSize(encode(area.getName())) + encodedSize(encode(area.getLocation()))
+                + encodedSize(encode(area.getVegetationType()));
+    }
+
+    static void putArea(ByteBuffer buffer, MonitoredArea area) {
+        buffer.putInt(area.getId());
+        putString(buffer, encode(area.getName()));
+        putString(buffer, encode(area.getLocation()));
+        putString(buffer, encode(area.getVegetationType()));
+    }
+
+    static MonitoredArea getArea(ByteBuffer buffer) {
+        return new MonitoredArea(buffer.getInt(), getString(buffer), getString(buffer), getString(buffer));
+    }
+
+    static int userSize(User user) {
+        return Integer.BYTES + encodedSize(encode(user.getName())) + encodedSize(encode(user.getEmail()));
+    }
+
+    static void putUser(ByteBuffer buffer, User user) {
+        buffer.putInt(user.getId());
+        putString(buffer, encode(user.getName()));
+        putString(buffer, encode(user.getEmail()));
+    }
+
+    static User getUser(ByteBuffer buffer) {
+        return new User(buffer.getInt(), getString(buffer), getString(buffer));
+    }
+
+    static void putWildFire(ByteBuffer buffer, WildFire wildFire) {
+        buffer.putInt(wildFire.getId());
+        buffer.putInt(WeatherDataStore.toEpochDay(wildFire.getDate()));
+        buffer.putInt(wildFire.getSeverity());
+    }
+
+    static WildFire getWildFire(ByteBuffer buffer) {
+        return new WildFire(buffer.getInt(), toDate(buffer.getInt()), buffer.getInt());
+    }
+
+    static byte alertType(Alert alert) {
+        if (alert instanceof AutomaticAlert) {
+            return AUTOMATIC_ALERT;
+        }
+        if (alert instanceof ManualAlert) {
+            return MANUAL_ALERT;
+        }
+        return ALERT;
+    }
+
+    static int alertSize(Alert alert) {
+        int size = Integer.BYTES + Double.BYTES + Integer.BYTES;
+        if (alert instanceof AutomaticAlert) {
+            size += 1 + 2 * Integer.BYTES + 3 * Double.BYTES;
+        } else if (alert instanceof ManualAlert) {
+            size += Integer.BYTES + encodedSize(encode(((ManualAlert) alert).getDescription()));
+        }
+        return size;
+    }
+
+    /**
+     * Grava o alerta sem o tipo, que é o tipo do registro no log ou um byte
+     * próprio no snapshot.
+     */
+    static void putAlert(ByteBuffer buffer, Alert alert) {
+        buffer.putInt(alert.getId());
+        buffer.putDouble(alert.getRiskLevel());
+        buffer.putInt(WeatherDataStore.toEpochDay(alert.getIssueDate()));
+        if (alert instanceof AutomaticAlert) {
+            WheatherData data = ((AutomaticAlert) alert).getGeneratedFrom();
+            buffer.put((byte) (data == null ? 0 : 1));
+            buffer.putInt(data == null ? 0 : data.getId());
+            buffer.putDouble(data == null ? 0 : data.getTemperature());
+            buffer.putDouble(data == null ? 0 : data.getHumidity());
+            buffer.putDouble(data == null ? 0 : data.getWindSpeed());
+            buffer.putInt(data == null ? WeatherDataStore.NO_DATE : WeatherDataStore.toEpochDay(data.getDate()));
+        } else if (alert instanceof ManualAlert) {
+            ManualAlert manual = (ManualAlert) alert;
+            buffer.putInt(manual.getCreatedBy() == null ? -1 : manual.getCreatedBy().getId());
+            putString(buffer, encode(manual.getDescription()));
+        }
+    }
+
+    /**
+     * Lê um alerta gravado por {@link #putAlert(ByteBuffer, Alert)}.
+     *
+     * @param type  o tipo do alerta
+     * @param users os usuários conhecidos, para o criador de alertas manuais
+     */
+    static Alert getAlert(byte type, ByteBuffer buffer, Map<Integer, User> users) {
+        int id = buffer.getInt();
+        double riskLevel = buffer.getDouble();
+        LocalDate issueDate = toDate(buffer.getInt());
+        switch (type) {
+            case AUTOMATIC_ALERT: {
+                boolean hasData = buffer.get() != 0;
+                WheatherData data = new WheatherData(buffer.getInt(), buffer.getDouble(), buffer.getDouble(),
+                        buffer.getDouble(), toDate(buffer.getInt()));
+                return new AutomaticAlert(id, riskLevel, issueDate, hasData ? data : null);
+            }
+            case MANUAL_ALERT: {
+                User createdBy = users.get(buffer.getInt());
+                return new ManualAlert(id, riskLevel, issueDate, getString(buffer), createdBy);
+            }
+            case ALERT:
+                return new Alert(id, riskLevel, issueDate);
+            default:
+                throw new IllegalArgumentException("Tipo de alerta desconhecido: " + type + ".");
+        }
+    }
+
+    static void putOccurrences(ByteBuffer buffer, Alert.Occurrences occurrences) {
+        buffer.putInt(occurrences.getCount());
+        buffer.putInt(WeatherDataStore.toEpochDay(occurrences.getLastDate()));
+        buffer.putDouble(occurrences.getPeakRiskLevel());
+    }
+
+    static Alert.Occurrences getOccurrences(ByteBuffer buffer) {
+        return new Alert.Occurrences(buffer.getInt(), toDate(buffer.getInt()), buffer.getDouble());
+    }
+
+    static LocalDate toDate(int epochDay) {
+        return epochDay == WeatherDataStore.NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+}
@@ -0,0 +1,183 @@
+package infrastructure.persistence;
+
+import domain.entities.MonitoredArea;
+import domain.entities.User;
+import domain.registry.AreaRegistry;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Reaplica os registros dos segmentos do log sobre o domínio restaurado do
+ * snapshot, sem registrá-los novamente.
+ * <p>
+ * Leituras avulsas consecutivas da mesma área são acumuladas e restauradas em
+ * bloco, como as leituras de um registro em lote.
+ * </p>
+ */
+final class JournalReplayer {
+    private static final int PENDING_CAPACITY = 4096;
+
+    private final AreaRegistry registry;
+    private final Map<Integer, User> users;
+    private int[] ids = new int[PENDING_CAPACITY];
+    private double[] temperatures = new double[PENDING_CAPACITY];
+    private double[] humidities = new double[PENDING_CAPACITY];
+    private double[] windSpeeds = new double[PENDING_CAPACITY];
+    private int[] epochDays = new int[PENDING_CAPACITY];
+    private MonitoredArea pendingArea;
+    private int pending;
+    private long records;
+    private int truncatedSegments;
+
+    JournalReplayer(AreaRegistry registry, Map<Integer, User> users) {
+        this.registry = registry;
+        this.users = users;
+    }
+
+    /**
+     * Reaplica um segmento até o fim ou até o primeiro registro inválido.
+     *
+     * @param segment o arquivo do segmento
+     * @throws IOException se o arquivo não puder ser lido
+     */
+    void replay(Path segment) throws IOException {
+        try (WalReader reader = new WalReader(segment)) {
+            while (reader.next()) {
+                apply(reader.type(), reader.payload());
+                records++;
+            }
+            if (reader.isTruncated()) {
+                truncatedSegments++;
+            }
+        }
+        flush();
+    }
+
+    long getRecords() {
+        return records;
+    }
+
+    int getTruncatedSegments() {
+        return truncatedSegments;
+    }
+
+    private void apply(byte type, ByteBuffer payload) {
+        if (type == JournalRecords.WEATHER_DATA) {
+            MonitoredArea area = registry.find(payload.getInt());
+            if (area != pendingArea || pending == ids.length) {
+                flush();
+                pendingArea = area;
+            }
+            if (area != null) {
+                ids[pending] = payload.getInt();
+                temperatures[pending] = payload.getDouble();
+                humidities[pending] = payload.getDouble();
+                windSpeeds[pending] = payload.getDouble();
+                epochDays[pending] = payload.getInt();
+                pending++;
+            }
+            return;
+        }
+        flush();
+        switch (type) {
+            case JournalRecords.AREA_REGISTERED: {
+                MonitoredArea area = JournalRecords.getArea(payload);
+                if (!registry.contains(area.getId())) {
+                    registry.register(area);
+                }
+                break;
+            }
+            case JournalRecords.USER_REGISTERED: {
+                User user = JournalRecords.getUser(payload);
+                users.putIfAbsent(user.getId(), user);
+                break;
+            }
+            case JournalRecords.AREA_MONITORED: {
+                User user = users.get(payload.getInt());
+                MonitoredArea area = registry.find(payload.getInt());
+                if (user != null && area != null) {
+                    user.restoreMonitoredArea(area);
+                }
+                break;
+            }
+            case JournalRecords.WEATHER_DATA_BATCH:
+                replayBatch(payload, false);
+                break;
+            case JournalRecords.WEATHER_DATA_WITH_IDS:
+                replayBatch(payload, true);
+                break;
+            case JournalRecords.WILDFIRE: {
+                MonitoredArea area = registry.find(payload.getInt());
+                if (area != null) {
+                    area.restoreWildFire(JournalRecords.getWildFire(payload));
+                }
+                break;
+            }
+            case JournalRecords.AUTOMATIC_ALERT:
+            case JournalRecords.MANUAL_ALERT:
+            case JournalRecords.ALERT: {
+                MonitoredArea area = registry.find(payload.getInt());
+                if (area != null) {
+                    area.restoreAlert(JournalRecords.getAlert(type, payload, users));
+                }
+                break;
+            }
+            case JournalRecords.ALERT_OCCURRENCES: {
+                MonitoredArea area = registry.find(payload.getInt());
+                int alertId = payload.getInt();
+                if (area != null) {
+                    area.restoreAlertOccurrences(alertId, JournalRecords.getOccurrences(payload));
+                }
+                break;
+            }
+            default:
+                throw new IllegalArgumentException("Tipo de registro desconhecido no log: " + type + ".");
+        }
+    }
+
+    private void replayBatch(ByteBuffer payload, boolean explicitIds) {
+        MonitoredArea area = registry.find(payload.getInt());
+        int firstId = explicitIds ? 0 : payload.getInt();
+        int count = payload.getInt();
+        if (area == null) {
+            return;
+        }
+        if (ids.length < count) {
+            ids = new int[count];
+            temperatures = new double[count];
+            humidities = new double[count];
+            windSpeeds = new double[count];
+            epochDays = new int[count];
+        }
+        if (explicitIds) {
+            payload.asIntBuffer().get(ids, 0, count);
+            payload.position(payload.position() + count * Integer.BYTES);
+        } else {
+            for (int i = 0; i < count; i++) {
+                ids[i] = firstId + i;
+            }
+        }
+        int position = payload.position();
+        payload.asDoubleBuffer().get(temperatures, 0, count);
+        position += count * Double.BYTES;
+        payload.position(position);
+        payload.asDoubleBuffer().get(humidities, 0, count);
+        position += count * Double.BYTES;
+        payload.position(position);
+        payload.asDoubleBuffer().get(windSpeeds, 0, count);
+        position += count * Double.BYTES;
+        payload.position(position);
+        payload.asIntBuffer().get(epochDays, 0, count);
+        area.restoreWeatherData(ids, temperatures, humidities, windSpeeds, epochDays, 0, count);
+    }
+
+    private void flush() {
+        if (pending > 0 && pendingArea != null) {
+            pendingArea.restoreWeatherData(ids, temperatures, humidities, windSpeeds, epochDays, 0, pending);
+        }
+        pending = 0;
+        pendingArea = null;
+    }
+}
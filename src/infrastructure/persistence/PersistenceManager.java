@@ -0,0 +1,315 @@
+package infrastructure.persistence;
+
+import domain.entities.MonitoredArea;
+import domain.entities.User;
+import domain.persistence.ChangeJournal;
+import domain.persistence.Journals;
+import domain.registry.AreaRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Persistência do domínio em disco: um {@link WriteAheadLog} com todas as
+ * alterações e snapshots periódicos do estado completo.
+ * <p>
+ * Ao abrir, o estado é recuperado do snapshot válido mais recente e dos
+ * segmentos do log gravados depois dele; em seguida o {@link WalJournal} é
+ * instalado em {@link Journals} e as alterações passam a ser gravadas. Um
+ * snapshot fixa o estado entre duas alterações completas (a barreira do
+ * {@link WalJournal}), troca o segmento do log e grava o arquivo enquanto as
+ * alterações continuam. Depois de gravado, os segmentos cobertos pelo
+ * snapshot anterior são apagados; os dois snapshots mais recentes são
+ * mantidos, para o caso de o último estar corrompido.
+ * </p>
+ *
+ * <p>
+ * Cada ocorrência agrupada em um alerta registra no log o agrupamento
+ * resultante (quantidade, data da última e risco máximo). Na recuperação,
+ * prevalece o registro com mais ocorrências, de modo que a ordem dos registros
+ * e um snapshot gravado depois deles não alteram o resultado.
+ * </p>
+ *
+ * <h2>Exemplo de uso:</h2>
+ *
+ * <pre>
+ *     PersistenceManager persistence = PersistenceManager.open(Path.of("dados"), registry, users);
+ *     System.out.println(persistence.getRecoveryReport());
+ *     persistence.scheduleSnapshots(Duration.ofMinutes(10));
+ *     ...
+ *     persistence.close();
+ * </pre>
+ */
+public class PersistenceManager implements AutoCloseable {
+    private static final int KEPT_SNAPSHOTS = 2;
+
+    private final Path directory;
+    private final AreaRegistry registry;
+    private final Map<Integer, User> users;
+    private final WriteAheadLog log;
+    private final WalJournal journal;
+    private final RecoveryReport recoveryReport;
+    private final Object snapshotLock = new Object();
+    private ScheduledExecutorService scheduler;
+    private volatile long lsnAtLastSnapshot;
+    private volatile Instant lastSnapshotTime;
+    private volatile String lastSnapshotError;
+
+    private PersistenceManager(Path directory, AreaRegistry registry, Map<Integer, User> users, WriteAheadLog log,
+            RecoveryReport recoveryReport) {
+        this.directory = directory;
+        this.registry = registry;
+        this.users = users;
+        this.log = log;
+        this.journal = new WalJournal(log);
+        this.recoveryReport = recoveryReport;
+    }
+
+    /**
+     * Recupera o estado gravado em {@code directory} para {@code registry} e
+     * {@code users} e passa a registrar as alterações do domínio.
+     *
+     * @param directory diretório dos dados; é criado se não existir
+     * @param registry  registro de áreas, vazio, que recebe as áreas recuperadas
+     * @param users     mapa de usuários, vazio, que recebe os usuários recuperados
+     * @return a persistência aberta
+     * @throws IOException se os arquivos não puderem ser lidos ou criados
+     */
+    public static PersistenceManager open(Path directory, AreaRegistry registry, Map<Integer, User> users)
+            throws IOException {
+        if (directory == null || registry == null || users == null) {
+            throw new IllegalArgumentException("Diretório, registro de áreas e usuários são obrigatórios.");
+        }
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+        deleteTemporaryFiles(directory);
+
+        SnapshotFile.Contents contents = null;
+        List<String> ignoredSnapshots = new ArrayList<>();
+        for (Path snapshot : listSnapshots(directory)) {
+            try {
+                contents = SnapshotFile.read(snapshot);
+                break;
+            } catch (IOException | RuntimeException e) {
+                ignoredSnapshots.add(snapshot.getFileName() + ": " + e.getMessage());
+            }
+        }
+        long snapshotSegment = 0;
+        if (contents != null) {
+            snapshotSegment = contents.segment;
+            users.putAll(contents.users);
+            for (MonitoredArea area : contents.areas) {
+                registry.register(area);
+            }
+        }
+
+        JournalReplayer replayer = new JournalReplayer(registry, users);
+        int replayedSegments = 0;
+        long lastSegment = 0;
+        for (Path segment : listSegments(directory)) {
+            long number = WriteAheadLog.segmentNumber(segment);
+            lastSegment = Math.max(lastSegment, number);
+            if (number >= snapshotSegment) {
+                replayer.replay(segment);
+                replayedSegments++;
+            }
+        }
+
+        long weatherDataCount = 0;
+        for (MonitoredArea area : registry.all()) {
+            weatherDataCount += area.getWeatherDataCount();
+        }
+        RecoveryReport report = new RecoveryReport(snapshotSegment, replayer.getRecords(), replayedSegments,
+                replayer.getTruncatedSegments(), registry.size(), users.size(), weatherDataCount,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), ignoredSnapshots);
+
+        // Um novo segmento a cada abertura: nada é acrescentado depois de um final cortado.
+        WriteAheadLog log = new WriteAheadLog(directory, Math.max(lastSegment, snapshotSegment) + 1,
+                WriteAheadLog.DEFAULT_BUFFER_BYTES, WriteAheadLog.DEFAULT_SEGMENT_BYTES);
+        PersistenceManager manager = new PersistenceManager(directory, registry, users, log, report);
+        Journals.install(manager.journal);
+        return manager;
+    }
+
+    public RecoveryReport getRecoveryReport() {
+        return recoveryReport;
+    }
+
+    /**
+     * Retorna quando o último snapshot foi gravado com sucesso.
+     *
+     * @return o instante do último snapshot, ou {@code null} se nenhum foi
+     *         gravado desde a abertura
+     */
+    public Instant getLastSnapshotTime() {
+        return lastSnapshotTime;
+    }
+
+    /**
+     * Retorna o motivo da última falha de um snapshot periódico. Os
+     * snapshots pedidos por {@link #snapshot()} lançam a exceção para quem
+     * os pediu.
+     *
+     * @return a última falha, ou {@code null} se nenhum snapshot periódico
+     *         falhou
+     */
+    public String getLastSnapshotError() {
+        return lastSnapshotError;
+    }
+
+    /**
+     * Cadastra um usuário no mapa de usuários e registra o cadastro no log.
+     *
+     * @param user o usuário cadastrado
+     */
+    public void registerUser(User user) {
+        if (user == null) {
+            throw new IllegalArgumentException("Usuário não pode ser nulo.");
+        }
+        ChangeJournal journal = Journals.current();
+        journal.beginWrite();
+        try {
+            users.put(user.getId(), user);
+            journal.userRegistered(user);
+        } finally {
+            journal.endWrite();
+        }
+    }
+
+    /**
+     * Grava um snapshot do estado atual. As alterações ficam suspensas apenas
+     * enquanto o estado é fixado e o segmento do log é trocado.
+     *
+     * @return o número do segmento a partir do qual o log é reaplicado sobre o
+     *         snapshot
+     * @throws IOException se o snapshot não puder ser gravado
+     */
+    public long snapshot() throws IOException {
+        synchronized (snapshotLock) {
+            SnapshotFile.State state = journal.exclusive(() -> {
+                SnapshotFile.State captured = new SnapshotFile.State(log.roll());
+                lsnAtLastSnapshot = log.getAppendedLsn();
+                for (User user : users.values()) {
+                    captured.users.add(user);
+                    captured.monitoredAreas.add(new ArrayList<>(user.getMonitoredAreas()));
+                }
+                for (MonitoredArea area : registry.all()) {
+                    captured.areas.add(new SnapshotFile.AreaState(area));
+                }
+                return captured;
+            });
+            SnapshotFile.write(directory, state);
+            lastSnapshotTime = Instant.now();
+            deleteObsoleteFiles();
+            return state.segment;
+        }
+    }
+
+    /**
+     * Grava snapshots periodicamente, em uma thread própria, sempre que houver
+     * alterações desde o último.
+     *
+     * @param interval o intervalo entre snapshots
+     */
+    public synchronized void scheduleSnapshots(Duration interval) {
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("O intervalo entre snapshots deve ser positivo.");
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                if (log.getAppendedLsn() != lsnAtLastSnapshot) {
+                    snapshot();
+                }
+            } catch (IOException | RuntimeException e) {
+                // Uma exceção que escapasse cancelaria os snapshots seguintes.
+                lastSnapshotError = Instant.now() + ": " + e;
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Para os snapshots periódicos, volta o domínio a operar apenas em memória e
+     * fecha o log, gravando os registros pendentes.
+     *
+     * @throws IOException se a gravação final do log falhar
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+            }
+        }
+        synchronized (snapshotLock) {
+            journal.exclusive(() -> {
+                Journals.install(ChangeJournal.NONE);
+                return null;
+            });
+            log.close();
+        }
+    }
+
+    private void deleteObsoleteFiles() throws IOException {
+        List<Path> snapshots = listSnapshots(directory);
+        if (snapshots.size() < KEPT_SNAPSHOTS) {
+            return;
+        }
+        long oldestKept = SnapshotFile.segmentNumber(snapshots.get(KEPT_SNAPSHOTS - 1));
+        for (Path snapshot : snapshots.subList(KEPT_SNAPSHOTS, snapshots.size())) {
+            Files.deleteIfExists(snapshot);
+        }
+        for (Path segment : listSegments(directory)) {
+            if (WriteAheadLog.segmentNumber(segment) < oldestKept) {
+                Files.deleteIfExists(segment);
+            }
+        }
+    }
+
+    /** Lista os snapshots, do mais recente para o mais antigo. */
+    private static List<Path> listSnapshots(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> snapshots = new ArrayList<>();
+            files.filter(file -> SnapshotFile.segmentNumber(file) > 0).forEach(snapshots::add);
+            snapshots.sort((a, b) -> Long.compare(SnapshotFile.segmentNumber(b), SnapshotFile.segmentNumber(a)));
+            return snapshots;
+        }
+    }
+
+    /** Lista os segmentos do log em ordem crescente. */
+    private static List<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> segments = new ArrayList<>();
+            files.filter(file -> WriteAheadLog.segmentNumber(file) > 0).forEach(segments::add);
+            segments.sort((a, b) -> Long.compare(WriteAheadLog.segmentNumber(a), WriteAheadLog.segmentNumber(b)));
+            return segments;
+        }
+    }
+
+    private static void deleteTemporaryFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package infrastructure.persistence;
+
+import java.util.List;
+
+/**
+ * Resumo da recuperação feita ao abrir o {@link PersistenceManager}.
+ */
+public class RecoveryReport {
+    private final long snapshotSegment;
+    private final long replayedRecords;
+    private final int replayedSegments;
+    private final int truncatedSegments;
+    private final int areas;
+    private final int users;
+    private final long weatherDataCount;
+    private final long elapsedMillis;
+    private final List<String> ignoredSnapshots;
+
+    public RecoveryReport(long snapshotSegment, long replayedRecords, int replayedSegments, int truncatedSegments,
+            int areas, int users, long weatherDataCount, long elapsedMillis, List<String> ignoredSnapshots) {
+        this.snapshotSegment = snapshotSegment;
+        this.replayedRecords = replayedRecords;
+        this.replayedSegments = replayedSegments;
+        this.truncatedSegments = truncatedSegments;
+        this.areas = areas;
+        this.users = users;
+        this.weatherDataCount = weatherDataCount;
+        this.elapsedMillis = elapsedMillis;
+        this.ignoredSnapshots = List.copyOf(ignoredSnapshots);
+    }
+
+    /**
+     * Retorna o segmento do snapshot usado na recuperação.
+     *
+     * @return o número do segmento do snapshot, ou {@code 0} se nenhum snapshot
+     *         foi usado
+     */
+    public long getSnapshotSegment() {
+        return snapshotSegment;
+    }
+
+    public long getReplayedRecords() {
+        return replayedRecords;
+    }
+
+    public int getReplayedSegments() {
+        return replayedSegments;
+    }
+
+    /**
+     * Retorna quantos segmentos terminavam em um registro cortado ou com CRC
+     * inválido, descartado na recuperação.
+     *
+     * @return a quantidade de segmentos com final descartado
+     */
+    public int getTruncatedSegments() {
+        return truncatedSegments;
+    }
+
+    public int getAreas() {
+        return areas;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public long getWeatherDataCount() {
+        return weatherDataCount;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    /**
+     * Retorna os snapshots mais recentes que o usado, descartados por não
+     * poderem ser lidos, cada um com o arquivo e o motivo.
+     *
+     * @return os snapshots ignorados, do mais recente para o mais antigo
+     */
+    public List<String> getIgnoredSnapshots() {
+        return ignoredSnapshots;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Recuperação: %d áreas, %d usuários e %d dados climáticos em %d ms "
+                + "(snapshot %s, %d registros de %d segmentos do log%s%s)", areas, users, weatherDataCount,
+                elapsedMillis, snapshotSegment == 0 ? "nenhum" : String.valueOf(snapshotSegment), replayedRecords,
+                replayedSegments, truncatedSegments == 0 ? "" : ", " + truncatedSegments + " com final descartado",
+                ignoredSnapshots.isEmpty() ? "" : "; snapshots ignorados: " + String.join("; ", ignoredSnapshots));
+    }
+}
@@ -0,0 +1,515 @@
+package infrastructure.persistence;
+
+import domain.entities.Alert;
+import domain.entities.MonitoredArea;
+import domain.entities.User;
+import domain.entities.WildFire;
+import domain.stats.DailyWeatherAggregates;
+import domain.stats.DailyWeatherAggregates.Metric;
+import domain.storage.WeatherDataStore;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * Leitura e gravação dos snapshots {@code snapshot-00000001.bin}, ...
+ * <p>
+ * Um snapshot guarda o estado completo do domínio e o número do primeiro
+ * segmento do log que ainda precisa ser reaplicado sobre ele. As leituras
+ * climáticas são gravadas em colunas, em blocos de até
+ * {@value #READINGS_PER_BLOCK} leituras, e lidas de volta com cópias em bloco,
+ * sem criar um objeto por leitura. A partir da versão 2, cada área guarda
+ * também os agregados diários das leituras já compactadas; snapshots da
+ * versão 1 continuam legíveis. O arquivo termina com o CRC32C de todo o
+ * conteúdo; um snapshot com CRC inválido é ignorado na recuperação.
+ * </p>
+ *
+ * <p>
+ * A gravação é feita em um arquivo temporário, descarregada com
+ * {@link FileChannel#force(boolean)} e só então renomeada para o nome final,
+ * de modo que uma queda durante a gravação nunca deixa um snapshot parcial.
+ * </p>
+ */
+final class SnapshotFile {
+    static final int READINGS_PER_BLOCK = 1 << 20;
+
+    private static final int MAGIC = 0x49474E53;
+    private static final int VERSION = 2;
+    private static final int FIRST_VERSION = 1;
+    private static final int METRICS = Metric.values().length;
+    private static final int BUFFER_BYTES = 8 * 1024 * 1024;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".bin";
+
+    private SnapshotFile() {
+    }
+
+    static Path path(Path directory, long segment) {
+        return directory.resolve(String.format("%s%08d%s", PREFIX, segment, SUFFIX));
+    }
+
+    /**
+     * Extrai o segmento de um arquivo de snapshot.
+     *
+     * @return o número do segmento, ou {@code -1} se o arquivo não for um
+     *         snapshot
+     */
+    static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(PREFIX) || !name.endsWith(SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Estado do domínio capturado na barreira do snapshot: as quantidades e as
+     * listas são fixadas ali, e a gravação pode acontecer depois, em paralelo
+     * com novas alterações.
+     */
+    static final class State {
+        final long segment;
+        final List<User> users = new ArrayList<>();
+        final List<List<MonitoredArea>> monitoredAreas = new ArrayList<>();
+        final List<AreaState> areas = new ArrayList<>();
+
+        State(long segment) {
+            this.segment = segment;
+        }
+    }
+
+    static final class AreaState {
+        final MonitoredArea area;
+        final WeatherDataStore.View weatherDatas;
+        final DailyWeatherAggregates dailyWeather;
+        final List<WildFire> wildFires;
+        final List<Alert> alerts;
+
+        AreaState(MonitoredArea area) {
+            this.area = area;
+            this.weatherDatas = area.getWeatherDataView();
+            this.dailyWeather = area.getDailyWeather();
+            this.wildFires = area.getWildFires();
+            this.alerts = area.getAlerts();
+        }
+    }
+
+    /** Conteúdo de um snapshot lido, ainda fora do registro de áreas. */
+    static final class Contents {
+        final long segment;
+        final Map<Integer, User> users = new LinkedHashMap<>();
+        final List<MonitoredArea> areas = new ArrayList<>();
+
+        Contents(long segment) {
+            this.segment = segment;
+        }
+    }
+
+    /**
+     * Grava o estado capturado em {@code directory}.
+     *
+     * @return o caminho do snapshot gravado
+     * @throws IOException se a gravação falhar
+     */
+    static Path write(Path directory, State state) throws IOException {
+        Path target = path(directory, state.segment);
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (Output out = new Output(FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))) {
+            out.ensure(2 * Integer.BYTES + Long.BYTES + Integer.BYTES).putInt(MAGIC).putInt(VERSION)
+                    .putLong(state.segment).putInt(state.users.size());
+            for (User user : state.users) {
+                JournalRecords.putUser(out.ensure(JournalRecords.userSize(user)), user);
+            }
+            out.ensure(Integer.BYTES).putInt(state.areas.size());
+            int[] ids = new int[0];
+            double[] temperatures = new double[0];
+            double[] humidities = new double[0];
+            double[] windSpeeds = new double[0];
+            int[] epochDays = new int[0];
+            for (AreaState areaState : state.areas) {
+                MonitoredArea area = areaState.area;
+                JournalRecords.putArea(out.ensure(JournalRecords.areaSize(area)), area);
+                int weatherDataCount = areaState.weatherDatas.size();
+                out.ensure(Integer.BYTES).putInt(weatherDataCount);
+                for (int first = 0; first < weatherDataCount; first += READINGS_PER_BLOCK) {
+                    int count = Math.min(READINGS_PER_BLOCK, weatherDataCount - first);
+                    if (ids.length < count) {
+                        ids = new int[count];
+                        temperatures = new double[count];
+                        humidities = new double[count];
+                        windSpeeds = new double[count];
+                        epochDays = new int[count];
+                    }
+                    areaState.weatherDatas.copyTo(first, count, ids, temperatures, humidities, windSpeeds,
+                            epochDays, 0);
+                    out.putInts(ids, count);
+                    out.putDoubles(temperatures, count);
+                    out.putDoubles(humidities, count);
+                    out.putDoubles(windSpeeds, count);
+                    out.putInts(epochDays, count);
+                }
+                putDailyWeather(out, areaState.dailyWeather);
+                out.ensure(Integer.BYTES).putInt(areaState.wildFires.size());
+                for (WildFire wildFire : areaState.wildFires) {
+                    JournalRecords.putWildFire(out.ensure(JournalRecords.WILDFIRE_BYTES), wildFire);
+                }
+                out.ensure(Integer.BYTES).putInt(areaState.alerts.size());
+                for (Alert alert : areaState.alerts) {
+                    ByteBuffer buffer = out.ensure(1 + JournalRecords.alertSize(alert)
+                            + JournalRecords.OCCURRENCES_BYTES);
+                    buffer.put(JournalRecords.alertType(alert));
+                    JournalRecords.putAlert(buffer, alert);
+                    JournalRecords.putOccurrences(buffer, alert.getOccurrenceSnapshot());
+                }
+            }
+            for (int i = 0; i < state.users.size(); i++) {
+                List<MonitoredArea> monitored = state.monitoredAreas.get(i);
+                ByteBuffer buffer = out.ensure((2 + monitored.size()) * Integer.BYTES);
+                buffer.putInt(state.users.get(i).getId()).putInt(monitored.size());
+                for (MonitoredArea area : monitored) {
+                    buffer.putInt(area.getId());
+                }
+            }
+            out.finish();
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        WriteAheadLog.syncDirectory(directory);
+        return target;
+    }
+
+    /**
+     * Lê um snapshot e confere o seu CRC.
+     *
+     * @return o conteúdo do snapshot
+     * @throws IOException se o arquivo não puder ser lido ou estiver corrompido
+     */
+    static Contents read(Path file) throws IOException {
+        try (Input in = new Input(FileChannel.open(file, StandardOpenOption.READ))) {
+            ByteBuffer header = in.require(2 * Integer.BYTES + Long.BYTES + Integer.BYTES);
+            int magic = header.getInt();
+            int version = header.getInt();
+            if (magic != MAGIC || version < FIRST_VERSION || version > VERSION) {
+                throw new IOException("Arquivo de snapshot inválido: " + file + ".");
+            }
+            Contents contents = new Contents(header.getLong());
+            int userCount = header.getInt();
+            for (int i = 0; i < userCount; i++) {
+                User user = JournalRecords.getUser(in.require(in.stringsAhead(Integer.BYTES, 2)));
+                contents.users.put(user.getId(), user);
+            }
+            int areaCount = in.require(Integer.BYTES).getInt();
+            int[] ids = new int[0];
+            double[] temperatures = new double[0];
+            double[] humidities = new double[0];
+            double[] windSpeeds = new double[0];
+            int[] epochDays = new int[0];
+            for (int a = 0; a < areaCount; a++) {
+                MonitoredArea area = JournalRecords.getArea(in.require(in.stringsAhead(Integer.BYTES, 3)));
+                int weatherDataCount = in.require(Integer.BYTES).getInt();
+                for (int first = 0; first < weatherDataCount; first += READINGS_PER_BLOCK) {
+                    int count = Math.min(READINGS_PER_BLOCK, weatherDataCount - first);
+                    if (ids.length < count) {
+                        ids = new int[count];
+                        temperatures = new double[count];
+                        humidities = new double[count];
+                        windSpeeds = new double[count];
+                        epochDays = new int[count];
+                    }
+                    in.getInts(ids, count);
+                    in.getDoubles(temperatures, count);
+                    in.getDoubles(humidities, count);
+                    in.getDoubles(windSpeeds, count);
+                    in.getInts(epochDays, count);
+                    area.restoreWeatherData(ids, temperatures, humidities, windSpeeds, epochDays, 0, count);
+                }
+                if (version >= 2) {
+                    area.restoreDailyWeather(getDailyWeather(in));
+                }
+                int wildFireCount = in.require(Integer.BYTES).getInt();
+                for (int i = 0; i < wildFireCount; i++) {
+                    area.restoreWildFire(JournalRecords.getWildFire(in.require(JournalRecords.WILDFIRE_BYTES)));
+                }
+                int alertCount = in.require(Integer.BYTES).getInt();
+                for (int i = 0; i < alertCount; i++) {
+                    byte type = in.require(1).get();
+                    ByteBuffer buffer = in.require(in.alertAhead(type));
+                    Alert alert = JournalRecords.getAlert(type, buffer, contents.users);
+                    Alert.Occurrences occurrences = JournalRecords.getOccurrences(buffer);
+                    alert.restoreOccurrences(occurrences.getCount(), occurrences.getLastDate(),
+                            occurrences.getPeakRiskLevel());
+                    area.restoreAlert(alert);
+                }
+                contents.areas.add(area);
+            }
+            Map<Integer, MonitoredArea> areasById = new LinkedHashMap<>();
+            for (MonitoredArea area : contents.areas) {
+                areasById.put(area.getId(), area);
+            }
+            for (int i = 0; i < userCount; i++) {
+                ByteBuffer buffer = in.require(2 * Integer.BYTES);
+                User user = contents.users.get(buffer.getInt());
+                int monitoredCount = buffer.getInt();
+                ByteBuffer areaIds = in.require(monitoredCount * Integer.BYTES);
+                for (int j = 0; j < monitoredCount; j++) {
+                    MonitoredArea area = areasById.get(areaIds.getInt());
+                    if (user != null && area != null) {
+                        user.restoreMonitoredArea(area);
+                    }
+                }
+            }
+            in.verify(file);
+            return contents;
+        }
+    }
+
+    /**
+     * Grava os agregados diários em colunas: a quantidade de dias, os dias, as
+     * contagens e, para cada métrica, as somas, os mínimos e os máximos.
+     */
+    private static void putDailyWeather(Output out, DailyWeatherAggregates daily) throws IOException {
+        int size = daily.size();
+        out.ensure(Integer.BYTES).putInt(size);
+        int[] days = new int[size];
+        int[] counts = new int[size];
+        for (int i = 0; i < size; i++) {
+            days[i] = daily.getEpochDay(i);
+            counts[i] = daily.getCount(i);
+        }
+        out.putInts(days, size);
+        out.putInts(counts, size);
+        double[] values = new double[size];
+        for (Metric metric : Metric.values()) {
+            for (int i = 0; i < size; i++) {
+                values[i] = daily.getSum(metric, i);
+            }
+            out.putDoubles(values, size);
+            for (int i = 0; i < size; i++) {
+                values[i] = daily.getMin(metric, i);
+            }
+            out.putDoubles(values, size);
+            for (int i = 0; i < size; i++) {
+                values[i] = daily.getMax(metric, i);
+            }
+            out.putDoubles(values, size);
+        }
+    }
+
+    private static DailyWeatherAggregates getDailyWeather(Input in) throws IOException {
+        int size = in.require(Integer.BYTES).getInt();
+        if (size < 0) {
+            throw new IOException("Snapshot com agregados diários inválidos.");
+        }
+        int[] days = new int[size];
+        int[] counts = new int[size];
+        in.getInts(days, size);
+        in.getInts(counts, size);
+        double[][] sums = new double[METRICS][size];
+        double[][] mins = new double[METRICS][size];
+        double[][] maxs = new double[METRICS][size];
+        for (int m = 0; m < METRICS; m++) {
+            in.getDoubles(sums[m], size);
+            in.getDoubles(mins[m], size);
+            in.getDoubles(maxs[m], size);
+        }
+        DailyWeatherAggregates.Accumulator accumulator = new DailyWeatherAggregates.Accumulator();
+        double[] daySums = new double[METRICS];
+        double[] dayMins = new double[METRICS];
+        double[] dayMaxs = new double[METRICS];
+        for (int i = 0; i < size; i++) {
+            for (int m = 0; m < METRICS; m++) {
+                daySums[m] = sums[m][i];
+                dayMins[m] = mins[m][i];
+                dayMaxs[m] = maxs[m][i];
+            }
+            accumulator.addDay(days[i], counts[i], daySums, dayMins, dayMaxs);
+        }
+        return accumulator.build();
+    }
+
+    /** Saída em buffer que acumula o CRC do que é gravado. */
+    private static final class Output implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private final CRC32C crc = new CRC32C();
+
+        private Output(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        private ByteBuffer ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                drain();
+                if (buffer.remaining() < bytes) {
+                    throw new IOException("Registro maior que o buffer do snapshot: " + bytes + " bytes.");
+                }
+            }
+            return buffer;
+        }
+
+        private void putInts(int[] values, int count) throws IOException {
+            for (int done = 0; done < count;) {
+                int n = Math.min(count - done, ensure(Integer.BYTES).remaining() / Integer.BYTES);
+                buffer.asIntBuffer().put(values, done, n);
+                buffer.position(buffer.position() + n * Integer.BYTES);
+                done += n;
+            }
+        }
+
+        private void putDoubles(double[] values, int count) throws IOException {
+            for (int done = 0; done < count;) {
+                int n = Math.min(count - done, ensure(Double.BYTES).remaining() / Double.BYTES);
+                buffer.asDoubleBuffer().put(values, done, n);
+                buffer.position(buffer.position() + n * Double.BYTES);
+                done += n;
+            }
+        }
+
+        private void finish() throws IOException {
+            drain();
+            buffer.putInt((int) crc.getValue()).putInt(MAGIC);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+            channel.force(true);
+        }
+
+        private void drain() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Entrada em buffer que acumula o CRC de tudo o que é lido, exceto os 8
+     * bytes finais (o CRC gravado e a marca de fim).
+     */
+    private static final class Input implements AutoCloseable {
+        private static final int TRAILER_BYTES = 2 * Integer.BYTES;
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        private final CRC32C crc = new CRC32C();
+        private final long contentBytes;
+        private long bytesRead;
+
+        private Input(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.contentBytes = channel.size() - TRAILER_BYTES;
+            buffer.flip();
+        }
+
+        /**
+         * Garante {@code bytes} disponíveis e retorna o buffer posicionado
+         * neles.
+         */
+        private ByteBuffer require(int bytes) throws IOException {
+            if (bytes > buffer.capacity()) {
+                throw new IOException("Registro maior que o buffer do snapshot: " + bytes + " bytes.");
+            }
+            if (buffer.remaining() < bytes) {
+                buffer.compact();
+                while (buffer.position() < bytes) {
+                    int position = buffer.position();
+                    int read = channel.read(buffer);
+                    if (read < 0) {
+                        throw new IOException("Snapshot incompleto.");
+                    }
+                    long crcEnd = Math.min(bytesRead + read, contentBytes);
+                    if (crcEnd > bytesRead) {
+                        ByteBuffer fresh = buffer.duplicate();
+                        fresh.position(position).limit(position + (int) (crcEnd - bytesRead));
+                        crc.update(fresh);
+                    }
+                    bytesRead += read;
+                }
+                buffer.flip();
+            }
+            return buffer;
+        }
+
+        /**
+         * Calcula o tamanho de um registro formado por {@code fixedBytes} seguidos
+         * de {@code strings} textos, olhando os tamanhos sem consumi-los.
+         */
+        private int stringsAhead(int fixedBytes, int strings) throws IOException {
+            int size = fixedBytes;
+            for (int i = 0; i < strings; i++) {
+                int length = require(size + Integer.BYTES).getInt(buffer.position() + size);
+                size += Integer.BYTES + Math.max(length, 0);
+            }
+            return size;
+        }
+
+        /** Calcula o tamanho de um alerta do snapshot, sem o byte de tipo. */
+        private int alertAhead(byte type) throws IOException {
+            int base = Integer.BYTES + Double.BYTES + Integer.BYTES;
+            int size;
+            if (type == JournalRecords.AUTOMATIC_ALERT) {
+                size = base + 1 + 2 * Integer.BYTES + 3 * Double.BYTES;
+            } else if (type == JournalRecords.MANUAL_ALERT) {
+                size = stringsAhead(base + Integer.BYTES, 1);
+            } else {
+                size = base;
+            }
+            return size + JournalRecords.OCCURRENCES_BYTES;
+        }
+
+        private void getInts(int[] values, int count) throws IOException {
+            for (int done = 0; done < count;) {
+                int n = Math.min(count - done, BUFFER_BYTES / Integer.BYTES);
+                require(n * Integer.BYTES).asIntBuffer().get(values, done, n);
+                buffer.position(buffer.position() + n * Integer.BYTES);
+                done += n;
+            }
+        }
+
+        private void getDoubles(double[] values, int count) throws IOException {
+            for (int done = 0; done < count;) {
+                int n = Math.min(count - done, BUFFER_BYTES / Double.BYTES);
+                require(n * Double.BYTES).asDoubleBuffer().get(values, done, n);
+                buffer.position(buffer.position() + n * Double.BYTES);
+                done += n;
+            }
+        }
+
+        private void verify(Path file) throws IOException {
+            if (bytesRead - buffer.remaining() != contentBytes) {
+                throw new IOException("Snapshot com conteúdo inesperado: " + file + ".");
+            }
+            ByteBuffer trailer = require(TRAILER_BYTES);
+            if (trailer.getInt() != (int) crc.getValue() || trailer.getInt() != MAGIC) {
+                throw new IOException("Snapshot com CRC inválido: " + file + ".");
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package infrastructure.persistence;
+
+import domain.entities.Alert;
+import domain.entities.MonitoredArea;
+import domain.entities.User;
+import domain.entities.WildFire;
+import domain.persistence.ChangeJournal;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * {@link ChangeJournal} que grava cada alteração do domínio em um
+ * {@link WriteAheadLog}.
+ * <p>
+ * Os registros são montados em um buffer da própria thread e apenas copiados
+ * para o log, sob o bloqueio dele. Ao fechar a seção de escrita mais externa,
+ * a thread espera a gravação durável do último registro que fez; como várias
+ * threads esperam o mesmo {@code force}, a durabilidade custa uma gravação por
+ * lote, não por leitura. Inserções em lote são divididas em registros de até
+ * {@value #MAX_READINGS_PER_RECORD} leituras.
+ * </p>
+ *
+ * <p>
+ * As seções de escrita tomam o bloqueio de leitura de um
+ * {@link ReentrantReadWriteLock}; {@link #exclusive(Supplier)} toma o de
+ * escrita, de modo que um snapshot vê o domínio entre duas alterações
+ * completas. A espera pela durabilidade acontece depois de liberado o
+ * bloqueio, para não atrasar o snapshot.
+ * </p>
+ */
+public class WalJournal implements ChangeJournal {
+    /** Quantidade máxima de leituras em um único registro em lote. */
+    public static final int MAX_READINGS_PER_RECORD = 65_536;
+
+    private static final int INITIAL_BUFFER_BYTES = 4096;
+
+    private final WriteAheadLog log;
+    private final ReentrantReadWriteLock barrier = new ReentrantReadWriteLock();
+    private final ThreadLocal<Session> sessions = ThreadLocal.withInitial(Session::new);
+
+    public WalJournal(WriteAheadLog log) {
+        if (log == null) {
+            throw new IllegalArgumentException("O log de alterações não pode ser nulo.");
+        }
+        this.log = log;
+    }
+
+    @Override
+    public void beginWrite() {
+        barrier.readLock().lock();
+        sessions.get().depth++;
+    }
+
+    @Override
+    public void endWrite() {
+        Session session = sessions.get();
+        barrier.readLock().unlock();
+        if (--session.depth == 0 && session.lastLsn > 0) {
+            long lsn = session.lastLsn;
+            session.lastLsn = 0;
+            log.awaitDurable(lsn);
+        }
+    }
+
+    /**
+     * Executa {@code action} sem nenhuma seção de escrita aberta, impedindo
+     * novas alterações até o seu fim.
+     *
+     * @param action a ação executada com o domínio estável
+     * @param <T>    o tipo do resultado
+     * @return o resultado de {@code action}
+     */
+    public <T> T exclusive(Supplier<T> action) {
+        barrier.writeLock().lock();
+        try {
+            return action.get();
+        } finally {
+            barrier.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void areaRegistered(MonitoredArea area) {
+        Session session = sessions.get();
+        ByteBuffer buffer = session.start(JournalRecords.AREA_REGISTERED, JournalRecords.areaSize(area));
+        JournalRecords.putArea(buffer, area);
+        session.append(log);
+    }
+
+    @Override
+    public void userRegistered(User user) {
+        Session session = sessions.get();
+        ByteBuffer buffer = session.start(JournalRecords.USER_REGISTERED, JournalRecords.userSize(user));
+        JournalRecords.putUser(buffer, user);
+        session.append(log);
+    }
+
+    @Override
+    public void areaMonitored(User user, MonitoredArea area) {
+        Session session = sessions.get();
+        ByteBuffer buffer = session.start(JournalRecords.AREA_MONITORED, 2 * Integer.BYTES);
+        buffer.putInt(user.getId());
+        buffer.putInt(area.getId());
+        session.append(log);
+    }
+
+    @Override
+    public void weatherDataAdded(MonitoredArea area, int id, double temperature, double humidity, double windSpeed,
+            int epochDay) {
+        Session session = sessions.get();
+        ByteBuffer buffer = session.start(JournalRecords.WEATHER_DATA, 3 * Integer.BYTES + 3 * Double.BYTES);
+        buffer.putInt(area.getId());
+        buffer.putInt(id);
+        buffer.putDouble(temperature);
+        buffer.putDouble(humidity);
+        buffer.putDouble(windSpeed);
+        buffer.putInt(epochDay);
+        session.append(log);
+    }
+
+    @Override
+    public void weatherDataAdded(MonitoredArea area, int firstId, double[] temperatures, double[] humidities,
+            double[] windSpeeds, int[] epochDays, int offset, int length) {
+        Session session = sessions.get();
+        for (int done = 0; done < length; done += MAX_READINGS_PER_RECORD) {
+            int count = Math.min(MAX_READINGS_PER_RECORD, length - done);
+            int from = offset + done;
+            ByteBuffer buffer = session.start(JournalRecords.WEATHER_DATA_BATCH,
+                    3 * Integer.BYTES + count * JournalRecords.BATCH_BYTES_PER_READING);
+            buffer.putInt(area.getId());
+            buffer.putInt(firstId + done);
+            buffer.putInt(count);
+            putColumns(buffer, temperatures, humidities, windSpeeds, epochDays, from, count);
+            session.append(log);
+        }
+    }
+
+    @Override
+    public void weatherDataAdded(MonitoredArea area, int[] ids, double[] temperatures, double[] humidities,
+            double[] windSpeeds, int[] epochDays, int offset, int length) {
+        Session session = sessions.get();
+        for (int done = 0; done < length; done += MAX_READINGS_PER_RECORD) {
+            int count = Math.min(MAX_READINGS_PER_RECORD, length - done);
+            int from = offset + done;
+            ByteBuffer buffer = session.start(JournalRecords.WEATHER_DATA_WITH_IDS,
+                    2 * Integer.BYTES + count * (Integer.BYTES + JournalRecords.BATCH_BYTES_PER_READING));
+            buffer.putInt(area.getId());
+            buffer.putInt(count);
+            buffer.asIntBuffer().put(ids, from, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            putColumns(buffer, temperatures, humidities, windSpeeds, epochDays, from, count);
+            session.append(log);
+        }
+    }
+
+    @Override
+    public void wildFireAdded(MonitoredArea area, WildFire wildFire) {
+        Session session = sessions.get();
+        ByteBuffer buffer = session.start(JournalRecords.WILDFIRE, Integer.BYTES + JournalRecords.WILDFIRE_BYTES);
+        buffer.putInt(area.getId());
+        JournalRecords.putWildFire(buffer, wildFire);
+        session.append(log);
+    }
+
+    @Override
+    public void alertAdded(MonitoredArea area, Alert alert) {
+        Session session = sessions.get();
+        ByteBuffer buffer = session.start(JournalRecords.alertType(alert),
+                Integer.BYTES + JournalRecords.alertSize(alert));
+        buffer.putInt(area.getId());
+        JournalRecords.putAlert(buffer, alert);
+        session.append(log);
+    }
+
+    @Override
+    public void alertOccurrenceRecorded(MonitoredArea area, Alert alert, Alert.Occurrences occurrences) {
+        Session session = sessions.get();
+        ByteBuffer buffer = session.start(JournalRecords.ALERT_OCCURRENCES,
+                2 * Integer.BYTES + JournalRecords.OCCURRENCES_BYTES);
+        buffer.putInt(area.getId());
+        buffer.putInt(alert.getId());
+        JournalRecords.putOccurrences(buffer, occurrences);
+        session.append(log);
+    }
+
+    private static void putColumns(ByteBuffer buffer, double[] temperatures, double[] humidities,
+            double[] windSpeeds, int[] epochDays, int from, int count) {
+        int position = buffer.position();
+        buffer.asDoubleBuffer().put(temperatures, from, count);
+        position += count * Double.BYTES;
+        buffer.position(position);
+        buffer.asDoubleBuffer().put(humidities, from, count);
+        position += count * Double.BYTES;
+        buffer.position(position);
+        buffer.asDoubleBuffer().put(windSpeeds, from, count);
+        position += count * Double.BYTES;
+        buffer.position(position);
+        buffer.asIntBuffer().put(epochDays, from, count);
+        buffer.position(position + count * Integer.BYTES);
+    }
+
+    /** Estado de cada thread: seções abertas, último LSN e buffer de montagem. */
+    private static final class Session {
+        private int depth;
+        private long lastLsn;
+        private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+
+        private ByteBuffer start(byte type, int payloadBytes) {
+            int required = WriteAheadLog.HEADER_BYTES + payloadBytes;
+            if (buffer.capacity() < required) {
+                buffer = ByteBuffer.allocate(Math.max(required, buffer.capacity() * 2));
+            }
+            WriteAheadLog.startRecord(buffer, type);
+            return buffer;
+        }
+
+        private void append(WriteAheadLog log) {
+            WriteAheadLog.finishRecord(buffer);
+            lastLsn = log.append(buffer);
+        }
+    }
+}
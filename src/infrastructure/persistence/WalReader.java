@@ -0,0 +1,121 @@
+package infrastructure.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+/**
+ * Lê sequencialmente os registros de um segmento do {@link WriteAheadLog},
+ * conferindo o tamanho e o CRC de cada um.
+ * <p>
+ * A leitura para no primeiro registro cortado ou com CRC inválido, que é o
+ * estado deixado por uma queda no meio de uma gravação; {@link #isTruncated()}
+ * indica se isso aconteceu.
+ * </p>
+ */
+final class WalReader implements AutoCloseable {
+    private static final int READ_BUFFER_BYTES = 8 * 1024 * 1024;
+    private static final int MAX_RECORD_BYTES = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+    private final CRC32C crc = new CRC32C();
+    private boolean endOfFile;
+    private boolean truncated;
+    private byte type;
+    private ByteBuffer payload;
+    private long validBytes;
+
+    WalReader(Path segment) throws IOException {
+        this.channel = FileChannel.open(segment, StandardOpenOption.READ);
+        buffer.flip();
+    }
+
+    /**
+     * Avança para o próximo registro.
+     *
+     * @return {@code true} se um registro válido foi lido
+     * @throws IOException se a leitura do arquivo falhar
+     */
+    boolean next() throws IOException {
+        if (truncated || !fill(2 * Integer.BYTES)) {
+            return false;
+        }
+        int length = buffer.getInt(buffer.position());
+        int checksum = buffer.getInt(buffer.position() + Integer.BYTES);
+        if (length <= 0 || length > MAX_RECORD_BYTES || !fill(2 * Integer.BYTES + length)) {
+            truncated = true;
+            return false;
+        }
+        int start = buffer.position() + 2 * Integer.BYTES;
+        ByteBuffer record = buffer.duplicate();
+        record.position(start).limit(start + length);
+        crc.reset();
+        crc.update(record.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            truncated = true;
+            return false;
+        }
+        type = record.get();
+        payload = record.slice();
+        buffer.position(start + length);
+        validBytes += 2 * Integer.BYTES + length;
+        return true;
+    }
+
+    byte type() {
+        return type;
+    }
+
+    /**
+     * Retorna os dados do registro atual, válidos até a próxima chamada a
+     * {@link #next()}.
+     */
+    ByteBuffer payload() {
+        return payload;
+    }
+
+    boolean isTruncated() {
+        return truncated;
+    }
+
+    /**
+     * Retorna a quantidade de bytes de registros válidos lidos até aqui.
+     */
+    long validBytes() {
+        return validBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private boolean fill(int required) throws IOException {
+        if (buffer.remaining() >= required) {
+            return true;
+        }
+        if (required > buffer.capacity()) {
+            ByteBuffer larger = ByteBuffer.allocate(required);
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < required && !endOfFile) {
+            if (channel.read(buffer) < 0) {
+                endOfFile = true;
+            }
+        }
+        buffer.flip();
+        if (buffer.remaining() < required) {
+            // Sobras no fim do arquivo: um registro cuja gravação não terminou.
+            truncated = buffer.hasRemaining();
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,380 @@
+package infrastructure.persistence;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Log binário somente de inserção, dividido em segmentos
+ * {@code wal-00000001.log}, {@code wal-00000002.log}, ...
+ * <p>
+ * Cada registro tem o formato {@code [tamanho][crc][tipo][dados]}: o tamanho
+ * (em bytes, contando o tipo e os dados) e o CRC32C do tipo e dos dados, ambos
+ * {@code int}. Um registro cortado ou com CRC inválido marca o fim do log na
+ * recuperação.
+ * </p>
+ *
+ * <p>
+ * As gravações usam commit em grupo: quem registra copia o registro para um
+ * buffer compartilhado e recebe a posição lógica (LSN) do fim do registro;
+ * uma thread de gravação troca o buffer cheio por um vazio, grava-o e chama
+ * {@link FileChannel#force(boolean)} uma única vez para todos os registros
+ * acumulados. {@link #awaitDurable(long)} espera o {@code force} que cobre o
+ * LSN informado. Enquanto um lote é gravado, o outro buffer continua recebendo
+ * registros.
+ * </p>
+ */
+public class WriteAheadLog implements AutoCloseable {
+    /** Tamanho do cabeçalho de cada registro: tamanho, CRC e tipo. */
+    static final int HEADER_BYTES = 2 * Integer.BYTES + 1;
+    /** Capacidade padrão de cada buffer de gravação. */
+    public static final int DEFAULT_BUFFER_BYTES = 8 * 1024 * 1024;
+    /** Tamanho a partir do qual um segmento é fechado e outro é aberto. */
+    public static final long DEFAULT_SEGMENT_BYTES = 256L * 1024 * 1024;
+
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition dataAvailable = lock.newCondition();
+    private final Condition spaceAvailable = lock.newCondition();
+    private final Condition durable = lock.newCondition();
+    private final Thread flusher;
+    private ByteBuffer active;
+    private ByteBuffer flushing;
+    private FileChannel channel;
+    private long segment;
+    private long segmentBytes;
+    private long appendedLsn;
+    private long durableLsn;
+    private boolean flushInProgress;
+    private boolean closed;
+    private IOException failure;
+
+    /**
+     * Abre o log no diretório informado, iniciando um novo segmento com o número
+     * {@code firstSegment}. Segmentos anteriores não são alterados.
+     *
+     * @param directory       diretório dos segmentos
+     * @param firstSegment    número do segmento inicial
+     * @param bufferBytes     capacidade de cada buffer de gravação
+     * @param maxSegmentBytes tamanho a partir do qual o segmento é trocado
+     * @throws IOException se o diretório ou o segmento não puderem ser criados
+     */
+    public WriteAheadLog(Path directory, long firstSegment, int bufferBytes, long maxSegmentBytes)
+            throws IOException {
+        if (firstSegment <= 0 || bufferBytes <= HEADER_BYTES || maxSegmentBytes <= 0) {
+            throw new IllegalArgumentException("Número de segmento e tamanhos do log devem ser positivos.");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.maxSegmentBytes = maxSegmentBytes;
+        this.active = ByteBuffer.allocateDirect(bufferBytes);
+        this.flushing = ByteBuffer.allocateDirect(bufferBytes);
+        openSegment(firstSegment);
+        this.flusher = new Thread(this::runFlusher, "wal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Retorna o caminho do segmento de número {@code segment}.
+     *
+     * @param directory diretório dos segmentos
+     * @param segment   número do segmento
+     * @return o caminho do arquivo do segmento
+     */
+    public static Path segmentPath(Path directory, long segment) {
+        return directory.resolve(String.format("%s%08d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Extrai o número de um arquivo de segmento.
+     *
+     * @param file o arquivo
+     * @return o número do segmento, ou {@code -1} se o arquivo não for um
+     *         segmento do log
+     */
+    public static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.startsWith(SEGMENT_PREFIX) || !name.endsWith(SEGMENT_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Prepara {@code buffer} para um novo registro do tipo informado, reservando
+     * o cabeçalho. Os dados devem ser escritos em seguida e o registro concluído
+     * com {@link #finishRecord(ByteBuffer)}.
+     */
+    static void startRecord(ByteBuffer buffer, byte type) {
+        buffer.clear();
+        buffer.position(2 * Integer.BYTES);
+        buffer.put(type);
+    }
+
+    /**
+     * Preenche o tamanho e o CRC do registro escrito em {@code buffer} e o deixa
+     * pronto para {@link #append(ByteBuffer)}.
+     */
+    static void finishRecord(ByteBuffer buffer) {
+        int end = buffer.position();
+        CRC32C crc = new CRC32C();
+        buffer.position(2 * Integer.BYTES);
+        buffer.limit(end);
+        crc.update(buffer);
+        buffer.putInt(0, end - 2 * Integer.BYTES);
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+        buffer.position(0);
+    }
+
+    /**
+     * Acrescenta um registro montado com {@link #startRecord(ByteBuffer, byte)} e
+     * {@link #finishRecord(ByteBuffer)}. Só espera se o buffer compartilhado
+     * estiver cheio.
+     *
+     * @param record o registro, entre a posição e o limite do buffer
+     * @return o LSN do fim do registro, a ser passado a {@link #awaitDurable(long)}
+     * @throws UncheckedIOException se uma gravação anterior falhou
+     */
+    public long append(ByteBuffer record) {
+        int length = record.remaining();
+        if (length > active.capacity()) {
+            throw new IllegalArgumentException("Registro maior que o buffer do log: " + length + " bytes.");
+        }
+        lock.lock();
+        try {
+            while (active.remaining() < length) {
+                checkUsable();
+                dataAvailable.signal();
+                spaceAvailable.awaitUninterruptibly();
+            }
+            checkUsable();
+            active.put(record);
+            appendedLsn += length;
+            dataAvailable.signal();
+            return appendedLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Espera até que os registros até {@code lsn} estejam gravados de forma
+     * durável.
+     *
+     * @param lsn o LSN retornado por {@link #append(ByteBuffer)}
+     * @throws UncheckedIOException se a gravação falhou
+     */
+    public void awaitDurable(long lsn) {
+        lock.lock();
+        try {
+            while (durableLsn < lsn) {
+                if (failure != null) {
+                    throw new UncheckedIOException("Falha ao gravar o log de alterações.", failure);
+                }
+                dataAvailable.signal();
+                durable.awaitUninterruptibly();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Grava os registros pendentes, fecha o segmento atual e abre o próximo. Os
+     * registros acrescentados depois do retorno ficam no novo segmento.
+     * <p>
+     * Deve ser chamado sem registros sendo acrescentados em paralelo, como
+     * durante a barreira de um snapshot.
+     * </p>
+     *
+     * @return o número do novo segmento
+     * @throws UncheckedIOException se a gravação ou a criação do segmento falhar
+     */
+    public long roll() {
+        lock.lock();
+        try {
+            awaitDurable(appendedLsn);
+            while (flushInProgress) {
+                durable.awaitUninterruptibly();
+            }
+            try {
+                switchSegment();
+            } catch (IOException e) {
+                failure = e;
+                throw new UncheckedIOException("Falha ao trocar o segmento do log de alterações.", e);
+            }
+            return segment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retorna o número do segmento em uso.
+     *
+     * @return o número do segmento atual
+     */
+    public long getCurrentSegment() {
+        lock.lock();
+        try {
+            return segment;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retorna o total de bytes acrescentados desde a abertura do log.
+     *
+     * @return o LSN do último registro acrescentado
+     */
+    public long getAppendedLsn() {
+        lock.lock();
+        try {
+            return appendedLsn;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Grava os registros pendentes, encerra a thread de gravação e fecha o
+     * segmento atual.
+     *
+     * @throws IOException se a gravação final falhar
+     */
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            dataAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            channel.close();
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void runFlusher() {
+        while (true) {
+            long target;
+            lock.lock();
+            try {
+                while (active.position() == 0 && !closed) {
+                    dataAvailable.awaitUninterruptibly();
+                }
+                if (active.position() == 0 || failure != null) {
+                    durable.signalAll();
+                    spaceAvailable.signalAll();
+                    return;
+                }
+                ByteBuffer full = active;
+                active = flushing;
+                flushing = full;
+                target = appendedLsn;
+                flushInProgress = true;
+                spaceAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            IOException error = null;
+            try {
+                flushing.flip();
+                while (flushing.hasRemaining()) {
+                    segmentBytes += channel.write(flushing);
+                }
+                channel.force(false);
+            } catch (IOException e) {
+                error = e;
+            }
+            flushing.clear();
+
+            lock.lock();
+            try {
+                flushInProgress = false;
+                if (error != null) {
+                    failure = error;
+                } else {
+                    durableLsn = target;
+                    if (segmentBytes >= maxSegmentBytes) {
+                        try {
+                            switchSegment();
+                        } catch (IOException e) {
+                            failure = e;
+                        }
+                    }
+                }
+                durable.signalAll();
+                spaceAvailable.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void switchSegment() throws IOException {
+        channel.force(true);
+        channel.close();
+        openSegment(segment + 1);
+    }
+
+    private void openSegment(long number) throws IOException {
+        channel = FileChannel.open(segmentPath(directory, number), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE);
+        segment = number;
+        segmentBytes = 0;
+        // Garante que a entrada do novo arquivo no diretório também seja durável.
+        syncDirectory(directory);
+    }
+
+    static void syncDirectory(Path directory) {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Alguns sistemas de arquivos não permitem abrir diretórios; o arquivo
+            // continua gravado, apenas a entrada no diretório pode não estar.
+        }
+    }
+
+    private void checkUsable() {
+        if (failure != null) {
+            throw new UncheckedIOException("Falha ao gravar o log de alterações.", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("O log de alterações está fechado.");
+        }
+    }
+}
@@ -1,14 +1,64 @@
 package presentation;
 
+import domain.alerts.AlertDecision;
+import domain.alerts.AlertDispatcher;
+import domain.alerts.AlertOutcome;
+import domain.alerts.SinkStats;
+import domain.backtest.BacktestEngine;
+import domain.backtest.BacktestGrid;
+import domain.backtest.BacktestReport;
 import domain.entities.*;
+import domain.events.DomainEvents;
+import domain.metrics.MetricRegistry;
+import domain.metrics.Metrics;
+import domain.monitoring.AreaRiskResult;
+import domain.monitoring.FleetMonitor;
+import domain.monitoring.HistoryCompactor;
+import domain.monitoring.SweepReport;
+import domain.registry.AreaRegistry;
+import domain.risk.QuantizedRiskModel;
+import domain.risk.RiskModel;
+import domain.risk.VegetationRiskModels;
+import domain.stats.WeatherSummary;
+import domain.stats.WeatherWindow;
+import domain.storage.RetentionPolicy;
+import infrastructure.alerts.ConsoleAlertSink;
+import infrastructure.http.ApiServer;
+import infrastructure.http.RequestExecutors;
+import infrastructure.io.CsvImportReport;
+import infrastructure.io.CsvImporter;
+import infrastructure.io.WeatherDataFile;
+import infrastructure.io.WeatherDataPrecision;
+import infrastructure.metrics.MetricsHttpServer;
+import infrastructure.metrics.MetricsMBean;
+import infrastructure.persistence.PersistenceManager;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
 import java.time.LocalDate;
+import javax.management.JMException;
 
 public class App {
-  private static List<MonitoredArea> areas = new ArrayList<>();
+  private static AreaRegistry areas = new AreaRegistry();
   private static Scanner scanner = new Scanner(System.in);
+  private static AlertDispatcher alertas = new AlertDispatcher(List.of(new ConsoleAlertSink(System.out)));
   private static HashMap<Integer, User> users = new HashMap<>();
-  private static User user = cadastrarUsuario();
+
+  static {
+    DomainEvents.subscribe(new ConsoleEventListener());
+    limitarSeriesPorArea();
+  }
+
+  private static PersistenceManager persistencia = abrirPersistencia();
+  private static RetentionPolicy retencao = lerRetencao();
+  private static HistoryCompactor compactador = iniciarCompactacao();
+  private static Map<RiskModel, RiskModel> gradesDeRisco = new ConcurrentHashMap<>();
+  private static QuantizedRiskModel.Interpolation gradeDeRisco = lerGradeDeRisco();
+  private static MetricsHttpServer metricas = iniciarMetricas();
+  private static User user;
 
   /**
    * Ponto de entrada da aplicação. Exibe um menu para o usuário interagir com o
@@ -17,10 +67,20 @@ public class App {
    * inserir dados
    * climáticos e de incêndio, monitorar áreas, visualizar dados e gerar alertas.
    * O menu continua sendo exibido até que a opção de sair seja selecionada.
+   * <p>
+   * Com a propriedade {@code ignira.api.porta}, o sistema é executado sem menu,
+   * atendendo a API HTTP ({@link #executarServidor(String)}).
+   * </p>
    *
    * @param args Argumentos da linha de comando (não utilizados).
    */
   public static void main(String[] args) {
+    String portaApi = System.getProperty("ignira.api.porta");
+    if (portaApi != null) {
+      executarServidor(portaApi);
+      return;
+    }
+    user = users.isEmpty() ? cadastrarUsuario() : alterarUsuario();
     int option;
     do {
       System.out.println("\n--- Ignira ( " + user.getName() + " ) ---");
@@ -32,6 +92,12 @@ public class App {
       System.out.println("6. Monitorar área (verificar risco e gerar alerta automático)");
       System.out.println("7. Visualizar dados de uma área");
       System.out.println("8. Gerar alerta manual");
+      System.out.println("9. Monitorar todas as áreas");
+      System.out.println("10. Buscar áreas próximas de um ponto");
+      System.out.println("11. Exportar histórico climático de uma área");
+      System.out.println("12. Importar histórico climático para uma área");
+      System.out.println("13. Importar histórico de dados climáticos e incêndios (CSV)");
+      System.out.println("14. Calibrar limite e coeficientes com o histórico (backtest)");
       System.out.println("0. Sair");
       System.out.print("Escolha uma opção: ");
       option = Integer.parseInt(scanner.nextLine());
@@ -61,8 +127,27 @@ public class App {
         case 8:
           gerarAlertaManual();
           break;
+        case 9:
+          monitorarTodasAreas();
+          break;
+        case 10:
+          buscarAreasProximas();
+          break;
+        case 11:
+          exportarHistorico();
+          break;
+        case 12:
+          importarHistorico();
+          break;
+        case 13:
+          importarCsv();
+          break;
+        case 14:
+          calibrarRisco();
+          break;
         case 0:
           System.out.println("Saindo...");
+          encerrar();
           break;
         default:
           System.out.println("Opção inválida!");
@@ -70,6 +155,69 @@ public class App {
     } while (option != 0);
   }
 
+  /**
+   * Executa o sistema sem menu, atendendo a API HTTP ({@link ApiServer}) no
+   * endereço da propriedade {@code ignira.api.endereco} (padrão:
+   * {@code 127.0.0.1}) e na porta informada. As áreas cadastradas pela API
+   * recebem a política de retenção e a grade de risco configuradas, e os
+   * alertas gerados são entregues pelo mesmo despachante do menu.
+   * <p>
+   * Sem threads virtuais na JVM, as requisições usam
+   * {@code ignira.api.threads} threads (padrão: 64). O servidor atende até o
+   * processo ser encerrado (Ctrl+C), quando os alertas pendentes são entregues
+   * e os dados, gravados.
+   * </p>
+   *
+   * @param porta a porta da API; {@code 0} escolhe uma livre
+   */
+  private static void executarServidor(String porta) {
+    String endereco = System.getProperty("ignira.api.endereco", "127.0.0.1");
+    int threads = Integer.getInteger("ignira.api.threads", 64);
+    ApiServer api;
+    try {
+      api = ApiServer.start(areas, alertas, new InetSocketAddress(endereco, Integer.parseInt(porta.trim())), threads,
+          area -> {
+            area.setRetentionPolicy(retencao);
+            aplicarGradeDeRisco(area);
+          });
+    } catch (IOException | IllegalArgumentException e) {
+      System.out.println("Não foi possível abrir a API: " + e.getMessage());
+      encerrar();
+      return;
+    }
+    Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+      System.out.println("Encerrando a API...");
+      api.close();
+      encerrar();
+    }, "api-shutdown"));
+    System.out.println("API em http://" + api.getAddress().getHostString() + ":" + api.getAddress().getPort()
+        + "/areas (" + (RequestExecutors.virtualThreadsAvailable() ? "threads virtuais" : threads + " threads")
+        + "). Pressione Ctrl+C para encerrar.");
+  }
+
+  /**
+   * Entrega os alertas pendentes, para a compactação e as métricas e grava os
+   * dados, ao sair do menu ou encerrar a API.
+   */
+  private static void encerrar() {
+    alertas.close();
+    for (SinkStats estatisticas : alertas.getStats()) {
+      if (estatisticas.getLastError() != null) {
+        System.out.println("Destino de alertas " + estatisticas.getSinkName() + ": " + estatisticas.getLastError());
+      }
+    }
+    if (compactador != null) {
+      compactador.close();
+      if (compactador.getLastError() != null) {
+        System.out.println("Falha na compactação do histórico: " + compactador.getLastError());
+      }
+    }
+    if (metricas != null) {
+      metricas.close();
+    }
+    fecharPersistencia();
+  }
+
   /**
    * Cadastra um novo usuário com o ID fornecido.
    * Solicita ao usuário o nome e o email via entrada padrão,
@@ -84,10 +232,207 @@ public class App {
     System.out.print("Email: ");
     String email = scanner.nextLine();
     User user = new User(id, nome, email);
-    users.put(id, user);
+    if (persistencia != null) {
+      persistencia.registerUser(user);
+    } else {
+      users.put(id, user);
+    }
     return user;
   }
 
+  /**
+   * Abre a persistência no diretório definido pela propriedade
+   * {@code ignira.dados} (padrão: {@code dados}), recuperando as áreas, os
+   * usuários e os históricos gravados, e agenda snapshots periódicos.
+   * Se o diretório não puder ser usado, o sistema segue apenas em memória.
+   *
+   * @return a persistência aberta, ou {@code null} se não foi possível abri-la
+   */
+  private static PersistenceManager abrirPersistencia() {
+    Path diretorio = Path.of(System.getProperty("ignira.dados", "dados"));
+    try {
+      PersistenceManager persistencia = PersistenceManager.open(diretorio, areas, users);
+      if (persistencia.getRecoveryReport().getAreas() > 0 || !users.isEmpty()
+          || !persistencia.getRecoveryReport().getIgnoredSnapshots().isEmpty()) {
+        System.out.println(persistencia.getRecoveryReport());
+      }
+      persistencia.scheduleSnapshots(Duration.ofMinutes(5));
+      return persistencia;
+    } catch (IOException e) {
+      System.out.println("Não foi possível abrir os dados em " + diretorio + ": " + e.getMessage()
+          + ". Os dados serão mantidos apenas em memória.");
+      return null;
+    }
+  }
+
+  /**
+   * Lê a política de retenção das propriedades {@code ignira.retencao.dias}
+   * (dias mantidos com as leituras brutas) e {@code ignira.retencao.leituras}
+   * (máximo de leituras brutas por área). Sem nenhuma delas, todo o histórico
+   * bruto é mantido.
+   *
+   * @return a política de retenção aplicada às áreas
+   */
+  private static RetentionPolicy lerRetencao() {
+    String dias = System.getProperty("ignira.retencao.dias");
+    String leituras = System.getProperty("ignira.retencao.leituras");
+    try {
+      return new RetentionPolicy(dias == null ? RetentionPolicy.UNLIMITED : Integer.parseInt(dias.trim()),
+          leituras == null ? RetentionPolicy.UNLIMITED : Integer.parseInt(leituras.trim()));
+    } catch (IllegalArgumentException e) {
+      System.out.println("Política de retenção inválida (" + e.getMessage()
+          + "). Todo o histórico será mantido.");
+      return RetentionPolicy.keepAll();
+    }
+  }
+
+  /**
+   * Aplica a política de retenção às áreas recuperadas e agenda a compactação
+   * do histórico a cada hora, quando a política limita o histórico bruto.
+   *
+   * @return o compactador agendado, ou {@code null} se todo o histórico for
+   *         mantido
+   */
+  private static HistoryCompactor iniciarCompactacao() {
+    if (retencao.isKeepAll()) {
+      return null;
+    }
+    for (MonitoredArea area : areas.all()) {
+      area.setRetentionPolicy(retencao);
+    }
+    HistoryCompactor compactador = new HistoryCompactor(areas);
+    compactador.schedule(Duration.ofHours(1));
+    System.out.println("Retenção do histórico bruto: " + retencao + ".");
+    return compactador;
+  }
+
+  /**
+   * Lê da propriedade {@code ignira.risco.grade} ({@code vizinho} ou
+   * {@code trilinear}) se o risco deve ser consultado em uma grade
+   * pré-calculada, e a aplica às áreas recuperadas. Sem a propriedade, o risco
+   * é calculado pelo modelo de cada área.
+   *
+   * @return a interpolação da grade, ou {@code null} se ela não for usada
+   */
+  private static QuantizedRiskModel.Interpolation lerGradeDeRisco() {
+    String valor = System.getProperty("ignira.risco.grade");
+    if (valor == null) {
+      return null;
+    }
+    QuantizedRiskModel.Interpolation interpolacao;
+    switch (valor.trim().toLowerCase(Locale.ROOT)) {
+      case "vizinho":
+        interpolacao = QuantizedRiskModel.Interpolation.NEAREST;
+        break;
+      case "trilinear":
+        interpolacao = QuantizedRiskModel.Interpolation.TRILINEAR;
+        break;
+      default:
+        System.out.println("Grade de risco inválida (" + valor + "). Use vizinho ou trilinear.");
+        return null;
+    }
+    gradeDeRisco = interpolacao;
+    for (MonitoredArea area : areas.all()) {
+      aplicarGradeDeRisco(area);
+    }
+    System.out.println("Risco consultado em grade pré-calculada (" + valor.trim() + ").");
+    return interpolacao;
+  }
+
+  /**
+   * Troca o modelo de risco da área pela grade pré-calculada do mesmo modelo,
+   * se a grade estiver ativa. As áreas de mesma vegetação compartilham a grade.
+   *
+   * @param area a área monitorada
+   */
+  private static void aplicarGradeDeRisco(MonitoredArea area) {
+    if (gradeDeRisco == null) {
+      return;
+    }
+    RiskModel modelo = area.getRiskModel();
+    area.setRiskModel(gradesDeRisco.computeIfAbsent(modelo,
+        origem -> QuantizedRiskModel.forSensorRange(origem, gradeDeRisco)));
+  }
+
+  /**
+   * Define quantas áreas têm séries de métricas próprias pela propriedade
+   * {@code ignira.metricas.areas} (padrão: 100); as demais são agrupadas em
+   * {@code area="outras"}. Precisa ser chamado antes de as áreas serem
+   * recuperadas da persistência.
+   */
+  private static void limitarSeriesPorArea() {
+    String limite = System.getProperty("ignira.metricas.areas");
+    if (limite == null) {
+      return;
+    }
+    try {
+      Metrics.registry().setMaxAreaSeries(Integer.parseInt(limite.trim()));
+    } catch (IllegalArgumentException e) {
+      System.out.println("Limite de séries por área inválido (" + e.getMessage() + "). Usando "
+          + MetricRegistry.DEFAULT_MAX_AREA_SERIES + ".");
+    }
+  }
+
+  /**
+   * Registra as métricas por JMX ({@code ignira:type=Metrics}), com a
+   * quantidade de áreas e as filas de alertas, e abre o endpoint
+   * {@code /metrics} do Prometheus em {@code 127.0.0.1} na porta definida
+   * pela propriedade {@code ignira.metricas.porta}, se houver.
+   *
+   * @return o servidor HTTP das métricas, ou {@code null} se não foi aberto
+   */
+  private static MetricsHttpServer iniciarMetricas() {
+    MetricRegistry registro = Metrics.registry();
+    registro.gauge("ignira_areas", "Áreas monitoradas cadastradas.", areas::size);
+    List<String> destinos = new ArrayList<>();
+    alertas.getStats().forEach(stats -> destinos.add(stats.getSinkName()));
+    for (int i = 0; i < destinos.size(); i++) {
+      int indice = i;
+      String rotulo = "sink=\"" + destinos.get(i) + "\"";
+      registro.gauge("ignira_alert_queue_depth", "Alertas aguardando entrega por destino.", rotulo,
+          () -> alertas.getStats().get(indice).getQueued());
+      registro.gauge("ignira_alerts_dropped", "Alertas descartados por fila cheia, por destino.", rotulo,
+          () -> alertas.getStats().get(indice).getDropped());
+    }
+    try {
+      MetricsMBean.register(registro);
+    } catch (JMException e) {
+      System.out.println("Não foi possível registrar as métricas por JMX: " + e.getMessage());
+    }
+    String porta = System.getProperty("ignira.metricas.porta");
+    if (porta == null) {
+      return null;
+    }
+    try {
+      MetricsHttpServer servidor = MetricsHttpServer.start(registro,
+          new InetSocketAddress("127.0.0.1", Integer.parseInt(porta.trim())));
+      System.out.println("Métricas em http://127.0.0.1:" + servidor.getAddress().getPort() + "/metrics");
+      return servidor;
+    } catch (IOException | IllegalArgumentException e) {
+      System.out.println("Não foi possível abrir o endpoint de métricas: " + e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Grava os registros pendentes da persistência e fecha os arquivos.
+   */
+  private static void fecharPersistencia() {
+    if (persistencia == null) {
+      return;
+    }
+    if (persistencia.getLastSnapshotError() != null) {
+      System.out.println("Último snapshot com falha: " + persistencia.getLastSnapshotError()
+          + " (último gravado: " + (persistencia.getLastSnapshotTime() == null ? "nenhum"
+          : persistencia.getLastSnapshotTime()) + ")");
+    }
+    try {
+      persistencia.close();
+    } catch (IOException e) {
+      System.out.println("Falha ao gravar os dados: " + e.getMessage());
+    }
+  }
+
   /**
    * Cria e cadastra um novo usuário atribuindo um ID único.
    * O ID é definido como 1 se não houver usuários cadastrados,
@@ -134,21 +479,32 @@ public class App {
   /**
    * Solicita ao usuário as informações de uma nova área monitorada (ID, nome,
    * localização e tipo de vegetação),
-   * cria uma instância de {@link MonitoredArea} com esses dados e a adiciona à
-   * lista de áreas monitoradas.
-   * Exibe uma mensagem de confirmação ao final do cadastro.
+   * cria uma instância de {@link MonitoredArea} com esses dados e a cadastra no
+   * {@link AreaRegistry}.
+   * Exibe uma mensagem de confirmação ao final do cadastro, ou uma mensagem de
+   * erro se já existir uma área com o mesmo ID.
    */
   private static void cadastrarArea() {
     System.out.print("ID da área: ");
     int id = Integer.parseInt(scanner.nextLine());
     System.out.print("Nome da área: ");
     String nome = scanner.nextLine();
-    System.out.print("Localização: ");
+    System.out.print("Localização (ex.: -23.55, -46.63): ");
     String local = scanner.nextLine();
-    System.out.print("Tipo de vegetação: ");
+    StringJoiner biomas = new StringJoiner(", ");
+    VegetationRiskModels.all().forEach(modelo -> biomas.add(modelo.getName()));
+    System.out.print("Tipo de vegetação (" + biomas + "): ");
     String vegetacao = scanner.nextLine();
-    areas.add(new MonitoredArea(id, nome, local, vegetacao));
-    System.out.println("Área cadastrada!");
+    try {
+      MonitoredArea area = new MonitoredArea(id, nome, local, vegetacao);
+      area.setRetentionPolicy(retencao);
+      aplicarGradeDeRisco(area);
+      areas.register(area);
+    } catch (IllegalArgumentException e) {
+      System.out.println(e.getMessage());
+      return;
+    }
+    System.out.println("Área cadastrada! Modelo de risco: " + areas.find(id).getRiskModel().getName() + ".");
   }
 
   /**
@@ -159,16 +515,16 @@ public class App {
    */
   private static void inserirSensorData() {
     System.out.println("Selecione a área monitorada (ID): ");
-    areas.forEach(a -> System.out.println(a.getName() + " (ID: " + a.getId() + ")"));
+    areas.all().forEach(a -> System.out.println(a.getName() + " (ID: " + a.getId() + ")"));
     int areaId = Integer.parseInt(scanner.nextLine());
-    MonitoredArea area = areas.stream().filter(a -> a.getId() == areaId).findFirst().orElse(null);
+    MonitoredArea area = areas.find(areaId);
     if (area == null) {
       System.out.println("Área não encontrada!");
       return;
     }
     System.out.print("Digite a quantidade de weather data: ");
     int quantity = Integer.parseInt(scanner.nextLine());
-    area.useSensor(quantity);
+    area.useSensor(quantity, true);
 
   }
 
@@ -181,15 +537,15 @@ public class App {
    * Exibe mensagens apropriadas em caso de sucesso ou se a área não for
    * encontrada.
    *
-   * Pré-condição: A lista 'areas' deve estar inicializada e conter objetos
+   * Pré-condição: O registro 'areas' deve estar inicializado e conter objetos
    * {@link MonitoredArea}.
    * Utiliza o scanner para entrada de dados do usuário.
    */
   private static void inserirWeatherData() {
     System.out.println("Selecione a área monitorada (ID): ");
-    areas.forEach(a -> System.out.println(a.getName() + " (ID: " + a.getId() + ")"));
+    areas.all().forEach(a -> System.out.println(a.getName() + " (ID: " + a.getId() + ")"));
     int areaId = Integer.parseInt(scanner.nextLine());
-    MonitoredArea area = areas.stream().filter(a -> a.getId() == areaId).findFirst().orElse(null);
+    MonitoredArea area = areas.find(areaId);
     if (area == null) {
       System.out.println("Área não encontrada!");
       return;
@@ -201,7 +557,7 @@ public class App {
     System.out.print("Velocidade do vento: ");
     double vento = Double.parseDouble(scanner.nextLine());
     LocalDate data = LocalDate.now();
-    WheatherData wd = new WheatherData(area.getWeatherDataList().size() + 1, temp, hum, vento, data);
+    WheatherData wd = new WheatherData(area.nextWeatherDataId(), temp, hum, vento, data);
     area.addWeatherData(wd);
     System.out.println("Dados climáticos inseridos!");
   }
@@ -214,17 +570,17 @@ public class App {
    * selecionada, caso ela exista. Caso a área não seja encontrada, exibe uma
    * mensagem de erro.
    *
-   * Pré-condição: A lista de áreas monitoradas ('areas') deve estar inicializada
-   * e não nula.
+   * Pré-condição: O registro de áreas monitoradas ('areas') deve estar inicializado
+   * e não nulo.
    * Pós-condição: Um novo objeto WildFire é criado e associado à área monitorada
    * selecionada,
    * caso o ID da área seja válido.
    */
   private static void inserirWildFire() {
     System.out.println("Selecione a área monitorada (ID): ");
-    areas.forEach(a -> System.out.println(a.getName() + " (ID: " + a.getId() + ")"));
+    areas.all().forEach(a -> System.out.println(a.getName() + " (ID: " + a.getId() + ")"));
     int areaId = Integer.parseInt(scanner.nextLine());
-    MonitoredArea area = areas.stream().filter(a -> a.getId() == areaId).findFirst().orElse(null);
+    MonitoredArea area = areas.find(areaId);
     if (area == null) {
       System.out.println("Área não encontrada!");
       return;
@@ -233,13 +589,13 @@ public class App {
     LocalDate data = LocalDate.parse(scanner.nextLine());
     System.out.print("Gravidade do incêndio (0-100): ");
     int severity = Integer.parseInt(scanner.nextLine());
-    WildFire wildFire = new WildFire(area.getWildFires().size() + 1, data, severity);
+    WildFire wildFire = new WildFire(area.nextWildFireId(), data, severity);
     area.addWildFire(wildFire);
   }
 
   /**
    * Monitora uma área selecionada calculando seu nível de risco e gerando um
-   * alerta automático se o risco exceder 70%.
+   * alerta automático se a política de alertas da área permitir.
    * <p>
    * O método executa os seguintes passos:
    * <ul>
@@ -249,8 +605,9 @@ public class App {
    * <li>Busca a área correspondente ao ID informado. Se não encontrar, notifica o
    * usuário e retorna.</li>
    * <li>Calcula o nível de risco da área e exibe o valor.</li>
-   * <li>Se o risco for maior que 70%, gera e dispara um alerta automático para a
-   * área.</li>
+   * <li>Submete o risco à política de alertas da área: acima do limite de
+   * entrada, gera e dispara um alerta automático, ou agrupa a ocorrência no
+   * alerta anterior se ele for recente.</li>
    * <li>Se o risco estiver dentro dos limites normais, notifica o usuário.</li>
    * </ul>
    */
@@ -260,9 +617,9 @@ public class App {
       return;
     }
     System.out.println("Selecione a área para monitorar (ID): ");
-    areas.forEach(a -> System.out.println(a.getName() + " (ID: " + a.getId() + ")"));
+    areas.all().forEach(a -> System.out.println(a.getName() + " (ID: " + a.getId() + ")"));
     int areaId = Integer.parseInt(scanner.nextLine());
-    MonitoredArea area = areas.stream().filter(a -> a.getId() == areaId).findFirst().orElse(null);
+    MonitoredArea area = areas.find(areaId);
     if (area == null) {
       System.out.println("Área não encontrada!");
       return;
@@ -270,13 +627,211 @@ public class App {
     user.monitor(area);
     double risco = area.calculateRiskLevel();
     System.out.println("Nível de risco calculado: " + risco + "%");
-    if (risco > 70) {
-      AutomaticAlert alert = area.generateAlert(
-          risco,
-          area.getLatestWeatherData());
-      alert.throwAlert(area);
-    } else {
-      System.out.println("Risco dentro do normal.");
+    System.out.println(area.getFireActivity(area.getFireActivityRisk().getWindowDays()));
+    exibirResumoClimatico(area);
+    WheatherData ultimaLeitura = area.getLatestWeatherData();
+    if (ultimaLeitura == null) {
+      return;
+    }
+    AlertOutcome<AutomaticAlert> resultado = area.evaluateAlert(risco, ultimaLeitura);
+    switch (resultado.getDecision()) {
+      case RAISED:
+        emitirAlerta(resultado.getAlert(), area);
+        break;
+      case COALESCED:
+        System.out.println("Risco ainda elevado: ocorrência agrupada no alerta anterior ("
+            + resultado.getAlert().getOccurrences() + " ocorrências).");
+        break;
+      case RATE_LIMITED:
+        System.out.println("Risco elevado, mas o limite de alertas da área foi atingido.");
+        break;
+      case CLEARED:
+        System.out.println("Risco voltou ao normal. Alerta encerrado.");
+        break;
+      default:
+        System.out.println("Risco dentro do normal.");
+    }
+  }
+
+  /**
+   * Exibe o resumo das leituras da área nas janelas de 1, 7 e 30 dias, com o
+   * mínimo, o máximo e a média de cada medição e o risco médio.
+   *
+   * @param area a área monitorada
+   */
+  private static void exibirResumoClimatico(MonitoredArea area) {
+    for (WeatherWindow janela : WeatherWindow.values()) {
+      WeatherSummary resumo = area.getWeatherSummary(janela);
+      if (resumo.isEmpty()) {
+        System.out.printf("Últimos %d dia(s): sem leituras.%n", janela.getDays());
+        continue;
+      }
+      System.out.printf(
+          "Últimos %d dia(s): %d leituras | Temperatura %.1f/%.1f/%.1f°C | Umidade %.1f/%.1f/%.1f%% | "
+              + "Vento %.1f/%.1f/%.1f km/h (mín/média/máx) | Risco médio %.1f%%%n",
+          janela.getDays(), resumo.getCount(), resumo.getMinTemperature(), resumo.getMeanTemperature(),
+          resumo.getMaxTemperature(), resumo.getMinHumidity(), resumo.getMeanHumidity(), resumo.getMaxHumidity(),
+          resumo.getMinWindSpeed(), resumo.getMeanWindSpeed(), resumo.getMaxWindSpeed(),
+          resumo.getMeanRiskLevel());
+    }
+  }
+
+  /**
+   * Monitora todas as áreas cadastradas de uma só vez, calculando o risco de
+   * cada uma em paralelo com o {@link FleetMonitor}.
+   * <p>
+   * Exibe o resumo da varredura (áreas avaliadas, áreas sem dados e tempo gasto)
+   * e dispara os alertas automáticos gerados para as áreas cujo risco
+   * ultrapassou 70%.
+   * </p>
+   */
+  private static void monitorarTodasAreas() {
+    if (areas.isEmpty()) {
+      System.out.println("Nenhuma área cadastrada!");
+      return;
+    }
+    SweepReport report = new FleetMonitor().sweep(areas.all());
+    System.out.printf("Varredura concluída: %d áreas em %.3f ms (%d sem dados climáticos).%n",
+        report.getAreasScanned(), report.getElapsedMillis(), report.getAreasWithoutData());
+    List<AreaRiskResult> overThreshold = report.getAreasOverThreshold();
+    if (overThreshold.isEmpty()) {
+      System.out.println("Risco dentro do normal em todas as áreas.");
+      return;
+    }
+    System.out.printf("%d área(s) acima do limite de risco: %d novo(s) alerta(s), %d agrupado(s), %d suprimido(s).%n",
+        overThreshold.size(), report.countByDecision(AlertDecision.RAISED),
+        report.countByDecision(AlertDecision.COALESCED), report.countByDecision(AlertDecision.RATE_LIMITED));
+    for (AreaRiskResult result : report.getRaisedAlerts()) {
+      alertas.dispatch(result.getAlert(), result.getArea());
+    }
+    aguardarAlertas();
+  }
+
+  /**
+   * Reproduz o histórico climático de todas as áreas com os modelos de
+   * vegetação e uma grade de coeficientes em torno deles, para limites de 50%
+   * a 90%, e exibe as combinações que melhor anteciparam os incêndios
+   * registrados, com o {@link BacktestEngine}.
+   */
+  private static void calibrarRisco() {
+    if (areas.isEmpty()) {
+      System.out.println("Nenhuma área cadastrada!");
+      return;
+    }
+    System.out.print("Horizonte de previsão em dias (padrão " + BacktestGrid.DEFAULT_HORIZON_DAYS + "): ");
+    String horizonte = scanner.nextLine().trim();
+    double[] pesos = {1.8, 2.0, 2.2, 2.4};
+    List<RiskModel> modelos = new ArrayList<>(VegetationRiskModels.all());
+    modelos.addAll(BacktestGrid.linearModels(pesos, pesos, new double[] {1.2, 1.4, 1.6}));
+    BacktestGrid grade = new BacktestGrid(modelos, BacktestGrid.thresholds(50, 90, 5),
+        horizonte.isEmpty() ? BacktestGrid.DEFAULT_HORIZON_DAYS : Integer.parseInt(horizonte));
+    BacktestReport report = new BacktestEngine().run(areas.all(), grade);
+    System.out.println(report);
+    if (report.getAreasEvaluated() == 0) {
+      System.out.println("Nenhuma área possui dados climáticos para o backtest.");
+      return;
+    }
+    System.out.println("Melhores combinações:");
+    report.getTopByF1(5).forEach(resultado -> System.out.println("  " + resultado));
+  }
+
+  /**
+   * Lista as áreas monitoradas a até um raio informado de um ponto, da mais
+   * próxima para a mais distante. Apenas áreas cadastradas com latitude e
+   * longitude na localização participam da busca.
+   */
+  private static void buscarAreasProximas() {
+    System.out.print("Latitude: ");
+    double latitude = Double.parseDouble(scanner.nextLine());
+    System.out.print("Longitude: ");
+    double longitude = Double.parseDouble(scanner.nextLine());
+    System.out.print("Raio (km): ");
+    double raio = Double.parseDouble(scanner.nextLine());
+
+    List<MonitoredArea> proximas = areas.findWithinRadius(latitude, longitude, raio);
+    if (proximas.isEmpty()) {
+      System.out.println("Nenhuma área encontrada no raio informado.");
+      return;
+    }
+    for (MonitoredArea area : proximas) {
+      System.out.printf("ID: %d | Nome: %s | Distância: %.1f km%n", area.getId(), area.getName(),
+          GeoPoint.distanceKm(latitude, longitude, area.getCoordinates().getLatitude(),
+              area.getCoordinates().getLongitude()));
+    }
+  }
+
+  /**
+   * Exporta o histórico climático de uma área para um arquivo binário
+   * ({@link WeatherDataFile}), com as medições em precisão dupla ou simples.
+   */
+  private static void exportarHistorico() {
+    System.out.println("Selecione a área (ID): ");
+    areas.all().forEach(a -> System.out.println(a.getName() + " (ID: " + a.getId() + ")"));
+    int areaId = Integer.parseInt(scanner.nextLine());
+    MonitoredArea area = areas.find(areaId);
+    if (area == null) {
+      System.out.println("Área não encontrada!");
+      return;
+    }
+    System.out.print("Arquivo de destino: ");
+    Path arquivo = Path.of(scanner.nextLine());
+    System.out.print("Gravar medições em precisão simples (float)? (s/N): ");
+    WeatherDataPrecision precisao = scanner.nextLine().trim().equalsIgnoreCase("s")
+        ? WeatherDataPrecision.FLOAT
+        : WeatherDataPrecision.DOUBLE;
+    try {
+      long exportadas = WeatherDataFile.export(area, arquivo, precisao);
+      System.out.println(exportadas + " dados climáticos exportados para " + arquivo + ".");
+    } catch (IOException e) {
+      System.out.println("Falha ao exportar: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Importa para uma área o histórico climático de um arquivo gerado por
+   * {@link #exportarHistorico()}, mantendo os IDs das leituras.
+   */
+  private static void importarHistorico() {
+    System.out.println("Selecione a área (ID): ");
+    areas.all().forEach(a -> System.out.println(a.getName() + " (ID: " + a.getId() + ")"));
+    int areaId = Integer.parseInt(scanner.nextLine());
+    MonitoredArea area = areas.find(areaId);
+    if (area == null) {
+      System.out.println("Área não encontrada!");
+      return;
+    }
+    System.out.print("Arquivo de origem: ");
+    Path arquivo = Path.of(scanner.nextLine());
+    try {
+      long importadas = WeatherDataFile.importInto(area, arquivo);
+      System.out.println(importadas + " dados climáticos importados de " + arquivo + ".");
+    } catch (IOException e) {
+      System.out.println("Falha ao importar: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Importa um CSV de dados climáticos ou de incêndios com {@link CsvImporter},
+   * distribuindo as linhas entre as áreas pelo ID de cada uma, e exibe o resumo
+   * da importação.
+   */
+  private static void importarCsv() {
+    System.out.print("Tipo de histórico (1 - dados climáticos, 2 - incêndios): ");
+    String tipo = scanner.nextLine().trim();
+    if (!tipo.equals("1") && !tipo.equals("2")) {
+      System.out.println("Opção inválida!");
+      return;
+    }
+    System.out.print("Arquivo CSV: ");
+    Path arquivo = Path.of(scanner.nextLine());
+    try {
+      CsvImporter importador = new CsvImporter(areas);
+      CsvImportReport resumo = tipo.equals("1")
+          ? importador.importWeatherData(arquivo)
+          : importador.importWildFires(arquivo);
+      System.out.println(resumo);
+    } catch (IOException e) {
+      System.out.println("Falha ao importar: " + e.getMessage());
     }
   }
 
@@ -295,6 +850,8 @@ public class App {
    * <li>Lista todas as áreas disponíveis e solicita a seleção por ID.</li>
    * <li>Verifica se a área existe; caso contrário, informa que não foi
    * encontrada.</li>
+   * <li>Solicita um período opcional; sem datas, exibe todo o histórico com
+   * data.</li>
    * <li>Exibe dados climáticos (se houver) da área selecionada.</li>
    * <li>Exibe relatórios de incêndio (se houver) da área selecionada.</li>
    * <li>Informa caso não existam dados climáticos ou incêndios registrados.</li>
@@ -302,15 +859,19 @@ public class App {
    */
   private static void visualizarArea() {
     System.out.println("Selecione a área (ID): ");
-    areas.forEach(a -> System.out.println(a.getName() + " (ID: " + a.getId() + ")"));
+    areas.all().forEach(a -> System.out.println(a.getName() + " (ID: " + a.getId() + ")"));
     int areaId = Integer.parseInt(scanner.nextLine());
-    MonitoredArea area = areas.stream().filter(a -> a.getId() == areaId).findFirst().orElse(null);
+    MonitoredArea area = areas.find(areaId);
     if (area == null) {
       System.out.println("Área não encontrada!");
       return;
     }
-    List<WheatherData> weatherDataList = area.getWeatherDataList();
-    List<WildFire> wildFires = area.getWildFires();
+    System.out.print("Data inicial (AAAA-MM-DD, vazio para todo o histórico): ");
+    LocalDate inicio = lerDataOpcional();
+    System.out.print("Data final (AAAA-MM-DD, vazio para todo o histórico): ");
+    LocalDate fim = lerDataOpcional();
+    List<WheatherData> weatherDataList = area.getWeatherDataBetween(inicio, fim);
+    List<WildFire> wildFires = area.getWildFiresBetween(inicio, fim);
     if (weatherDataList.isEmpty() && wildFires.isEmpty()) {
       System.out.println("Nenhum dado climático ou incêndio registrado para a área selecionada.");
       return;
@@ -336,6 +897,16 @@ public class App {
     }
   }
 
+  /**
+   * Lê uma data no formato AAAA-MM-DD da entrada padrão.
+   *
+   * @return a data informada, ou {@code null} se a linha estiver vazia
+   */
+  private static LocalDate lerDataOpcional() {
+    String linha = scanner.nextLine().trim();
+    return linha.isEmpty() ? null : LocalDate.parse(linha);
+  }
+
   /**
    * Gera um alerta manual para uma área monitorada pelo usuário.
    * <p>
@@ -373,8 +944,8 @@ public class App {
     userAreas.forEach(a -> System.out.println(a.getName() + " (ID: " + a.getId() + ")"));
     System.out.print("Informe o ID da área para gerar o alerta manual: ");
     int areaId = Integer.parseInt(scanner.nextLine());
-    MonitoredArea area = userAreas.stream().filter(a -> a.getId() == areaId).findFirst().orElse(null);
-    if (area == null) {
+    MonitoredArea area = areas.find(areaId);
+    if (area == null || !userAreas.contains(area)) {
       System.out.println("Área não encontrada!");
       return;
     }
@@ -386,6 +957,28 @@ public class App {
         riskLevel,
         user,
         description);
-    alert.throwAlert(area);
+    emitirAlerta(alert, area);
+  }
+
+  /**
+   * Envia um alerta pelo despachante assíncrono e aguarda a sua exibição antes
+   * de voltar ao menu.
+   *
+   * @param alert o alerta a ser exibido
+   * @param area  a área do alerta
+   */
+  private static void emitirAlerta(Alert alert, MonitoredArea area) {
+    alertas.dispatch(alert, area);
+    aguardarAlertas();
+  }
+
+  /**
+   * Aguarda a exibição dos alertas enviados ao despachante, para que eles não
+   * se misturem ao menu.
+   */
+  private static void aguardarAlertas() {
+    if (!alertas.flush(Duration.ofSeconds(2))) {
+      System.out.println("Alguns alertas ainda estão sendo entregues.");
+    }
   }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package presentation;
+
+import domain.events.DomainEvent;
+import domain.events.DomainEventListener;
+
+/**
+ * Ouvinte que escreve no console a mensagem de cada evento do domínio,
+ * mantendo a saída da aplicação interativa.
+ */
+public class ConsoleEventListener implements DomainEventListener {
+
+  @Override
+  public void onEvent(DomainEvent event) {
+    System.out.println(event.getMessage());
+  }
+}